@@ -0,0 +1,106 @@
+package GS.bench;
+
+import GS.model.beans.DadosConsumo;
+import GS.model.beans.Dispositivo;
+import GS.model.beans.Usuario;
+import GS.model.bo.UsuarioBO;
+import GS.model.cache.RegistroCaches;
+import GS.model.dao.SequenciaDAO;
+import GS.model.dao.UsuarioDAO;
+import GS.model.id.AlocadorIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a construção dos beans (os construtores de {@link DadosConsumo} e {@link Dispositivo} leem o relógio, mesmo
+ * quando a data é substituída logo depois, como na leitura do banco e do JSON) e a validação de um novo usuário
+ * em {@link UsuarioBO}, sem o hash da senha e sem acesso ao banco.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dexec.mainClass=GS.bench.BenchmarkBeans
+ * </pre>
+ * Propriedades: as de {@link ExecucaoJmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkBeans {
+
+    private static final LocalDateTime DATA_HORA = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private UsuarioBO usuarioBO;
+    private Usuario usuarioValido;
+    private Usuario usuarioEmailInvalido;
+
+    @Setup
+    public void preparar() {
+        usuarioBO = new UsuarioBO(new UsuarioDAO(), new RegistroCaches(), new AlocadorIds(new SequenciaDAO()));
+        usuarioValido = new Usuario("Maria Silva", "maria.silva@exemplo.com.br", "senha-secreta");
+        usuarioEmailInvalido = new Usuario("Maria Silva", "maria.silva.exemplo.com.br", "senha-secreta");
+    }
+
+    @TearDown
+    public void encerrar() {
+        usuarioBO.encerrar();
+    }
+
+    @Benchmark
+    public DadosConsumo dadosConsumo() {
+        return new DadosConsumo(1.5f);
+    }
+
+    /**
+     * Construção seguida da data lida, como em {@code DadosConsumoDAO.mapear}.
+     */
+    @Benchmark
+    public DadosConsumo dadosConsumoComDataHora() {
+        DadosConsumo dadosConsumo = new DadosConsumo();
+        dadosConsumo.setDataHora(DATA_HORA);
+        return dadosConsumo;
+    }
+
+    @Benchmark
+    public Dispositivo dispositivo() {
+        return new Dispositivo("Geladeira", "Eletrodoméstico", "ativo");
+    }
+
+    @Benchmark
+    public Usuario usuario() {
+        return new Usuario("Maria Silva", "maria.silva@exemplo.com.br", "senha-secreta");
+    }
+
+    @Benchmark
+    public Usuario validarUsuario() {
+        usuarioBO.validarUsuarioBO(usuarioValido);
+        return usuarioValido;
+    }
+
+    @Benchmark
+    public Object validarUsuarioEmailInvalido() {
+        try {
+            usuarioBO.validarUsuarioBO(usuarioEmailInvalido);
+            return usuarioEmailInvalido;
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ExecucaoJmh.executar(ExecucaoJmh.opcoes(BenchmarkBeans.class));
+    }
+}
@@ -0,0 +1,151 @@
+package GS.bench;
+
+import GS.conexao.ConnectionFactory;
+import GS.model.beans.DadosConsumo;
+import GS.model.beans.Dispositivo;
+import GS.model.beans.Sessao;
+import GS.model.beans.Usuario;
+import GS.model.dao.DadosConsumoDAO;
+import GS.model.dao.DispositivoDAO;
+import GS.model.dao.SessaoDAO;
+import GS.model.dao.UsuarioDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a leitura de uma página de registros pelos quatro DAOs (consulta e conversão de cada linha do ResultSet no bean)
+ * em um banco H2 em memória no modo Oracle, com {@code linhas} registros por página.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dexec.mainClass=GS.bench.BenchmarkMapeamentoDAO -Dbench.linhas=100,1000
+ * </pre>
+ * Propriedades: {@code bench.linhas} (tamanhos da página) e as de {@link ExecucaoJmh}. Sem {@code db.url}, usa o H2
+ * em memória; com outro banco, as tabelas já devem existir e não são alteradas (os dados não são inseridos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkMapeamentoDAO {
+
+    private static final String URL_H2 = "jdbc:h2:mem:bench_dao;MODE=Oracle;DB_CLOSE_DELAY=-1";
+    private static final int REGISTROS = 5000;
+
+    @Param({"100"})
+    public int linhas;
+
+    private final UsuarioDAO usuarioDAO = new UsuarioDAO();
+    private final DispositivoDAO dispositivoDAO = new DispositivoDAO();
+    private final SessaoDAO sessaoDAO = new SessaoDAO();
+    private final DadosConsumoDAO dadosConsumoDAO = new DadosConsumoDAO();
+
+    @Setup
+    public void preparar() throws SQLException {
+        if (System.getProperty("db.url") != null) {
+            return;
+        }
+        System.setProperty("db.url", URL_H2);
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.usuario", "sa");
+        System.setProperty("db.senha", "");
+        try (Connection conexao = ConnectionFactory.conexao()) {
+            EsquemaBanco.criar(conexao);
+            inserir(conexao);
+        }
+    }
+
+    private static void inserir(Connection conexao) throws SQLException {
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Timestamp cadastro = Timestamp.valueOf(inicio);
+        try (PreparedStatement usuario = conexao.prepareStatement("INSERT INTO TB_USUARIO VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement sessao = conexao.prepareStatement("INSERT INTO TB_SESSAO VALUES (?, ?, ?, ?)");
+             PreparedStatement dispositivo = conexao.prepareStatement(
+                     "INSERT INTO TB_DISPOSITIVO (id_dispositivo, nome_dispositivo, tipo_dispositivo, status, data_cadastro,"
+                             + " id_usuario) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement consumo = conexao.prepareStatement(
+                     "INSERT INTO TB_DADOS_CONSUMO (id_consumo, data_hora, consumo_energia, id_dispositivo) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= REGISTROS; i++) {
+                usuario.setInt(1, i);
+                usuario.setString(2, "Usuário " + i);
+                usuario.setString(3, "usuario" + i + "@exemplo.com");
+                usuario.setString(4, "pbkdf2$20000$c2FsdA==$aGFzaA==");
+                usuario.setTimestamp(5, cadastro);
+                usuario.addBatch();
+
+                sessao.setInt(1, i);
+                sessao.setTimestamp(2, Timestamp.valueOf(inicio.plusMinutes(i)));
+                sessao.setTimestamp(3, Timestamp.valueOf(inicio.plusMinutes(i + 30)));
+                sessao.setInt(4, i);
+                sessao.addBatch();
+
+                dispositivo.setInt(1, i);
+                dispositivo.setString(2, "Dispositivo " + i);
+                dispositivo.setString(3, "Medidor");
+                dispositivo.setString(4, "ativo");
+                dispositivo.setTimestamp(5, cadastro);
+                dispositivo.setInt(6, i);
+                dispositivo.addBatch();
+
+                consumo.setInt(1, i);
+                consumo.setTimestamp(2, Timestamp.valueOf(inicio.plusSeconds(15L * i)));
+                consumo.setFloat(3, 0.25f * (i % 400) + 0.25f);
+                consumo.setInt(4, 1 + i % 50);
+                consumo.addBatch();
+            }
+            usuario.executeBatch();
+            sessao.executeBatch();
+            dispositivo.executeBatch();
+            consumo.executeBatch();
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        ConnectionFactory.fecharPool();
+    }
+
+    @Benchmark
+    public List<Usuario> usuarios() throws SQLException {
+        return usuarioDAO.selecionarPagina(0, linhas);
+    }
+
+    @Benchmark
+    public List<Dispositivo> dispositivos() throws SQLException {
+        return dispositivoDAO.selecionarPagina(0, linhas);
+    }
+
+    @Benchmark
+    public List<Sessao> sessoes() throws SQLException {
+        return sessaoDAO.selecionarPagina(0, linhas);
+    }
+
+    @Benchmark
+    public List<DadosConsumo> dadosConsumo() throws SQLException {
+        return dadosConsumoDAO.selecionarPagina(null, 0, linhas);
+    }
+
+    public static void main(String[] args) throws Exception {
+        ExecucaoJmh.executar(ExecucaoJmh.opcoes(BenchmarkMapeamentoDAO.class)
+                .param("linhas", System.getProperty("bench.linhas", "100").split(",")));
+    }
+}
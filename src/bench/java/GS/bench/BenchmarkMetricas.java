@@ -0,0 +1,82 @@
+package GS.bench;
+
+import GS.metricas.Contador;
+import GS.metricas.Familia;
+import GS.metricas.Histograma;
+import GS.metricas.RegistroMetricas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo da instrumentação por requisição e por comando SQL ({@link RegistroMetricas}): a observação em um
+ * histograma, a busca da série pelos rótulos (como no filtro das requisições) e o incremento de um contador, com
+ * uma thread e com várias threads disputando a mesma série.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dexec.mainClass=GS.bench.BenchmarkMetricas
+ * </pre>
+ * Propriedades: as de {@link ExecucaoJmh}. O custo do proxy JDBC aparece em {@link BenchmarkMapeamentoDAO},
+ * comparando com {@code -Dmetricas.habilitadas=false}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkMetricas {
+
+    private Familia<Histograma> requisicoes;
+    private Histograma histograma;
+    private Contador contador;
+    private long duracao;
+
+    @Setup
+    public void preparar() {
+        requisicoes = RegistroMetricas.get().histograma("gs_bench_requisicoes_segundos", "Benchmark.",
+                "metodo", "rota", "status");
+        histograma = requisicoes.serie("GET", "/dispositivos/{id}", "200");
+        contador = RegistroMetricas.get().contador("gs_bench_total", "Benchmark.", "comando").serie("SELECT 1");
+        duracao = TimeUnit.MICROSECONDS.toNanos(1500);
+    }
+
+    @Benchmark
+    public void observar() {
+        histograma.observar(duracao);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void observar4Threads() {
+        histograma.observar(duracao);
+    }
+
+    /**
+     * Caminho do filtro das requisições: busca da série pelos três rótulos e observação.
+     */
+    @Benchmark
+    public void serieEObservar() {
+        requisicoes.serie("GET", "/dispositivos/{id}", "200").observar(duracao);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void incrementar4Threads() {
+        contador.incrementar();
+    }
+
+    public static void main(String[] args) throws Exception {
+        ExecucaoJmh.executar(ExecucaoJmh.opcoes(BenchmarkMetricas.class));
+    }
+}
@@ -0,0 +1,197 @@
+package GS.bench;
+
+import GS.Main;
+import GS.config.ModoExecucao;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara o atendimento das requisições em threads de plataforma e em threads virtuais
+ * ({@code servidor.threads.modo}) com muitos clientes simultâneos e um banco lento.
+ *
+ * Para cada modo, o servidor é iniciado em uma JVM separada ({@link ServidorBenchmark}); cada cliente repete
+ * {@code GET /bench/espera?ms=<esperaMs>} até o fim da rodada, e a vazão e as latências são medidas após o aquecimento.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dexec.mainClass=GS.bench.BenchmarkModoExecucao \
+ *     -Dbench.clientes=1000,5000,10000 -Dbench.duracaoSegundos=20 -Dbench.esperaMs=20
+ * </pre>
+ * Com {@code bench.perfis} (ex.: {@code baixa-latencia,ingestao}), cada modo é medido com cada perfil de ajuste
+ * do servidor ({@code servidor.perfil}); vazio, usa a configuração atual.
+ * Propriedades: {@code bench.modos} (plataforma,virtual), {@code bench.clientes}, {@code bench.duracaoSegundos},
+ * {@code bench.aquecimentoSegundos}, {@code bench.esperaMs} e {@code bench.jvmArgs} (opções extras da JVM do servidor,
+ * ex.: {@code -Ddb.pool.tamanhoMaximo=20}). Com 10 mil clientes, o limite de arquivos abertos ({@code ulimit -n})
+ * precisa comportar as conexões do cliente e do servidor.
+ */
+public class BenchmarkModoExecucao {
+
+    public static void main(String[] args) throws Exception {
+        List<String> modos = lista(System.getProperty("bench.modos", "plataforma,virtual"));
+        List<String> clientes = lista(System.getProperty("bench.clientes", "1000,5000,10000"));
+        List<String> perfis = lista(System.getProperty("bench.perfis", ""));
+        if (perfis.isEmpty()) {
+            perfis.add("");
+        }
+        int duracao = Integer.getInteger("bench.duracaoSegundos", 20);
+        int aquecimento = Integer.getInteger("bench.aquecimentoSegundos", 5);
+        int esperaMs = Integer.getInteger("bench.esperaMs", 20);
+
+        List<String> resultados = new ArrayList<>();
+        resultados.add(String.format(Locale.ROOT, "%-26s %8s %10s %9s %9s %9s %8s",
+                "modo", "clientes", "req/s", "p50 ms", "p99 ms", "max ms", "erros"));
+        for (String perfil : perfis) {
+            for (String modo : modos) {
+                String rotulo = perfil.isEmpty() ? modo : modo + "/" + perfil;
+                if ("virtual".equals(modo) && !ModoExecucao.virtualDisponivel()) {
+                    resultados.add(String.format(Locale.ROOT, "%-26s (threads virtuais exigem Java 21; JVM atual: %s)",
+                            rotulo, System.getProperty("java.version")));
+                    continue;
+                }
+                Process servidor = iniciarServidor(modo, perfil);
+                try {
+                    for (String quantidade : clientes) {
+                        Rodada rodada = executar(Integer.parseInt(quantidade), esperaMs, aquecimento, duracao);
+                        resultados.add(rodada.resumo(rotulo));
+                        System.out.println(resultados.get(resultados.size() - 1));
+                    }
+                } finally {
+                    ServidorExterno.encerrar(servidor);
+                }
+            }
+        }
+
+        System.out.println();
+        for (String linha : resultados) {
+            System.out.println(linha);
+        }
+    }
+
+    private static Rodada executar(int clientes, int esperaMs, int aquecimento, int duracao) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient cliente = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(Main.BASE_URI + "bench/espera?ms=" + esperaMs))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        long agora = System.nanoTime();
+        Rodada rodada = new Rodada(clientes, agora + TimeUnit.SECONDS.toNanos(aquecimento),
+                agora + TimeUnit.SECONDS.toNanos(aquecimento + duracao));
+        for (int i = 0; i < clientes; i++) {
+            disparar(cliente, requisicao, rodada);
+        }
+        rodada.concluidos.await();
+        executor.shutdownNow();
+        return rodada;
+    }
+
+    /**
+     * Envia uma requisição e, ao receber a resposta, envia a próxima, até o fim da rodada (cliente em laço fechado).
+     */
+    private static void disparar(HttpClient cliente, HttpRequest requisicao, Rodada rodada) {
+        long inicio = System.nanoTime();
+        cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()).whenComplete((resposta, erro) -> {
+            long fim = System.nanoTime();
+            if (inicio >= rodada.inicioMedicao && fim <= rodada.fim) {
+                rodada.registrar(fim - inicio, erro == null && resposta.statusCode() < 400);
+            }
+            if (fim < rodada.fim) {
+                disparar(cliente, requisicao, rodada);
+            } else {
+                rodada.concluidos.countDown();
+            }
+        });
+    }
+
+    private static Process iniciarServidor(String modo, String perfil) throws IOException, URISyntaxException {
+        List<String> opcoes = new ArrayList<>();
+        opcoes.add("-Dservidor.threads.modo=" + modo);
+        if (!perfil.isEmpty()) {
+            opcoes.add("-Dservidor.perfil=" + perfil);
+        }
+        opcoes.add("-Ddb.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        opcoes.add("-Ddb.driver=org.h2.Driver");
+        opcoes.add("-Ddb.usuario=sa");
+        opcoes.add("-Ddb.senha=");
+        return ServidorExterno.iniciar(opcoes);
+    }
+
+    private static List<String> lista(String valor) {
+        List<String> itens = new ArrayList<>();
+        for (String item : valor.split(",")) {
+            if (!item.trim().isEmpty()) {
+                itens.add(item.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return itens;
+    }
+
+    /**
+     * Latências e contadores de uma rodada (um modo e uma quantidade de clientes).
+     */
+    private static final class Rodada {
+
+        private final int clientes;
+        private final long inicioMedicao;
+        private final long fim;
+        private final CountDownLatch concluidos;
+        private final AtomicLong erros = new AtomicLong();
+        private long[] latencias = new long[1 << 16];
+        private int quantidade;
+
+        Rodada(int clientes, long inicioMedicao, long fim) {
+            this.clientes = clientes;
+            this.inicioMedicao = inicioMedicao;
+            this.fim = fim;
+            this.concluidos = new CountDownLatch(clientes);
+        }
+
+        void registrar(long nanos, boolean sucesso) {
+            if (!sucesso) {
+                erros.incrementAndGet();
+                return;
+            }
+            synchronized (this) {
+                if (quantidade == latencias.length) {
+                    latencias = Arrays.copyOf(latencias, quantidade * 2);
+                }
+                latencias[quantidade++] = nanos;
+            }
+        }
+
+        synchronized String resumo(String modo) {
+            long[] ordenadas = Arrays.copyOf(latencias, quantidade);
+            Arrays.sort(ordenadas);
+            double segundos = (fim - inicioMedicao) / 1e9;
+            return String.format(Locale.ROOT, "%-26s %8d %10.1f %9.1f %9.1f %9.1f %8d",
+                    modo, clientes, quantidade / segundos, percentil(ordenadas, 0.50), percentil(ordenadas, 0.99),
+                    percentil(ordenadas, 1.0), erros.get());
+        }
+
+        private static double percentil(long[] ordenadas, double percentil) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package GS.bench;
+
+import GS.model.beans.DadosConsumo;
+import GS.resources.binario.FormatoConsumoBinario;
+import GS.resources.binario.ProvedorConsumoBinario;
+import GS.resources.json.ProvedorJson;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a serialização de uma lista de {@link DadosConsumo} pelo JSON-B (Yasson, provedor padrão do Jersey)
+ * e pelo {@link ProvedorJson}, na escrita e na leitura; {@code lerBinario} mede a leitura do mesmo lote no formato
+ * binário dos medidores ({@link FormatoConsumoBinario}). Com o perfilador de GC, a coluna {@code gc.alloc.rate.norm}
+ * mostra os bytes alocados por operação.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dexec.mainClass=GS.bench.BenchmarkSerializacaoJson -Dbench.itens=100,10000
+ * </pre>
+ * Propriedades: {@code bench.itens} (tamanhos da lista) e as de {@link ExecucaoJmh} ({@code bench.filtro},
+ * {@code bench.forks}, {@code bench.resultado}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkSerializacaoJson {
+
+    // Tipo genérico List<DadosConsumo>, como o Jersey o recebe do método do recurso
+    private static List<DadosConsumo> modelo;
+
+    @Param({"1000"})
+    public int itens;
+
+    private List<DadosConsumo> lista;
+    private Type tipoLista;
+    private Jsonb jsonb;
+    private ProvedorJson provedor;
+    private byte[] corpoJsonb;
+    private byte[] corpoProvedor;
+    private ProvedorConsumoBinario provedorBinario;
+    private byte[] corpoBinario;
+    private final Descarte descarte = new Descarte();
+
+    @Setup
+    public void preparar() throws Exception {
+        tipoLista = BenchmarkSerializacaoJson.class.getDeclaredField("modelo").getGenericType();
+        lista = new ArrayList<>(itens);
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < itens; i++) {
+            DadosConsumo dados = new DadosConsumo(0.25f * (i % 400));
+            dados.setIdConsumo(1000 + i);
+            dados.setIdDispositivo(1000 + i % 50);
+            dados.setDataHora(inicio.plusSeconds(15L * i));
+            lista.add(dados);
+        }
+        jsonb = JsonbBuilder.create();
+        provedor = new ProvedorJson();
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        jsonb.toJson(lista, tipoLista, saida);
+        corpoJsonb = saida.toByteArray();
+        saida = new ByteArrayOutputStream();
+        provedor.writeTo(lista, List.class, tipoLista, new Annotation[0], MediaType.APPLICATION_JSON_TYPE, null, saida);
+        corpoProvedor = saida.toByteArray();
+
+        provedorBinario = new ProvedorConsumoBinario();
+        saida = new ByteArrayOutputStream();
+        FormatoConsumoBinario.escrever(lista, saida);
+        corpoBinario = saida.toByteArray();
+    }
+
+    @TearDown
+    public void encerrar() throws Exception {
+        jsonb.close();
+    }
+
+    @Benchmark
+    public long escreverJsonb() {
+        jsonb.toJson(lista, tipoLista, descarte);
+        return descarte.bytes;
+    }
+
+    @Benchmark
+    public long escreverProvedorJson() throws IOException {
+        provedor.writeTo(lista, List.class, tipoLista, new Annotation[0], MediaType.APPLICATION_JSON_TYPE, null, descarte);
+        return descarte.bytes;
+    }
+
+    @Benchmark
+    public Object lerJsonb() {
+        return jsonb.fromJson(new ByteArrayInputStream(corpoJsonb), tipoLista);
+    }
+
+    @Benchmark
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object lerProvedorJson() {
+        return provedor.readFrom((Class) List.class, tipoLista, new Annotation[0], MediaType.APPLICATION_JSON_TYPE,
+                null, new ByteArrayInputStream(corpoProvedor));
+    }
+
+    @Benchmark
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object lerBinario() throws IOException {
+        return provedorBinario.readFrom((Class) List.class, tipoLista, new Annotation[0],
+                MediaType.valueOf(FormatoConsumoBinario.TIPO), new MultivaluedHashMap<>(), new ByteArrayInputStream(corpoBinario));
+    }
+
+    public static void main(String[] args) throws Exception {
+        ExecucaoJmh.executar(ExecucaoJmh.opcoes(BenchmarkSerializacaoJson.class)
+                .param("itens", System.getProperty("bench.itens", "1000").split(",")));
+    }
+
+    /**
+     * Saída que apenas conta os bytes recebidos.
+     */
+    private static final class Descarte extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
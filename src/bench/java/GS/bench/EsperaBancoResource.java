@@ -0,0 +1,31 @@
+package GS.bench;
+
+import GS.conexao.ConnectionFactory;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Recurso usado apenas nos benchmarks (perfil Maven {@code benchmark}): simula uma consulta lenta ao banco,
+ * mantendo a conexão ocupada por {@code ms} milissegundos dentro de uma chamada JDBC bloqueante.
+ */
+@Path("/bench/espera")
+public class EsperaBancoResource {
+
+    @GET
+    public Response esperar(@QueryParam("ms") Integer ms) throws SQLException {
+        int espera = ms != null ? ms : 20;
+        ConnectionFactory.emTransacao(conexao -> {
+            try (PreparedStatement stmt = conexao.prepareStatement("CALL ESPERAR(?)")) {
+                stmt.setLong(1, espera);
+                stmt.execute();
+            }
+            return null;
+        });
+        return Response.noContent().build();
+    }
+}
@@ -0,0 +1,55 @@
+package GS.bench;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tabelas, índices e sequências da aplicação para o banco H2 em memória (modo Oracle) usado nos benchmarks no lugar
+ * do Oracle: equivalente às tabelas originais com os scripts de {@code src/main/resources/sql}.
+ */
+final class EsquemaBanco {
+
+    private static final String[] COMANDOS = {
+            "CREATE TABLE IF NOT EXISTS TB_USUARIO (id_usuario NUMBER PRIMARY KEY, nome VARCHAR2(100), email VARCHAR2(100),"
+                    + " senha VARCHAR2(200), data_cadastro DATE)",
+            "CREATE INDEX IF NOT EXISTS IX_USUARIO_EMAIL ON TB_USUARIO (email)",
+            "CREATE TABLE IF NOT EXISTS TB_SESSAO (id_sessao NUMBER PRIMARY KEY, inicio_sessao TIMESTAMP, fim_sessao TIMESTAMP,"
+                    + " id_usuario NUMBER)",
+            "CREATE TABLE IF NOT EXISTS TB_DISPOSITIVO (id_dispositivo NUMBER PRIMARY KEY, nome_dispositivo VARCHAR2(100),"
+                    + " tipo_dispositivo VARCHAR2(100), status VARCHAR2(20), data_cadastro DATE, id_usuario NUMBER,"
+                    + " versao NUMBER(19) DEFAULT 1 NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS IX_DISPOSITIVO_USUARIO ON TB_DISPOSITIVO (id_usuario)",
+            "CREATE TABLE IF NOT EXISTS TB_DADOS_CONSUMO (id_consumo NUMBER PRIMARY KEY, data_hora TIMESTAMP,"
+                    + " consumo_energia NUMBER, id_dispositivo NUMBER, versao NUMBER(19) DEFAULT 1 NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS IX_DADOS_CONSUMO_DATA_HORA ON TB_DADOS_CONSUMO (data_hora, id_consumo)",
+            "CREATE INDEX IF NOT EXISTS IX_DADOS_CONSUMO_DISP_DATA ON TB_DADOS_CONSUMO (id_dispositivo, data_hora)",
+            "CREATE TABLE IF NOT EXISTS TB_CONSUMO_AGREGADO (granularidade CHAR(1) NOT NULL, id_dispositivo NUMBER NOT NULL,"
+                    + " inicio_periodo TIMESTAMP NOT NULL, total_kwh NUMBER(18, 4) NOT NULL, minimo NUMBER(12, 4) NOT NULL,"
+                    + " maximo NUMBER(12, 4) NOT NULL, quantidade NUMBER NOT NULL,"
+                    + " PRIMARY KEY (granularidade, id_dispositivo, inicio_periodo))",
+            "CREATE TABLE IF NOT EXISTS TB_VERSAO_COLECAO (nome_colecao VARCHAR2(50) PRIMARY KEY, versao NUMBER(19) NOT NULL)",
+            "MERGE INTO TB_VERSAO_COLECAO (nome_colecao, versao) KEY (nome_colecao) VALUES ('dispositivos', 1)",
+            "CREATE SEQUENCE IF NOT EXISTS SQ_USUARIO START WITH 1",
+            "CREATE SEQUENCE IF NOT EXISTS SQ_DISPOSITIVO START WITH 1",
+            "CREATE SEQUENCE IF NOT EXISTS SQ_SESSAO START WITH 1",
+            "CREATE SEQUENCE IF NOT EXISTS SQ_DADOS_CONSUMO START WITH 1"
+    };
+
+    private EsquemaBanco() {
+    }
+
+    /**
+     * Cria as tabelas que ainda não existem.
+     *
+     * @param conexao Conexão com o banco H2.
+     * @throws SQLException
+     */
+    static void criar(Connection conexao) throws SQLException {
+        try (Statement stmt = conexao.createStatement()) {
+            for (String comando : COMANDOS) {
+                stmt.execute(comando);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package GS.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opções comuns da execução dos benchmarks JMH pelo {@code exec:java}.
+ *
+ * Propriedades: {@code bench.filtro} (expressão regular dos benchmarks executados), {@code bench.forks} e
+ * {@code bench.resultado} (arquivo dos resultados em JSON, para acompanhar regressões; padrão:
+ * {@code target/jmh/<Classe>.json}). As propriedades {@code db.*} e {@code gs.config} são repassadas às JVMs dos forks.
+ */
+final class ExecucaoJmh {
+
+    private ExecucaoJmh() {
+    }
+
+    /**
+     * Monta as opções da execução dos benchmarks de uma classe, com o perfilador de GC
+     * ({@code gc.alloc.rate.norm}: bytes alocados por operação) e os resultados gravados em JSON.
+     *
+     * @param classe Classe dos benchmarks.
+     * @return Opções, que podem receber parâmetros antes da execução.
+     */
+    static ChainedOptionsBuilder opcoes(Class<?> classe) throws URISyntaxException {
+        // As JVMs dos forks usam java.class.path; com exec:java, as classes vêm do class loader do plugin
+        ClassLoader loader = classe.getClassLoader();
+        if (loader instanceof URLClassLoader) {
+            StringBuilder classpath = new StringBuilder();
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                if (classpath.length() > 0) {
+                    classpath.append(File.pathSeparator);
+                }
+                classpath.append(new File(url.toURI()).getPath());
+            }
+            System.setProperty("java.class.path", classpath.toString());
+        }
+
+        String resultado = System.getProperty("bench.resultado", "target/jmh/" + classe.getSimpleName() + ".json");
+        File diretorio = new File(resultado).getAbsoluteFile().getParentFile();
+        if (diretorio != null) {
+            diretorio.mkdirs();
+        }
+
+        List<String> argumentos = new ArrayList<>();
+        for (Map.Entry<Object, Object> propriedade : System.getProperties().entrySet()) {
+            String chave = propriedade.getKey().toString();
+            if (chave.startsWith("db.") || chave.equals("gs.config")) {
+                argumentos.add("-D" + chave + "=" + propriedade.getValue());
+            }
+        }
+
+        ChainedOptionsBuilder opcoes = new OptionsBuilder()
+                .include(classe.getSimpleName() + "." + System.getProperty("bench.filtro", ".*"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultado)
+                .jvmArgsAppend(argumentos.toArray(new String[0]));
+        if (System.getProperty("bench.forks") != null) {
+            opcoes.forks(Integer.getInteger("bench.forks"));
+        }
+        return opcoes;
+    }
+
+    /**
+     * Executa os benchmarks e informa onde os resultados foram gravados.
+     *
+     * @param opcoes Opções montadas com {@link #opcoes(Class)}.
+     */
+    static void executar(ChainedOptionsBuilder opcoes) throws RunnerException {
+        Options montadas = opcoes.build();
+        new Runner(montadas).run();
+        System.out.println("Resultados em JSON: " + montadas.getResult().orElse(""));
+    }
+}
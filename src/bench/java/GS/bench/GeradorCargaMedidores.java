@@ -0,0 +1,477 @@
+package GS.bench;
+
+import GS.Main;
+import GS.model.beans.DadosConsumo;
+import GS.resources.binario.FormatoConsumoBinario;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga que simula uma frota de medidores, para saber quantos medidores um nó do servidor comporta.
+ *
+ * Cada medidor é cadastrado em {@code POST /dispositivos} (com um usuário a cada {@code medidoresPorUsuario}, criado em
+ * {@code POST /usuarios}, que abre uma sessão em {@code POST /sessoes}) e envia leituras a cada {@code intervaloMs}
+ * para {@code POST /dadosConsumo} (ou {@code /dadosConsumo/batch}, com mais de uma leitura por envio), em JSON ou no
+ * formato binário dos medidores. Com {@code rajada.periodoSegundos}, a cada período os medidores passam
+ * {@code rajada.duracaoSegundos} enviando {@code rajada.fator} vezes mais rápido (ex.: religamento após uma queda).
+ *
+ * A carga é aberta: os envios seguem o horário previsto de cada medidor, independentemente das respostas. Um medidor
+ * envia uma requisição por vez; se a anterior ainda não respondeu, o envio é atrasado e a latência é contada a partir
+ * do horário previsto, para que a lentidão do servidor não esconda a própria espera (omissão coordenada). Os medidores
+ * são divididos entre {@code trabalhadores} threads, cada uma com o seu cliente HTTP.
+ *
+ * Sem {@code bench.url}, o servidor ({@link ServidorBenchmark}, com {@code Main.startServer}) é iniciado em outra JVM
+ * com o banco H2 em memória no lugar do Oracle. Ao final, mostra a vazão e os percentis de latência (HdrHistogram) de
+ * cada endpoint e grava a distribuição completa em {@code bench.saida/<endpoint>.hgrm}.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:java -Dexec.mainClass=GS.bench.GeradorCargaMedidores \
+ *     -Dbench.medidores=5000 -Dbench.intervaloMs=1000 -Dbench.duracaoSegundos=60
+ * </pre>
+ * Propriedades: {@code bench.medidores} (2000), {@code bench.medidoresPorUsuario} (10), {@code bench.intervaloMs}
+ * (1000), {@code bench.leiturasPorEnvio} (1), {@code bench.formato} ({@code json} ou {@code binario}),
+ * {@code bench.sincronizado} (todos os medidores no mesmo instante do intervalo, em vez de espalhados),
+ * {@code bench.rajada.periodoSegundos} (0: sem rajadas), {@code bench.rajada.duracaoSegundos} (5),
+ * {@code bench.rajada.fator} (5), {@code bench.aquecimentoSegundos} (10), {@code bench.duracaoSegundos} (30),
+ * {@code bench.trabalhadores} (processadores), {@code bench.concorrenciaCadastro} (256), {@code bench.timeoutSegundos}
+ * (30), {@code bench.url} (servidor já em execução), {@code bench.jvmArgs} (opções da JVM do servidor iniciado) e
+ * {@code bench.saida} ({@code target/carga}). Com milhares de medidores, o limite de arquivos abertos
+ * ({@code ulimit -n}) precisa comportar as conexões.
+ */
+public class GeradorCargaMedidores {
+
+    private final String base;
+    private final int medidores;
+    private final int medidoresPorUsuario;
+    private final long intervaloNanos;
+    private final int leiturasPorEnvio;
+    private final boolean binario;
+    private final boolean sincronizado;
+    private final long rajadaPeriodoNanos;
+    private final long rajadaDuracaoNanos;
+    private final int rajadaFator;
+    private final int aquecimentoSegundos;
+    private final int duracaoSegundos;
+    private final int concorrenciaCadastro;
+    private final Duration timeout;
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final List<HttpClient> clientes = new ArrayList<>();
+    private final List<ExecutorService> executores = new ArrayList<>();
+    private final AtomicInteger emVoo = new AtomicInteger();
+    private final LongAdder atrasados = new LongAdder();
+    private final LongAdder leiturasMedidas = new LongAdder();
+
+    // Horário de referência das leituras simuladas (cada medidor avança o seu relógio a cada envio)
+    private final LocalDateTime inicioLeituras = LocalDateTime.now().withNano(0);
+    // Sufixo dos emails, para que execuções contra o mesmo servidor não colidam
+    private final String execucao = Long.toString(System.currentTimeMillis(), 36);
+
+    GeradorCargaMedidores(String base) {
+        this.base = base.endsWith("/") ? base : base + "/";
+        this.medidores = Integer.getInteger("bench.medidores", 2000);
+        this.medidoresPorUsuario = Math.max(1, Integer.getInteger("bench.medidoresPorUsuario", 10));
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("bench.intervaloMs", 1000));
+        this.leiturasPorEnvio = Math.max(1, Integer.getInteger("bench.leiturasPorEnvio", 1));
+        this.binario = "binario".equalsIgnoreCase(System.getProperty("bench.formato", "json"));
+        this.sincronizado = Boolean.getBoolean("bench.sincronizado");
+        this.rajadaPeriodoNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("bench.rajada.periodoSegundos", 0));
+        this.rajadaDuracaoNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("bench.rajada.duracaoSegundos", 5));
+        this.rajadaFator = Math.max(1, Integer.getInteger("bench.rajada.fator", 5));
+        this.aquecimentoSegundos = Integer.getInteger("bench.aquecimentoSegundos", 10);
+        this.duracaoSegundos = Integer.getInteger("bench.duracaoSegundos", 30);
+        this.concorrenciaCadastro = Math.max(1, Integer.getInteger("bench.concorrenciaCadastro", 256));
+        this.timeout = Duration.ofSeconds(Integer.getInteger("bench.timeoutSegundos", 30));
+
+        int trabalhadores = Math.max(1, Integer.getInteger("bench.trabalhadores", Runtime.getRuntime().availableProcessors()));
+        // HTTP/1.1, como os medidores: o cliente tentaria o upgrade para h2c a cada nova conexão
+        for (int i = 0; i < trabalhadores; i++) {
+            ExecutorService executor = Executors.newFixedThreadPool(2, tarefa -> {
+                Thread thread = new Thread(tarefa, "carga-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executores.add(executor);
+            clientes.add(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor)
+                    .connectTimeout(timeout).build());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("bench.url", "");
+        Process servidor = null;
+        if (url.isEmpty()) {
+            List<String> opcoes = new ArrayList<>();
+            opcoes.add("-Dbench.esquema=true");
+            opcoes.add("-Ddb.url=jdbc:h2:mem:carga;MODE=Oracle;DB_CLOSE_DELAY=-1");
+            opcoes.add("-Ddb.driver=org.h2.Driver");
+            opcoes.add("-Ddb.usuario=sa");
+            opcoes.add("-Ddb.senha=");
+            servidor = ServidorExterno.iniciar(opcoes);
+            url = Main.BASE_URI;
+        }
+        try {
+            new GeradorCargaMedidores(url).executar();
+        } finally {
+            if (servidor != null) {
+                ServidorExterno.encerrar(servidor);
+            }
+        }
+    }
+
+    void executar() throws InterruptedException, IOException {
+        int usuarios = (medidores + medidoresPorUsuario - 1) / medidoresPorUsuario;
+        System.out.printf(Locale.ROOT, "Cadastrando %d usuários e %d medidores em %s%n", usuarios, medidores, base);
+
+        int[] idsUsuarios = cadastrar("POST /usuarios", usuarios, i -> post("usuarios", "{\"nome\":\"Cliente " + i
+                + "\",\"email\":\"carga-" + execucao + "-" + i + "@exemplo.com\",\"senha\":\"senha-carga-" + i + "\"}"));
+        int[] idsSessoes = cadastrar("POST /sessoes", usuarios, i -> idsUsuarios[i] == 0 ? null
+                : post("sessoes", "{\"usuario\":{\"id_usuario\":" + idsUsuarios[i] + "}}"));
+        int[] idsDispositivos = cadastrar("POST /dispositivos", medidores, i -> {
+            int idUsuario = idsUsuarios[i / medidoresPorUsuario];
+            return post("dispositivos", "{\"nome_dispositivo\":\"Medidor " + i + "\",\"tipo_dispositivo\":\"medidor\","
+                    + "\"status\":\"ativo\"" + (idUsuario > 0 ? ",\"id_usuario\":" + idUsuario : "") + "}");
+        });
+
+        enviarLeituras(idsDispositivos);
+
+        cadastrar("DELETE /sessoes", usuarios, i -> idsSessoes[i] == 0 ? null
+                : HttpRequest.newBuilder(URI.create(base + "sessoes/" + idsSessoes[i])).timeout(timeout).DELETE().build());
+        for (ExecutorService executor : executores) {
+            executor.shutdownNow();
+        }
+        relatar();
+    }
+
+    /**
+     * Envia as requisições de cadastro com no máximo {@code concorrenciaCadastro} em andamento e aguarda todas.
+     *
+     * @return IDs lidos do cabeçalho Location de cada resposta (0 quando a requisição falhou ou não foi enviada).
+     */
+    private int[] cadastrar(String nome, int quantidade, FabricaRequisicao fabrica) throws InterruptedException {
+        Endpoint endpoint = endpoint(nome);
+        int[] ids = new int[quantidade];
+        Semaphore permissoes = new Semaphore(concorrenciaCadastro);
+        endpoint.medir(System.nanoTime(), Long.MAX_VALUE);
+        for (int i = 0; i < quantidade; i++) {
+            HttpRequest requisicao = fabrica.criar(i);
+            if (requisicao == null) {
+                continue;
+            }
+            permissoes.acquire();
+            int indice = i;
+            long inicio = System.nanoTime();
+            clientes.get(i % clientes.size()).sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        boolean sucesso = erro == null && resposta.statusCode() < 400;
+                        endpoint.registrar(inicio, System.nanoTime(), sucesso);
+                        if (sucesso) {
+                            ids[indice] = resposta.headers().firstValue("Location").map(GeradorCargaMedidores::idLocation).orElse(0);
+                        }
+                        permissoes.release();
+                    });
+        }
+        permissoes.acquire(concorrenciaCadastro);
+        endpoint.terminar();
+        return ids;
+    }
+
+    /**
+     * Fase principal: os medidores enviam leituras até o fim do aquecimento e da medição.
+     */
+    private void enviarLeituras(int[] idsDispositivos) throws InterruptedException {
+        Endpoint endpoint = endpoint(leiturasPorEnvio > 1 ? "POST /dadosConsumo/batch" : "POST /dadosConsumo");
+        long inicio = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long inicioMedicao = inicio + TimeUnit.SECONDS.toNanos(aquecimentoSegundos);
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracaoSegundos);
+        endpoint.medir(inicioMedicao, fim);
+        System.out.printf(Locale.ROOT, "Enviando leituras: %ds de aquecimento e %ds de medição%n",
+                aquecimentoSegundos, duracaoSegundos);
+
+        List<PriorityQueue<Medidor>> filas = new ArrayList<>();
+        for (int i = 0; i < clientes.size(); i++) {
+            filas.add(new PriorityQueue<>((a, b) -> Long.compare(a.proximo, b.proximo)));
+        }
+        for (int i = 0; i < idsDispositivos.length; i++) {
+            if (idsDispositivos[i] == 0) {
+                continue;
+            }
+            long fase = sincronizado ? 0 : ThreadLocalRandom.current().nextLong(intervaloNanos);
+            filas.get(i % filas.size()).add(new Medidor(idsDispositivos[i], clientes.get(i % clientes.size()), endpoint,
+                    inicio + fase, inicioMedicao, fim));
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (PriorityQueue<Medidor> fila : filas) {
+            Thread thread = new Thread(() -> agendar(fila, inicio, fim), "carga-medidores-" + threads.size());
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Aguarda as respostas ainda pendentes
+        long limite = System.nanoTime() + timeout.toNanos();
+        while (emVoo.get() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        endpoint.terminar();
+    }
+
+    /**
+     * Laço de uma thread de agendamento: dispara cada medidor no seu horário previsto.
+     */
+    private void agendar(PriorityQueue<Medidor> fila, long inicio, long fim) {
+        while (!fila.isEmpty()) {
+            Medidor medidor = fila.peek();
+            if (medidor.proximo >= fim) {
+                return;
+            }
+            long espera = medidor.proximo - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+                continue;
+            }
+            fila.poll();
+            medidor.disparar(medidor.proximo);
+            medidor.proximo += intervaloNanos / fator(medidor.proximo - inicio);
+            fila.add(medidor);
+        }
+    }
+
+    /**
+     * Fator de aceleração dos envios no instante informado (relativo ao início da carga).
+     */
+    private int fator(long decorrido) {
+        if (rajadaPeriodoNanos <= 0) {
+            return 1;
+        }
+        return decorrido % rajadaPeriodoNanos < rajadaDuracaoNanos ? rajadaFator : 1;
+    }
+
+    private HttpRequest post(String caminho, String json) {
+        return HttpRequest.newBuilder(URI.create(base + caminho))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private Endpoint endpoint(String nome) {
+        return endpoints.computeIfAbsent(nome, Endpoint::new);
+    }
+
+    private static int idLocation(String location) {
+        try {
+            return Integer.parseInt(location.substring(location.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void relatar() throws IOException {
+        File saida = new File(System.getProperty("bench.saida", "target/carga"));
+        saida.mkdirs();
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-26s %9s %10s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "total", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "erros");
+        for (Endpoint endpoint : endpoints.values()) {
+            Histogram histograma = endpoint.resultado;
+            double segundos = endpoint.duracaoNanos / 1e9;
+            System.out.printf(Locale.ROOT, "%-26s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                    endpoint.nome, histograma.getTotalCount(), segundos > 0 ? histograma.getTotalCount() / segundos : 0,
+                    ms(histograma, 50), ms(histograma, 90), ms(histograma, 99), ms(histograma, 99.9),
+                    histograma.getMaxValue() / 1e6, endpoint.erros.sum());
+            String arquivo = endpoint.nome.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+            try (PrintStream distribuicao = new PrintStream(new FileOutputStream(new File(saida, arquivo)), false, "UTF-8")) {
+                histograma.outputPercentileDistribution(distribuicao, 1e6);
+            }
+        }
+        System.out.printf(Locale.ROOT, "%nLeituras aceitas na medição: %.1f/s (%d medidores, intervalo de %d ms)%n",
+                leiturasMedidas.sum() / (double) duracaoSegundos, medidores, TimeUnit.NANOSECONDS.toMillis(intervaloNanos));
+        System.out.printf(Locale.ROOT, "Envios atrasados pela resposta anterior: %d%n", atrasados.sum());
+        System.out.println("Distribuições completas (HdrHistogram, em ms): " + saida.getPath());
+    }
+
+    private static double ms(Histogram histograma, double percentil) {
+        return histograma.getValueAtPercentile(percentil) / 1e6;
+    }
+
+    private interface FabricaRequisicao {
+        HttpRequest criar(int indice);
+    }
+
+    /**
+     * Latências (a partir do horário previsto de envio) e erros de um endpoint, dentro da janela de medição.
+     */
+    private static final class Endpoint {
+
+        private final String nome;
+        private final Recorder gravador = new Recorder(3);
+        private final LongAdder erros = new LongAdder();
+        private volatile long inicioMedicao;
+        private volatile long fimMedicao;
+        private long duracaoNanos;
+        private Histogram resultado;
+
+        Endpoint(String nome) {
+            this.nome = nome;
+        }
+
+        void medir(long inicio, long fim) {
+            this.inicioMedicao = inicio;
+            this.fimMedicao = fim;
+        }
+
+        /**
+         * Registra uma requisição cujo horário previsto está na janela de medição.
+         *
+         * @return Indica se a requisição foi contada.
+         */
+        boolean registrar(long previsto, long concluido, boolean sucesso) {
+            if (previsto < inicioMedicao || previsto >= fimMedicao) {
+                return false;
+            }
+            if (sucesso) {
+                gravador.recordValue(Math.max(0, concluido - previsto));
+            } else {
+                erros.increment();
+            }
+            return sucesso;
+        }
+
+        void terminar() {
+            long agora = System.nanoTime();
+            duracaoNanos = (fimMedicao == Long.MAX_VALUE ? agora : fimMedicao) - inicioMedicao;
+            resultado = gravador.getIntervalHistogram();
+        }
+    }
+
+    /**
+     * Um medidor: envia as leituras no horário previsto, uma requisição por vez.
+     */
+    private final class Medidor {
+
+        private final int idDispositivo;
+        private final HttpClient cliente;
+        private final Endpoint endpoint;
+        private final long inicioMedicao;
+        private final long fim;
+        // Horários previstos dos envios que aguardam a resposta anterior
+        private final ArrayDeque<Long> pendentes = new ArrayDeque<>();
+        private long proximo;
+        private boolean ocupado;
+        private int sequencia;
+
+        Medidor(int idDispositivo, HttpClient cliente, Endpoint endpoint, long proximo, long inicioMedicao, long fim) {
+            this.idDispositivo = idDispositivo;
+            this.cliente = cliente;
+            this.endpoint = endpoint;
+            this.proximo = proximo;
+            this.inicioMedicao = inicioMedicao;
+            this.fim = fim;
+        }
+
+        void disparar(long previsto) {
+            synchronized (this) {
+                if (ocupado) {
+                    pendentes.add(previsto);
+                    return;
+                }
+                ocupado = true;
+            }
+            enviar(previsto);
+        }
+
+        private void enviar(long previsto) {
+            if (previsto >= inicioMedicao && previsto < fim && System.nanoTime() - previsto > intervaloNanos) {
+                atrasados.increment();
+            }
+            emVoo.incrementAndGet();
+            cliente.sendAsync(requisicao(), HttpResponse.BodyHandlers.discarding()).whenComplete((resposta, erro) -> {
+                if (endpoint.registrar(previsto, System.nanoTime(), erro == null && resposta.statusCode() < 400)) {
+                    leiturasMedidas.add(leiturasPorEnvio);
+                }
+                Long seguinte;
+                synchronized (this) {
+                    seguinte = pendentes.poll();
+                    // Envios previstos para depois do fim da carga não são feitos
+                    while (seguinte != null && seguinte >= fim) {
+                        seguinte = pendentes.poll();
+                    }
+                    ocupado = seguinte != null;
+                }
+                emVoo.decrementAndGet();
+                if (seguinte != null) {
+                    enviar(seguinte);
+                }
+            });
+        }
+
+        private HttpRequest requisicao() {
+            List<DadosConsumo> leituras = new ArrayList<>(leiturasPorEnvio);
+            for (int i = 0; i < leiturasPorEnvio; i++) {
+                DadosConsumo leitura = new DadosConsumo(0.05f + ThreadLocalRandom.current().nextFloat() * 2);
+                leitura.setIdDispositivo(idDispositivo);
+                leitura.setDataHora(inicioLeituras.plusNanos(intervaloNanos / leiturasPorEnvio * sequencia++));
+                leituras.add(leitura);
+            }
+            HttpRequest.Builder builder = HttpRequest.newBuilder(
+                    URI.create(base + (leiturasPorEnvio > 1 ? "dadosConsumo/batch" : "dadosConsumo"))).timeout(timeout);
+            if (binario) {
+                ByteArrayOutputStream corpo = new ByteArrayOutputStream(16 + 8 * leiturasPorEnvio + 16);
+                try {
+                    FormatoConsumoBinario.escrever(leituras, corpo);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                return builder.header("Content-Type", FormatoConsumoBinario.TIPO)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(corpo.toByteArray())).build();
+            }
+            StringBuilder json = new StringBuilder(leiturasPorEnvio * 96);
+            if (leiturasPorEnvio > 1) {
+                json.append('[');
+            }
+            for (int i = 0; i < leituras.size(); i++) {
+                DadosConsumo leitura = leituras.get(i);
+                json.append(i == 0 ? "" : ",").append("{\"id_dispositivo\":").append(idDispositivo)
+                        .append(",\"data_hora\":\"").append(leitura.getDataHora())
+                        .append("\",\"consumo_energia\":").append(leitura.getConsumoEnergia()).append('}');
+            }
+            if (leiturasPorEnvio > 1) {
+                json.append(']');
+            }
+            return builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json.toString(), StandardCharsets.UTF_8)).build();
+        }
+    }
+}
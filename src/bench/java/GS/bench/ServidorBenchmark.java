@@ -0,0 +1,41 @@
+package GS.bench;
+
+import GS.Main;
+import GS.conexao.ConnectionFactory;
+import org.glassfish.grizzly.http.server.HttpServer;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Servidor iniciado pelos benchmarks de carga ({@link BenchmarkModoExecucao}, {@link GeradorCargaMedidores}) em uma JVM
+ * separada, com o banco H2 em memória e a função {@code ESPERAR(ms)}, que bloqueia a conexão como uma consulta lenta.
+ * Com {@code -Dbench.esquema=true}, cria também as tabelas da aplicação ({@link EsquemaBanco}).
+ * Escreve {@code PRONTO} na saída ao iniciar e encerra quando a entrada padrão é fechada.
+ */
+public class ServidorBenchmark {
+
+    public static void esperar(long ms) throws InterruptedException {
+        Thread.sleep(ms);
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        try (Connection conexao = ConnectionFactory.conexao(); Statement stmt = conexao.createStatement()) {
+            stmt.execute("CREATE ALIAS IF NOT EXISTS ESPERAR FOR \"" + ServidorBenchmark.class.getName() + ".esperar\"");
+            if (Boolean.getBoolean("bench.esquema")) {
+                EsquemaBanco.criar(conexao);
+            }
+        }
+
+        HttpServer server = Main.startServer();
+        System.out.println("PRONTO");
+        System.out.flush();
+        while (System.in.read() >= 0) {
+            // aguarda o fim da entrada
+        }
+        server.shutdownNow();
+        ConnectionFactory.fecharPool();
+    }
+}
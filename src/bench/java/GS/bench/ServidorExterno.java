@@ -0,0 +1,96 @@
+package GS.bench;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inicia o {@link ServidorBenchmark} em uma JVM separada, para que o servidor e os clientes dos benchmarks
+ * de carga não disputem a mesma heap e o mesmo coletor de lixo.
+ */
+final class ServidorExterno {
+
+    private ServidorExterno() {
+    }
+
+    /**
+     * Inicia o servidor e aguarda até que ele esteja atendendo.
+     *
+     * @param opcoes Opções da JVM do servidor (ex.: {@code -Ddb.url=...}); as de {@code bench.jvmArgs} são acrescentadas.
+     * @return Processo do servidor, encerrado com {@link #encerrar(Process)}.
+     */
+    static Process iniciar(List<String> opcoes) throws IOException, URISyntaxException {
+        List<String> comando = new ArrayList<>();
+        comando.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        comando.add("-cp");
+        comando.add(classpath());
+        comando.addAll(opcoes);
+        for (String opcao : System.getProperty("bench.jvmArgs", "").trim().split("\\s+")) {
+            if (!opcao.isEmpty()) {
+                comando.add(opcao);
+            }
+        }
+        comando.add(ServidorBenchmark.class.getName());
+
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true).start();
+        BufferedReader saida = new BufferedReader(new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8));
+        String linha;
+        while ((linha = saida.readLine()) != null) {
+            if (linha.equals("PRONTO")) {
+                // Continua consumindo a saída do servidor para que ele não bloqueie ao escrever logs
+                Thread leitor = new Thread(() -> {
+                    try {
+                        while (saida.readLine() != null) {
+                            // descarta
+                        }
+                    } catch (IOException ignorada) {
+                        // servidor encerrado
+                    }
+                });
+                leitor.setDaemon(true);
+                leitor.start();
+                return processo;
+            }
+            System.err.println("[servidor] " + linha);
+        }
+        throw new IllegalStateException("O servidor do benchmark encerrou antes de iniciar.");
+    }
+
+    /**
+     * Encerra o servidor (fechando a sua entrada padrão) e aguarda o fim do processo.
+     *
+     * @param servidor Processo iniciado com {@link #iniciar(List)}.
+     */
+    static void encerrar(Process servidor) throws IOException, InterruptedException {
+        servidor.getOutputStream().close();
+        if (!servidor.waitFor(10, TimeUnit.SECONDS)) {
+            servidor.destroyForcibly();
+        }
+    }
+
+    /**
+     * Classpath da aplicação; com exec:java, as classes vêm do class loader do plugin e não de java.class.path.
+     */
+    private static String classpath() throws URISyntaxException {
+        ClassLoader loader = ServidorExterno.class.getClassLoader();
+        if (loader instanceof URLClassLoader) {
+            StringBuilder classpath = new StringBuilder();
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                if (classpath.length() > 0) {
+                    classpath.append(File.pathSeparator);
+                }
+                classpath.append(new File(url.toURI()).getPath());
+            }
+            return classpath.toString();
+        }
+        return System.getProperty("java.class.path");
+    }
+}
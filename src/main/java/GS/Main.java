@@ -1,32 +1,61 @@
 package GS;
 
+import GS.conexao.ConnectionFactory;
+import GS.config.AjusteServidor;
+import GS.config.AplicacaoBinder;
+import GS.config.Configuracao;
+import GS.config.ModoExecucao;
 import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
 import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.logging.Logger;
 
 /**
  * Main class.
  *
  */
 public class Main {
-    // Base URI the Grizzly HTTP server will listen on
-    public static final String BASE_URI = "http://localhost:8080/";
+    private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
+
+    // Base URI the Grizzly HTTP server will listen on (servidor.uri)
+    public static final String BASE_URI = Configuracao.get().getString("servidor.uri", "http://localhost:8080/");
 
     /**
      * Starts Grizzly HTTP server exposing JAX-RS resources defined in this application.
+     * With {@code servidor.threads.modo=virtual} the requests are handled on virtual threads
+     * (see {@link ModoExecucao}) instead of the Grizzly worker pool.
+     * Listener, transport and Jersey settings come from the configured tuning profile (see {@link AjusteServidor}).
      * @return Grizzly HTTP server.
      */
     public static HttpServer startServer() {
         // create a resource config that scans for JAX-RS resources and providers
-        // in GS package
-        final ResourceConfig rc = new ResourceConfig().packages("GS");
+        // in GS package and registers the application-scoped BOs and DAOs
+        final ResourceConfig rc = new ResourceConfig()
+                .packages("GS")
+                .register(new AplicacaoBinder())
+                .addProperties(AjusteServidor.propriedadesJersey());
 
-        // create and start a new instance of grizzly http server
-        // exposing the Jersey application at BASE_URI
-        return GrizzlyHttpServerFactory.createHttpServer(URI.create(BASE_URI), rc);
+        // create a new instance of grizzly http server exposing the Jersey application at BASE_URI,
+        // apply the tuning profile, configure the worker threads and start it
+        final HttpServer server = GrizzlyHttpServerFactory.createHttpServer(URI.create(BASE_URI), rc, false);
+        final ModoExecucao modo = ModoExecucao.configurado();
+        AjusteServidor.aplicar(server, modo);
+        if (modo == ModoExecucao.VIRTUAL) {
+            for (NetworkListener listener : server.getListeners()) {
+                listener.getTransport().setWorkerThreadPool(ModoExecucao.novoExecutorVirtual());
+            }
+            LOGGER.info("Requests will be handled on virtual threads.");
+        }
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the HTTP server at " + BASE_URI, e);
+        }
+        return server;
     }
 
     /**
@@ -40,6 +69,7 @@ public class Main {
                 + "%s%nHit Ctrl-C to stop it...", BASE_URI));
         System.in.read();
         server.stop();
+        ConnectionFactory.fecharPool();
     }
 }
 
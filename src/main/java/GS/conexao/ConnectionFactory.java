@@ -1,42 +1,201 @@
 package GS.conexao;
 
+import GS.config.Configuracao;
+import GS.config.ModoExecucao;
+import GS.eventos.EventoOperacaoBanco;
+import GS.metricas.RegistroMetricas;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * Classe ConnectionFactory fornece conexões com o banco de dados a partir de um pool de conexões.
+ *
+ * O pool é criado na primeira solicitação de conexão e configurado pelas propriedades {@code db.*}
+ * (ver {@link Configuracao}). As conexões obtidas devem ser fechadas após o uso, o que as devolve ao pool.
+ *
+ * Com {@code db.limitador.permissoes} maior que zero (padrão: o tamanho do pool no modo de threads virtuais),
+ * as conexões passam pelo {@link LimitadorConexoes}, que limita as threads usando o banco ao mesmo tempo.
+ *
+ * Com {@code metricas.habilitadas}, os comandos executados nas conexões são medidos ({@link InstrumentacaoJdbc}) e o
+ * pool informa os tempos de espera e uso ({@link MetricasPool}), expostos em {@code GET /metrics}. Com
+ * {@code eventos.jfr.habilitados}, a mesma instrumentação emite os eventos JFR {@code GS.ComandoSql} e
+ * {@code GS.OperacaoBanco} (com o tempo de espera pela conexão) quando há uma gravação ativa, e registra os
+ * comandos acima de {@code consultasLentas.limiteMs} ({@link ConsultasLentas}). Quando nenhum desses recursos está
+ * ativo no empréstimo, a conexão do pool é devolvida sem instrumentação.
+ */
 public class ConnectionFactory {
 
-    private static final String URL = "jdbc:oracle:thin:@oracle.fiap.com.br:1521:orcl";
-    private static final String USER = "RM557158";
-    private static final String PASSWORD = "fiap24";
+    private static final Logger LOGGER = Logger.getLogger(ConnectionFactory.class.getName());
+    private static final MetricasPool METRICAS_POOL = RegistroMetricas.get().isHabilitadas() ? new MetricasPool() : null;
+
+    private static volatile HikariDataSource dataSource;
+    private static volatile LimitadorConexoes limitador;
 
     // Método para obter uma conexão com o banco de dados
     public static Connection conexao() throws SQLException {
-        Connection connection = null;
-
+        HikariDataSource pool = getDataSource();
+        LimitadorConexoes limitadorAtual = limitador;
         try {
-            // Registrar o driver do Oracle
-            Class.forName("oracle.jdbc.OracleDriver");
-
-            connection = DriverManager.getConnection(URL, USER, PASSWORD);
-            System.out.println("Conexão estabelecida com sucesso!");
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException("Erro ao carregar o driver JDBC do Oracle", e);
+            if (!InstrumentacaoJdbc.necessaria()) {
+                return limitadorAtual != null ? limitadorAtual.obter(pool::getConnection) : pool.getConnection();
+            }
+            EventoOperacaoBanco evento = InstrumentacaoJdbc.iniciarOperacao();
+            long inicio = System.nanoTime();
+            Connection conexao = limitadorAtual != null ? limitadorAtual.obter(pool::getConnection) : pool.getConnection();
+            return InstrumentacaoJdbc.instrumentar(conexao, System.nanoTime() - inicio, evento);
         } catch (SQLException e) {
-            throw new SQLException("Erro ao estabelecer a conexão com o banco de dados", e);
+            throw new SQLException("Erro ao obter uma conexão do pool de conexões", e);
         }
-        return connection;
     }
 
-    // Método para fechar a conexão com o banco de dados
+    /**
+     * Retorna uma conexão do pool sem instrumentação nem limitador, para os comandos internos da própria
+     * instrumentação (ex.: captura de planos de execução).
+     *
+     * @return Conexão do pool.
+     * @throws SQLException
+     */
+    static Connection conexaoDireta() throws SQLException {
+        return getDataSource().getConnection();
+    }
+
+    // Método para fechar a conexão com o banco de dados (devolvendo-a ao pool)
     public static void closeConnection(Connection connection) {
         if (connection != null) {
             try {
                 connection.close();
-                System.out.println("Conexão fechada.");
             } catch (SQLException e) {
-                System.err.println("Erro ao fechar a conexão: " + e.getMessage());
+                LOGGER.log(Level.WARNING, "Erro ao fechar a conexão.", e);
+            }
+        }
+    }
+
+    /**
+     * Executa a operação em uma única transação: confirma ao final ou desfaz tudo caso ocorra um erro.
+     *
+     * @param operacao Operação que recebe a conexão da transação.
+     * @return Resultado da operação.
+     * @throws SQLException
+     */
+    public static <T> T emTransacao(OperacaoTransacional<T> operacao) throws SQLException {
+        try (Connection connection = conexao()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T resultado = operacao.executar(connection);
+                connection.commit();
+                return resultado;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
             }
         }
     }
+
+    /**
+     * Retorna o DataSource do pool de conexões, criando-o na primeira chamada.
+     *
+     * @return DataSource com as conexões do pool.
+     */
+    public static HikariDataSource getDataSource() {
+        HikariDataSource atual = dataSource;
+        if (atual == null) {
+            synchronized (ConnectionFactory.class) {
+                atual = dataSource;
+                if (atual == null) {
+                    Configuracao configuracao = Configuracao.get();
+                    atual = new HikariDataSource(criarConfiguracao(configuracao));
+                    limitador = criarLimitador(configuracao, atual.getMaximumPoolSize());
+                    dataSource = atual;
+                }
+            }
+        }
+        return atual;
+    }
+
+    /**
+     * Retorna as estatísticas do pool (conexões ativas, ociosas e threads aguardando),
+     * ou null caso o pool ainda não tenha sido criado.
+     *
+     * @return MXBean do pool de conexões.
+     */
+    public static HikariPoolMXBean getEstatisticasPool() {
+        HikariDataSource atual = dataSource;
+        return atual == null ? null : atual.getHikariPoolMXBean();
+    }
+
+    /**
+     * Retorna o limitador de conexões simultâneas, ou null caso esteja desabilitado ou o pool ainda não tenha sido criado.
+     *
+     * @return Limitador de conexões.
+     */
+    public static LimitadorConexoes getLimitador() {
+        return limitador;
+    }
+
+    /**
+     * Fecha o pool de conexões e todas as conexões físicas abertas.
+     */
+    public static synchronized void fecharPool() {
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+            limitador = null;
+        }
+    }
+
+    private static LimitadorConexoes criarLimitador(Configuracao configuracao, int tamanhoPool) {
+        int padrao = ModoExecucao.configurado() == ModoExecucao.VIRTUAL ? tamanhoPool : 0;
+        int permissoes = configuracao.getInt("db.limitador.permissoes", padrao);
+        return permissoes <= 0 ? null
+                : new LimitadorConexoes(permissoes, configuracao.getLong("db.pool.tempoEsperaMs", 5000));
+    }
+
+    private static HikariConfig criarConfiguracao(Configuracao configuracao) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("GS-Pool");
+        config.setJdbcUrl(configuracao.getString("db.url", null));
+        config.setUsername(configuracao.getString("db.usuario", null));
+        config.setPassword(configuracao.getString("db.senha", null));
+
+        String driver = configuracao.getString("db.driver", null);
+        if (driver != null) {
+            config.setDriverClassName(driver);
+        }
+
+        // Tamanho do pool e remoção de conexões ociosas
+        config.setMaximumPoolSize(configuracao.getInt("db.pool.tamanhoMaximo", 10));
+        config.setMinimumIdle(configuracao.getInt("db.pool.minimoOcioso", 2));
+        config.setIdleTimeout(configuracao.getLong("db.pool.tempoOciosoMs", 600000));
+        config.setMaxLifetime(configuracao.getLong("db.pool.tempoVidaMaximoMs", 1800000));
+
+        // Tempo máximo de espera por uma conexão livre antes de lançar SQLException
+        config.setConnectionTimeout(configuracao.getLong("db.pool.tempoEsperaMs", 5000));
+
+        // Validação da conexão ao ser emprestada (JDBC4 isValid, ou a consulta informada)
+        config.setValidationTimeout(configuracao.getLong("db.pool.tempoValidacaoMs", 3000));
+        String consultaValidacao = configuracao.getString("db.pool.consultaValidacao", null);
+        if (consultaValidacao != null) {
+            config.setConnectionTestQuery(consultaValidacao);
+        }
+
+        // Conexões não devolvidas dentro do limite são registradas com a pilha do ponto de empréstimo
+        config.setLeakDetectionThreshold(configuracao.getLong("db.pool.deteccaoVazamentoMs", 20000));
+
+        // Não falha na inicialização caso o banco esteja indisponível; a conexão é tentada sob demanda
+        config.setInitializationFailTimeout(-1);
+        config.setRegisterMbeans(configuracao.getBoolean("db.pool.registrarMBeans", true));
+        if (METRICAS_POOL != null) {
+            config.setMetricsTrackerFactory(METRICAS_POOL);
+        }
+        return config;
+    }
 }
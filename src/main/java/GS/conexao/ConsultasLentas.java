@@ -0,0 +1,365 @@
+package GS.conexao;
+
+import GS.config.Configuracao;
+import GS.model.beans.ConsultaLenta;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classe ConsultasLentas registra os comandos SQL que excedem {@code consultasLentas.limiteMs}: cada execução lenta
+ * vai para o log (uma linha com chave=valor: ID, duração, linhas, tipos dos parâmetros, método do DAO, método do BO
+ * e rota) e para o ranking dos comandos mais lentos, consultado em {@code GET /admin/consultas/lentas}.
+ *
+ * O ranking guarda, por comando, a execução mais lenta e a quantidade de ocorrências; mantém no máximo
+ * {@code consultasLentas.maximo} comandos (sai o mais rápido) e descarta os que não se repetem há mais de
+ * {@code consultasLentas.janelaMinutos}. Na primeira ocorrência de cada comando, o plano de execução é pedido ao
+ * banco ({@code EXPLAIN PLAN} no Oracle, {@code EXPLAIN} nos demais) em uma thread separada, com uma conexão não
+ * instrumentada; o comando não é executado. A duração das consultas vai do {@code execute*} até o primeiro
+ * {@code next()} (a primeira busca de linhas no banco); o restante da leitura, que nas respostas em fluxo acompanha o
+ * ritmo do cliente, não é considerado.
+ */
+public final class ConsultasLentas {
+
+    private static final Logger LOGGER = Logger.getLogger(ConsultasLentas.class.getName());
+    private static final ConsultasLentas INSTANCIA = new ConsultasLentas(Configuracao.get());
+
+    // Planos já capturados (ou em captura) por ID do comando
+    private static final int MAXIMO_PLANOS = 1000;
+    private static final String CAPTURANDO = "(capturando)";
+
+    private final boolean habilitadas;
+    private final long limiteNanos;
+    private final int maximo;
+    private final long janelaMillis;
+    private final boolean capturarPlano;
+    private final Map<String, Registro> registros = new LinkedHashMap<>();
+    private final Map<String, String> planos = new ConcurrentHashMap<>();
+    private volatile ThreadPoolExecutor capturador;
+
+    private ConsultasLentas(Configuracao configuracao) {
+        this(configuracao.getBoolean("consultasLentas.habilitadas", true),
+                configuracao.getLong("consultasLentas.limiteMs", 100),
+                configuracao.getInt("consultasLentas.maximo", 20),
+                configuracao.getLong("consultasLentas.janelaMinutos", 60),
+                configuracao.getBoolean("consultasLentas.capturarPlano", true));
+    }
+
+    ConsultasLentas(boolean habilitadas, long limiteMs, int maximo, long janelaMinutos, boolean capturarPlano) {
+        this.habilitadas = habilitadas;
+        this.limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMs);
+        this.maximo = Math.max(1, maximo);
+        this.janelaMillis = TimeUnit.MINUTES.toMillis(janelaMinutos);
+        this.capturarPlano = capturarPlano;
+    }
+
+    /**
+     * Retorna o registro de consultas lentas da aplicação.
+     *
+     * @return Instância única.
+     */
+    public static ConsultasLentas get() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Indica se as execuções lentas são registradas ({@code consultasLentas.habilitadas}).
+     */
+    public boolean isHabilitadas() {
+        return habilitadas;
+    }
+
+    /**
+     * Indica se a duração informada excede o limite das consultas lentas.
+     */
+    boolean isLenta(long duracaoNanos) {
+        return habilitadas && duracaoNanos >= limiteNanos;
+    }
+
+    /**
+     * Registra uma execução lenta no log e no ranking. Deve ser chamado na thread que executou o comando, para que
+     * os métodos do DAO e do BO sejam lidos da pilha.
+     *
+     * @param id           ID do comando.
+     * @param sql          SQL normalizado.
+     * @param duracaoNanos Duração da execução.
+     * @param linhas       Linhas lidas ou afetadas.
+     * @param parametros   Tipos dos parâmetros, na ordem.
+     * @param rota         Rota da requisição, ou null.
+     */
+    void registrar(String id, String sql, long duracaoNanos, long linhas, List<String> parametros, String rota) {
+        String[] chamadores = chamadores();
+        if (LOGGER.isLoggable(Level.WARNING)) {
+            LOGGER.warning(String.format("consulta_lenta id=%s duracao_ms=%.1f linhas=%d metodo=%s origem=%s rota=\"%s\""
+                            + " parametros=%s sql=\"%s\"", id, duracaoNanos / 1e6, linhas, chamadores[0], chamadores[1],
+                    rota, parametros, sql));
+        }
+        registrar(id, sql, duracaoNanos, linhas, parametros, chamadores[0], chamadores[1], rota,
+                System.currentTimeMillis());
+        if (capturarPlano && !planos.containsKey(id) && planos.size() < MAXIMO_PLANOS
+                && planos.putIfAbsent(id, CAPTURANDO) == null) {
+            try {
+                capturador().execute(() -> capturarPlano(id, sql));
+            } catch (RejectedExecutionException e) {
+                // Fila de captura cheia: tenta de novo na próxima ocorrência
+                planos.remove(id);
+            }
+        }
+    }
+
+    synchronized void registrar(String id, String sql, long duracaoNanos, long linhas, List<String> parametros,
+                                String metodo, String origem, String rota, long agoraMillis) {
+        expirar(agoraMillis);
+        Registro registro = registros.get(id);
+        if (registro == null) {
+            if (registros.size() >= maximo) {
+                Registro maisRapido = registros.values().stream()
+                        .min(Comparator.comparingLong(r -> r.duracaoMaximaNanos)).orElse(null);
+                if (maisRapido == null || maisRapido.duracaoMaximaNanos >= duracaoNanos) {
+                    return;
+                }
+                registros.remove(maisRapido.id);
+            }
+            registro = new Registro(id, sql);
+            registros.put(id, registro);
+        }
+        registro.ocorrencias++;
+        registro.duracaoTotalNanos += duracaoNanos;
+        registro.ultimaOcorrencia = agoraMillis;
+        if (duracaoNanos > registro.duracaoMaximaNanos) {
+            registro.duracaoMaximaNanos = duracaoNanos;
+            registro.linhas = linhas;
+            registro.parametros = parametros;
+            registro.metodo = metodo;
+            registro.origem = origem;
+            registro.rota = rota;
+            registro.dataHora = agoraMillis;
+        }
+    }
+
+    /**
+     * Retorna os comandos mais lentos da janela, do mais lento ao mais rápido.
+     *
+     * @return Lista de consultas lentas.
+     */
+    public List<ConsultaLenta> getMaisLentas() {
+        return getMaisLentas(System.currentTimeMillis());
+    }
+
+    synchronized List<ConsultaLenta> getMaisLentas(long agoraMillis) {
+        expirar(agoraMillis);
+        List<Registro> ordenados = new ArrayList<>(registros.values());
+        ordenados.sort(Comparator.comparingLong((Registro r) -> r.duracaoMaximaNanos).reversed());
+        List<ConsultaLenta> consultas = new ArrayList<>(ordenados.size());
+        for (Registro registro : ordenados) {
+            ConsultaLenta consulta = new ConsultaLenta();
+            consulta.setId(registro.id);
+            consulta.setSql(registro.sql);
+            consulta.setOcorrencias(registro.ocorrencias);
+            consulta.setDuracaoMaximaMs(registro.duracaoMaximaNanos / 1e6);
+            consulta.setDuracaoMediaMs(registro.duracaoTotalNanos / 1e6 / registro.ocorrencias);
+            consulta.setLinhas(registro.linhas);
+            consulta.setParametros(registro.parametros);
+            consulta.setMetodo(registro.metodo);
+            consulta.setOrigem(registro.origem);
+            consulta.setRota(registro.rota);
+            consulta.setDataHora(dataHora(registro.dataHora));
+            consulta.setUltimaOcorrencia(dataHora(registro.ultimaOcorrencia));
+            consulta.setPlano(planos.get(registro.id));
+            consultas.add(consulta);
+        }
+        return consultas;
+    }
+
+    /**
+     * Esvazia o ranking e os planos capturados (ex.: após criar um índice).
+     */
+    public synchronized void limpar() {
+        registros.clear();
+        planos.clear();
+    }
+
+    private void expirar(long agoraMillis) {
+        Iterator<Registro> iterador = registros.values().iterator();
+        while (iterador.hasNext()) {
+            if (agoraMillis - iterador.next().ultimaOcorrencia > janelaMillis) {
+                iterador.remove();
+            }
+        }
+    }
+
+    private static LocalDateTime dataHora(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Lê da pilha o método do DAO (primeiro método da aplicação fora da camada de conexões) e o método que o chamou
+     * fora dos DAOs (normalmente o do BO).
+     */
+    private static String[] chamadores() {
+        String[] chamadores = new String[2];
+        StackWalker.getInstance().forEach(quadro -> {
+            String classe = quadro.getClassName();
+            if (chamadores[1] != null || !classe.startsWith("GS.") || classe.startsWith("GS.conexao.")
+                    || classe.equals("GS.model.bo.ExecutorBanco") || classe.startsWith("GS.model.bo.ExecutorBanco$")) {
+                return;
+            }
+            String metodo = nomeMetodo(classe, quadro.getMethodName());
+            if (chamadores[0] == null) {
+                chamadores[0] = metodo;
+            }
+            if (!classe.startsWith("GS.model.dao.")) {
+                chamadores[1] = metodo;
+            }
+        });
+        return chamadores;
+    }
+
+    /**
+     * Formata {@code Classe.metodo}, trocando os nomes gerados das lambdas (ex.: {@code lambda$inserirBO$2}) pelo
+     * método que as declarou.
+     */
+    static String nomeMetodo(String classe, String metodo) {
+        int fimClasse = classe.indexOf('$');
+        String nomeClasse = classe.substring(classe.lastIndexOf('.') + 1, fimClasse < 0 ? classe.length() : fimClasse);
+        if (metodo.startsWith("lambda$")) {
+            int fim = metodo.indexOf('$', 7);
+            metodo = metodo.substring(7, fim < 0 ? metodo.length() : fim);
+        }
+        return nomeClasse + "." + metodo;
+    }
+
+    private ThreadPoolExecutor capturador() {
+        ThreadPoolExecutor atual = capturador;
+        if (atual == null) {
+            synchronized (this) {
+                atual = capturador;
+                if (atual == null) {
+                    atual = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100),
+                            tarefa -> {
+                                Thread thread = new Thread(tarefa, "plano-consultas");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    capturador = atual;
+                }
+            }
+        }
+        return atual;
+    }
+
+    private void capturarPlano(String id, String sql) {
+        String plano;
+        try (Connection conexao = ConnectionFactory.conexaoDireta()) {
+            plano = planoExecucao(conexao, id, sql);
+            LOGGER.info(String.format("plano_consulta_lenta id=%s sql=\"%s\"%n%s", id, sql, plano));
+        } catch (SQLException | RuntimeException e) {
+            plano = "(plano indisponível: " + e.getMessage() + ")";
+            LOGGER.log(Level.FINE, "Erro ao capturar o plano do comando " + id, e);
+        }
+        // Se o ranking foi esvaziado durante a captura, o plano é descartado
+        planos.replace(id, CAPTURANDO, plano);
+    }
+
+    /**
+     * Pede ao banco o plano de execução do comando, sem executá-lo.
+     *
+     * @param conexao Conexão não instrumentada.
+     * @param id      ID do comando, usado como STATEMENT_ID no Oracle.
+     * @param sql     SQL com parâmetros {@code ?}.
+     * @return Plano em texto, uma linha por operação.
+     * @throws SQLException
+     */
+    static String planoExecucao(Connection conexao, String id, String sql) throws SQLException {
+        StringBuilder plano = new StringBuilder();
+        if (conexao.getMetaData().getDatabaseProductName().toLowerCase().contains("oracle")) {
+            // EXPLAIN PLAN grava na PLAN_TABLE; a transação é desfeita ao final
+            boolean autoCommit = conexao.getAutoCommit();
+            conexao.setAutoCommit(false);
+            try (Statement comando = conexao.createStatement()) {
+                comando.execute("EXPLAIN PLAN SET STATEMENT_ID = 'GS_" + id + "' FOR " + parametrosNomeados(sql));
+                try (ResultSet resultado = comando.executeQuery(
+                        "SELECT PLAN_TABLE_OUTPUT FROM TABLE(DBMS_XPLAN.DISPLAY('PLAN_TABLE', 'GS_" + id + "', 'TYPICAL'))")) {
+                    while (resultado.next()) {
+                        plano.append(resultado.getString(1)).append('\n');
+                    }
+                }
+            } finally {
+                conexao.rollback();
+                conexao.setAutoCommit(autoCommit);
+            }
+        } else {
+            try (PreparedStatement comando = conexao.prepareStatement("EXPLAIN " + sql);
+                 ResultSet resultado = comando.executeQuery()) {
+                while (resultado.next()) {
+                    plano.append(resultado.getString(1)).append('\n');
+                }
+            }
+        }
+        return plano.toString().trim();
+    }
+
+    /**
+     * Troca os parâmetros {@code ?} por variáveis {@code :1, :2...}, aceitas pelo EXPLAIN PLAN sem valores.
+     */
+    static String parametrosNomeados(String sql) {
+        StringBuilder resultado = new StringBuilder(sql.length() + 8);
+        boolean emTexto = false;
+        int parametro = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                emTexto = !emTexto;
+            }
+            if (c == '?' && !emTexto) {
+                resultado.append(':').append(++parametro);
+            } else {
+                resultado.append(c);
+            }
+        }
+        return resultado.toString();
+    }
+
+    /**
+     * Comando no ranking: a execução mais lenta da janela e as ocorrências.
+     */
+    private static final class Registro {
+
+        private final String id;
+        private final String sql;
+        private long ocorrencias;
+        private long duracaoTotalNanos;
+        private long duracaoMaximaNanos;
+        private long linhas;
+        private List<String> parametros;
+        private String metodo;
+        private String origem;
+        private String rota;
+        private long dataHora;
+        private long ultimaOcorrencia;
+
+        Registro(String id, String sql) {
+            this.id = id;
+            this.sql = sql;
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package GS.conexao;
+
+import GS.config.Configuracao;
+import GS.eventos.ContextoRequisicao;
+import GS.eventos.EventoComandoSql;
+import GS.eventos.EventoOperacaoBanco;
+import GS.metricas.Contador;
+import GS.metricas.Familia;
+import GS.metricas.Histograma;
+import GS.metricas.RegistroMetricas;
+import jdk.jfr.EventType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classe InstrumentacaoJdbc envolve as conexões do pool para medir cada comando SQL executado pelos DAOs:
+ * duração da execução, linhas lidas (percorridas no ResultSet), linhas afetadas e erros, por comando.
+ *
+ * O rótulo {@code comando} é o próprio SQL, com os espaços normalizados; como os DAOs usam comandos fixos com
+ * parâmetros, a quantidade de séries fica limitada aos comandos da aplicação. A duração cobre a chamada
+ * {@code execute*} (para consultas, até o driver devolver o primeiro bloco de linhas), não a leitura do ResultSet.
+ *
+ * Durante uma gravação do JFR, emite também {@link EventoComandoSql} por comando e {@link EventoOperacaoBanco} por
+ * conexão emprestada, com o método de acesso que os originou (obtido da pilha apenas quando o evento está ativo)
+ * e a rota da requisição ({@link ContextoRequisicao}). As execuções acima do limite das consultas lentas vão para
+ * {@link ConsultasLentas}, com os tipos dos parâmetros informados (nunca os valores).
+ */
+final class InstrumentacaoJdbc {
+
+    // Com as métricas desligadas o proxy existe só para os eventos JFR e não cria séries
+    private static final boolean METRICAS = RegistroMetricas.get().isHabilitadas();
+
+    private static final Familia<Histograma> DURACAO = RegistroMetricas.get().histograma(
+            "gs_sql_duracao_segundos", "Duração da execução dos comandos SQL.", "comando");
+    private static final Familia<Contador> LINHAS_LIDAS = RegistroMetricas.get().contador(
+            "gs_sql_linhas_lidas_total", "Linhas lidas dos resultados dos comandos SQL.", "comando");
+    private static final Familia<Contador> LINHAS_AFETADAS = RegistroMetricas.get().contador(
+            "gs_sql_linhas_afetadas_total", "Linhas inseridas, alteradas ou removidas pelos comandos SQL.", "comando");
+    private static final Familia<Contador> ERROS = RegistroMetricas.get().contador(
+            "gs_sql_erros_total", "Comandos SQL que terminaram com erro.", "comando");
+
+    // Comandos já vistos, para não normalizar o SQL nem procurar as séries a cada execução
+    private static final int MAXIMO_COMANDOS = 1000;
+    private static final Map<String, MetricasComando> COMANDOS = new ConcurrentHashMap<>();
+
+    private static final StackWalker PILHA = StackWalker.getInstance();
+    private static final ConsultasLentas LENTAS = ConsultasLentas.get();
+
+    private static final boolean JFR = Configuracao.get().getBoolean("eventos.jfr.habilitados", true);
+    private static final EventType TIPO_COMANDO = EventType.getEventType(EventoComandoSql.class);
+    private static final EventType TIPO_OPERACAO = EventType.getEventType(EventoOperacaoBanco.class);
+
+    private InstrumentacaoJdbc() {
+    }
+
+    /**
+     * Envolve a conexão para que os comandos criados por ela sejam medidos.
+     *
+     * @param conexao      Conexão obtida do pool.
+     * @param esperaNanos  Tempo de espera pela conexão (limitador e pool).
+     * @param eventoInicio Evento da operação, iniciado antes do pedido da conexão, ou null se o JFR não o grava.
+     * @return Conexão instrumentada.
+     */
+    static Connection instrumentar(Connection conexao, long esperaNanos, EventoOperacaoBanco eventoInicio) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConexaoMedida(conexao, esperaNanos, eventoInicio));
+    }
+
+    /**
+     * Indica se uma conexão emprestada agora precisa ser envolvida: com as métricas e as consultas lentas desligadas,
+     * só enquanto o JFR grava algum dos eventos de banco. Fora disso a conexão do pool é usada sem proxy.
+     *
+     * @return true se a conexão deve ser instrumentada.
+     */
+    static boolean necessaria() {
+        return METRICAS || LENTAS.isHabilitadas() || JFR && (TIPO_COMANDO.isEnabled() || TIPO_OPERACAO.isEnabled());
+    }
+
+    /**
+     * Cria e inicia o evento de uma operação de banco, se o JFR estiver gravando esse evento.
+     *
+     * @return Evento iniciado, ou null.
+     */
+    static EventoOperacaoBanco iniciarOperacao() {
+        EventoOperacaoBanco evento = new EventoOperacaoBanco();
+        if (!evento.isEnabled()) {
+            return null;
+        }
+        evento.begin();
+        return evento;
+    }
+
+    private static MetricasComando comando(String sql) {
+        if (sql == null) {
+            sql = "(lote)";
+        }
+        MetricasComando metricas = COMANDOS.get(sql);
+        if (metricas == null) {
+            metricas = COMANDOS.size() < MAXIMO_COMANDOS
+                    ? COMANDOS.computeIfAbsent(sql, MetricasComando::new) : new MetricasComando(sql);
+        }
+        return metricas;
+    }
+
+    /**
+     * Retorna o primeiro método da aplicação fora da camada de conexões na pilha atual
+     * (ex.: {@code DispositivoDAO.buscarDispositivoPorId}).
+     */
+    private static String metodoChamador() {
+        return PILHA.walk(quadros -> quadros
+                .filter(q -> q.getClassName().startsWith("GS.") && !q.getClassName().startsWith("GS.conexao."))
+                .findFirst()
+                .map(q -> q.getClassName().substring(q.getClassName().lastIndexOf('.') + 1) + "." + q.getMethodName())
+                .orElse(null));
+    }
+
+    private static Object repassar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Séries e identificação de um comando SQL.
+     */
+    private static final class MetricasComando {
+
+        private final String sql;
+        private final String id;
+        private final Histograma duracao;
+        private final Contador linhasLidas;
+        private final Contador linhasAfetadas;
+        private final Contador erros;
+
+        MetricasComando(String sql) {
+            this.sql = sql.trim().replaceAll("\\s+", " ");
+            // String.hashCode é definido pela especificação: o mesmo SQL tem o mesmo ID em qualquer JVM
+            this.id = String.format("%08x", this.sql.hashCode());
+            this.duracao = METRICAS ? DURACAO.serie(this.sql) : null;
+            this.linhasLidas = METRICAS ? LINHAS_LIDAS.serie(this.sql) : null;
+            this.linhasAfetadas = METRICAS ? LINHAS_AFETADAS.serie(this.sql) : null;
+            this.erros = METRICAS ? ERROS.serie(this.sql) : null;
+        }
+    }
+
+    /**
+     * Repassa as chamadas à conexão real, instrumenta os comandos criados e, no close, conclui o evento da operação.
+     */
+    private static final class ConexaoMedida implements InvocationHandler {
+
+        private final Connection conexao;
+        private final long esperaNanos;
+        private final EventoOperacaoBanco evento;
+        private final String rota;
+        private String metodo;
+        private boolean metodoObtido;
+        private int comandos;
+        private long linhas;
+
+        ConexaoMedida(Connection conexao, long esperaNanos, EventoOperacaoBanco evento) {
+            this.conexao = conexao;
+            this.esperaNanos = esperaNanos;
+            this.evento = evento;
+            this.rota = ContextoRequisicao.getRota();
+            if (evento != null) {
+                metodo();
+            }
+        }
+
+        /**
+         * Método de acesso que obteve a conexão, lido da pilha uma única vez.
+         */
+        String metodo() {
+            if (!metodoObtido) {
+                metodoObtido = true;
+                metodo = metodoChamador();
+            }
+            return metodo;
+        }
+
+        void registrarComando(long linhasComando) {
+            comandos++;
+            linhas += linhasComando;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodoChamado, Object[] args) throws Throwable {
+            String nome = metodoChamado.getName();
+            if (nome.equals("close") && metodoChamado.getParameterCount() == 0) {
+                try {
+                    return repassar(conexao, metodoChamado, args);
+                } finally {
+                    concluir();
+                }
+            }
+            Object resultado = repassar(conexao, metodoChamado, args);
+            if (resultado instanceof Statement
+                    && (nome.equals("prepareStatement") || nome.equals("prepareCall") || nome.equals("createStatement"))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                Class<?> tipo = resultado instanceof CallableStatement ? CallableStatement.class
+                        : resultado instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{tipo},
+                        new ComandoMedido((Statement) resultado, sql, this));
+            }
+            return resultado;
+        }
+
+        private void concluir() {
+            if (evento != null && evento.shouldCommit()) {
+                evento.metodo = metodo;
+                evento.rota = rota;
+                evento.esperaConexao = esperaNanos;
+                evento.comandos = comandos;
+                evento.linhas = linhas;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Mede as execuções de um Statement; o SQL é o do prepareStatement ou o passado ao execute.
+     */
+    private static final class ComandoMedido implements InvocationHandler {
+
+        private final Statement comando;
+        private final String sql;
+        private final ConexaoMedida conexao;
+        private int parametros;
+        private int lote;
+        // Tipos dos parâmetros por posição: nome do método set* ou, no setObject, a classe do valor
+        private Object[] tipos;
+        private long inicioExecucao;
+        // Resultado ainda não concluído da última consulta (concluído no close do Statement, se preciso)
+        private ResultadoMedido resultadoAberto;
+
+        ComandoMedido(Statement comando, String sql, ConexaoMedida conexao) {
+            this.comando = comando;
+            this.sql = sql;
+            this.conexao = conexao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if (!nome.startsWith("execute")) {
+                if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    // Parâmetros de PreparedStatement (setInt(1, ...), setString(2, ...))
+                    parametros = Math.max(parametros, (Integer) args[0]);
+                    if (LENTAS.isHabilitadas()) {
+                        registrarTipo((Integer) args[0], nome, args[1]);
+                    }
+                } else if (nome.equals("addBatch")) {
+                    lote++;
+                } else if (nome.equals("close")) {
+                    concluirResultado();
+                }
+                Object resultado = repassar(comando, metodo, args);
+                if (resultado instanceof ResultSet && nome.equals("getResultSet")) {
+                    return abrirResultado((ResultSet) resultado, comando(sql), null, inicioExecucao);
+                }
+                return resultado;
+            }
+
+            MetricasComando metricas = comando(args != null && args.length > 0 && args[0] instanceof String
+                    ? (String) args[0] : sql);
+            EventoComandoSql evento = new EventoComandoSql();
+            boolean gravar = evento.isEnabled();
+            if (gravar) {
+                evento.begin();
+            }
+            long inicio = System.nanoTime();
+            inicioExecucao = inicio;
+            Object resultado;
+            try {
+                resultado = repassar(comando, metodo, args);
+            } catch (Throwable e) {
+                long duracao = System.nanoTime() - inicio;
+                if (METRICAS) {
+                    metricas.erros.incrementar();
+                    metricas.duracao.observar(duracao);
+                }
+                verificarLenta(metricas, duracao, 0);
+                if (gravar) {
+                    evento.erro = true;
+                    concluirEvento(evento, metricas, nome, 0);
+                }
+                throw e;
+            }
+            long duracao = System.nanoTime() - inicio;
+            if (METRICAS) {
+                metricas.duracao.observar(duracao);
+            }
+
+            if (resultado instanceof ResultSet) {
+                return abrirResultado((ResultSet) resultado, metricas, gravar ? evento : null, inicio);
+            }
+            long afetadas = 0;
+            if (Boolean.FALSE.equals(resultado)) {
+                // execute() sem ResultSet: a quantidade de linhas fica disponível em getUpdateCount()
+                afetadas = Math.max(0, comando.getUpdateCount());
+            } else if (resultado instanceof Integer || resultado instanceof Long) {
+                afetadas = Math.max(0, ((Number) resultado).longValue());
+            } else if (resultado instanceof int[]) {
+                for (int linhas : (int[]) resultado) {
+                    // Statement.SUCCESS_NO_INFO (-2) não informa a quantidade
+                    afetadas += Math.max(0, linhas);
+                }
+            } else if (resultado instanceof long[]) {
+                for (long linhas : (long[]) resultado) {
+                    afetadas += Math.max(0, linhas);
+                }
+            }
+            if (METRICAS) {
+                metricas.linhasAfetadas.adicionar(afetadas);
+            }
+            conexao.registrarComando(afetadas);
+            verificarLenta(metricas, duracao, afetadas);
+            if (gravar) {
+                concluirEvento(evento, metricas, nome, afetadas);
+            }
+            if (nome.equals("executeBatch")) {
+                lote = 0;
+            }
+            return resultado;
+        }
+
+        void concluirEvento(EventoComandoSql evento, MetricasComando metricas, String operacao, long linhas) {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.idComando = metricas.id;
+                evento.sql = metricas.sql;
+                evento.metodo = conexao.metodo();
+                evento.rota = conexao.rota;
+                evento.operacao = operacao;
+                evento.parametros = parametros;
+                evento.lote = lote;
+                evento.linhas = linhas;
+                evento.commit();
+            }
+        }
+
+        /**
+         * Registra a execução em {@link ConsultasLentas} se ela exceder o limite.
+         */
+        void verificarLenta(MetricasComando metricas, long duracao, long linhas) {
+            if (LENTAS.isLenta(duracao)) {
+                List<String> tiposParametros = new ArrayList<>(parametros);
+                for (int i = 1; i <= parametros; i++) {
+                    Object tipo = tipos != null && i < tipos.length ? tipos[i] : null;
+                    tiposParametros.add(tipo instanceof Class ? ((Class<?>) tipo).getSimpleName()
+                            : tipo != null ? ((String) tipo).substring(3) : "?");
+                }
+                LENTAS.registrar(metricas.id, metricas.sql, duracao, linhas, tiposParametros, conexao.rota);
+            }
+        }
+
+        private void registrarTipo(int indice, String metodo, Object valor) {
+            if (tipos == null || indice >= tipos.length) {
+                tipos = Arrays.copyOf(tipos == null ? new Object[0] : tipos, Math.max(indice + 1, 8));
+            }
+            tipos[indice] = metodo.equals("setObject") && valor != null ? valor.getClass() : metodo;
+        }
+
+        private ResultSet abrirResultado(ResultSet resultado, MetricasComando metricas, EventoComandoSql evento,
+                                         long inicio) {
+            concluirResultado();
+            resultadoAberto = new ResultadoMedido(resultado, metricas, this, evento, inicio);
+            return resultadoAberto;
+        }
+
+        private void concluirResultado() {
+            if (resultadoAberto != null) {
+                resultadoAberto.concluir();
+                resultadoAberto = null;
+            }
+        }
+    }
+
+    /**
+     * Conta as linhas percorridas com next(); o total é somado uma vez, ao fim das linhas ou no close
+     * (do ResultSet ou do Statement), quando o evento do comando também é concluído. Os demais métodos, como os
+     * getters de cada linha, são repassados diretamente ({@link ResultadoDelegado}).
+     */
+    private static final class ResultadoMedido extends ResultadoDelegado {
+
+        private final MetricasComando metricas;
+        private final ComandoMedido comando;
+        private final EventoComandoSql evento;
+        private final long inicio;
+        // Do execute* até o retorno do primeiro next(): o tempo do banco, sem o de quem consome as linhas
+        private long duracaoPrimeiraLeitura = -1;
+        private long linhas;
+        private boolean concluido;
+
+        ResultadoMedido(ResultSet resultado, MetricasComando metricas, ComandoMedido comando, EventoComandoSql evento,
+                        long inicio) {
+            super(resultado);
+            this.metricas = metricas;
+            this.comando = comando;
+            this.evento = evento;
+            this.inicio = inicio;
+        }
+
+        @Override
+        public boolean next() throws SQLException {
+            boolean existe = resultado.next();
+            if (duracaoPrimeiraLeitura < 0) {
+                duracaoPrimeiraLeitura = System.nanoTime() - inicio;
+            }
+            if (existe) {
+                linhas++;
+            } else {
+                concluir();
+            }
+            return existe;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            concluir();
+            resultado.close();
+        }
+
+        void concluir() {
+            if (!concluido) {
+                concluido = true;
+                if (METRICAS) {
+                    metricas.linhasLidas.adicionar(linhas);
+                }
+                comando.conexao.registrarComando(linhas);
+                if (evento != null) {
+                    comando.concluirEvento(evento, metricas, "executeQuery", linhas);
+                }
+                // Consultas em fluxo (relatórios, stream=true) são lidas no ritmo do cliente: só o primeiro bloco conta
+                comando.verificarLenta(metricas,
+                        duracaoPrimeiraLeitura >= 0 ? duracaoPrimeiraLeitura : System.nanoTime() - inicio, linhas);
+            }
+        }
+    }
+}
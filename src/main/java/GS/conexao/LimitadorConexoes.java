@@ -0,0 +1,124 @@
+package GS.conexao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Classe LimitadorConexoes limita, com um semáforo, a quantidade de threads que usam o banco ao mesmo tempo.
+ *
+ * Com threads virtuais, milhares de requisições podem pedir uma conexão simultaneamente; o semáforo mantém no
+ * máximo {@code permissoes} delas dentro do JDBC (igual ao tamanho do pool) e as demais estacionam na fila do
+ * semáforo, sem ocupar threads do sistema operacional dentro do driver. A permissão é devolvida quando a conexão
+ * é fechada.
+ */
+public final class LimitadorConexoes {
+
+    private final Semaphore semaforo;
+    private final int permissoes;
+    private final long esperaMs;
+
+    /**
+     * Cria o limitador.
+     *
+     * @param permissoes Quantidade máxima de conexões em uso ao mesmo tempo.
+     * @param esperaMs   Tempo máximo de espera por uma permissão antes de lançar SQLException.
+     */
+    public LimitadorConexoes(int permissoes, long esperaMs) {
+        this.semaforo = new Semaphore(permissoes, true);
+        this.permissoes = permissoes;
+        this.esperaMs = esperaMs;
+    }
+
+    /**
+     * Aguarda uma permissão e obtém a conexão, que devolve a permissão ao ser fechada.
+     *
+     * @param fonte Fonte da conexão (o pool).
+     * @return Conexão limitada.
+     * @throws SQLException se a espera pela permissão esgotar ou a conexão não puder ser obtida.
+     */
+    Connection obter(FonteConexao fonte) throws SQLException {
+        try {
+            if (!semaforo.tryAcquire(esperaMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Tempo esgotado aguardando uma das " + permissoes + " conexões com o banco.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando uma conexão com o banco.", e);
+        }
+
+        Connection conexao;
+        try {
+            conexao = fonte.obter();
+        } catch (SQLException | RuntimeException e) {
+            semaforo.release();
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new LiberarAoFechar(conexao));
+    }
+
+    /**
+     * Retorna a quantidade de permissões livres.
+     */
+    public int getDisponiveis() {
+        return semaforo.availablePermits();
+    }
+
+    /**
+     * Retorna a quantidade aproximada de threads aguardando uma permissão.
+     */
+    public int getAguardando() {
+        return semaforo.getQueueLength();
+    }
+
+    public int getPermissoes() {
+        return permissoes;
+    }
+
+    /**
+     * Fonte das conexões limitadas.
+     */
+    interface FonteConexao {
+        Connection obter() throws SQLException;
+    }
+
+    /**
+     * Repassa as chamadas à conexão real e devolve a permissão uma única vez, no primeiro close.
+     */
+    private final class LiberarAoFechar implements InvocationHandler {
+
+        private final Connection conexao;
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        LiberarAoFechar(Connection conexao) {
+            this.conexao = conexao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            if ("close".equals(metodo.getName()) && metodo.getParameterCount() == 0) {
+                try {
+                    conexao.close();
+                } finally {
+                    if (liberada.compareAndSet(false, true)) {
+                        semaforo.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return metodo.invoke(conexao, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package GS.conexao;
+
+import GS.metricas.Contador;
+import GS.metricas.Coletor;
+import GS.metricas.EscritorPrometheus;
+import GS.metricas.Histograma;
+import GS.metricas.RegistroMetricas;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classe MetricasPool recebe do HikariCP as medições do pool de conexões (tempo de espera por uma conexão, tempo
+ * de uso e esperas esgotadas) e, na coleta, informa as conexões ativas, ociosas e as threads aguardando, além do
+ * estado do {@link LimitadorConexoes}.
+ */
+final class MetricasPool implements MetricsTrackerFactory, Coletor {
+
+    private final Histograma espera = RegistroMetricas.get().histograma(
+            "gs_pool_espera_segundos", "Tempo de espera por uma conexão do pool.").serie();
+    private final Histograma uso = RegistroMetricas.get().histograma(
+            "gs_pool_uso_segundos", "Tempo entre o empréstimo e a devolução das conexões ao pool.").serie();
+    private final Contador esgotadas = RegistroMetricas.get().contador(
+            "gs_pool_esperas_esgotadas_total", "Pedidos de conexão que esgotaram db.pool.tempoEsperaMs.").serie();
+
+    // Estado do pool atual; substituído se o pool for recriado após fecharPool()
+    private volatile PoolStats estatisticas;
+
+    MetricasPool() {
+        RegistroMetricas.get().registrar(this);
+    }
+
+    @Override
+    public IMetricsTracker create(String nomePool, PoolStats estatisticas) {
+        this.estatisticas = estatisticas;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long nanos) {
+                espera.observar(nanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long millis) {
+                uso.observar(TimeUnit.MILLISECONDS.toNanos(millis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                esgotadas.incrementar();
+            }
+        };
+    }
+
+    @Override
+    public void coletar(EscritorPrometheus escritor) {
+        PoolStats atual = estatisticas;
+        if (atual != null) {
+            escritor.metrica("gs_pool_conexoes_ativas", "Conexões do pool em uso.", "gauge", atual.getActiveConnections());
+            escritor.metrica("gs_pool_conexoes_ociosas", "Conexões do pool livres.", "gauge", atual.getIdleConnections());
+            escritor.metrica("gs_pool_conexoes_maximo", "Tamanho máximo do pool.", "gauge", atual.getMaxConnections());
+            escritor.metrica("gs_pool_threads_aguardando", "Threads aguardando uma conexão do pool.", "gauge",
+                    atual.getPendingThreads());
+        }
+        LimitadorConexoes limitador = ConnectionFactory.getLimitador();
+        if (limitador != null) {
+            escritor.metrica("gs_limitador_permissoes_disponiveis", "Permissões livres do limitador de conexões.",
+                    "gauge", limitador.getDisponiveis());
+            escritor.metrica("gs_limitador_threads_aguardando", "Threads aguardando uma permissão do limitador.",
+                    "gauge", limitador.getAguardando());
+        }
+    }
+}
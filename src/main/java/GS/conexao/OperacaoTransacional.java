@@ -0,0 +1,23 @@
+package GS.conexao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Interface OperacaoTransacional representa um conjunto de comandos executados em uma única transação
+ * (ver {@link ConnectionFactory#emTransacao(OperacaoTransacional)}).
+ *
+ * @param <T> Tipo do resultado da operação.
+ */
+@FunctionalInterface
+public interface OperacaoTransacional<T> {
+
+    /**
+     * Executa os comandos da operação usando a conexão da transação.
+     *
+     * @param conexao Conexão com a transação aberta; não deve ser fechada nem confirmada pela operação.
+     * @return Resultado da operação.
+     * @throws SQLException
+     */
+    T executar(Connection conexao) throws SQLException;
+}
@@ -0,0 +1,1017 @@
+package GS.conexao;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * Classe ResultadoDelegado repassa todas as chamadas a um ResultSet do driver. As subclasses sobrescrevem apenas o
+ * que precisam observar (ex.: {@code next} e {@code close}), de modo que os getters lidos a cada linha nos
+ * mapeamentos dos DAOs sejam chamadas diretas, sem {@link java.lang.reflect.Proxy} nem reflexão.
+ */
+abstract class ResultadoDelegado implements ResultSet {
+
+    protected final ResultSet resultado;
+
+    ResultadoDelegado(ResultSet resultado) {
+        this.resultado = resultado;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        return resultado.next();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        resultado.close();
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        return resultado.absolute(row);
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        resultado.afterLast();
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        resultado.beforeFirst();
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        resultado.cancelRowUpdates();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        resultado.clearWarnings();
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        resultado.deleteRow();
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        return resultado.findColumn(columnLabel);
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        return resultado.first();
+    }
+
+    @Override
+    public Array getArray(int columnIndex) throws SQLException {
+        return resultado.getArray(columnIndex);
+    }
+
+    @Override
+    public Array getArray(String columnLabel) throws SQLException {
+        return resultado.getArray(columnLabel);
+    }
+
+    @Override
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        return resultado.getAsciiStream(columnIndex);
+    }
+
+    @Override
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        return resultado.getAsciiStream(columnLabel);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        return resultado.getBigDecimal(columnIndex);
+    }
+
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        return resultado.getBigDecimal(columnIndex, scale);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return resultado.getBigDecimal(columnLabel);
+    }
+
+    @Override
+    @Deprecated
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        return resultado.getBigDecimal(columnLabel, scale);
+    }
+
+    @Override
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        return resultado.getBinaryStream(columnIndex);
+    }
+
+    @Override
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        return resultado.getBinaryStream(columnLabel);
+    }
+
+    @Override
+    public Blob getBlob(int columnIndex) throws SQLException {
+        return resultado.getBlob(columnIndex);
+    }
+
+    @Override
+    public Blob getBlob(String columnLabel) throws SQLException {
+        return resultado.getBlob(columnLabel);
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        return resultado.getBoolean(columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return resultado.getBoolean(columnLabel);
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        return resultado.getByte(columnIndex);
+    }
+
+    @Override
+    public byte getByte(String columnLabel) throws SQLException {
+        return resultado.getByte(columnLabel);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        return resultado.getBytes(columnIndex);
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return resultado.getBytes(columnLabel);
+    }
+
+    @Override
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        return resultado.getCharacterStream(columnIndex);
+    }
+
+    @Override
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        return resultado.getCharacterStream(columnLabel);
+    }
+
+    @Override
+    public Clob getClob(int columnIndex) throws SQLException {
+        return resultado.getClob(columnIndex);
+    }
+
+    @Override
+    public Clob getClob(String columnLabel) throws SQLException {
+        return resultado.getClob(columnLabel);
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        return resultado.getConcurrency();
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        return resultado.getCursorName();
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        return resultado.getDate(columnIndex);
+    }
+
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        return resultado.getDate(columnIndex, cal);
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        return resultado.getDate(columnLabel);
+    }
+
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        return resultado.getDate(columnLabel, cal);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        return resultado.getDouble(columnIndex);
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return resultado.getDouble(columnLabel);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return resultado.getFetchDirection();
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return resultado.getFetchSize();
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        return resultado.getFloat(columnIndex);
+    }
+
+    @Override
+    public float getFloat(String columnLabel) throws SQLException {
+        return resultado.getFloat(columnLabel);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return resultado.getHoldability();
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        return resultado.getInt(columnIndex);
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return resultado.getInt(columnLabel);
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        return resultado.getLong(columnIndex);
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return resultado.getLong(columnLabel);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return resultado.getMetaData();
+    }
+
+    @Override
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        return resultado.getNCharacterStream(columnIndex);
+    }
+
+    @Override
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        return resultado.getNCharacterStream(columnLabel);
+    }
+
+    @Override
+    public NClob getNClob(int columnIndex) throws SQLException {
+        return resultado.getNClob(columnIndex);
+    }
+
+    @Override
+    public NClob getNClob(String columnLabel) throws SQLException {
+        return resultado.getNClob(columnLabel);
+    }
+
+    @Override
+    public String getNString(int columnIndex) throws SQLException {
+        return resultado.getNString(columnIndex);
+    }
+
+    @Override
+    public String getNString(String columnLabel) throws SQLException {
+        return resultado.getNString(columnLabel);
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        return resultado.getObject(columnIndex);
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        return resultado.getObject(columnIndex, type);
+    }
+
+    @Override
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        return resultado.getObject(columnIndex, map);
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return resultado.getObject(columnLabel);
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        return resultado.getObject(columnLabel, type);
+    }
+
+    @Override
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        return resultado.getObject(columnLabel, map);
+    }
+
+    @Override
+    public Ref getRef(int columnIndex) throws SQLException {
+        return resultado.getRef(columnIndex);
+    }
+
+    @Override
+    public Ref getRef(String columnLabel) throws SQLException {
+        return resultado.getRef(columnLabel);
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        return resultado.getRow();
+    }
+
+    @Override
+    public RowId getRowId(int columnIndex) throws SQLException {
+        return resultado.getRowId(columnIndex);
+    }
+
+    @Override
+    public RowId getRowId(String columnLabel) throws SQLException {
+        return resultado.getRowId(columnLabel);
+    }
+
+    @Override
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        return resultado.getSQLXML(columnIndex);
+    }
+
+    @Override
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        return resultado.getSQLXML(columnLabel);
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        return resultado.getShort(columnIndex);
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        return resultado.getShort(columnLabel);
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        return resultado.getStatement();
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        return resultado.getString(columnIndex);
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return resultado.getString(columnLabel);
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        return resultado.getTime(columnIndex);
+    }
+
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        return resultado.getTime(columnIndex, cal);
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        return resultado.getTime(columnLabel);
+    }
+
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        return resultado.getTime(columnLabel, cal);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return resultado.getTimestamp(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        return resultado.getTimestamp(columnIndex, cal);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return resultado.getTimestamp(columnLabel);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        return resultado.getTimestamp(columnLabel, cal);
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        return resultado.getType();
+    }
+
+    @Override
+    public URL getURL(int columnIndex) throws SQLException {
+        return resultado.getURL(columnIndex);
+    }
+
+    @Override
+    public URL getURL(String columnLabel) throws SQLException {
+        return resultado.getURL(columnLabel);
+    }
+
+    @Override
+    @Deprecated
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        return resultado.getUnicodeStream(columnIndex);
+    }
+
+    @Override
+    @Deprecated
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        return resultado.getUnicodeStream(columnLabel);
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return resultado.getWarnings();
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        resultado.insertRow();
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        return resultado.isAfterLast();
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        return resultado.isBeforeFirst();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return resultado.isClosed();
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        return resultado.isFirst();
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        return resultado.isLast();
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        return resultado.last();
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        resultado.moveToCurrentRow();
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        resultado.moveToInsertRow();
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        return resultado.previous();
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        resultado.refreshRow();
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        return resultado.relative(rows);
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        return resultado.rowDeleted();
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        return resultado.rowInserted();
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        return resultado.rowUpdated();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        resultado.setFetchDirection(direction);
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        resultado.setFetchSize(rows);
+    }
+
+    @Override
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        resultado.updateArray(columnIndex, x);
+    }
+
+    @Override
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+        resultado.updateArray(columnLabel, x);
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+        resultado.updateAsciiStream(columnIndex, x);
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+        resultado.updateAsciiStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+        resultado.updateAsciiStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+        resultado.updateAsciiStream(columnLabel, x);
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+        resultado.updateAsciiStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+        resultado.updateAsciiStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        resultado.updateBigDecimal(columnIndex, x);
+    }
+
+    @Override
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+        resultado.updateBigDecimal(columnLabel, x);
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+        resultado.updateBinaryStream(columnIndex, x);
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+        resultado.updateBinaryStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+        resultado.updateBinaryStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+        resultado.updateBinaryStream(columnLabel, x);
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+        resultado.updateBinaryStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+        resultado.updateBinaryStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream x) throws SQLException {
+        resultado.updateBlob(columnIndex, x);
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        resultado.updateBlob(columnIndex, x);
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream x, long length) throws SQLException {
+        resultado.updateBlob(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream x) throws SQLException {
+        resultado.updateBlob(columnLabel, x);
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+        resultado.updateBlob(columnLabel, x);
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream x, long length) throws SQLException {
+        resultado.updateBlob(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        resultado.updateBoolean(columnIndex, x);
+    }
+
+    @Override
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+        resultado.updateBoolean(columnLabel, x);
+    }
+
+    @Override
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        resultado.updateByte(columnIndex, x);
+    }
+
+    @Override
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+        resultado.updateByte(columnLabel, x);
+    }
+
+    @Override
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        resultado.updateBytes(columnIndex, x);
+    }
+
+    @Override
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+        resultado.updateBytes(columnLabel, x);
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+        resultado.updateCharacterStream(columnIndex, x);
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+        resultado.updateCharacterStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        resultado.updateCharacterStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader x) throws SQLException {
+        resultado.updateCharacterStream(columnLabel, x);
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader x, int length) throws SQLException {
+        resultado.updateCharacterStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+        resultado.updateCharacterStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader x) throws SQLException {
+        resultado.updateClob(columnIndex, x);
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        resultado.updateClob(columnIndex, x);
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader x, long length) throws SQLException {
+        resultado.updateClob(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader x) throws SQLException {
+        resultado.updateClob(columnLabel, x);
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+        resultado.updateClob(columnLabel, x);
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader x, long length) throws SQLException {
+        resultado.updateClob(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        resultado.updateDate(columnIndex, x);
+    }
+
+    @Override
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+        resultado.updateDate(columnLabel, x);
+    }
+
+    @Override
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        resultado.updateDouble(columnIndex, x);
+    }
+
+    @Override
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+        resultado.updateDouble(columnLabel, x);
+    }
+
+    @Override
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        resultado.updateFloat(columnIndex, x);
+    }
+
+    @Override
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+        resultado.updateFloat(columnLabel, x);
+    }
+
+    @Override
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        resultado.updateInt(columnIndex, x);
+    }
+
+    @Override
+    public void updateInt(String columnLabel, int x) throws SQLException {
+        resultado.updateInt(columnLabel, x);
+    }
+
+    @Override
+    public void updateLong(int columnIndex, long x) throws SQLException {
+        resultado.updateLong(columnIndex, x);
+    }
+
+    @Override
+    public void updateLong(String columnLabel, long x) throws SQLException {
+        resultado.updateLong(columnLabel, x);
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+        resultado.updateNCharacterStream(columnIndex, x);
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        resultado.updateNCharacterStream(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader x) throws SQLException {
+        resultado.updateNCharacterStream(columnLabel, x);
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader x, long length) throws SQLException {
+        resultado.updateNCharacterStream(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader x) throws SQLException {
+        resultado.updateNClob(columnIndex, x);
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, NClob x) throws SQLException {
+        resultado.updateNClob(columnIndex, x);
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader x, long length) throws SQLException {
+        resultado.updateNClob(columnIndex, x, length);
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader x) throws SQLException {
+        resultado.updateNClob(columnLabel, x);
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, NClob x) throws SQLException {
+        resultado.updateNClob(columnLabel, x);
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader x, long length) throws SQLException {
+        resultado.updateNClob(columnLabel, x, length);
+    }
+
+    @Override
+    public void updateNString(int columnIndex, String x) throws SQLException {
+        resultado.updateNString(columnIndex, x);
+    }
+
+    @Override
+    public void updateNString(String columnLabel, String x) throws SQLException {
+        resultado.updateNString(columnLabel, x);
+    }
+
+    @Override
+    public void updateNull(int columnIndex) throws SQLException {
+        resultado.updateNull(columnIndex);
+    }
+
+    @Override
+    public void updateNull(String columnLabel) throws SQLException {
+        resultado.updateNull(columnLabel);
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        resultado.updateObject(columnIndex, x);
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+        resultado.updateObject(columnIndex, x, scaleOrLength);
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, SQLType targetSqlType) throws SQLException {
+        resultado.updateObject(columnIndex, x, targetSqlType);
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        resultado.updateObject(columnIndex, x, targetSqlType, scaleOrLength);
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+        resultado.updateObject(columnLabel, x);
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+        resultado.updateObject(columnLabel, x, scaleOrLength);
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, SQLType targetSqlType) throws SQLException {
+        resultado.updateObject(columnLabel, x, targetSqlType);
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        resultado.updateObject(columnLabel, x, targetSqlType, scaleOrLength);
+    }
+
+    @Override
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        resultado.updateRef(columnIndex, x);
+    }
+
+    @Override
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+        resultado.updateRef(columnLabel, x);
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        resultado.updateRow();
+    }
+
+    @Override
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+        resultado.updateRowId(columnIndex, x);
+    }
+
+    @Override
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+        resultado.updateRowId(columnLabel, x);
+    }
+
+    @Override
+    public void updateSQLXML(int columnIndex, SQLXML x) throws SQLException {
+        resultado.updateSQLXML(columnIndex, x);
+    }
+
+    @Override
+    public void updateSQLXML(String columnLabel, SQLXML x) throws SQLException {
+        resultado.updateSQLXML(columnLabel, x);
+    }
+
+    @Override
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        resultado.updateShort(columnIndex, x);
+    }
+
+    @Override
+    public void updateShort(String columnLabel, short x) throws SQLException {
+        resultado.updateShort(columnLabel, x);
+    }
+
+    @Override
+    public void updateString(int columnIndex, String x) throws SQLException {
+        resultado.updateString(columnIndex, x);
+    }
+
+    @Override
+    public void updateString(String columnLabel, String x) throws SQLException {
+        resultado.updateString(columnLabel, x);
+    }
+
+    @Override
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        resultado.updateTime(columnIndex, x);
+    }
+
+    @Override
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+        resultado.updateTime(columnLabel, x);
+    }
+
+    @Override
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        resultado.updateTimestamp(columnIndex, x);
+    }
+
+    @Override
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+        resultado.updateTimestamp(columnLabel, x);
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return resultado.wasNull();
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return resultado.isWrapperFor(iface);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return resultado.unwrap(iface);
+    }
+}
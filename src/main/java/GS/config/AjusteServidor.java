@@ -0,0 +1,125 @@
+package GS.config;
+
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Classe AjusteServidor aplica ao servidor HTTP (Grizzly) e ao Jersey as propriedades {@code servidor.*} e
+ * {@code jersey.config.*} da {@link Configuracao}, em geral definidas por um perfil ({@code servidor.perfil}).
+ *
+ * Propriedades vazias mantêm o padrão do Grizzly. Os ajustes precisam ser aplicados antes de o servidor iniciar.
+ */
+public final class AjusteServidor {
+
+    private static final Logger LOGGER = Logger.getLogger(AjusteServidor.class.getName());
+
+    private static final String PREFIXO_JERSEY = "jersey.config.";
+
+    private AjusteServidor() {
+    }
+
+    /**
+     * Retorna as propriedades do Jersey ({@code jersey.config.*}), repassadas sem alteração ao ResourceConfig.
+     *
+     * @return Propriedades do Jersey pelo nome.
+     */
+    public static Map<String, Object> propriedadesJersey() {
+        return new TreeMap<String, Object>(Configuracao.get().getPropriedades(PREFIXO_JERSEY));
+    }
+
+    /**
+     * Ajusta os listeners e o transporte de um servidor ainda não iniciado.
+     *
+     * @param servidor Servidor criado sem iniciar.
+     * @param modo     Modo de execução das requisições; no modo virtual, o pool de workers não é usado.
+     */
+    public static void aplicar(HttpServer servidor, ModoExecucao modo) {
+        Configuracao config = Configuracao.get();
+
+        Long tamanhoMaximoCorpo = longo("servidor.tamanhoMaximoCorpoBytes");
+        if (tamanhoMaximoCorpo != null) {
+            servidor.getServerConfiguration().setMaxPostSize(tamanhoMaximoCorpo);
+        }
+
+        for (NetworkListener listener : servidor.getListeners()) {
+            TCPNIOTransport transporte = listener.getTransport();
+
+            Integer seletores = inteiro("servidor.seletores");
+            if (seletores != null) {
+                transporte.setSelectorRunnersCount(seletores);
+            }
+            Integer maximo = inteiro("servidor.workers.maximo");
+            Integer fila = inteiro("servidor.workers.fila");
+            if (modo == ModoExecucao.PLATAFORMA && (maximo != null || fila != null)) {
+                ThreadPoolConfig workers = transporte.getWorkerThreadPoolConfig() != null
+                        ? transporte.getWorkerThreadPoolConfig().copy() : ThreadPoolConfig.defaultConfig().copy();
+                if (maximo != null) {
+                    workers.setMaxPoolSize(maximo);
+                    workers.setCorePoolSize(config.getInt("servidor.workers.minimo", maximo));
+                }
+                if (fila != null) {
+                    workers.setQueueLimit(fila);
+                }
+                transporte.setWorkerThreadPoolConfig(workers);
+            }
+
+            transporte.setTcpNoDelay(config.getBoolean("servidor.tcpNoDelay", true));
+            Integer backlog = inteiro("servidor.backlog");
+            if (backlog != null) {
+                transporte.setServerConnectionBackLog(backlog);
+            }
+            Integer bufferLeitura = inteiro("servidor.bufferLeituraBytes");
+            if (bufferLeitura != null) {
+                transporte.setReadBufferSize(bufferLeitura);
+            }
+            Integer bufferEscrita = inteiro("servidor.bufferEscritaBytes");
+            if (bufferEscrita != null) {
+                transporte.setWriteBufferSize(bufferEscrita);
+            }
+            Long tempoLeitura = longo("servidor.tempoLimiteLeituraMs");
+            if (tempoLeitura != null) {
+                transporte.setReadTimeout(tempoLeitura, TimeUnit.MILLISECONDS);
+            }
+            Long tempoEscrita = longo("servidor.tempoLimiteEscritaMs");
+            if (tempoEscrita != null) {
+                transporte.setWriteTimeout(tempoEscrita, TimeUnit.MILLISECONDS);
+            }
+
+            Integer ociosidade = inteiro("servidor.keepAlive.ociosidadeSegundos");
+            if (ociosidade != null) {
+                listener.getKeepAlive().setIdleTimeoutInSeconds(ociosidade);
+            }
+            Integer maximoRequisicoes = inteiro("servidor.keepAlive.maximoRequisicoes");
+            if (maximoRequisicoes != null) {
+                listener.getKeepAlive().setMaxRequestsCount(maximoRequisicoes);
+            }
+            Integer tamanhoCabecalho = inteiro("servidor.tamanhoMaximoCabecalhoBytes");
+            if (tamanhoCabecalho != null) {
+                listener.setMaxHttpHeaderSize(tamanhoCabecalho);
+            }
+            Integer tempoTransacao = inteiro("servidor.tempoLimiteTransacaoSegundos");
+            if (tempoTransacao != null) {
+                listener.setTransactionTimeout(tempoTransacao);
+            }
+        }
+
+        LOGGER.info("Perfil do servidor: " + config.getString("servidor.perfil", "padrão"));
+    }
+
+    private static Integer inteiro(String chave) {
+        String valor = Configuracao.get().getString(chave, null);
+        return valor == null ? null : Integer.valueOf(valor);
+    }
+
+    private static Long longo(String chave) {
+        String valor = Configuracao.get().getString(chave, null);
+        return valor == null ? null : Long.valueOf(valor);
+    }
+}
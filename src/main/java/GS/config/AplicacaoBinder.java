@@ -0,0 +1,64 @@
+package GS.config;
+
+import GS.model.bo.DadosConsumoBO;
+import GS.model.bo.DispositivoBO;
+import GS.model.bo.ExecutorBanco;
+import GS.model.bo.ReconstrucaoAgregadosBO;
+import GS.model.bo.RelatorioConsumoBO;
+import GS.model.bo.SessaoBO;
+import GS.model.bo.UsuarioBO;
+import GS.model.cache.RegistroCaches;
+import GS.model.dao.ConsumoAgregadoDAO;
+import GS.model.dao.DadosConsumoDAO;
+import GS.model.dao.DispositivoDAO;
+import GS.model.dao.RelatorioConsumoDAO;
+import GS.model.dao.SequenciaDAO;
+import GS.model.dao.SessaoDAO;
+import GS.model.dao.UsuarioDAO;
+import GS.model.dao.VersaoColecaoDAO;
+import GS.model.id.AlocadorIds;
+import GS.model.serie.ArmazemSeriesTemporais;
+import GS.model.sessao.RegistroSessoes;
+import jakarta.inject.Singleton;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+/**
+ * Classe AplicacaoBinder registra os DAOs e BOs no container de injeção do Jersey (HK2).
+ *
+ * Todos são registrados como singletons: não guardam estado por requisição e obtêm uma conexão do pool
+ * a cada operação, de modo que os recursos JAX-RS apenas recebem as instâncias já criadas.
+ */
+public class AplicacaoBinder extends AbstractBinder {
+
+    @Override
+    protected void configure() {
+        // DAOs
+        bindAsContract(UsuarioDAO.class).in(Singleton.class);
+        bindAsContract(DispositivoDAO.class).in(Singleton.class);
+        bindAsContract(SessaoDAO.class).in(Singleton.class);
+        bindAsContract(DadosConsumoDAO.class).in(Singleton.class);
+        bindAsContract(ConsumoAgregadoDAO.class).in(Singleton.class);
+        bindAsContract(SequenciaDAO.class).in(Singleton.class);
+        bindAsContract(VersaoColecaoDAO.class).in(Singleton.class);
+        bindAsContract(RelatorioConsumoDAO.class).in(Singleton.class);
+
+        // Geração de IDs
+        bindAsContract(AlocadorIds.class).in(Singleton.class);
+
+        // Execução das tarefas de banco das requisições assíncronas
+        bindAsContract(ExecutorBanco.class).in(Singleton.class);
+
+        // Camadas de leitura em memória
+        bindAsContract(ArmazemSeriesTemporais.class).in(Singleton.class);
+        bindAsContract(RegistroCaches.class).in(Singleton.class);
+        bindAsContract(RegistroSessoes.class).in(Singleton.class);
+
+        // BOs
+        bindAsContract(UsuarioBO.class).in(Singleton.class);
+        bindAsContract(DispositivoBO.class).in(Singleton.class);
+        bindAsContract(SessaoBO.class).in(Singleton.class);
+        bindAsContract(DadosConsumoBO.class).in(Singleton.class);
+        bindAsContract(ReconstrucaoAgregadosBO.class).in(Singleton.class);
+        bindAsContract(RelatorioConsumoBO.class).in(Singleton.class);
+    }
+}
@@ -0,0 +1,164 @@
+package GS.config;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Classe Configuracao centraliza as propriedades da aplicação, permitindo alterá-las sem recompilar o código.
+ *
+ * As propriedades são carregadas na seguinte ordem, em que cada etapa sobrescreve a anterior:
+ * <ol>
+ *     <li>{@code application.properties} do classpath;</li>
+ *     <li>perfil de ajuste do servidor {@code perfis/<nome>.properties} do classpath, escolhido por
+ *     {@code servidor.perfil} (em qualquer uma das demais fontes, ex.: {@code -Dservidor.perfil=ingestao});</li>
+ *     <li>arquivo externo indicado pela propriedade de sistema {@code gs.config} ou pela variável {@code GS_CONFIG};</li>
+ *     <li>variáveis de ambiente das propriedades já declaradas (ex.: {@code db.pool.tamanhoMaximo} pode ser sobrescrita por {@code GS_DB_POOL_TAMANHOMAXIMO});</li>
+ *     <li>propriedades de sistema da JVM ({@code -Ddb.pool.tamanhoMaximo=20}).</li>
+ * </ol>
+ */
+public final class Configuracao {
+
+    private static final String ARQUIVO_PADRAO = "application.properties";
+    private static final String CHAVE_PERFIL = "servidor.perfil";
+
+    private static volatile Configuracao instancia;
+
+    private final Properties propriedades;
+
+    private Configuracao(Properties propriedades) {
+        this.propriedades = propriedades;
+    }
+
+    /**
+     * Retorna a configuração da aplicação, carregando-a na primeira chamada.
+     *
+     * @return Instância única da configuração.
+     */
+    public static Configuracao get() {
+        Configuracao atual = instancia;
+        if (atual == null) {
+            synchronized (Configuracao.class) {
+                atual = instancia;
+                if (atual == null) {
+                    atual = new Configuracao(carregar());
+                    instancia = atual;
+                }
+            }
+        }
+        return atual;
+    }
+
+    private static Properties carregar() {
+        Properties propriedades = new Properties();
+
+        try (InputStream in = Configuracao.class.getClassLoader().getResourceAsStream(ARQUIVO_PADRAO)) {
+            if (in != null) {
+                propriedades.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao carregar " + ARQUIVO_PADRAO, e);
+        }
+
+        Properties externas = new Properties();
+        String externo = System.getProperty("gs.config", System.getenv("GS_CONFIG"));
+        if (externo != null && !externo.isEmpty()) {
+            try (InputStream in = new FileInputStream(externo)) {
+                externas.load(in);
+            } catch (IOException e) {
+                throw new IllegalStateException("Erro ao carregar o arquivo de configuração " + externo, e);
+            }
+        }
+
+        // O perfil fica abaixo do arquivo externo, mas pode ser escolhido por ele
+        String perfil = primeiroPreenchido(System.getProperty(CHAVE_PERFIL),
+                System.getenv(nomeVariavelAmbiente(CHAVE_PERFIL)),
+                externas.getProperty(CHAVE_PERFIL), propriedades.getProperty(CHAVE_PERFIL));
+        if (perfil != null) {
+            String arquivoPerfil = "perfis/" + perfil + ".properties";
+            try (InputStream in = Configuracao.class.getClassLoader().getResourceAsStream(arquivoPerfil)) {
+                if (in == null) {
+                    throw new IllegalStateException("Perfil de configuração inexistente: " + perfil);
+                }
+                propriedades.load(in);
+            } catch (IOException e) {
+                throw new IllegalStateException("Erro ao carregar " + arquivoPerfil, e);
+            }
+            propriedades.setProperty(CHAVE_PERFIL, perfil);
+        }
+        propriedades.putAll(externas);
+
+        Map<String, String> ambiente = System.getenv();
+        for (String chave : propriedades.stringPropertyNames()) {
+            String valor = ambiente.get(nomeVariavelAmbiente(chave));
+            if (valor != null) {
+                propriedades.setProperty(chave, valor);
+            }
+        }
+
+        for (String chave : System.getProperties().stringPropertyNames()) {
+            propriedades.setProperty(chave, System.getProperty(chave));
+        }
+        return propriedades;
+    }
+
+    private static String primeiroPreenchido(String... valores) {
+        for (String valor : valores) {
+            if (valor != null && !valor.trim().isEmpty()) {
+                return valor.trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converte o nome de uma propriedade no nome da variável de ambiente equivalente.
+     *
+     * @param chave Nome da propriedade, ex.: {@code db.pool.tamanhoMaximo}.
+     * @return Nome da variável de ambiente, ex.: {@code GS_DB_POOL_TAMANHOMAXIMO}.
+     */
+    static String nomeVariavelAmbiente(String chave) {
+        return "GS_" + chave.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+
+    public String getString(String chave, String padrao) {
+        String valor = propriedades.getProperty(chave);
+        return valor == null || valor.trim().isEmpty() ? padrao : valor.trim();
+    }
+
+    public int getInt(String chave, int padrao) {
+        String valor = getString(chave, null);
+        return valor == null ? padrao : Integer.parseInt(valor);
+    }
+
+    public long getLong(String chave, long padrao) {
+        String valor = getString(chave, null);
+        return valor == null ? padrao : Long.parseLong(valor);
+    }
+
+    public boolean getBoolean(String chave, boolean padrao) {
+        String valor = getString(chave, null);
+        return valor == null ? padrao : Boolean.parseBoolean(valor);
+    }
+
+    /**
+     * Retorna as propriedades preenchidas cujo nome começa com o prefixo informado.
+     *
+     * @param prefixo Prefixo dos nomes, ex.: {@code jersey.config.}.
+     * @return Propriedades com o nome completo, em ordem alfabética.
+     */
+    public Map<String, String> getPropriedades(String prefixo) {
+        Map<String, String> encontradas = new TreeMap<>();
+        for (String chave : propriedades.stringPropertyNames()) {
+            String valor = getString(chave, null);
+            if (chave.startsWith(prefixo) && valor != null) {
+                encontradas.put(chave, valor);
+            }
+        }
+        return encontradas;
+    }
+}
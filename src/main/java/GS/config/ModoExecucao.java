@@ -0,0 +1,79 @@
+package GS.config;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Enum ModoExecucao define em que tipo de thread as requisições são atendidas ({@code servidor.threads.modo}):
+ * <ul>
+ *     <li>{@code plataforma}: pool de workers do Grizzly, com threads do sistema operacional (padrão);</li>
+ *     <li>{@code virtual}: uma thread virtual por requisição, de modo que as chamadas JDBC bloqueantes apenas
+ *     estacionem a thread. Requer Java 21; em versões anteriores o servidor volta ao modo plataforma.</li>
+ * </ul>
+ * As threads virtuais são criadas por reflexão apenas porque o projeto é compilado com o JDK 17 ({@code <release>}
+ * do pom), anterior às threads virtuais; assim o mesmo build roda no Java 17 e usa o modo virtual no Java 21.
+ */
+public enum ModoExecucao {
+
+    PLATAFORMA,
+    VIRTUAL;
+
+    private static final Logger LOGGER = Logger.getLogger(ModoExecucao.class.getName());
+    private static final AtomicBoolean AVISO_EMITIDO = new AtomicBoolean();
+
+    /**
+     * Retorna o modo configurado, ou PLATAFORMA se o modo virtual não estiver disponível nesta JVM.
+     *
+     * @return Modo de execução das requisições.
+     */
+    public static ModoExecucao configurado() {
+        String valor = Configuracao.get().getString("servidor.threads.modo", "plataforma");
+        ModoExecucao modo = "virtual".equals(valor.trim().toLowerCase(Locale.ROOT)) ? VIRTUAL : PLATAFORMA;
+        if (modo == VIRTUAL && !virtualDisponivel()) {
+            if (AVISO_EMITIDO.compareAndSet(false, true)) {
+                LOGGER.warning("Threads virtuais não estão disponíveis nesta JVM (" + System.getProperty("java.version")
+                        + "); usando o modo plataforma.");
+            }
+            return PLATAFORMA;
+        }
+        return modo;
+    }
+
+    /**
+     * Indica se a JVM oferece threads virtuais (Java 21 ou superior).
+     *
+     * @return true se {@code Executors.newVirtualThreadPerTaskExecutor} existir.
+     */
+    public static boolean virtualDisponivel() {
+        return metodoExecutorVirtual() != null;
+    }
+
+    /**
+     * Cria um executor que inicia uma thread virtual por tarefa.
+     *
+     * @return Executor de threads virtuais.
+     * @throws IllegalStateException se a JVM não oferecer threads virtuais.
+     */
+    public static ExecutorService novoExecutorVirtual() {
+        Method metodo = metodoExecutorVirtual();
+        if (metodo == null) {
+            throw new IllegalStateException("Threads virtuais não estão disponíveis nesta JVM.");
+        }
+        try {
+            return (ExecutorService) metodo.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Erro ao criar o executor de threads virtuais.", e);
+        }
+    }
+
+    private static Method metodoExecutorVirtual() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
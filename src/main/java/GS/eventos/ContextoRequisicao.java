@@ -0,0 +1,51 @@
+package GS.eventos;
+
+/**
+ * Classe ContextoRequisicao guarda, na thread que atende a requisição, a rota em atendimento (ex.:
+ * {@code GET /dispositivos/{id}}), para que os eventos JFR da camada de banco informem de qual endpoint vieram.
+ *
+ * A rota é definida pelo filtro das requisições e repassada às threads do
+ * {@link GS.model.bo.ExecutorBanco} junto com cada tarefa. Cada requisição substitui o valor deixado pela anterior
+ * na mesma thread.
+ */
+public final class ContextoRequisicao {
+
+    private static final ThreadLocal<String> ROTA = new ThreadLocal<>();
+
+    private ContextoRequisicao() {
+    }
+
+    /**
+     * Retorna a rota em atendimento pela thread atual.
+     *
+     * @return Rota, ou null fora de uma requisição.
+     */
+    public static String getRota() {
+        return ROTA.get();
+    }
+
+    /**
+     * Define a rota da thread atual.
+     *
+     * @param rota Rota em atendimento, ou null.
+     * @return Rota anterior, para {@link #restaurar(String)}.
+     */
+    public static String definir(String rota) {
+        String anterior = ROTA.get();
+        ROTA.set(rota);
+        return anterior;
+    }
+
+    /**
+     * Restaura a rota anterior da thread (ex.: ao fim de uma tarefa executada em nome de uma requisição).
+     *
+     * @param anterior Valor retornado por {@link #definir(String)}.
+     */
+    public static void restaurar(String anterior) {
+        if (anterior == null) {
+            ROTA.remove();
+        } else {
+            ROTA.set(anterior);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package GS.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR de um comando SQL: da chamada {@code execute*} até o fim da leitura do ResultSet (consultas) ou o
+ * retorno do driver (demais comandos).
+ *
+ * Por padrão só são gravados os comandos acima de 5 ms ({@code GS.ComandoSql#threshold}).
+ */
+@Name("GS.ComandoSql")
+@Label("Comando SQL")
+@Description("Comando SQL executado pela camada de acesso a dados.")
+@Category({"GS", "Banco de dados"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class EventoComandoSql extends jdk.jfr.Event {
+
+    @Label("ID do comando")
+    @Description("Identificador estável do texto SQL normalizado, igual entre execuções e instâncias.")
+    public String idComando;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Método de acesso")
+    @Description("Método que preparou o comando, ex.: DispositivoDAO.buscarDispositivoPorId.")
+    public String metodo;
+
+    @Label("Rota")
+    @Description("Rota da requisição que originou o comando, se houver.")
+    public String rota;
+
+    @Label("Operação")
+    @Description("execute, executeQuery, executeUpdate ou executeBatch.")
+    public String operacao;
+
+    @Label("Parâmetros")
+    @Description("Quantidade de parâmetros informados (bind) no comando.")
+    public int parametros;
+
+    @Label("Itens do lote")
+    public int lote;
+
+    @Label("Linhas")
+    @Description("Linhas lidas (consultas) ou afetadas (demais comandos).")
+    public long linhas;
+
+    @Label("Erro")
+    public boolean erro;
+}
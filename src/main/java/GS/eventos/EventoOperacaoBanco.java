@@ -0,0 +1,43 @@
+package GS.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de uma operação de banco: do pedido da conexão ao pool até a sua devolução. Como cada método dos
+ * DAOs (ou cada transação de um BO) usa uma conexão, o evento corresponde a uma chamada desse método.
+ *
+ * Por padrão só são gravadas as operações acima de 5 ms ({@code GS.OperacaoBanco#threshold}).
+ */
+@Name("GS.OperacaoBanco")
+@Label("Operação de banco")
+@Description("Uso de uma conexão do pool por um método de acesso a dados.")
+@Category({"GS", "Banco de dados"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class EventoOperacaoBanco extends jdk.jfr.Event {
+
+    @Label("Método de acesso")
+    @Description("Método que obteve a conexão, ex.: DispositivoDAO.listarDispositivos.")
+    public String metodo;
+
+    @Label("Rota")
+    @Description("Rota da requisição que originou a operação, se houver.")
+    public String rota;
+
+    @Label("Espera pela conexão")
+    @Timespan(Timespan.NANOSECONDS)
+    public long esperaConexao;
+
+    @Label("Comandos")
+    public int comandos;
+
+    @Label("Linhas")
+    @Description("Linhas lidas e afetadas por todos os comandos.")
+    public long linhas;
+}
@@ -0,0 +1,37 @@
+package GS.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR de uma requisição HTTP, do fim da correspondência com o recurso até a resposta ficar pronta para envio.
+ *
+ * Por padrão só são gravadas as requisições acima de 10 ms; o limite pode ser alterado no arquivo de configuração
+ * da gravação ({@code GS.Requisicao#threshold}).
+ */
+@Name("GS.Requisicao")
+@Label("Requisição HTTP")
+@Description("Requisição atendida pela aplicação.")
+@Category({"GS", "HTTP"})
+@Threshold("10 ms")
+@StackTrace(false)
+public class EventoRequisicao extends jdk.jfr.Event {
+
+    @Label("Método")
+    public String metodo;
+
+    @Label("Rota")
+    @Description("Template do recurso, ex.: /dispositivos/{id}.")
+    public String rota;
+
+    @Label("Caminho")
+    @Description("Caminho recebido, com os IDs.")
+    public String caminho;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,15 @@
+package GS.metricas;
+
+/**
+ * Fonte de métricas lidas no momento da coleta (ex.: tamanho de filas e do pool de conexões), registrada com
+ * {@link RegistroMetricas#registrar(Coletor)}.
+ */
+public interface Coletor {
+
+    /**
+     * Escreve as métricas atuais.
+     *
+     * @param escritor Texto de exposição em montagem.
+     */
+    void coletar(EscritorPrometheus escritor);
+}
@@ -0,0 +1,31 @@
+package GS.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador crescente de uma série (ex.: linhas lidas por um comando SQL).
+ *
+ * Usa {@link LongAdder}, que distribui os incrementos simultâneos entre células em vez de disputar uma única
+ * variável atômica.
+ */
+public final class Contador implements Familia.Serie {
+
+    private final LongAdder valor = new LongAdder();
+
+    public void incrementar() {
+        valor.increment();
+    }
+
+    public void adicionar(long quantidade) {
+        valor.add(quantidade);
+    }
+
+    public long getValor() {
+        return valor.sum();
+    }
+
+    @Override
+    public void escrever(EscritorPrometheus escritor, String nome, String[] rotulos, String[] valores) {
+        escritor.amostra(nome, rotulos, valores, valor.sum());
+    }
+}
@@ -0,0 +1,126 @@
+package GS.metricas;
+
+import java.math.BigDecimal;
+
+/**
+ * Classe EscritorPrometheus monta o texto de exposição do Prometheus (versão 0.0.4) servido em {@code GET /metrics}.
+ *
+ * Cada métrica é escrita com {@link #cabecalho} ({@code # HELP} e {@code # TYPE}) seguido das amostras
+ * ({@code nome{rotulo="valor"} numero}). Os valores dos rótulos são escapados conforme o formato.
+ */
+public final class EscritorPrometheus {
+
+    /**
+     * Tipo de conteúdo da exposição em texto.
+     */
+    public static final String TIPO = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String[] SEM_ROTULOS = new String[0];
+
+    private final StringBuilder texto = new StringBuilder(16384);
+
+    /**
+     * Escreve a descrição e o tipo de uma métrica.
+     *
+     * @param nome  Nome da métrica.
+     * @param ajuda Descrição.
+     * @param tipo  {@code counter}, {@code gauge} ou {@code histogram}.
+     */
+    public void cabecalho(String nome, String ajuda, String tipo) {
+        texto.append("# HELP ").append(nome).append(' ');
+        for (int i = 0; i < ajuda.length(); i++) {
+            char c = ajuda.charAt(i);
+            if (c == '\\') {
+                texto.append("\\\\");
+            } else if (c == '\n') {
+                texto.append("\\n");
+            } else {
+                texto.append(c);
+            }
+        }
+        texto.append('\n');
+        texto.append("# TYPE ").append(nome).append(' ').append(tipo).append('\n');
+    }
+
+    /**
+     * Escreve uma métrica sem rótulos, com cabeçalho e valor.
+     */
+    public void metrica(String nome, String ajuda, String tipo, double valor) {
+        cabecalho(nome, ajuda, tipo);
+        amostra(nome, SEM_ROTULOS, SEM_ROTULOS, valor);
+    }
+
+    /**
+     * Escreve uma amostra.
+     *
+     * @param nome    Nome da amostra (ex.: {@code gs_sql_duracao_segundos_bucket}).
+     * @param rotulos Nomes dos rótulos.
+     * @param valores Valores dos rótulos, na mesma ordem.
+     * @param valor   Valor da amostra.
+     */
+    public void amostra(String nome, String[] rotulos, String[] valores, double valor) {
+        amostra(nome, rotulos, valores, null, null, valor);
+    }
+
+    /**
+     * Escreve uma amostra com um rótulo adicional ao final (ex.: {@code le} dos baldes de um histograma).
+     */
+    void amostra(String nome, String[] rotulos, String[] valores, String rotuloExtra, String valorExtra, double valor) {
+        texto.append(nome);
+        if (rotulos.length > 0 || rotuloExtra != null) {
+            texto.append('{');
+            for (int i = 0; i < rotulos.length; i++) {
+                if (i > 0) {
+                    texto.append(',');
+                }
+                rotulo(rotulos[i], valores[i]);
+            }
+            if (rotuloExtra != null) {
+                if (rotulos.length > 0) {
+                    texto.append(',');
+                }
+                rotulo(rotuloExtra, valorExtra);
+            }
+            texto.append('}');
+        }
+        texto.append(' ').append(numero(valor)).append('\n');
+    }
+
+    private void rotulo(String nome, String valor) {
+        texto.append(nome).append("=\"");
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '\\') {
+                texto.append("\\\\");
+            } else if (c == '"') {
+                texto.append("\\\"");
+            } else if (c == '\n') {
+                texto.append("\\n");
+            } else {
+                texto.append(c);
+            }
+        }
+        texto.append('"');
+    }
+
+    /**
+     * Formata um número: inteiros sem casas decimais, frações sem notação científica e infinito como {@code +Inf}.
+     */
+    static String numero(double valor) {
+        if (Double.isNaN(valor)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(valor)) {
+            return valor > 0 ? "+Inf" : "-Inf";
+        }
+        if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            return Long.toString((long) valor);
+        }
+        return BigDecimal.valueOf(valor).stripTrailingZeros().toPlainString();
+    }
+
+    @Override
+    public String toString() {
+        return texto.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package GS.metricas;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Classe Familia agrupa as séries de uma métrica, uma por combinação de valores dos rótulos
+ * (ex.: {@code gs_sql_duracao_segundos{comando="SELECT ..."}}).
+ *
+ * A busca de uma série existente é uma leitura do {@link ConcurrentHashMap}, sem trava; a série só é criada no
+ * primeiro uso da combinação. Para que valores imprevistos (ex.: SQL montado dinamicamente) não façam a
+ * quantidade de séries crescer sem limite, acima de {@code maximoSeries} as novas combinações são somadas na
+ * série com todos os rótulos iguais a {@value #OUTROS}.
+ *
+ * @param <S> Tipo das séries ({@link Contador} ou {@link Histograma}).
+ */
+public final class Familia<S extends Familia.Serie> implements Coletor {
+
+    /**
+     * Valor dos rótulos da série que recebe as combinações acima do limite.
+     */
+    public static final String OUTROS = "outros";
+
+    private final String nome;
+    private final String ajuda;
+    private final String tipo;
+    private final String[] rotulos;
+    private final Supplier<S> fabrica;
+    private final int maximoSeries;
+    private final Map<Chave, S> series = new ConcurrentHashMap<>();
+    private final S excedente;
+
+    Familia(String nome, String ajuda, String tipo, String[] rotulos, Supplier<S> fabrica, int maximoSeries) {
+        this.nome = nome;
+        this.ajuda = ajuda;
+        this.tipo = tipo;
+        this.rotulos = rotulos.clone();
+        this.fabrica = fabrica;
+        this.maximoSeries = maximoSeries;
+        this.excedente = fabrica.get();
+    }
+
+    /**
+     * Retorna a série dos valores de rótulos informados, criando-a no primeiro uso.
+     *
+     * @param valores Valores dos rótulos, na ordem em que foram declarados.
+     * @return Série correspondente.
+     * @throws IllegalArgumentException se a quantidade de valores não corresponder à de rótulos.
+     */
+    public S serie(String... valores) {
+        if (valores.length != rotulos.length) {
+            throw new IllegalArgumentException("A métrica " + nome + " tem " + rotulos.length + " rótulos.");
+        }
+        S serie = series.get(new Chave(valores));
+        if (serie != null) {
+            return serie;
+        }
+        if (series.size() >= maximoSeries) {
+            return excedente;
+        }
+        return series.computeIfAbsent(new Chave(valores.clone()), k -> fabrica.get());
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public void coletar(EscritorPrometheus escritor) {
+        escritor.cabecalho(nome, ajuda, tipo);
+        for (Map.Entry<Chave, S> entrada : series.entrySet()) {
+            entrada.getValue().escrever(escritor, nome, rotulos, entrada.getKey().valores);
+        }
+        if (series.size() >= maximoSeries) {
+            String[] outros = new String[rotulos.length];
+            Arrays.fill(outros, OUTROS);
+            excedente.escrever(escritor, nome, rotulos, outros);
+        }
+    }
+
+    /**
+     * Valores dos rótulos de uma série, comparados elemento a elemento (sem os iteradores de uma List).
+     */
+    private static final class Chave {
+
+        private final String[] valores;
+        private final int hash;
+
+        Chave(String[] valores) {
+            this.valores = valores;
+            this.hash = Arrays.hashCode(valores);
+        }
+
+        @Override
+        public boolean equals(Object outro) {
+            return outro instanceof Chave && Arrays.equals(valores, ((Chave) outro).valores);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Série de uma família, que sabe escrever as próprias amostras.
+     */
+    public interface Serie {
+
+        /**
+         * Escreve as amostras da série.
+         *
+         * @param escritor Texto de exposição em montagem.
+         * @param nome     Nome da família.
+         * @param rotulos  Nomes dos rótulos.
+         * @param valores  Valores dos rótulos desta série.
+         */
+        void escrever(EscritorPrometheus escritor, String nome, String[] rotulos, String[] valores);
+    }
+}
@@ -0,0 +1,84 @@
+package GS.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de durações com baldes fixos, no formato do Prometheus ({@code _bucket}, {@code _sum} e
+ * {@code _count}, em segundos).
+ *
+ * Cada observação é uma busca binária nos limites e dois incrementos em {@link LongAdder} (o balde e a soma):
+ * sem travas nem alocação, para que a medição custe nanossegundos mesmo com muitas threads. Os baldes guardam
+ * apenas as suas próprias observações; os totais acumulados exigidos pelo formato são somados na coleta.
+ */
+public final class Histograma implements Familia.Serie {
+
+    private final long[] limitesNanos;
+    private final double[] limitesSegundos;
+    // Um balde por limite, mais o balde das observações acima do último (+Inf)
+    private final LongAdder[] baldes;
+    private final LongAdder somaNanos = new LongAdder();
+
+    /**
+     * Cria o histograma.
+     *
+     * @param limitesSegundos Limites superiores dos baldes, em segundos e em ordem crescente.
+     */
+    public Histograma(double[] limitesSegundos) {
+        this.limitesSegundos = limitesSegundos.clone();
+        this.limitesNanos = new long[limitesSegundos.length];
+        for (int i = 0; i < limitesSegundos.length; i++) {
+            limitesNanos[i] = (long) (limitesSegundos[i] * 1e9);
+            if (i > 0 && limitesNanos[i] <= limitesNanos[i - 1]) {
+                throw new IllegalArgumentException("Os limites do histograma devem ser crescentes.");
+            }
+        }
+        this.baldes = new LongAdder[limitesSegundos.length + 1];
+        for (int i = 0; i < baldes.length; i++) {
+            baldes[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra uma duração.
+     *
+     * @param nanos Duração em nanossegundos.
+     */
+    public void observar(long nanos) {
+        int inicio = 0;
+        int fim = limitesNanos.length;
+        // Primeiro limite maior ou igual à duração (os baldes do Prometheus são "menor ou igual")
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (limitesNanos[meio] < nanos) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        baldes[inicio].increment();
+        somaNanos.add(nanos);
+    }
+
+    /**
+     * Retorna a quantidade de observações.
+     */
+    public long getQuantidade() {
+        long total = 0;
+        for (LongAdder balde : baldes) {
+            total += balde.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public void escrever(EscritorPrometheus escritor, String nome, String[] rotulos, String[] valores) {
+        long acumulado = 0;
+        for (int i = 0; i < baldes.length; i++) {
+            acumulado += baldes[i].sum();
+            String limite = i < limitesSegundos.length ? EscritorPrometheus.numero(limitesSegundos[i]) : "+Inf";
+            escritor.amostra(nome + "_bucket", rotulos, valores, "le", limite, acumulado);
+        }
+        escritor.amostra(nome + "_sum", rotulos, valores, somaNanos.sum() / 1e9);
+        escritor.amostra(nome + "_count", rotulos, valores, acumulado);
+    }
+}
@@ -0,0 +1,117 @@
+package GS.metricas;
+
+import GS.config.Configuracao;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Classe RegistroMetricas mantém as métricas da aplicação expostas em {@code GET /metrics} no formato do
+ * Prometheus: as famílias de contadores e histogramas alimentadas durante as requisições e os {@link Coletor}es
+ * lidos apenas na coleta (pool de conexões, filas, caches).
+ *
+ * É um registro único por JVM ({@link #get()}), como a {@link Configuracao}, para que a camada de conexões, que
+ * não passa pelo container de injeção, também registre as suas métricas. Configuração: {@code metricas.habilitadas}
+ * (instrumentação das requisições e do JDBC), {@code metricas.limitesSegundos} (baldes dos histogramas) e
+ * {@code metricas.maximoSeries} (combinações de rótulos por métrica).
+ */
+public final class RegistroMetricas {
+
+    private static final RegistroMetricas INSTANCIA = new RegistroMetricas(Configuracao.get());
+
+    private final boolean habilitadas;
+    private final double[] limitesPadrao;
+    private final int maximoSeries;
+    private final Map<String, Familia<?>> familias = new ConcurrentSkipListMap<>();
+    private final List<Coletor> coletores = new CopyOnWriteArrayList<>();
+
+    RegistroMetricas(Configuracao configuracao) {
+        this.habilitadas = configuracao.getBoolean("metricas.habilitadas", true);
+        this.maximoSeries = configuracao.getInt("metricas.maximoSeries", 500);
+        String limites = configuracao.getString("metricas.limitesSegundos",
+                "0.0005,0.001,0.0025,0.005,0.01,0.025,0.05,0.1,0.25,0.5,1,2.5,5,10");
+        String[] partes = limites.split(",");
+        this.limitesPadrao = new double[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            limitesPadrao[i] = Double.parseDouble(partes[i].trim());
+        }
+    }
+
+    /**
+     * Retorna o registro da aplicação.
+     *
+     * @return Registro de métricas.
+     */
+    public static RegistroMetricas get() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Indica se a instrumentação das requisições e do JDBC está habilitada ({@code metricas.habilitadas}).
+     */
+    public boolean isHabilitadas() {
+        return habilitadas;
+    }
+
+    /**
+     * Retorna a família de contadores com o nome informado, criando-a na primeira chamada.
+     *
+     * @param nome    Nome da métrica (terminado em {@code _total}).
+     * @param ajuda   Descrição.
+     * @param rotulos Nomes dos rótulos.
+     * @return Família de contadores.
+     */
+    public Familia<Contador> contador(String nome, String ajuda, String... rotulos) {
+        return familia(nome, ajuda, "counter", rotulos, Contador::new);
+    }
+
+    /**
+     * Retorna a família de histogramas de duração com o nome informado, criando-a na primeira chamada com os
+     * limites de {@code metricas.limitesSegundos}.
+     *
+     * @param nome    Nome da métrica (terminado em {@code _segundos}).
+     * @param ajuda   Descrição.
+     * @param rotulos Nomes dos rótulos.
+     * @return Família de histogramas.
+     */
+    public Familia<Histograma> histograma(String nome, String ajuda, String... rotulos) {
+        return familia(nome, ajuda, "histogram", rotulos, () -> new Histograma(limitesPadrao));
+    }
+
+    /**
+     * Registra uma fonte de métricas lida na coleta.
+     *
+     * @param coletor Fonte das métricas.
+     */
+    public void registrar(Coletor coletor) {
+        coletores.add(coletor);
+    }
+
+    /**
+     * Escreve todas as métricas: as famílias em ordem de nome, seguidas dos coletores.
+     *
+     * @param escritor Texto de exposição em montagem.
+     */
+    public void coletar(EscritorPrometheus escritor) {
+        for (Familia<?> familia : familias.values()) {
+            familia.coletar(escritor);
+        }
+        for (Coletor coletor : coletores) {
+            coletor.coletar(escritor);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S extends Familia.Serie> Familia<S> familia(String nome, String ajuda, String tipo, String[] rotulos,
+                                                         Supplier<S> fabrica) {
+        Familia<?> familia = familias.computeIfAbsent(nome,
+                n -> new Familia<>(n, ajuda, tipo, rotulos, fabrica, maximoSeries));
+        if (!familia.getTipo().equals(tipo)) {
+            throw new IllegalStateException("A métrica " + nome + " já foi registrada como " + familia.getTipo() + ".");
+        }
+        return (Familia<S>) familia;
+    }
+}
@@ -0,0 +1,159 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Classe ConsultaLenta representa um comando SQL que excedeu o limite de duração das consultas lentas: a execução
+ * mais lenta na janela (duração, linhas, tipos dos parâmetros, método do DAO e do BO que o executaram, rota), a
+ * quantidade de ocorrências e o plano de execução capturado do banco.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class ConsultaLenta {
+
+    @SerializedName("id")
+    private String id;
+
+    @SerializedName("sql")
+    private String sql;
+
+    @SerializedName("ocorrencias")
+    private long ocorrencias;
+
+    @SerializedName("duracao_maxima_ms")
+    private double duracaoMaximaMs;
+
+    @SerializedName("duracao_media_ms")
+    private double duracaoMediaMs;
+
+    @SerializedName("linhas")
+    private long linhas;
+
+    @SerializedName("parametros")
+    private List<String> parametros;
+
+    @SerializedName("metodo")
+    private String metodo;
+
+    @SerializedName("origem")
+    private String origem;
+
+    @SerializedName("rota")
+    private String rota;
+
+    @SerializedName("data_hora")
+    private LocalDateTime dataHora;
+
+    @SerializedName("ultima_ocorrencia")
+    private LocalDateTime ultimaOcorrencia;
+
+    @SerializedName("plano")
+    private String plano;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public long getOcorrencias() {
+        return ocorrencias;
+    }
+
+    public void setOcorrencias(long ocorrencias) {
+        this.ocorrencias = ocorrencias;
+    }
+
+    public double getDuracaoMaximaMs() {
+        return duracaoMaximaMs;
+    }
+
+    public void setDuracaoMaximaMs(double duracaoMaximaMs) {
+        this.duracaoMaximaMs = duracaoMaximaMs;
+    }
+
+    public double getDuracaoMediaMs() {
+        return duracaoMediaMs;
+    }
+
+    public void setDuracaoMediaMs(double duracaoMediaMs) {
+        this.duracaoMediaMs = duracaoMediaMs;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public void setLinhas(long linhas) {
+        this.linhas = linhas;
+    }
+
+    public List<String> getParametros() {
+        return parametros;
+    }
+
+    public void setParametros(List<String> parametros) {
+        this.parametros = parametros;
+    }
+
+    public String getMetodo() {
+        return metodo;
+    }
+
+    public void setMetodo(String metodo) {
+        this.metodo = metodo;
+    }
+
+    public String getOrigem() {
+        return origem;
+    }
+
+    public void setOrigem(String origem) {
+        this.origem = origem;
+    }
+
+    public String getRota() {
+        return rota;
+    }
+
+    public void setRota(String rota) {
+        this.rota = rota;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    public void setDataHora(LocalDateTime dataHora) {
+        this.dataHora = dataHora;
+    }
+
+    public LocalDateTime getUltimaOcorrencia() {
+        return ultimaOcorrencia;
+    }
+
+    public void setUltimaOcorrencia(LocalDateTime ultimaOcorrencia) {
+        this.ultimaOcorrencia = ultimaOcorrencia;
+    }
+
+    public String getPlano() {
+        return plano;
+    }
+
+    public void setPlano(String plano) {
+        this.plano = plano;
+    }
+}
@@ -0,0 +1,108 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+import java.time.LocalDateTime;
+
+/**
+ * Classe ConsumoAgregado representa o consumo de um dispositivo agregado em um período (hora ou dia):
+ * total em kWh, menor e maior leitura e quantidade de leituras.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class ConsumoAgregado {
+
+    @SerializedName("id_dispositivo")
+    private int idDispositivo;
+
+    @SerializedName("granularidade")
+    private Granularidade granularidade;
+
+    @SerializedName("inicio_periodo")
+    private LocalDateTime inicioPeriodo;
+
+    @SerializedName("total_kwh")
+    private double totalKwh;
+
+    @SerializedName("minimo")
+    private float minimo;
+
+    @SerializedName("maximo")
+    private float maximo;
+
+    @SerializedName("quantidade")
+    private long quantidade;
+
+    public int getIdDispositivo() {
+        return idDispositivo;
+    }
+
+    public void setIdDispositivo(int idDispositivo) {
+        this.idDispositivo = idDispositivo;
+    }
+
+    public Granularidade getGranularidade() {
+        return granularidade;
+    }
+
+    public void setGranularidade(Granularidade granularidade) {
+        this.granularidade = granularidade;
+    }
+
+    public LocalDateTime getInicioPeriodo() {
+        return inicioPeriodo;
+    }
+
+    public void setInicioPeriodo(LocalDateTime inicioPeriodo) {
+        this.inicioPeriodo = inicioPeriodo;
+    }
+
+    public double getTotalKwh() {
+        return totalKwh;
+    }
+
+    public void setTotalKwh(double totalKwh) {
+        this.totalKwh = totalKwh;
+    }
+
+    public float getMinimo() {
+        return minimo;
+    }
+
+    public void setMinimo(float minimo) {
+        this.minimo = minimo;
+    }
+
+    public float getMaximo() {
+        return maximo;
+    }
+
+    public void setMaximo(float maximo) {
+        this.maximo = maximo;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    /**
+     * Acrescenta uma leitura ao agregado.
+     *
+     * @param consumoEnergia Valor da leitura em kWh.
+     */
+    public void acumular(float consumoEnergia) {
+        if (quantidade == 0) {
+            minimo = consumoEnergia;
+            maximo = consumoEnergia;
+        } else {
+            minimo = Math.min(minimo, consumoEnergia);
+            maximo = Math.max(maximo, consumoEnergia);
+        }
+        totalKwh += consumoEnergia;
+        quantidade++;
+    }
+}
@@ -1,6 +1,7 @@
 package GS.model.beans;
 import javax.xml.bind.annotation.XmlRootElement;
 import com.google.gson.annotations.SerializedName;
+import jakarta.json.bind.annotation.JsonbTransient;
 import java.time.LocalDateTime;
 
     /**
@@ -10,8 +11,6 @@ import java.time.LocalDateTime;
     @XmlRootElement
     public class DadosConsumo {
 
-        private static int nextId = 1;
-
         @SerializedName("id_consumo")
         private int idConsumo;
 
@@ -21,24 +20,29 @@ import java.time.LocalDateTime;
         @SerializedName("consumo_energia")
         private float consumoEnergia;
 
+        @SerializedName("id_dispositivo")
+        private int idDispositivo;
+
+        // Versão do registro, incrementada a cada atualização; enviada apenas na ETag da resposta
+        @JsonbTransient
+        private long versao;
+
         /**
          * Construtor que inicializa um objeto DadosConsumo com o consumo de energia.
-         * O ID é automaticamente definido e incrementado.
+         * O ID é atribuído pelo BO na inserção.
          *
          * @param consumoEnergia Consumo de energia registrado.
          */
         public DadosConsumo(float consumoEnergia) {
-            this.idConsumo = nextId++; // Define o ID automaticamente e incrementa
             this.dataHora = LocalDateTime.now(); // Define a data e hora atual
             this.consumoEnergia = consumoEnergia;
         }
 
         /**
-         * Construtor vazio que também define um ID automaticamente.
+         * Construtor vazio que define a data e hora atual.
          * Usado principalmente para criação de instâncias sem dados iniciais.
          */
         public DadosConsumo() {
-            this.idConsumo = nextId++;
             this.dataHora = LocalDateTime.now();
         }
 
@@ -96,6 +100,44 @@ import java.time.LocalDateTime;
             this.consumoEnergia = consumoEnergia;
         }
 
+        /**
+         * Retorna o ID do dispositivo que registrou o consumo.
+         *
+         * @return ID do dispositivo, ou 0 caso o registro não esteja associado a um dispositivo.
+         */
+        public int getIdDispositivo() {
+            return idDispositivo;
+        }
+
+        /**
+         * Define o ID do dispositivo que registrou o consumo.
+         *
+         * @param idDispositivo ID do dispositivo.
+         */
+        public void setIdDispositivo(int idDispositivo) {
+            this.idDispositivo = idDispositivo;
+        }
+
+        /**
+         * Retorna a versão do registro, usada na ETag da resposta.
+         *
+         * @return Versão do registro.
+         */
+        @JsonbTransient
+        public long getVersao() {
+            return versao;
+        }
+
+        /**
+         * Define a versão do registro.
+         *
+         * @param versao Versão do registro.
+         */
+        @JsonbTransient
+        public void setVersao(long versao) {
+            this.versao = versao;
+        }
+
         /**
          * Registra um novo valor de consumo de energia.
          *
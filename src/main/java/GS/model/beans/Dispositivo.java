@@ -2,6 +2,7 @@ package GS.model.beans;
 
 import javax.xml.bind.annotation.XmlRootElement;
 import com.google.gson.annotations.SerializedName;
+import jakarta.json.bind.annotation.JsonbTransient;
 import java.util.Date;
 
 /**
@@ -10,7 +11,8 @@ import java.util.Date;
  */
 @XmlRootElement
 public class Dispositivo {
-    private static int nextId = 1;
+    public static final String STATUS_ATIVO = "Ativo";
+    public static final String STATUS_INATIVO = "Inativo";
 
     @SerializedName("id_dispositivo")
     private int idDispositivo;
@@ -27,16 +29,23 @@ public class Dispositivo {
     @SerializedName("data_cadastro")
     private Date dataCadastro;
 
+    // Usuário dono do dispositivo (0 se não houver)
+    @SerializedName("id_usuario")
+    private int idUsuario;
+
+    // Versão do registro, incrementada a cada atualização; enviada apenas na ETag da resposta
+    @JsonbTransient
+    private long versao;
+
     /**
      * Construtor que inicializa um objeto Dispositivo com nome, tipo e status.
-     * O ID é automaticamente definido e incrementado, e a data de cadastro é definida como a data atual.
+     * A data de cadastro é definida como a data atual; o ID é atribuído pelo BO na inserção.
      *
      * @param nomeDispositivo Nome do dispositivo.
      * @param tipoDispositivo Tipo do dispositivo.
      * @param status          Status do dispositivo.
      */
     public Dispositivo(String nomeDispositivo, String tipoDispositivo, String status) {
-        this.idDispositivo = nextId++;
         this.nomeDispositivo = nomeDispositivo;
         this.tipoDispositivo = tipoDispositivo;
         this.status = status;
@@ -44,11 +53,10 @@ public class Dispositivo {
     }
 
     /**
-     * Construtor vazio que também define um ID automaticamente.
+     * Construtor vazio que define a data de cadastro como a data atual.
      * Usado principalmente para criação de instâncias sem dados iniciais.
      */
     public Dispositivo() {
-        this.idDispositivo = nextId++;
         this.dataCadastro = new Date();
     }
 
@@ -94,20 +102,38 @@ public class Dispositivo {
         this.dataCadastro = dataCadastro;
     }
 
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(int idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    @JsonbTransient
+    public long getVersao() {
+        return versao;
+    }
+
+    @JsonbTransient
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+
     // Métodos adicionais
 
     /**
      * Ativa o dispositivo, definindo o status como "Ativo".
      */
     public void ativarDispositivo() {
-        this.status = "Ativo";
+        this.status = STATUS_ATIVO;
     }
 
     /**
      * Desativa o dispositivo, definindo o status como "Inativo".
      */
     public void desativarDispositivo() {
-        this.status = "Inativo";
+        this.status = STATUS_INATIVO;
     }
 
     /**
@@ -0,0 +1,101 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Classe EstatisticasCache representa os contadores de um cache de leitura de entidades,
+ * usados para dimensionar o tamanho máximo e a expiração de cada cache.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class EstatisticasCache {
+
+    @SerializedName("nome")
+    private String nome;
+
+    @SerializedName("tamanho")
+    private long tamanho;
+
+    @SerializedName("tamanho_maximo")
+    private long tamanhoMaximo;
+
+    @SerializedName("acertos")
+    private long acertos;
+
+    @SerializedName("falhas")
+    private long falhas;
+
+    @SerializedName("taxa_acerto")
+    private double taxaAcerto;
+
+    @SerializedName("remocoes")
+    private long remocoes;
+
+    @SerializedName("tempo_medio_carga_ms")
+    private double tempoMedioCargaMs;
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public long getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(long tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public long getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(long tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public void setTaxaAcerto(double taxaAcerto) {
+        this.taxaAcerto = taxaAcerto;
+    }
+
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    public void setRemocoes(long remocoes) {
+        this.remocoes = remocoes;
+    }
+
+    public double getTempoMedioCargaMs() {
+        return tempoMedioCargaMs;
+    }
+
+    public void setTempoMedioCargaMs(double tempoMedioCargaMs) {
+        this.tempoMedioCargaMs = tempoMedioCargaMs;
+    }
+}
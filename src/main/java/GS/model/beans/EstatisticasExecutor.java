@@ -0,0 +1,90 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Classe EstatisticasExecutor representa o estado do pool que executa o trabalho de banco das requisições
+ * assíncronas: threads ocupadas, fila e tarefas recusadas (503) ou descartadas por expiração.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class EstatisticasExecutor {
+
+    @SerializedName("threads")
+    private int threads;
+
+    @SerializedName("ativas")
+    private int ativas;
+
+    @SerializedName("fila")
+    private int fila;
+
+    @SerializedName("capacidade_fila")
+    private int capacidadeFila;
+
+    @SerializedName("concluidas")
+    private long concluidas;
+
+    @SerializedName("recusadas")
+    private long recusadas;
+
+    @SerializedName("descartadas")
+    private long descartadas;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getAtivas() {
+        return ativas;
+    }
+
+    public void setAtivas(int ativas) {
+        this.ativas = ativas;
+    }
+
+    public int getFila() {
+        return fila;
+    }
+
+    public void setFila(int fila) {
+        this.fila = fila;
+    }
+
+    public int getCapacidadeFila() {
+        return capacidadeFila;
+    }
+
+    public void setCapacidadeFila(int capacidadeFila) {
+        this.capacidadeFila = capacidadeFila;
+    }
+
+    public long getConcluidas() {
+        return concluidas;
+    }
+
+    public void setConcluidas(long concluidas) {
+        this.concluidas = concluidas;
+    }
+
+    public long getRecusadas() {
+        return recusadas;
+    }
+
+    public void setRecusadas(long recusadas) {
+        this.recusadas = recusadas;
+    }
+
+    public long getDescartadas() {
+        return descartadas;
+    }
+
+    public void setDescartadas(long descartadas) {
+        this.descartadas = descartadas;
+    }
+}
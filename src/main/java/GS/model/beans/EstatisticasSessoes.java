@@ -0,0 +1,68 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Classe EstatisticasSessoes representa o estado do registro de sessões em memória: sessões ativas,
+ * contadores de início, finalização e expiração, e a fila de gravação dos eventos em TB_SESSAO.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class EstatisticasSessoes {
+
+    @SerializedName("ativas")
+    private int ativas;
+
+    @SerializedName("iniciadas")
+    private long iniciadas;
+
+    @SerializedName("finalizadas")
+    private long finalizadas;
+
+    @SerializedName("expiradas")
+    private long expiradas;
+
+    @SerializedName("gravacao")
+    private MetricasIngestao gravacao;
+
+    public int getAtivas() {
+        return ativas;
+    }
+
+    public void setAtivas(int ativas) {
+        this.ativas = ativas;
+    }
+
+    public long getIniciadas() {
+        return iniciadas;
+    }
+
+    public void setIniciadas(long iniciadas) {
+        this.iniciadas = iniciadas;
+    }
+
+    public long getFinalizadas() {
+        return finalizadas;
+    }
+
+    public void setFinalizadas(long finalizadas) {
+        this.finalizadas = finalizadas;
+    }
+
+    public long getExpiradas() {
+        return expiradas;
+    }
+
+    public void setExpiradas(long expiradas) {
+        this.expiradas = expiradas;
+    }
+
+    public MetricasIngestao getGravacao() {
+        return gravacao;
+    }
+
+    public void setGravacao(MetricasIngestao gravacao) {
+        this.gravacao = gravacao;
+    }
+}
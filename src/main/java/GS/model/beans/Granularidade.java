@@ -0,0 +1,61 @@
+package GS.model.beans;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Enum Granularidade define os períodos em que o consumo de energia é agregado (por hora e por dia).
+ */
+public enum Granularidade {
+
+    HORA("H", ChronoUnit.HOURS, "HH24"),
+    DIA("D", ChronoUnit.DAYS, "DD");
+
+    private final String codigo;
+    private final ChronoUnit unidade;
+    private final String formatoTrunc;
+
+    Granularidade(String codigo, ChronoUnit unidade, String formatoTrunc) {
+        this.codigo = codigo;
+        this.unidade = unidade;
+        this.formatoTrunc = formatoTrunc;
+    }
+
+    /**
+     * Retorna o código gravado na coluna {@code granularidade} de TB_CONSUMO_AGREGADO.
+     *
+     * @return Código da granularidade.
+     */
+    public String getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * Retorna o formato usado na função TRUNC do banco para obter o início do período.
+     *
+     * @return Formato do TRUNC.
+     */
+    public String getFormatoTrunc() {
+        return formatoTrunc;
+    }
+
+    /**
+     * Retorna o início do período que contém a data/hora informada.
+     *
+     * @param dataHora Data/hora de um registro de consumo.
+     * @return Início do período.
+     */
+    public LocalDateTime inicioPeriodo(LocalDateTime dataHora) {
+        return dataHora.truncatedTo(unidade);
+    }
+
+    /**
+     * Retorna o fim (exclusivo) do período que começa no instante informado.
+     *
+     * @param inicioPeriodo Início do período.
+     * @return Início do período seguinte.
+     */
+    public LocalDateTime fimPeriodo(LocalDateTime inicioPeriodo) {
+        return inicioPeriodo.plus(1, unidade);
+    }
+}
@@ -0,0 +1,80 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Classe ItemResultadoLote representa o resultado do processamento de um elemento de um lote.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class ItemResultadoLote {
+
+    public static final String ACEITO = "aceito";
+    public static final String REJEITADO = "rejeitado";
+
+    @SerializedName("indice")
+    private int indice;
+
+    @SerializedName("status")
+    private String status;
+
+    @SerializedName("id")
+    private Integer id;
+
+    @SerializedName("mensagem")
+    private String mensagem;
+
+    /**
+     * Construtor vazio usado na serialização.
+     */
+    public ItemResultadoLote() {
+    }
+
+    /**
+     * Construtor que inicializa o resultado de um elemento do lote.
+     *
+     * @param indice   Posição do elemento no lote enviado.
+     * @param status   {@link #ACEITO} ou {@link #REJEITADO}.
+     * @param id       ID do registro aceito, ou null caso rejeitado.
+     * @param mensagem Motivo da rejeição, ou null caso aceito.
+     */
+    public ItemResultadoLote(int indice, String status, Integer id, String mensagem) {
+        this.indice = indice;
+        this.status = status;
+        this.id = id;
+        this.mensagem = mensagem;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
@@ -0,0 +1,80 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+import java.time.LocalDateTime;
+
+/**
+ * Classe LinhaRelatorioConsumo representa uma linha do relatório de consumo: a leitura, com o nome do dispositivo
+ * e o usuário dono do dispositivo.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class LinhaRelatorioConsumo {
+
+    @SerializedName("id_consumo")
+    private int idConsumo;
+
+    @SerializedName("data_hora")
+    private LocalDateTime dataHora;
+
+    @SerializedName("consumo_energia")
+    private float consumoEnergia;
+
+    @SerializedName("id_dispositivo")
+    private int idDispositivo;
+
+    @SerializedName("nome_dispositivo")
+    private String nomeDispositivo;
+
+    @SerializedName("id_usuario")
+    private int idUsuario;
+
+    public int getIdConsumo() {
+        return idConsumo;
+    }
+
+    public void setIdConsumo(int idConsumo) {
+        this.idConsumo = idConsumo;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    public void setDataHora(LocalDateTime dataHora) {
+        this.dataHora = dataHora;
+    }
+
+    public float getConsumoEnergia() {
+        return consumoEnergia;
+    }
+
+    public void setConsumoEnergia(float consumoEnergia) {
+        this.consumoEnergia = consumoEnergia;
+    }
+
+    public int getIdDispositivo() {
+        return idDispositivo;
+    }
+
+    public void setIdDispositivo(int idDispositivo) {
+        this.idDispositivo = idDispositivo;
+    }
+
+    public String getNomeDispositivo() {
+        return nomeDispositivo;
+    }
+
+    public void setNomeDispositivo(String nomeDispositivo) {
+        this.nomeDispositivo = nomeDispositivo;
+    }
+
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(int idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+}
@@ -0,0 +1,134 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Classe MetricasIngestao representa o estado da gravação adiada (write-behind) dos dados de consumo:
+ * profundidade da fila, contadores e latência das gravações em lote.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class MetricasIngestao {
+
+    @SerializedName("habilitada")
+    private boolean habilitada;
+
+    @SerializedName("capacidade")
+    private int capacidade;
+
+    @SerializedName("profundidade")
+    private int profundidade;
+
+    @SerializedName("publicados")
+    private long publicados;
+
+    @SerializedName("recusados")
+    private long recusados;
+
+    @SerializedName("gravados")
+    private long gravados;
+
+    @SerializedName("falhas")
+    private long falhas;
+
+    @SerializedName("lotes")
+    private long lotes;
+
+    @SerializedName("latencia_gravacao_p50_ms")
+    private double latenciaGravacaoP50Ms;
+
+    @SerializedName("latencia_gravacao_p99_ms")
+    private double latenciaGravacaoP99Ms;
+
+    @SerializedName("latencia_gravacao_max_ms")
+    private double latenciaGravacaoMaxMs;
+
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    public void setHabilitada(boolean habilitada) {
+        this.habilitada = habilitada;
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public void setCapacidade(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    public int getProfundidade() {
+        return profundidade;
+    }
+
+    public void setProfundidade(int profundidade) {
+        this.profundidade = profundidade;
+    }
+
+    public long getPublicados() {
+        return publicados;
+    }
+
+    public void setPublicados(long publicados) {
+        this.publicados = publicados;
+    }
+
+    public long getRecusados() {
+        return recusados;
+    }
+
+    public void setRecusados(long recusados) {
+        this.recusados = recusados;
+    }
+
+    public long getGravados() {
+        return gravados;
+    }
+
+    public void setGravados(long gravados) {
+        this.gravados = gravados;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getLotes() {
+        return lotes;
+    }
+
+    public void setLotes(long lotes) {
+        this.lotes = lotes;
+    }
+
+    public double getLatenciaGravacaoP50Ms() {
+        return latenciaGravacaoP50Ms;
+    }
+
+    public void setLatenciaGravacaoP50Ms(double latenciaGravacaoP50Ms) {
+        this.latenciaGravacaoP50Ms = latenciaGravacaoP50Ms;
+    }
+
+    public double getLatenciaGravacaoP99Ms() {
+        return latenciaGravacaoP99Ms;
+    }
+
+    public void setLatenciaGravacaoP99Ms(double latenciaGravacaoP99Ms) {
+        this.latenciaGravacaoP99Ms = latenciaGravacaoP99Ms;
+    }
+
+    public double getLatenciaGravacaoMaxMs() {
+        return latenciaGravacaoMaxMs;
+    }
+
+    public void setLatenciaGravacaoMaxMs(double latenciaGravacaoMaxMs) {
+        this.latenciaGravacaoMaxMs = latenciaGravacaoMaxMs;
+    }
+}
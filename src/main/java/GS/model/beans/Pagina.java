@@ -0,0 +1,55 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+import java.util.List;
+
+/**
+ * Classe Pagina representa uma página de resultados de uma listagem paginada por cursor.
+ * O cursor da próxima página é opaco para o cliente e deve ser enviado no parâmetro {@code after}.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ *
+ * @param <T> Tipo dos itens da página.
+ */
+@XmlRootElement
+public class Pagina<T> {
+
+    @SerializedName("itens")
+    private List<T> itens;
+
+    @SerializedName("proximo_cursor")
+    private String proximoCursor;
+
+    /**
+     * Construtor vazio usado na serialização.
+     */
+    public Pagina() {
+    }
+
+    /**
+     * Construtor que inicializa a página com os itens e o cursor da próxima página.
+     *
+     * @param itens         Itens da página.
+     * @param proximoCursor Cursor da próxima página, ou null se esta for a última.
+     */
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+}
@@ -0,0 +1,70 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe ResultadoLote representa o resultado da inserção de um lote de registros,
+ * com a quantidade de elementos aceitos e rejeitados e o resultado de cada elemento.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class ResultadoLote {
+
+    @SerializedName("aceitos")
+    private int aceitos;
+
+    @SerializedName("rejeitados")
+    private int rejeitados;
+
+    @SerializedName("itens")
+    private List<ItemResultadoLote> itens = new ArrayList<>();
+
+    /**
+     * Registra um elemento aceito.
+     *
+     * @param indice Posição do elemento no lote.
+     * @param id     ID atribuído ao registro.
+     */
+    public void aceitar(int indice, int id) {
+        itens.add(new ItemResultadoLote(indice, ItemResultadoLote.ACEITO, id, null));
+        aceitos++;
+    }
+
+    /**
+     * Registra um elemento rejeitado.
+     *
+     * @param indice   Posição do elemento no lote.
+     * @param mensagem Motivo da rejeição.
+     */
+    public void rejeitar(int indice, String mensagem) {
+        itens.add(new ItemResultadoLote(indice, ItemResultadoLote.REJEITADO, null, mensagem));
+        rejeitados++;
+    }
+
+    public int getAceitos() {
+        return aceitos;
+    }
+
+    public void setAceitos(int aceitos) {
+        this.aceitos = aceitos;
+    }
+
+    public int getRejeitados() {
+        return rejeitados;
+    }
+
+    public void setRejeitados(int rejeitados) {
+        this.rejeitados = rejeitados;
+    }
+
+    public List<ItemResultadoLote> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemResultadoLote> itens) {
+        this.itens = itens;
+    }
+}
@@ -3,11 +3,13 @@ package GS.model.beans;
 import javax.xml.bind.annotation.XmlRootElement;
 import com.google.gson.annotations.SerializedName;
 import java.time.LocalDateTime;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 @XmlRootElement
 public class Sessao {
 
+private static final Logger LOGGER = Logger.getLogger(Sessao.class.getName());
 
-private static int nextId = 1;
 
 @SerializedName("id_sessao")
 private int idSessao;
@@ -25,10 +27,9 @@ private LocalDateTime fimSessao;
 private Usuario usuario; // Adicionando um campo para armazenar o usuário
 
 /**
- * Construtor que inicializa um objeto Sessao e define automaticamente o ID.
+ * Construtor vazio. O ID é atribuído pelo BO ao iniciar a sessão.
  */
 public Sessao() {
-    this.idSessao = nextId++;
 }
 
 /**
@@ -111,7 +112,9 @@ public void setUsuario(Usuario usuario) {
 public void iniciarSessao(Usuario usuario) {
     this.usuario = usuario;
     this.inicioSessao = LocalDateTime.now();
-    System.out.println("Sessão iniciada para o usuário: " + usuario.getNome());
+    if (LOGGER.isLoggable(Level.FINE)) {
+        LOGGER.fine("Sessão iniciada para o usuário: " + usuario.getNome());
+    }
 }
 
 /**
@@ -119,6 +122,6 @@ public void iniciarSessao(Usuario usuario) {
  */
 public void finalizarSessao() {
     this.fimSessao = LocalDateTime.now();
-    System.out.println("Sessão finalizada.");
+    LOGGER.fine("Sessão finalizada.");
 }
 }
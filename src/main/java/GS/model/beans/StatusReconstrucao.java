@@ -0,0 +1,112 @@
+package GS.model.beans;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import com.google.gson.annotations.SerializedName;
+import java.time.LocalDateTime;
+
+/**
+ * Classe StatusReconstrucao representa o andamento da reconstrução dos agregados de consumo a partir do histórico.
+ * Esta classe utiliza anotações para serialização XML e JSON.
+ */
+@XmlRootElement
+public class StatusReconstrucao {
+
+    @SerializedName("em_andamento")
+    private boolean emAndamento;
+
+    @SerializedName("de")
+    private LocalDateTime de;
+
+    @SerializedName("ate")
+    private LocalDateTime ate;
+
+    @SerializedName("inicio")
+    private LocalDateTime inicio;
+
+    @SerializedName("fim")
+    private LocalDateTime fim;
+
+    @SerializedName("tarefas")
+    private int tarefas;
+
+    @SerializedName("concluidas")
+    private int concluidas;
+
+    @SerializedName("falhas")
+    private int falhas;
+
+    @SerializedName("ultimo_erro")
+    private String ultimoErro;
+
+    public boolean isEmAndamento() {
+        return emAndamento;
+    }
+
+    public void setEmAndamento(boolean emAndamento) {
+        this.emAndamento = emAndamento;
+    }
+
+    public LocalDateTime getDe() {
+        return de;
+    }
+
+    public void setDe(LocalDateTime de) {
+        this.de = de;
+    }
+
+    public LocalDateTime getAte() {
+        return ate;
+    }
+
+    public void setAte(LocalDateTime ate) {
+        this.ate = ate;
+    }
+
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public void setInicio(LocalDateTime inicio) {
+        this.inicio = inicio;
+    }
+
+    public LocalDateTime getFim() {
+        return fim;
+    }
+
+    public void setFim(LocalDateTime fim) {
+        this.fim = fim;
+    }
+
+    public int getTarefas() {
+        return tarefas;
+    }
+
+    public void setTarefas(int tarefas) {
+        this.tarefas = tarefas;
+    }
+
+    public int getConcluidas() {
+        return concluidas;
+    }
+
+    public void setConcluidas(int concluidas) {
+        this.concluidas = concluidas;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(int falhas) {
+        this.falhas = falhas;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+
+    public void setUltimoErro(String ultimoErro) {
+        this.ultimoErro = ultimoErro;
+    }
+}
@@ -2,16 +2,16 @@ package GS.model.beans;
 
 import javax.xml.bind.annotation.XmlRootElement;
 import com.google.gson.annotations.SerializedName;
+import jakarta.json.bind.annotation.JsonbTransient;
 import java.util.Date;
 
 /**
  * Classe Usuario representa um usuário com informações de nome, email, senha e data de cadastro.
- * Esta classe utiliza anotações para serialização XML e JSON.
+ * Esta classe utiliza anotações para serialização XML e JSON. A senha é aceita na leitura do JSON, mas nunca
+ * escrita nas respostas.
  */
 @XmlRootElement
 public class Usuario {
-    private static int nextId = 1;
-
     @SerializedName("id_usuario")
     private int idUsuario;
 
@@ -29,14 +29,13 @@ public class Usuario {
 
     /**
      * Construtor que inicializa um objeto Usuario com nome, email e senha.
-     * O ID é automaticamente definido e incrementado, e a data de cadastro é definida como a data atual.
+     * A data de cadastro é definida como a data atual; o ID é atribuído pelo BO na inserção.
      *
      * @param nome  Nome do usuário.
      * @param email Email do usuário.
      * @param senha Senha do usuário.
      */
     public Usuario(String nome, String email, String senha) {
-        this.idUsuario = nextId++;
         this.nome = nome;
         this.email = email;
         this.senha = senha;
@@ -44,11 +43,10 @@ public class Usuario {
     }
 
     /**
-     * Construtor vazio que também define um ID automaticamente e a data de cadastro como a data atual.
+     * Construtor vazio que define a data de cadastro como a data atual.
      * Usado principalmente para criação de instâncias sem dados iniciais.
      */
     public Usuario() {
-        this.idUsuario = nextId++;
         this.dataCadastro = new Date();
     }
 
@@ -111,6 +109,7 @@ public class Usuario {
      *
      * @return Senha do usuário.
      */
+    @JsonbTransient
     public String getSenha() {
         return senha;
     }
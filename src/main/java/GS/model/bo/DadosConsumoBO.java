@@ -1,11 +1,32 @@
 package GS.model.bo;
 
 
+import GS.conexao.ConnectionFactory;
+import GS.config.Configuracao;
+import GS.model.beans.ConsumoAgregado;
 import GS.model.beans.DadosConsumo;
+import GS.model.beans.Granularidade;
+import GS.model.beans.MetricasIngestao;
+import GS.model.beans.Pagina;
+import GS.model.beans.ResultadoLote;
+import GS.model.cache.CacheLeitura;
+import GS.model.cache.RegistroCaches;
+import GS.model.dao.ConsumoAgregadoDAO;
 import GS.model.dao.DadosConsumoDAO;
+import GS.model.dao.ProcessadorLinha;
+import GS.model.id.AlocadorIds;
+import GS.model.id.EntidadeId;
+import GS.model.ingestao.ArquivoFalhas;
+import GS.model.ingestao.EscritaAdiada;
+import GS.model.serie.ArmazemSeriesTemporais;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -14,38 +35,153 @@ import java.util.List;
  */
 
 public class DadosConsumoBO {
-    private DadosConsumoDAO dadosConsumoDAO;
+    private final DadosConsumoDAO dadosConsumoDAO;
+    private final AlocadorIds alocadorIds;
+    private final ConsumoAgregadoDAO consumoAgregadoDAO;
+    private final ArmazemSeriesTemporais armazemSeries;
+    private final CacheLeitura<Integer, DadosConsumo> cacheDadosConsumo;
+    private final int tamanhoBlocoLote;
+    private final int maximoItensLote;
+    private final int tamanhoFetchFluxo;
+    private final int maximoItensConsulta;
+    private final int segundosNovaTentativa;
+
+    // Gravação adiada (write-behind) dos registros de consumo, ou null quando desabilitada
+    private final EscritaAdiada<DadosConsumo> escritaAdiada;
 
     /**
-     * Construtor que inicializa o DAO dos dados de consumo.
+     * Construtor que recebe os DAOs dos dados de consumo e dos agregados e o armazém das leituras recentes
+     * (injetados pelo container como singletons).
      *
-     * @throws ClassNotFoundException
-     * @throws SQLException
+     * @param dadosConsumoDAO    DAO dos dados de consumo.
+     * @param consumoAgregadoDAO DAO dos agregados de consumo por hora e por dia.
+     * @param armazemSeries      Armazém em memória das leituras recentes, usado como camada de leitura.
+     * @param registroCaches     Registro em que é criado o cache de leitura dos registros de consumo.
+     * @param alocadorIds        Alocador dos IDs dos novos registros.
+     */
+    @Inject
+    public DadosConsumoBO(DadosConsumoDAO dadosConsumoDAO, ConsumoAgregadoDAO consumoAgregadoDAO,
+                          ArmazemSeriesTemporais armazemSeries, RegistroCaches registroCaches, AlocadorIds alocadorIds) {
+        this.dadosConsumoDAO = dadosConsumoDAO;
+        this.alocadorIds = alocadorIds;
+        this.consumoAgregadoDAO = consumoAgregadoDAO;
+        this.armazemSeries = armazemSeries;
+        this.cacheDadosConsumo = registroCaches.criar("dadosConsumo");
+        this.tamanhoBlocoLote = Configuracao.get().getInt("dadosConsumo.lote.tamanhoBloco", 500);
+        this.maximoItensLote = Configuracao.get().getInt("dadosConsumo.lote.maximoItens", 10000);
+        this.tamanhoFetchFluxo = Configuracao.get().getInt("dadosConsumo.fluxo.tamanhoFetch", 1000);
+        this.maximoItensConsulta = Configuracao.get().getInt("dadosConsumo.consulta.maximoItens", 100000);
+        this.segundosNovaTentativa = Configuracao.get().getInt("dadosConsumo.escritaAdiada.retryAfterSegundos", 1);
+        this.escritaAdiada = !Configuracao.get().getBoolean("dadosConsumo.escritaAdiada.habilitada", false) ? null
+                : new EscritaAdiada<>("escrita-adiada-dados-consumo",
+                        Configuracao.get().getInt("dadosConsumo.escritaAdiada.capacidade", 65536),
+                        Configuracao.get().getInt("dadosConsumo.escritaAdiada.tamanhoLote", 500),
+                        Configuracao.get().getLong("dadosConsumo.escritaAdiada.intervaloMs", 20),
+                        Configuracao.get().getInt("dadosConsumo.escritaAdiada.tentativas", 10),
+                        Configuracao.get().getLong("dadosConsumo.escritaAdiada.retentativaMs", 100),
+                        Configuracao.get().getLong("dadosConsumo.escritaAdiada.retentativaMaximaMs", 30000),
+                        this::gravarValidos,
+                        new ArquivoFalhas<>("dadosConsumo.csv", "id_consumo;data_hora;consumo_energia;id_dispositivo",
+                                dados -> dados.getIdConsumo() + ";" + dados.getDataHora() + ";"
+                                        + dados.getConsumoEnergia() + ";" + dados.getIdDispositivo()));
+    }
+
+    /**
+     * Encerra a gravação adiada, gravando os registros pendentes, quando a aplicação é finalizada.
      */
-    public DadosConsumoBO() throws ClassNotFoundException, SQLException {
-        this.dadosConsumoDAO = new DadosConsumoDAO();
+    @PreDestroy
+    public void encerrar() {
+        if (escritaAdiada != null) {
+            escritaAdiada.encerrar(Configuracao.get().getLong("dadosConsumo.escritaAdiada.esperaEncerramentoMs", 10000));
+        }
     }
 
     /**
      * Insere um registro de consumo no banco de dados após aplicar as regras de negócio.
+     * Os agregados por hora e por dia do dispositivo são atualizados na mesma transação.
+     *
+     * Com a gravação adiada habilitada ({@code dadosConsumo.escritaAdiada.habilitada}), o registro é apenas
+     * publicado na fila e gravado em segundo plano, junto com outros registros.
      *
      * @param dadosConsumo Objeto DadosConsumo contendo os dados do consumo.
+     * @return true se o registro foi aceito para gravação adiada; false se já foi gravado no banco.
      * @throws IllegalArgumentException se as validações de regras de negócio falharem.
+     * @throws ServicoIndisponivelException se a fila da gravação adiada estiver cheia.
      * @throws SQLException
      * @throws IOException
      */
-    public void inserirDadosConsumoBO(DadosConsumo dadosConsumo) throws ClassNotFoundException, SQLException, IOException {
-        // Validar consumo de energia
-        if (dadosConsumo.getConsumoEnergia() <= 0) {
-            throw new IllegalArgumentException("O valor do consumo de energia deve ser positivo.");
+    public boolean inserirDadosConsumoBO(DadosConsumo dadosConsumo) throws ClassNotFoundException, SQLException, IOException {
+        validar(dadosConsumo);
+        dadosConsumo.setIdConsumo(alocadorIds.proximoId(EntidadeId.DADOS_CONSUMO));
+
+        if (escritaAdiada != null) {
+            if (!escritaAdiada.publicar(dadosConsumo)) {
+                throw new ServicoIndisponivelException("A fila de gravação de dados de consumo está cheia.", segundosNovaTentativa);
+            }
+            return true;
+        }
+
+        // Inserir dados de consumo e acumular nos agregados via DAO
+        ConnectionFactory.emTransacao(conexao -> {
+            dadosConsumoDAO.inserir(conexao, dadosConsumo);
+            consumoAgregadoDAO.acumular(conexao, Collections.singletonList(dadosConsumo));
+            return null;
+        });
+        armazemSeries.registrar(dadosConsumo);
+        return false;
+    }
+
+    /**
+     * Insere um lote de registros de consumo após validar cada elemento.
+     * Os elementos inválidos são rejeitados individualmente; os válidos são gravados juntos em uma única transação,
+     * que também atualiza os agregados por hora e por dia.
+     *
+     * @param lote Lista de registros de consumo enviados pelo medidor.
+     * @return Resultado com os elementos aceitos e rejeitados.
+     * @throws RequisicaoInvalidaException se o lote estiver vazio.
+     * @throws LoteExcedidoException se o lote exceder o tamanho máximo permitido.
+     * @throws SQLException
+     */
+    public ResultadoLote inserirLoteDadosConsumoBO(List<DadosConsumo> lote) throws SQLException {
+        if (lote == null || lote.isEmpty()) {
+            throw new RequisicaoInvalidaException("O lote de dados de consumo não pode ser vazio.");
+        }
+        if (lote.size() > maximoItensLote) {
+            throw new LoteExcedidoException("O lote excede o máximo de " + maximoItensLote + " registros.");
+        }
+
+        // Validar cada elemento, guardando o motivo das rejeições
+        String[] rejeicoes = new String[lote.size()];
+        List<DadosConsumo> validos = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            try {
+                validar(lote.get(i));
+                lote.get(i).setIdConsumo(alocadorIds.proximoId(EntidadeId.DADOS_CONSUMO));
+                validos.add(lote.get(i));
+            } catch (IllegalArgumentException e) {
+                rejeicoes[i] = e.getMessage();
+            }
+        }
+
+        // Inserir os válidos em blocos e acumular nos agregados via DAO
+        if (!validos.isEmpty()) {
+            gravarValidos(validos);
         }
 
-        // Inserir dados de consumo via DAO
-        dadosConsumoDAO.inserir(dadosConsumo);
+        ResultadoLote resultado = new ResultadoLote();
+        for (int i = 0; i < lote.size(); i++) {
+            if (rejeicoes[i] == null) {
+                resultado.aceitar(i, lote.get(i).getIdConsumo());
+            } else {
+                resultado.rejeitar(i, rejeicoes[i]);
+            }
+        }
+        return resultado;
     }
 
     /**
      * Atualiza um registro de consumo no banco de dados após aplicar as regras de negócio.
+     * Os agregados do período anterior e do novo período do registro são recalculados na mesma transação.
      *
      * @param dadosConsumo Objeto DadosConsumo contendo os dados atualizados do consumo.
      * @throws IllegalArgumentException se as validações de regras de negócio falharem.
@@ -53,17 +189,30 @@ public class DadosConsumoBO {
      * @throws IOException
      */
     public void atualizarDadosConsumoBO(DadosConsumo dadosConsumo) throws ClassNotFoundException, SQLException, IOException {
-        // Validar consumo de energia
-        if (dadosConsumo.getConsumoEnergia() <= 0) {
-            throw new IllegalArgumentException("O valor do consumo de energia deve ser positivo.");
-        }
+        validar(dadosConsumo);
 
-        // Atualizar dados de consumo via DAO
-        dadosConsumoDAO.atualizar(dadosConsumo);
+        // Atualizar dados de consumo e recalcular os agregados afetados via DAO
+        DadosConsumo anteriorAtualizado = ConnectionFactory.emTransacao(conexao -> {
+            DadosConsumo anterior = dadosConsumoDAO.buscarPorId(conexao, dadosConsumo.getIdConsumo());
+            dadosConsumoDAO.atualizar(conexao, dadosConsumo);
+            if (anterior != null && (anterior.getIdDispositivo() != dadosConsumo.getIdDispositivo()
+                    || !Granularidade.HORA.inicioPeriodo(anterior.getDataHora())
+                            .equals(Granularidade.HORA.inicioPeriodo(dadosConsumo.getDataHora())))) {
+                consumoAgregadoDAO.recalcular(conexao, anterior.getIdDispositivo(), anterior.getDataHora());
+            }
+            consumoAgregadoDAO.recalcular(conexao, dadosConsumo.getIdDispositivo(), dadosConsumo.getDataHora());
+            return anterior;
+        });
+        cacheDadosConsumo.invalidar(dadosConsumo.getIdConsumo());
+        if (anteriorAtualizado != null) {
+            armazemSeries.invalidar(anteriorAtualizado.getIdDispositivo());
+        }
+        armazemSeries.invalidar(dadosConsumo.getIdDispositivo());
     }
 
     /**
      * Deleta um registro de consumo do banco de dados com base no ID.
+     * Os agregados do período do registro são recalculados na mesma transação.
      *
      * @param idConsumo ID do registro de consumo a ser deletado.
      * @throws IllegalArgumentException se o ID for inválido.
@@ -74,8 +223,19 @@ public class DadosConsumoBO {
             throw new IllegalArgumentException("O ID do registro de consumo é inválido.");
         }
 
-        // Deletar registro de consumo via DAO
-        dadosConsumoDAO.deletar(idConsumo);
+        // Deletar registro de consumo e recalcular os agregados afetados via DAO
+        DadosConsumo excluido = ConnectionFactory.emTransacao(conexao -> {
+            DadosConsumo anterior = dadosConsumoDAO.buscarPorId(conexao, idConsumo);
+            dadosConsumoDAO.deletar(conexao, idConsumo);
+            if (anterior != null) {
+                consumoAgregadoDAO.recalcular(conexao, anterior.getIdDispositivo(), anterior.getDataHora());
+            }
+            return anterior;
+        });
+        cacheDadosConsumo.invalidar(idConsumo);
+        if (excluido != null) {
+            armazemSeries.invalidar(excluido.getIdDispositivo());
+        }
     }
 
     /**
@@ -90,7 +250,104 @@ public class DadosConsumoBO {
     }
 
     /**
-     * Busca um registro de consumo pelo ID.
+     * Retorna uma página de registros de consumo ordenada por data/hora e ID (paginação por cursor).
+     *
+     * @param posicao Posição do último item da página anterior ({@link Paginacao#lerCursorDataHora}), ou null para a
+     *                primeira página.
+     * @param tamanho Quantidade máxima de itens da página ({@link Paginacao#normalizarLimite}).
+     * @return Página de objetos DadosConsumo com o cursor da próxima página.
+     * @throws SQLException
+     */
+    public Pagina<DadosConsumo> selecionarPaginaDadosConsumoBO(Paginacao.PosicaoDataHora posicao, int tamanho)
+            throws SQLException {
+        // Busca um item além do limite para saber se existe uma próxima página
+        List<DadosConsumo> itens = posicao == null
+                ? dadosConsumoDAO.selecionarPagina(null, 0, tamanho + 1)
+                : dadosConsumoDAO.selecionarPagina(posicao.getDataHora(), posicao.getId(), tamanho + 1);
+        String proximoCursor = null;
+        if (itens.size() > tamanho) {
+            itens.remove(tamanho);
+            DadosConsumo ultimo = itens.get(tamanho - 1);
+            proximoCursor = Paginacao.cursorDataHora(ultimo.getDataHora(), ultimo.getIdConsumo());
+        }
+        return new Pagina<>(itens, proximoCursor);
+    }
+
+    /**
+     * Percorre todos os registros de consumo, entregando-os ao processador à medida que são lidos do banco,
+     * sem montar a lista completa em memória.
+     *
+     * @param processador Processador que recebe cada registro de consumo.
+     * @throws SQLException
+     * @throws IOException se o processador falhar ao tratar algum registro.
+     */
+    public void percorrerDadosConsumoBO(ProcessadorLinha<DadosConsumo> processador) throws SQLException, IOException {
+        dadosConsumoDAO.percorrer(tamanhoFetchFluxo, processador);
+    }
+
+    /**
+     * Retorna os registros de consumo de um dispositivo em um intervalo de tempo.
+     * Sem intervalo informado, retorna as últimas 24 horas.
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @param de            Início do intervalo (inclusivo), ou null para 24 horas antes do fim.
+     * @param ate           Fim do intervalo (exclusivo), ou null para o momento atual.
+     * @return Lista de objetos DadosConsumo ordenada por data/hora.
+     * @throws RequisicaoInvalidaException se o ID ou o intervalo forem inválidos.
+     * @throws SQLException
+     */
+    public List<DadosConsumo> buscarConsumoPorDispositivoBO(int idDispositivo, LocalDateTime de, LocalDateTime ate) throws SQLException {
+        if (idDispositivo <= 0) {
+            throw new RequisicaoInvalidaException("O ID do dispositivo é inválido.");
+        }
+
+        LocalDateTime fim = ate != null ? ate : LocalDateTime.now();
+        LocalDateTime inicio = de != null ? de : fim.minusHours(24);
+        if (!inicio.isBefore(fim)) {
+            throw new RequisicaoInvalidaException("O início do intervalo deve ser anterior ao fim.");
+        }
+
+        // Intervalos dentro da janela recente são atendidos pela memória
+        if (armazemSeries.cobre(inicio)) {
+            return armazemSeries.selecionar(idDispositivo, inicio, fim, maximoItensConsulta);
+        }
+        return dadosConsumoDAO.selecionarPorDispositivo(idDispositivo, inicio, fim, maximoItensConsulta);
+    }
+
+    /**
+     * Retorna o consumo agregado de um dispositivo por hora ou por dia em um intervalo de tempo.
+     * Sem intervalo informado, retorna as últimas 24 horas (por hora) ou os últimos 30 dias (por dia).
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @param granularidade Granularidade dos agregados.
+     * @param de            Início do intervalo (inclusivo), ou null para o padrão da granularidade.
+     * @param ate           Fim do intervalo (exclusivo), ou null para o momento atual.
+     * @return Lista de objetos ConsumoAgregado ordenada pelo início do período.
+     * @throws RequisicaoInvalidaException se o ID ou o intervalo forem inválidos.
+     * @throws SQLException
+     */
+    public List<ConsumoAgregado> buscarAgregadosBO(int idDispositivo, Granularidade granularidade,
+                                                   LocalDateTime de, LocalDateTime ate) throws SQLException {
+        if (idDispositivo <= 0) {
+            throw new RequisicaoInvalidaException("O ID do dispositivo é inválido.");
+        }
+
+        LocalDateTime fim = ate != null ? ate : LocalDateTime.now();
+        LocalDateTime inicio = de != null ? de : (granularidade == Granularidade.HORA ? fim.minusHours(24) : fim.minusDays(30));
+        if (!inicio.isBefore(fim)) {
+            throw new RequisicaoInvalidaException("O início do intervalo deve ser anterior ao fim.");
+        }
+
+        // Inclui o período que contém o início do intervalo; dentro da janela recente, agrega a partir da memória
+        LocalDateTime inicioPeriodo = granularidade.inicioPeriodo(inicio);
+        if (armazemSeries.cobre(inicioPeriodo)) {
+            return armazemSeries.agregar(idDispositivo, granularidade, inicioPeriodo, fim);
+        }
+        return consumoAgregadoDAO.selecionar(idDispositivo, granularidade, inicioPeriodo, fim);
+    }
+
+    /**
+     * Busca um registro de consumo pelo ID, usando o cache de leitura dos registros de consumo.
      *
      * @param idConsumo ID do registro de consumo a ser buscado.
      * @return Objeto DadosConsumo, caso seja encontrado.
@@ -101,8 +358,61 @@ public class DadosConsumoBO {
             throw new IllegalArgumentException("O ID do registro de consumo é inválido.");
         }
 
-        return dadosConsumoDAO.buscarPorId(idConsumo);
+        return cacheDadosConsumo.buscar(idConsumo, dadosConsumoDAO::buscarPorId);
     }
-}
 
+    /**
+     * Retorna a versão de um registro de consumo, usada na ETag: do cache de leitura, se o registro estiver nele,
+     * ou lendo apenas a coluna da versão.
+     *
+     * @param idConsumo ID do registro de consumo.
+     * @return Versão do registro, ou null se ele não existir.
+     * @throws SQLException
+     */
+    public Long buscarVersaoDadosConsumoBO(int idConsumo) throws SQLException {
+        DadosConsumo guardado = cacheDadosConsumo.consultar(idConsumo);
+        return guardado != null ? Long.valueOf(guardado.getVersao()) : dadosConsumoDAO.buscarVersao(idConsumo);
+    }
+
+    /**
+     * Retorna as métricas da gravação adiada (profundidade da fila, contadores e latência das gravações).
+     *
+     * @return Métricas da gravação adiada; com ela desabilitada, apenas {@code habilitada = false}.
+     */
+    public MetricasIngestao getMetricasIngestaoBO() {
+        return escritaAdiada != null ? escritaAdiada.getMetricas() : new MetricasIngestao();
+    }
+
+    /**
+     * Grava registros já validados em uma única transação, acumulando-os nos agregados,
+     * e os acrescenta ao armazém em memória após o commit.
+     *
+     * @param validos Registros de consumo validados.
+     * @throws SQLException
+     */
+    private void gravarValidos(List<DadosConsumo> validos) throws SQLException {
+        ConnectionFactory.emTransacao(conexao -> {
+            dadosConsumoDAO.inserirLote(conexao, validos, tamanhoBlocoLote);
+            consumoAgregadoDAO.acumular(conexao, validos);
+            return null;
+        });
+        armazemSeries.registrar(validos);
+    }
 
+    /**
+     * Aplica as regras de negócio de um registro de consumo.
+     *
+     * @param dadosConsumo Registro a ser validado.
+     * @throws IllegalArgumentException se alguma regra for violada.
+     */
+    private void validar(DadosConsumo dadosConsumo) {
+        if (dadosConsumo == null) {
+            throw new IllegalArgumentException("O registro de consumo não pode ser nulo.");
+        }
+
+        // Validar consumo de energia
+        if (dadosConsumo.getConsumoEnergia() <= 0) {
+            throw new IllegalArgumentException("O valor do consumo de energia deve ser positivo.");
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package GS.model.bo;
+import GS.conexao.ConnectionFactory;
+import GS.model.beans.Pagina;
 import GS.model.beans.Dispositivo;
+import GS.model.cache.CacheLeitura;
+import GS.model.cache.RegistroCaches;
 import GS.model.dao.DispositivoDAO;
+import GS.model.dao.VersaoColecaoDAO;
+import GS.model.id.AlocadorIds;
+import GS.model.id.EntidadeId;
+import jakarta.inject.Inject;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
@@ -8,18 +16,35 @@ import java.util.List;
 /**
  * Classe DispositivoBO (Business Object) aplica as regras de negócio para a manipulação de dispositivos,
  * incluindo validações e acesso ao DAO para inserção, atualização, exclusão e seleção de dispositivos.
+ *
+ * Cada alteração incrementa a versão da coleção (ETag de GET /dispositivos) na mesma transação, para que uma
+ * listagem em cache nunca sobreviva a uma alteração confirmada.
  */
 public class DispositivoBO {
+    // Nome da coleção dos dispositivos em TB_VERSAO_COLECAO (ETag de GET /dispositivos)
+    public static final String COLECAO = "dispositivos";
+
     private final DispositivoDAO dispositivoDAO;
+    private final VersaoColecaoDAO versaoColecaoDAO;
+    private final CacheLeitura<Integer, Dispositivo> cacheDispositivos;
+    private final AlocadorIds alocadorIds;
 
     /**
-     * Construtor que inicializa o DAO do dispositivo.
+     * Construtor que recebe o DAO do dispositivo, o DAO das versões das coleções, o registro de caches e o alocador
+     * de IDs (injetados pelo container como singletons).
      *
-     * @throws ClassNotFoundException
-     * @throws SQLException
+     * @param dispositivoDAO   DAO do dispositivo.
+     * @param versaoColecaoDAO DAO das versões das coleções.
+     * @param registroCaches   Registro em que é criado o cache de leitura dos dispositivos.
+     * @param alocadorIds      Alocador dos IDs dos novos dispositivos.
      */
-    public DispositivoBO() throws ClassNotFoundException, SQLException {
-        this.dispositivoDAO = new DispositivoDAO();
+    @Inject
+    public DispositivoBO(DispositivoDAO dispositivoDAO, VersaoColecaoDAO versaoColecaoDAO, RegistroCaches registroCaches,
+                         AlocadorIds alocadorIds) {
+        this.dispositivoDAO = dispositivoDAO;
+        this.versaoColecaoDAO = versaoColecaoDAO;
+        this.alocadorIds = alocadorIds;
+        this.cacheDispositivos = registroCaches.criar("dispositivos");
     }
 
     /**
@@ -42,7 +67,12 @@ public class DispositivoBO {
         }
 
         // Inserir dispositivo via DAO
-        dispositivoDAO.inserir(dispositivo);
+        dispositivo.setIdDispositivo(alocadorIds.proximoId(EntidadeId.DISPOSITIVO));
+        ConnectionFactory.emTransacao(conexao -> {
+            dispositivoDAO.inserir(conexao, dispositivo);
+            versaoColecaoDAO.incrementar(conexao, COLECAO);
+            return null;
+        });
     }
 
     /**
@@ -65,7 +95,12 @@ public class DispositivoBO {
         }
 
         // Atualizar dispositivo via DAO
-        DispositivoDAO.atualizar(dispositivo);
+        ConnectionFactory.emTransacao(conexao -> {
+            dispositivoDAO.atualizar(conexao, dispositivo);
+            versaoColecaoDAO.incrementar(conexao, COLECAO);
+            return null;
+        });
+        cacheDispositivos.invalidar(dispositivo.getIdDispositivo());
     }
 
     /**
@@ -81,7 +116,12 @@ public class DispositivoBO {
         }
 
         // Deletar dispositivo via DAO
-        DispositivoDAO.deletar(idDispositivo);
+        ConnectionFactory.emTransacao(conexao -> {
+            dispositivoDAO.deletar(conexao, idDispositivo);
+            versaoColecaoDAO.incrementar(conexao, COLECAO);
+            return null;
+        });
+        cacheDispositivos.invalidar(idDispositivo);
     }
 
     /**
@@ -95,40 +135,104 @@ public class DispositivoBO {
         return dispositivoDAO.selecionar();
     }
 
+    /**
+     * Retorna uma página de dispositivos ordenada pelo ID (paginação por cursor).
+     *
+     * @param aposId  ID do último item da página anterior ({@link Paginacao#lerCursorId}), ou 0 para a primeira página.
+     * @param tamanho Quantidade máxima de itens da página ({@link Paginacao#normalizarLimite}).
+     * @return Página de objetos Dispositivo com o cursor da próxima página.
+     * @throws SQLException
+     */
+    public Pagina<Dispositivo> selecionarPaginaDispositivosBO(int aposId, int tamanho) throws SQLException {
+        // Busca um item além do limite para saber se existe uma próxima página
+        List<Dispositivo> itens = dispositivoDAO.selecionarPagina(aposId, tamanho + 1);
+        String proximoCursor = null;
+        if (itens.size() > tamanho) {
+            itens.remove(tamanho);
+            proximoCursor = Paginacao.cursorId(itens.get(tamanho - 1).getIdDispositivo());
+        }
+        return new Pagina<>(itens, proximoCursor);
+    }
+
+    /**
+     * Busca um dispositivo pelo ID, usando o cache de leitura dos dispositivos.
+     *
+     * @param idDispositivo ID do dispositivo a ser buscado.
+     * @return Objeto Dispositivo, caso seja encontrado.
+     * @throws IllegalArgumentException se o ID for inválido.
+     * @throws SQLException
+     */
+    public Dispositivo buscarDispositivoPorIdBO(int idDispositivo) throws SQLException {
+        if (idDispositivo <= 0) {
+            throw new IllegalArgumentException("O ID do dispositivo é inválido.");
+        }
+
+        return cacheDispositivos.buscar(idDispositivo, dispositivoDAO::buscarPorId);
+    }
+
     /**
      * Ativa um dispositivo com base no ID.
      *
      * @param idDispositivo ID do dispositivo a ser ativado.
+     * @return false se o dispositivo não existir.
      * @throws SQLException
      * @throws ClassNotFoundException
      */
-    public void ativarDispositivoBO(int idDispositivo) throws ClassNotFoundException, SQLException {
-        Dispositivo dispositivo = dispositivoDAO.buscarPorId(idDispositivo);
-
-        if (dispositivo != null) {
-            dispositivo.ativarDispositivo();
-            dispositivoDAO.atualizar(dispositivo);
-        } else {
-            throw new IllegalArgumentException("Dispositivo não encontrado para ativar.");
-        }
+    public boolean ativarDispositivoBO(int idDispositivo) throws ClassNotFoundException, SQLException {
+        return atualizarStatus(idDispositivo, Dispositivo.STATUS_ATIVO);
     }
 
     /**
      * Desativa um dispositivo com base no ID.
      *
      * @param idDispositivo ID do dispositivo a ser desativado.
+     * @return false se o dispositivo não existir.
      * @throws SQLException
      * @throws ClassNotFoundException
      */
-    public void desativarDispositivoBO(int idDispositivo) throws ClassNotFoundException, SQLException {
-        Dispositivo dispositivo = dispositivoDAO.buscarPorId(idDispositivo);
-
-        if (dispositivo != null) {
-            dispositivo.desativarDispositivo();
-            dispositivoDAO.atualizar(dispositivo);
-        } else {
-            throw new IllegalArgumentException("Dispositivo não encontrado para desativar.");
+    public boolean desativarDispositivoBO(int idDispositivo) throws ClassNotFoundException, SQLException {
+        return atualizarStatus(idDispositivo, Dispositivo.STATUS_INATIVO);
+    }
+
+    /**
+     * Atualiza apenas o status, sem ler o dispositivo antes; a versão da coleção só muda se o dispositivo existir.
+     */
+    private boolean atualizarStatus(int idDispositivo, String status) throws SQLException {
+        boolean atualizado = ConnectionFactory.emTransacao(conexao -> {
+            if (dispositivoDAO.atualizarStatus(conexao, idDispositivo, status) == 0) {
+                return false;
+            }
+            versaoColecaoDAO.incrementar(conexao, COLECAO);
+            return true;
+        });
+        if (atualizado) {
+            cacheDispositivos.invalidar(idDispositivo);
         }
+        return atualizado;
+    }
+
+    /**
+     * Retorna a versão de um dispositivo, usada na ETag: do cache de leitura, se o dispositivo estiver nele,
+     * ou lendo apenas a coluna da versão.
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @return Versão do dispositivo, ou null se ele não existir.
+     * @throws SQLException
+     */
+    public Long buscarVersaoDispositivoBO(int idDispositivo) throws SQLException {
+        Dispositivo guardado = cacheDispositivos.consultar(idDispositivo);
+        return guardado != null ? Long.valueOf(guardado.getVersao()) : dispositivoDAO.buscarVersao(idDispositivo);
+    }
+
+    /**
+     * Retorna a versão da coleção de dispositivos, incrementada após cada inclusão, alteração ou exclusão.
+     * Como o incremento ocorre depois da gravação, uma listagem nunca recebe uma versão mais nova que os seus dados.
+     *
+     * @return Versão da coleção.
+     * @throws SQLException
+     */
+    public long buscarVersaoDispositivosBO() throws SQLException {
+        return versaoColecaoDAO.buscarVersao(COLECAO);
     }
 }
 
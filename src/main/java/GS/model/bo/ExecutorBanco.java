@@ -0,0 +1,142 @@
+package GS.model.bo;
+
+import GS.config.Configuracao;
+import GS.eventos.ContextoRequisicao;
+import GS.model.beans.EstatisticasExecutor;
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe ExecutorBanco executa o trabalho de banco das requisições assíncronas em um pool limitado de threads
+ * ({@code banco.executor.threads}, padrão: o tamanho do pool de conexões) com uma fila limitada
+ * ({@code banco.executor.fila}).
+ *
+ * Com a fila cheia, a requisição é recusada na hora com {@link ServicoIndisponivelException} (503 com Retry-After),
+ * em vez de esperar em uma fila que cresce sem limite. Tarefas canceladas antes de começar (ex.: a requisição
+ * expirou enquanto aguardava na fila) são descartadas sem ir ao banco; uma tarefa que já começou não pode mais ser
+ * cancelada e vai até o fim, para que uma gravação confirmada nunca seja informada ao cliente como recusada. A rota da requisição que agendou a tarefa
+ * ({@link ContextoRequisicao}) acompanha a tarefa até a thread do pool.
+ */
+public class ExecutorBanco {
+
+    private final ThreadPoolExecutor executor;
+    private final int segundosNovaTentativa;
+    private final AtomicLong recusadas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+
+    /**
+     * Construtor que cria o pool a partir da configuração.
+     */
+    public ExecutorBanco() {
+        int threads = Configuracao.get().getInt("banco.executor.threads",
+                Configuracao.get().getInt("db.pool.tamanhoMaximo", 10));
+        int fila = Configuracao.get().getInt("banco.executor.fila", 500);
+        this.segundosNovaTentativa = Configuracao.get().getInt("banco.executor.retryAfterSegundos", 1);
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "banco-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Agenda uma tarefa de banco.
+     *
+     * @param tarefa Tarefa que acessa o banco.
+     * @return Resultado da tarefa; cancelá-lo antes do início evita a execução. Depois do início, {@code cancel}
+     * retorna false e a tarefa continua.
+     * @throws ServicoIndisponivelException se a fila estiver cheia.
+     */
+    public <T> CompletableFuture<T> executar(Callable<T> tarefa) {
+        TarefaBanco<T> resultado = new TarefaBanco<>();
+        String rota = ContextoRequisicao.getRota();
+        try {
+            executor.execute(() -> {
+                if (!resultado.iniciar()) {
+                    descartadas.incrementAndGet();
+                    return;
+                }
+                String anterior = ContextoRequisicao.definir(rota);
+                try {
+                    resultado.complete(tarefa.call());
+                } catch (Throwable e) {
+                    resultado.completeExceptionally(e);
+                } finally {
+                    ContextoRequisicao.restaurar(anterior);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            recusadas.incrementAndGet();
+            throw new ServicoIndisponivelException("O servidor está sobrecarregado; tente novamente.", segundosNovaTentativa);
+        }
+        return resultado;
+    }
+
+    /**
+     * Retorna o tempo sugerido ao cliente antes de repetir uma requisição recusada ou expirada.
+     *
+     * @return Segundos do cabeçalho Retry-After.
+     */
+    public int getSegundosNovaTentativa() {
+        return segundosNovaTentativa;
+    }
+
+    /**
+     * Retorna o estado do pool: threads ocupadas, fila e tarefas recusadas ou descartadas.
+     *
+     * @return Estatísticas do executor.
+     */
+    public EstatisticasExecutor getEstatisticas() {
+        EstatisticasExecutor estatisticas = new EstatisticasExecutor();
+        estatisticas.setThreads(executor.getMaximumPoolSize());
+        estatisticas.setAtivas(executor.getActiveCount());
+        estatisticas.setFila(executor.getQueue().size());
+        estatisticas.setCapacidadeFila(executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        estatisticas.setConcluidas(executor.getCompletedTaskCount());
+        estatisticas.setRecusadas(recusadas.get());
+        estatisticas.setDescartadas(descartadas.get());
+        return estatisticas;
+    }
+
+    /**
+     * Encerra o pool quando a aplicação é finalizada.
+     */
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Resultado de uma tarefa que só pode ser cancelada enquanto aguarda na fila.
+     */
+    private static final class TarefaBanco<T> extends CompletableFuture<T> {
+
+        private final AtomicBoolean iniciada = new AtomicBoolean();
+
+        /**
+         * Marca o início da execução.
+         *
+         * @return false se a tarefa foi cancelada antes.
+         */
+        boolean iniciar() {
+            return iniciada.compareAndSet(false, true);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return iniciada.compareAndSet(false, true) && super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
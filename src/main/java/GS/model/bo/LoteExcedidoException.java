@@ -0,0 +1,15 @@
+package GS.model.bo;
+
+/**
+ * Exceção lançada quando um lote enviado pelo cliente excede o tamanho máximo permitido. É convertida na resposta
+ * 413 (Payload Too Large), para que o cliente divida o lote em vez de reenviá-lo.
+ */
+public class LoteExcedidoException extends RequisicaoInvalidaException {
+
+    /**
+     * @param mensagem Descrição do limite excedido, enviada ao cliente.
+     */
+    public LoteExcedidoException(String mensagem) {
+        super(mensagem);
+    }
+}
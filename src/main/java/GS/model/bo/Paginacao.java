@@ -0,0 +1,144 @@
+package GS.model.bo;
+
+import GS.config.Configuracao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Classe Paginacao concentra as regras da paginação por cursor (keyset) usada nas listagens:
+ * normalização do limite de itens e codificação dos cursores opacos enviados ao cliente.
+ *
+ * O cursor guarda a chave do último item da página (o ID, ou a data/hora e o ID no caso dos dados de consumo),
+ * de modo que a próxima página é obtida com uma consulta por faixa de índice, sem OFFSET. Limites fora da faixa e
+ * cursores inválidos lançam {@link RequisicaoInvalidaException} (resposta 400).
+ */
+public final class Paginacao {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private Paginacao() {
+    }
+
+    /**
+     * Aplica o limite padrão quando não informado e valida o limite máximo de itens por página.
+     *
+     * @param limite Limite informado pelo cliente, ou null.
+     * @return Limite a ser usado na consulta.
+     * @throws RequisicaoInvalidaException se o limite for inválido.
+     */
+    public static int normalizarLimite(Integer limite) {
+        Configuracao configuracao = Configuracao.get();
+        if (limite == null) {
+            return configuracao.getInt("paginacao.limite.padrao", 100);
+        }
+        int maximo = configuracao.getInt("paginacao.limite.maximo", 1000);
+        if (limite <= 0 || limite > maximo) {
+            throw new RequisicaoInvalidaException("O limite deve estar entre 1 e " + maximo + ".");
+        }
+        return limite;
+    }
+
+    /**
+     * Codifica o cursor de uma listagem ordenada por ID.
+     *
+     * @param id ID do último item da página.
+     * @return Cursor opaco.
+     */
+    public static String cursorId(int id) {
+        return codificar("i:" + id);
+    }
+
+    /**
+     * Decodifica o cursor de uma listagem ordenada por ID.
+     *
+     * @param cursor Cursor recebido do cliente, ou null para a primeira página.
+     * @return ID do último item da página anterior, ou 0 para a primeira página.
+     * @throws RequisicaoInvalidaException se o cursor for inválido.
+     */
+    public static int lerCursorId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        String valor = decodificar(cursor);
+        if (!valor.startsWith("i:")) {
+            throw new RequisicaoInvalidaException("Cursor inválido.");
+        }
+        try {
+            return Integer.parseInt(valor.substring(2));
+        } catch (NumberFormatException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido.");
+        }
+    }
+
+    /**
+     * Codifica o cursor de uma listagem ordenada por data/hora e ID.
+     *
+     * @param dataHora Data/hora do último item da página.
+     * @param id       ID do último item da página.
+     * @return Cursor opaco.
+     */
+    public static String cursorDataHora(LocalDateTime dataHora, int id) {
+        return codificar("t:" + dataHora + "|" + id);
+    }
+
+    /**
+     * Decodifica o cursor de uma listagem ordenada por data/hora e ID.
+     *
+     * @param cursor Cursor recebido do cliente, ou null para a primeira página.
+     * @return Posição do último item da página anterior, ou null para a primeira página.
+     * @throws RequisicaoInvalidaException se o cursor for inválido.
+     */
+    public static PosicaoDataHora lerCursorDataHora(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String valor = decodificar(cursor);
+        int separador = valor.lastIndexOf('|');
+        if (!valor.startsWith("t:") || separador < 0) {
+            throw new RequisicaoInvalidaException("Cursor inválido.");
+        }
+        try {
+            return new PosicaoDataHora(LocalDateTime.parse(valor.substring(2, separador)),
+                    Integer.parseInt(valor.substring(separador + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido.");
+        }
+    }
+
+    private static String codificar(String valor) {
+        return ENCODER.encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodificar(String cursor) {
+        try {
+            return new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new RequisicaoInvalidaException("Cursor inválido.");
+        }
+    }
+
+    /**
+     * Posição (data/hora e ID) do último item de uma página de dados de consumo.
+     */
+    public static final class PosicaoDataHora {
+        private final LocalDateTime dataHora;
+        private final int id;
+
+        public PosicaoDataHora(LocalDateTime dataHora, int id) {
+            this.dataHora = dataHora;
+            this.id = id;
+        }
+
+        public LocalDateTime getDataHora() {
+            return dataHora;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+}
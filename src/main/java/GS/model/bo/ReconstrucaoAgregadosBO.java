@@ -0,0 +1,143 @@
+package GS.model.bo;
+
+import GS.conexao.ConnectionFactory;
+import GS.config.Configuracao;
+import GS.model.beans.Granularidade;
+import GS.model.beans.StatusReconstrucao;
+import GS.model.dao.ConsumoAgregadoDAO;
+import jakarta.inject.Inject;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe ReconstrucaoAgregadosBO reconstrói os agregados de consumo por hora e por dia a partir do histórico
+ * de TB_DADOS_CONSUMO, por exemplo após a criação das tabelas de agregados ou a correção de dados brutos.
+ *
+ * O intervalo é dividido em tarefas de um dia por dispositivo, executadas em paralelo, cada uma em sua
+ * própria transação. Apenas uma reconstrução pode estar em andamento por vez.
+ */
+public class ReconstrucaoAgregadosBO {
+
+    private final ConsumoAgregadoDAO consumoAgregadoDAO;
+    private final int threads;
+
+    // Andamento da reconstrução atual (ou da última executada)
+    private volatile LocalDateTime de;
+    private volatile LocalDateTime ate;
+    private volatile LocalDateTime inicio;
+    private volatile LocalDateTime fim;
+    private volatile int tarefas;
+    private volatile String ultimoErro;
+    private final AtomicInteger concluidas = new AtomicInteger();
+    private final AtomicInteger falhas = new AtomicInteger();
+
+    /**
+     * Construtor que recebe o DAO dos agregados de consumo (injetado pelo container como singleton).
+     *
+     * @param consumoAgregadoDAO DAO dos agregados de consumo.
+     */
+    @Inject
+    public ReconstrucaoAgregadosBO(ConsumoAgregadoDAO consumoAgregadoDAO) {
+        this.consumoAgregadoDAO = consumoAgregadoDAO;
+        this.threads = Configuracao.get().getInt("agregados.reconstrucao.threads",
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Inicia a reconstrução dos agregados no intervalo, em segundo plano.
+     * O intervalo é estendido para dias completos.
+     *
+     * @param de  Início do intervalo.
+     * @param ate Fim do intervalo.
+     * @return Status da reconstrução iniciada.
+     * @throws RequisicaoInvalidaException se o intervalo for inválido.
+     * @throws IllegalStateException se já houver uma reconstrução em andamento.
+     * @throws SQLException
+     */
+    public synchronized StatusReconstrucao iniciarReconstrucaoBO(LocalDateTime de, LocalDateTime ate) throws SQLException {
+        if (de == null || ate == null || !de.isBefore(ate)) {
+            throw new RequisicaoInvalidaException("O início do intervalo deve ser anterior ao fim.");
+        }
+        if (emAndamento()) {
+            throw new IllegalStateException("Já existe uma reconstrução dos agregados em andamento.");
+        }
+
+        LocalDateTime primeiroDia = de.truncatedTo(ChronoUnit.DAYS);
+        LocalDateTime ultimoDia = ate.truncatedTo(ChronoUnit.DAYS).equals(ate) ? ate : ate.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        List<Integer> dispositivos = consumoAgregadoDAO.selecionarDispositivosComConsumo(primeiroDia, ultimoDia);
+        long dias = ChronoUnit.DAYS.between(primeiroDia, ultimoDia);
+
+        this.de = primeiroDia;
+        this.ate = ultimoDia;
+        this.inicio = LocalDateTime.now();
+        this.fim = null;
+        this.ultimoErro = null;
+        this.concluidas.set(0);
+        this.falhas.set(0);
+        this.tarefas = (int) (dispositivos.size() * dias);
+        if (tarefas == 0) {
+            this.fim = inicio;
+            return getStatusBO();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "reconstrucao-agregados");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Integer idDispositivo : dispositivos) {
+            for (LocalDateTime dia = primeiroDia; dia.isBefore(ultimoDia); dia = dia.plusDays(1)) {
+                LocalDateTime inicioDia = dia;
+                executor.execute(() -> reconstruirDia(idDispositivo, inicioDia));
+            }
+        }
+        executor.shutdown();
+        return getStatusBO();
+    }
+
+    /**
+     * Retorna o andamento da reconstrução atual ou da última executada.
+     *
+     * @return Status da reconstrução.
+     */
+    public StatusReconstrucao getStatusBO() {
+        StatusReconstrucao status = new StatusReconstrucao();
+        status.setEmAndamento(emAndamento());
+        status.setDe(de);
+        status.setAte(ate);
+        status.setInicio(inicio);
+        status.setFim(fim);
+        status.setTarefas(tarefas);
+        status.setConcluidas(concluidas.get());
+        status.setFalhas(falhas.get());
+        status.setUltimoErro(ultimoErro);
+        return status;
+    }
+
+    private boolean emAndamento() {
+        return concluidas.get() + falhas.get() < tarefas;
+    }
+
+    private void reconstruirDia(int idDispositivo, LocalDateTime dia) {
+        try {
+            ConnectionFactory.emTransacao(conexao -> {
+                consumoAgregadoDAO.reconstruir(conexao, idDispositivo, Granularidade.HORA, dia, dia.plusDays(1));
+                consumoAgregadoDAO.reconstruir(conexao, idDispositivo, Granularidade.DIA, dia, dia.plusDays(1));
+                return null;
+            });
+            concluidas.incrementAndGet();
+        } catch (SQLException | RuntimeException e) {
+            ultimoErro = "Dispositivo " + idDispositivo + ", dia " + dia.toLocalDate() + ": " + e.getMessage();
+            falhas.incrementAndGet();
+        }
+        if (!emAndamento()) {
+            fim = LocalDateTime.now();
+        }
+    }
+}
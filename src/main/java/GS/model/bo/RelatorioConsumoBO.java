@@ -0,0 +1,73 @@
+package GS.model.bo;
+
+import GS.config.Configuracao;
+import GS.model.beans.LinhaRelatorioConsumo;
+import GS.model.dao.ProcessadorLinha;
+import GS.model.dao.RelatorioConsumoDAO;
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Classe RelatorioConsumoBO aplica as regras do relatório de consumo (GET /relatorios/consumo) e entrega as linhas
+ * lidas do banco em fluxo, de modo que o tamanho do período não altere o uso de memória.
+ */
+public class RelatorioConsumoBO {
+
+    private final RelatorioConsumoDAO relatorioConsumoDAO;
+    private final int tamanhoFetch;
+
+    /**
+     * Construtor que recebe o DAO do relatório (injetado pelo container como singleton).
+     *
+     * @param relatorioConsumoDAO DAO das linhas do relatório.
+     */
+    @Inject
+    public RelatorioConsumoBO(RelatorioConsumoDAO relatorioConsumoDAO) {
+        this.relatorioConsumoDAO = relatorioConsumoDAO;
+        this.tamanhoFetch = Configuracao.get().getInt("dadosConsumo.fluxo.tamanhoFetch", 1000);
+    }
+
+    /**
+     * Valida os filtros do relatório; chamado antes de iniciar a resposta, para que um filtro inválido
+     * não produza um relatório pela metade.
+     *
+     * @param idUsuario     Usuário dono dos dispositivos, ou null para todos.
+     * @param idDispositivo Dispositivo, ou null para todos.
+     * @param de            Início do período (inclusivo), ou null.
+     * @param ate           Fim do período (exclusivo), ou null.
+     * @throws RequisicaoInvalidaException se algum filtro for inválido.
+     */
+    public void validarFiltrosBO(Integer idUsuario, Integer idDispositivo, LocalDateTime de, LocalDateTime ate) {
+        if (idUsuario != null && idUsuario <= 0) {
+            throw new RequisicaoInvalidaException("O ID do usuário é inválido.");
+        }
+        if (idDispositivo != null && idDispositivo <= 0) {
+            throw new RequisicaoInvalidaException("O ID do dispositivo é inválido.");
+        }
+        if (de != null && ate != null && !de.isBefore(ate)) {
+            throw new RequisicaoInvalidaException("O início do período deve ser anterior ao fim.");
+        }
+    }
+
+    /**
+     * Percorre as linhas do relatório em ordem de data/hora, entregando cada uma ao processador.
+     *
+     * @param idUsuario     Usuário dono dos dispositivos, ou null para todos.
+     * @param idDispositivo Dispositivo, ou null para todos.
+     * @param de            Início do período (inclusivo), ou null.
+     * @param ate           Fim do período (exclusivo), ou null.
+     * @param processador   Processador que recebe cada linha.
+     * @return Quantidade de linhas do relatório.
+     * @throws RequisicaoInvalidaException se algum filtro for inválido.
+     * @throws SQLException
+     * @throws IOException se o processador falhar ao tratar alguma linha.
+     */
+    public long percorrerRelatorioBO(Integer idUsuario, Integer idDispositivo, LocalDateTime de, LocalDateTime ate,
+                                     ProcessadorLinha<LinhaRelatorioConsumo> processador) throws SQLException, IOException {
+        validarFiltrosBO(idUsuario, idDispositivo, de, ate);
+        return relatorioConsumoDAO.percorrer(idUsuario, idDispositivo, de, ate, tamanhoFetch, processador);
+    }
+}
@@ -0,0 +1,16 @@
+package GS.model.bo;
+
+/**
+ * Exceção lançada quando um valor informado pelo cliente é inválido (ex.: cursor adulterado ou limite fora da faixa).
+ * É convertida na resposta 400 (Bad Request) com a mensagem, enquanto as demais exceções continuam sendo erros
+ * internos (500).
+ */
+public class RequisicaoInvalidaException extends IllegalArgumentException {
+
+    /**
+     * @param mensagem Descrição do valor inválido, enviada ao cliente.
+     */
+    public RequisicaoInvalidaException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,23 @@
+package GS.model.bo;
+
+/**
+ * Exceção lançada quando a aplicação está temporariamente sem capacidade para atender a requisição
+ * (ex.: fila de gravação cheia). É convertida na resposta 503 com o cabeçalho Retry-After.
+ */
+public class ServicoIndisponivelException extends RuntimeException {
+
+    private final int segundosParaNovaTentativa;
+
+    /**
+     * @param mensagem                  Descrição do motivo da indisponibilidade.
+     * @param segundosParaNovaTentativa Tempo sugerido ao cliente antes de tentar novamente.
+     */
+    public ServicoIndisponivelException(String mensagem, int segundosParaNovaTentativa) {
+        super(mensagem);
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public int getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
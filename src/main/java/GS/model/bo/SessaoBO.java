@@ -1,47 +1,75 @@
 package GS.model.bo;
 
+import GS.model.beans.Pagina;
 import GS.model.beans.Sessao;
+import GS.model.cache.CacheLeitura;
+import GS.model.cache.RegistroCaches;
 import GS.model.dao.SessaoDAO;
+import GS.model.id.AlocadorIds;
+import GS.model.id.EntidadeId;
+import GS.model.beans.EstatisticasSessoes;
 import GS.model.beans.Usuario;
+import GS.model.sessao.RegistroSessoes;
+import jakarta.inject.Inject;
 
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Classe SessaoBO (Business Object) aplica as regras de negócio para a manipulação de sessões,
  * incluindo validações e acesso ao DAO para inserção, atualização e seleção de sessões.
+ * As sessões ativas ficam no {@link RegistroSessoes}; o banco é consultado apenas para sessões já encerradas.
  */
 public class SessaoBO {
 
-    private SessaoDAO sessaoDAO;
+    private final SessaoDAO sessaoDAO;
+    private final CacheLeitura<Integer, Sessao> cacheSessoes;
+    private final RegistroSessoes registroSessoes;
+    private final AlocadorIds alocadorIds;
 
     /**
-     * Construtor que inicializa o DAO da sessão.
+     * Construtor que recebe o DAO da sessão, o registro de caches, o registro de sessões ativas e o alocador de IDs
+     * (injetados pelo container como singletons).
      *
-     * @throws ClassNotFoundException
-     * @throws SQLException
+     * @param sessaoDAO       DAO da sessão.
+     * @param registroCaches  Registro em que é criado o cache de leitura das sessões.
+     * @param registroSessoes Registro em memória das sessões ativas.
+     * @param alocadorIds     Alocador dos IDs das novas sessões.
      */
-    public SessaoBO() throws ClassNotFoundException, SQLException {
-        this.sessaoDAO = new SessaoDAO();
+    @Inject
+    public SessaoBO(SessaoDAO sessaoDAO, RegistroCaches registroCaches, RegistroSessoes registroSessoes,
+                    AlocadorIds alocadorIds) {
+        this.sessaoDAO = sessaoDAO;
+        this.cacheSessoes = registroCaches.criar("sessoes");
+        this.registroSessoes = registroSessoes;
+        this.alocadorIds = alocadorIds;
     }
 
     /**
      * Inicia uma nova sessão para um usuário após aplicar as regras de negócio.
      *
+     * A sessão é registrada em memória e gravada no banco em segundo plano.
+     *
      * @param usuario Objeto Usuario contendo os dados do usuário.
+     * @return Sessão iniciada.
      * @throws IllegalArgumentException se as validações de regras de negócio falharem.
      * @throws SQLException
      */
-    public void iniciarSessaoBO(Usuario usuario) throws SQLException {
+    public Sessao iniciarSessaoBO(Usuario usuario) throws SQLException {
         if (usuario == null) {
             throw new IllegalArgumentException("Usuário inválido.");
         }
 
         // Criar nova sessão
         Sessao sessao = new Sessao();
+        sessao.setIdSessao(alocadorIds.proximoId(EntidadeId.SESSAO));
+        sessao.setUsuario(usuario);
+        sessao.setInicioSessao(LocalDateTime.now());
 
-        // Inserir sessão no banco de dados
-        sessaoDAO.inserir(sessao);
+        // Registrar a sessão ativa (a inserção no banco é feita em lote)
+        registroSessoes.iniciar(sessao);
+        return sessao;
     }
 
     /**
@@ -56,7 +84,13 @@ public class SessaoBO {
             throw new IllegalArgumentException("O ID da sessão é inválido.");
         }
 
-        // Buscar a sessão no banco de dados
+        // Sessão ativa: finalizada em memória, com o fim gravado em lote
+        if (registroSessoes.finalizar(idSessao)) {
+            return;
+        }
+
+        // Sessão fora do registro (ex.: iniciada antes de a aplicação reiniciar)
+        // Buscar a sessão no banco de dados (sem o cache, pois a instância será alterada)
         Sessao sessao = sessaoDAO.buscarPorId(idSessao);
 
         if (sessao == null) {
@@ -68,6 +102,7 @@ public class SessaoBO {
 
         // Atualizar sessão no banco de dados
         sessaoDAO.atualizar(sessao);
+        cacheSessoes.invalidar(idSessao);
     }
 
     /**
@@ -82,7 +117,27 @@ public class SessaoBO {
     }
 
     /**
-     * Busca uma sessão pelo ID.
+     * Retorna uma página de sessões ordenada pelo ID (paginação por cursor).
+     *
+     * @param aposId  ID do último item da página anterior ({@link Paginacao#lerCursorId}), ou 0 para a primeira página.
+     * @param tamanho Quantidade máxima de itens da página ({@link Paginacao#normalizarLimite}).
+     * @return Página de objetos Sessao com o cursor da próxima página.
+     * @throws SQLException
+     */
+    public Pagina<Sessao> selecionarPaginaSessoesBO(int aposId, int tamanho) throws SQLException {
+        // Busca um item além do limite para saber se existe uma próxima página
+        List<Sessao> itens = sessaoDAO.selecionarPagina(aposId, tamanho + 1);
+        String proximoCursor = null;
+        if (itens.size() > tamanho) {
+            itens.remove(tamanho);
+            proximoCursor = Paginacao.cursorId(itens.get(tamanho - 1).getIdSessao());
+        }
+        return new Pagina<>(itens, proximoCursor);
+    }
+
+    /**
+     * Busca uma sessão pelo ID: sessões ativas vêm do registro em memória (renovando o prazo de ociosidade);
+     * as demais, do cache de leitura das sessões.
      *
      * @param idSessao ID da sessão a ser buscada.
      * @return Objeto Sessao, caso seja encontrado.
@@ -93,6 +148,19 @@ public class SessaoBO {
             throw new IllegalArgumentException("O ID da sessão é inválido.");
         }
 
-        return sessaoDAO.buscarPorId(idSessao);
+        Sessao ativa = registroSessoes.buscar(idSessao);
+        if (ativa != null) {
+            return ativa;
+        }
+        return cacheSessoes.buscar(idSessao, sessaoDAO::buscarPorId);
+    }
+
+    /**
+     * Retorna as estatísticas do registro de sessões ativas.
+     *
+     * @return Estatísticas das sessões.
+     */
+    public EstatisticasSessoes getEstatisticasSessoesBO() {
+        return registroSessoes.getEstatisticas();
     }
 }
@@ -1,9 +1,28 @@
 package GS.model.bo;
+import GS.config.Configuracao;
+import GS.model.beans.Pagina;
 import GS.model.beans.Usuario;
+import GS.model.cache.CacheLeitura;
+import GS.model.cache.RegistroCaches;
 import GS.model.dao.UsuarioDAO;
+import GS.model.id.AlocadorIds;
+import GS.model.id.EntidadeId;
+import GS.model.seguranca.CredencialUsuario;
+import GS.model.seguranca.HashSenha;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 /**
  * Classe UsuarioBO (Business Object) aplica as regras de negócio para a manipulação de usuários,
@@ -11,16 +30,52 @@ import java.util.List;
  */
 public class UsuarioBO {
 
-    private UsuarioDAO usuarioDAO;
+    // Compilado uma única vez: String.matches compila a expressão a cada chamada
+    private static final Pattern FORMATO_EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+
+    private final UsuarioDAO usuarioDAO;
+    private final AlocadorIds alocadorIds;
+    private final CacheLeitura<String, CredencialUsuario> cacheCredenciais;
+    private final int iteracoesHash;
+    private final String hashFicticio;
+
+    // Pool limitado para a verificação das senhas, que consome CPU, fora das threads HTTP
+    private final ExecutorService poolLogin;
 
     /**
-     * Construtor que inicializa o DAO do usuário.
+     * Construtor que recebe o DAO do usuário, o registro de caches e o alocador de IDs
+     * (injetados pelo container como singletons).
      *
-     * @throws ClassNotFoundException
-     * @throws SQLException
+     * @param usuarioDAO     DAO do usuário.
+     * @param registroCaches Registro em que é criado o cache das credenciais por email.
+     * @param alocadorIds    Alocador dos IDs dos novos usuários.
      */
-    public UsuarioBO() throws ClassNotFoundException, SQLException {
-        this.usuarioDAO = new UsuarioDAO();
+    @Inject
+    public UsuarioBO(UsuarioDAO usuarioDAO, RegistroCaches registroCaches, AlocadorIds alocadorIds) {
+        this.usuarioDAO = usuarioDAO;
+        this.alocadorIds = alocadorIds;
+        this.cacheCredenciais = registroCaches.criar("credenciais");
+        this.iteracoesHash = Configuracao.get().getInt("seguranca.senha.iteracoes", 20000);
+        // Usado para que o login com email inexistente leve o mesmo tempo que uma senha incorreta
+        this.hashFicticio = HashSenha.gerar("", iteracoesHash);
+
+        int threads = Configuracao.get().getInt("seguranca.login.threads", Runtime.getRuntime().availableProcessors());
+        int fila = Configuracao.get().getInt("seguranca.login.fila", 256);
+        AtomicInteger contador = new AtomicInteger();
+        this.poolLogin = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "login-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Encerra o pool de verificação de login quando a aplicação é finalizada.
+     */
+    @PreDestroy
+    public void encerrar() {
+        poolLogin.shutdown();
     }
 
     /**
@@ -32,6 +87,23 @@ public class UsuarioBO {
      * @throws IOException
      */
     public void inserirUsuarioBO(Usuario usuario) throws ClassNotFoundException, SQLException, IOException {
+        validarUsuarioBO(usuario);
+
+        // Gravar apenas o hash da senha
+        usuario.setSenha(HashSenha.gerar(usuario.getSenha(), iteracoesHash));
+
+        // Inserir usuário via DAO
+        usuario.setIdUsuario(alocadorIds.proximoId(EntidadeId.USUARIO));
+        usuarioDAO.inserir(usuario);
+    }
+
+    /**
+     * Aplica as regras de negócio de um novo usuário: nome, email em formato válido e senha.
+     *
+     * @param usuario Objeto Usuario a ser validado.
+     * @throws IllegalArgumentException se alguma regra for violada.
+     */
+    public void validarUsuarioBO(Usuario usuario) {
         // Validar nome do usuário
         if (usuario.getNome() == null || usuario.getNome().isEmpty()) {
             throw new IllegalArgumentException("O nome do usuário não pode ser vazio.");
@@ -41,7 +113,7 @@ public class UsuarioBO {
         if (usuario.getEmail() == null || usuario.getEmail().isEmpty()) {
             throw new IllegalArgumentException("O email do usuário não pode ser vazio.");
         }
-        if (!usuario.getEmail().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$")) {
+        if (!FORMATO_EMAIL.matcher(usuario.getEmail()).matches()) {
             throw new IllegalArgumentException("O email do usuário deve estar em um formato válido.");
         }
 
@@ -49,13 +121,11 @@ public class UsuarioBO {
         if (usuario.getSenha() == null || usuario.getSenha().isEmpty()) {
             throw new IllegalArgumentException("A senha do usuário não pode ser vazia.");
         }
-
-        // Inserir usuário via DAO
-        usuarioDAO.inserir(usuario);
     }
 
     /**
      * Atualiza um usuário no banco de dados após aplicar as regras de negócio.
+     * A senha, se informada, é sempre tratada como texto e gravada como hash; sem senha, a atual é mantida.
      *
      * @param usuario Objeto Usuario contendo os dados do usuário.
      * @throws IllegalArgumentException se as validações de regras de negócio falharem.
@@ -73,8 +143,16 @@ public class UsuarioBO {
             throw new IllegalArgumentException("O email do usuário não pode ser vazio.");
         }
 
+        // Gravar apenas o hash da senha informada; sem senha, o hash atual é mantido
+        if (usuario.getSenha() != null && !usuario.getSenha().isEmpty()) {
+            usuario.setSenha(HashSenha.gerar(usuario.getSenha(), iteracoesHash));
+        } else {
+            usuario.setSenha(null);
+        }
+
         // Atualizar usuário via DAO
         usuarioDAO.atualizar(usuario);
+        cacheCredenciais.invalidarSe(credencial -> credencial.getIdUsuario() == usuario.getIdUsuario());
     }
 
     /**
@@ -87,6 +165,7 @@ public class UsuarioBO {
     public void deletarUsuarioBO(int idUsuario) throws ClassNotFoundException, SQLException {
         // Deletar usuário via DAO
         usuarioDAO.deletar(idUsuario);
+        cacheCredenciais.invalidarSe(credencial -> credencial.getIdUsuario() == idUsuario);
     }
 
     /**
@@ -100,23 +179,111 @@ public class UsuarioBO {
         return usuarioDAO.selecionar();
     }
 
+    /**
+     * Retorna uma página de usuários ordenada pelo ID (paginação por cursor).
+     *
+     * @param aposId  ID do último item da página anterior ({@link Paginacao#lerCursorId}), ou 0 para a primeira página.
+     * @param tamanho Quantidade máxima de itens da página ({@link Paginacao#normalizarLimite}).
+     * @return Página de objetos Usuario (sem a senha) com o cursor da próxima página.
+     * @throws SQLException
+     */
+    public Pagina<Usuario> selecionarPaginaUsuariosBO(int aposId, int tamanho) throws SQLException {
+        // Busca um item além do limite para saber se existe uma próxima página
+        List<Usuario> itens = usuarioDAO.selecionarPagina(aposId, tamanho + 1);
+        String proximoCursor = null;
+        if (itens.size() > tamanho) {
+            itens.remove(tamanho);
+            proximoCursor = Paginacao.cursorId(itens.get(tamanho - 1).getIdUsuario());
+        }
+        return new Pagina<>(itens, proximoCursor);
+    }
+
+    /**
+     * Busca um usuário pelo email.
+     *
+     * @param email Email do usuário.
+     * @return Objeto Usuario (sem a senha), ou null se não existir.
+     * @throws SQLException
+     */
+    public Usuario buscarUsuarioPorEmailBO(String email) throws SQLException {
+        Usuario usuario = usuarioDAO.buscarPorEmail(email);
+        if (usuario != null) {
+            usuario.setSenha(null);
+        }
+        return usuario;
+    }
+
     /**
      * Realiza o login do usuário após validar suas credenciais.
      *
      * @param email Email do usuário.
      * @param senha Senha do usuário.
-     * @return Objeto Usuario caso as credenciais sejam válidas, caso contrário null.
+     * @return Objeto Usuario (sem a senha) caso as credenciais sejam válidas.
+     * @throws IllegalArgumentException se as credenciais forem inválidas.
      * @throws SQLException
      */
     public Usuario fazerLoginBO(String email, String senha) throws ClassNotFoundException, SQLException {
-        Usuario usuario = usuarioDAO.buscarPorEmail(email);
+        return autenticar(email, senha);
+    }
 
-        if (usuario != null && usuario.getSenha().equals(senha)) {
-            return usuario; // Login bem-sucedido
-        } else {
-            throw new IllegalArgumentException("Credenciais inválidas.");
+    /**
+     * Realiza o login do usuário no pool de verificação de senhas, sem ocupar a thread da requisição.
+     *
+     * @param email Email do usuário.
+     * @param senha Senha do usuário.
+     * @return Resultado do login: o Usuario (sem a senha), ou falha com IllegalArgumentException se as
+     * credenciais forem inválidas.
+     * @throws ServicoIndisponivelException se a fila do pool de login estiver cheia.
+     */
+    public CompletableFuture<Usuario> fazerLoginAsyncBO(String email, String senha) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return autenticar(email, senha);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }, poolLogin);
+        } catch (RejectedExecutionException e) {
+            throw new ServicoIndisponivelException("Muitas tentativas de login simultâneas.", 1);
         }
     }
-}
 
+    /**
+     * Verifica as credenciais usando o cache de credenciais por email. Senhas gravadas em texto puro ou com
+     * menos iterações que o configurado são regravadas com o hash atual após um login bem-sucedido.
+     *
+     * @param email Email do usuário.
+     * @param senha Senha do usuário.
+     * @return Objeto Usuario (sem a senha).
+     * @throws IllegalArgumentException se as credenciais forem inválidas.
+     * @throws SQLException
+     */
+    private Usuario autenticar(String email, String senha) throws SQLException {
+        if (email == null || email.isEmpty() || senha == null) {
+            throw new IllegalArgumentException("Credenciais inválidas.");
+        }
+
+        CredencialUsuario credencial = cacheCredenciais.buscar(email, usuarioDAO::buscarCredencialPorEmail);
+        if (credencial == null) {
+            HashSenha.verificar(senha, hashFicticio);
+            throw new IllegalArgumentException("Credenciais inválidas.");
+        }
+        if (!HashSenha.verificar(senha, credencial.getHashSenha())) {
+            throw new IllegalArgumentException("Credenciais inválidas.");
+        }
 
+        if (HashSenha.precisaAtualizar(credencial.getHashSenha(), iteracoesHash)) {
+            usuarioDAO.atualizarSenha(credencial.getIdUsuario(), HashSenha.gerar(senha, iteracoesHash));
+            cacheCredenciais.invalidar(email);
+        }
+
+        Usuario usuario = new Usuario();
+        usuario.setIdUsuario(credencial.getIdUsuario());
+        usuario.setNome(credencial.getNome());
+        usuario.setEmail(credencial.getEmail());
+        usuario.setDataCadastro(credencial.getDataCadastro());
+        usuario.setSenha(null);
+        return usuario;
+    }
+}
@@ -0,0 +1,145 @@
+package GS.model.cache;
+
+import GS.model.beans.EstatisticasCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Classe CacheLeitura é um cache de leitura (read-through) de entidades por chave (em geral o ID), à frente dos DAOs.
+ *
+ * O cache é limitado por quantidade de entradas (política W-TinyLFU do Caffeine, que mantém as entidades mais
+ * acessadas) e por tempo desde a gravação. Entidades inexistentes não são guardadas. Os BOs devem chamar
+ * {@link #invalidar} após alterar ou excluir uma entidade; uma carga em andamento para o mesmo ID termina
+ * antes da invalidação, de modo que um valor antigo não permanece no cache.
+ *
+ * As entidades guardadas são compartilhadas entre as requisições e não devem ser alteradas por quem as recebe.
+ *
+ * @param <K> Tipo da chave.
+ * @param <V> Tipo da entidade.
+ */
+public final class CacheLeitura<K, V> {
+
+    /**
+     * Carrega a entidade do banco quando ela não está no cache.
+     *
+     * @param <K> Tipo da chave.
+     * @param <V> Tipo da entidade.
+     */
+    @FunctionalInterface
+    public interface Carregador<K, V> {
+        V carregar(K chave) throws SQLException;
+    }
+
+    private final String nome;
+    private final long tamanhoMaximo;
+    private final Cache<K, V> cache;
+
+    CacheLeitura(String nome, long tamanhoMaximo, long expiracaoSegundos) {
+        this.nome = nome;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracaoSegundos, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retorna a entidade do cache ou, se ausente, carrega-a com o carregador e a guarda.
+     *
+     * @param chave      Chave da entidade.
+     * @param carregador Carregador usado quando a entidade não está no cache.
+     * @return Entidade, ou null se não existir.
+     * @throws SQLException se a carga falhar.
+     */
+    public V buscar(K chave, Carregador<K, V> carregador) throws SQLException {
+        try {
+            return cache.get(chave, k -> {
+                try {
+                    return carregador.carregar(k);
+                } catch (SQLException e) {
+                    throw new FalhaCarga(e);
+                }
+            });
+        } catch (FalhaCarga e) {
+            throw e.causa;
+        }
+    }
+
+    /**
+     * Retorna a entidade apenas se ela já estiver no cache, sem carregá-la.
+     *
+     * @param chave Chave da entidade.
+     * @return Entidade guardada, ou null.
+     */
+    public V consultar(K chave) {
+        return cache.getIfPresent(chave);
+    }
+
+    /**
+     * Remove a entidade do cache, após ela ser alterada ou excluída.
+     *
+     * @param chave Chave da entidade.
+     */
+    public void invalidar(K chave) {
+        cache.invalidate(chave);
+    }
+
+    /**
+     * Remove as entidades que atendem ao critério, quando a chave da entidade alterada não é conhecida
+     * (ex.: cache por email invalidado a partir do ID do usuário). Percorre todo o cache.
+     *
+     * @param criterio Critério aplicado a cada entidade guardada.
+     */
+    public void invalidarSe(Predicate<? super V> criterio) {
+        cache.asMap().values().removeIf(criterio);
+    }
+
+    /**
+     * Remove todas as entidades do cache.
+     */
+    public void invalidarTodos() {
+        cache.invalidateAll();
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Retorna os contadores de acertos, falhas e remoções do cache.
+     *
+     * @return Estatísticas do cache.
+     */
+    public EstatisticasCache getEstatisticas() {
+        CacheStats stats = cache.stats();
+        EstatisticasCache estatisticas = new EstatisticasCache();
+        estatisticas.setNome(nome);
+        estatisticas.setTamanho(cache.estimatedSize());
+        estatisticas.setTamanhoMaximo(tamanhoMaximo);
+        estatisticas.setAcertos(stats.hitCount());
+        estatisticas.setFalhas(stats.missCount());
+        estatisticas.setTaxaAcerto(stats.hitRate());
+        estatisticas.setRemocoes(stats.evictionCount());
+        estatisticas.setTempoMedioCargaMs(stats.averageLoadPenalty() / 1_000_000.0);
+        return estatisticas;
+    }
+
+    /**
+     * Transporta a SQLException do carregador através da API do Caffeine, que não aceita exceções checadas.
+     */
+    private static final class FalhaCarga extends RuntimeException {
+
+        private final SQLException causa;
+
+        FalhaCarga(SQLException causa) {
+            super(causa);
+            this.causa = causa;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package GS.model.cache;
+
+import GS.config.Configuracao;
+import GS.model.beans.EstatisticasCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Classe RegistroCaches cria e mantém os caches de leitura da aplicação, configurados por nome:
+ * {@code cache.<nome>.tamanhoMaximo} e {@code cache.<nome>.expiracaoSegundos}.
+ * Permite consultar as estatísticas e esvaziar os caches pelos endpoints de administração.
+ */
+public class RegistroCaches {
+
+    private final Map<String, CacheLeitura<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    /**
+     * Cria um cache de leitura com a configuração do nome informado.
+     *
+     * @param nome Nome do cache (ex.: {@code dispositivos}).
+     * @param <K>  Tipo das chaves.
+     * @param <V>  Tipo das entidades guardadas.
+     * @return Cache criado.
+     * @throws IllegalStateException se já existir um cache com o mesmo nome.
+     */
+    public <K, V> CacheLeitura<K, V> criar(String nome) {
+        Configuracao configuracao = Configuracao.get();
+        CacheLeitura<K, V> cache = new CacheLeitura<>(nome,
+                configuracao.getLong("cache." + nome + ".tamanhoMaximo", 10000),
+                configuracao.getLong("cache." + nome + ".expiracaoSegundos", 300));
+        if (caches.putIfAbsent(nome, cache) != null) {
+            throw new IllegalStateException("Já existe um cache com o nome " + nome);
+        }
+        return cache;
+    }
+
+    /**
+     * Retorna as estatísticas de todos os caches, ordenadas pelo nome.
+     *
+     * @return Lista de estatísticas.
+     */
+    public List<EstatisticasCache> getEstatisticas() {
+        List<EstatisticasCache> estatisticas = new ArrayList<>();
+        for (CacheLeitura<?, ?> cache : caches.values()) {
+            estatisticas.add(cache.getEstatisticas());
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Esvazia o cache com o nome informado.
+     *
+     * @param nome Nome do cache.
+     * @return false se não existir cache com esse nome.
+     */
+    public boolean esvaziar(String nome) {
+        CacheLeitura<?, ?> cache = caches.get(nome);
+        if (cache == null) {
+            return false;
+        }
+        cache.invalidarTodos();
+        return true;
+    }
+}
@@ -0,0 +1,257 @@
+package GS.model.dao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import GS.model.beans.ConsumoAgregado;
+import GS.model.beans.DadosConsumo;
+import GS.model.beans.Granularidade;
+import GS.conexao.ConnectionFactory;
+
+/**
+ * Classe ConsumoAgregadoDAO mantém e consulta os agregados de consumo por dispositivo e período
+ * (tabela TB_CONSUMO_AGREGADO), calculados a partir de TB_DADOS_CONSUMO.
+ *
+ * Os métodos de escrita recebem a conexão da transação em que o registro de consumo é gravado,
+ * para que os agregados nunca fiquem diferentes dos dados brutos.
+ */
+public class ConsumoAgregadoDAO {
+
+    private static final String CHAVE = "a.granularidade = n.granularidade AND a.id_dispositivo = n.id_dispositivo "
+            + "AND a.inicio_periodo = n.inicio_periodo";
+
+    private static final String INSERIR_NOVO = "WHEN NOT MATCHED THEN INSERT "
+            + "(granularidade, id_dispositivo, inicio_periodo, total_kwh, minimo, maximo, quantidade) "
+            + "VALUES (n.granularidade, n.id_dispositivo, n.inicio_periodo, n.total_kwh, n.minimo, n.maximo, n.quantidade)";
+
+    private static final String SQL_ACUMULAR = "MERGE INTO TB_CONSUMO_AGREGADO a USING ("
+            + "SELECT CAST(? AS VARCHAR2(1)) granularidade, CAST(? AS NUMBER(10)) id_dispositivo, "
+            + "CAST(? AS TIMESTAMP) inicio_periodo, CAST(? AS NUMBER) total_kwh, CAST(? AS NUMBER) minimo, "
+            + "CAST(? AS NUMBER) maximo, CAST(? AS NUMBER) quantidade FROM DUAL) n ON (" + CHAVE + ") "
+            + "WHEN MATCHED THEN UPDATE SET total_kwh = a.total_kwh + n.total_kwh, minimo = LEAST(a.minimo, n.minimo), "
+            + "maximo = GREATEST(a.maximo, n.maximo), quantidade = a.quantidade + n.quantidade "
+            + INSERIR_NOVO;
+
+    // Sem GROUP BY a agregação sempre devolve uma linha; o HAVING a descarta quando o período ficou sem leituras
+    // (MIN/MAX seriam NULL em colunas NOT NULL), e o agregado é removido por SQL_REMOVER_VAZIO
+    private static final String SQL_RECALCULAR = "MERGE INTO TB_CONSUMO_AGREGADO a USING ("
+            + "SELECT CAST(? AS VARCHAR2(1)) granularidade, CAST(? AS NUMBER(10)) id_dispositivo, "
+            + "CAST(? AS TIMESTAMP) inicio_periodo, NVL(SUM(c.consumo_energia), 0) total_kwh, "
+            + "MIN(c.consumo_energia) minimo, MAX(c.consumo_energia) maximo, COUNT(*) quantidade "
+            + "FROM TB_DADOS_CONSUMO c WHERE c.id_dispositivo = ? AND c.data_hora >= ? AND c.data_hora < ? "
+            + "HAVING COUNT(*) > 0) n "
+            + "ON (" + CHAVE + ") "
+            + "WHEN MATCHED THEN UPDATE SET total_kwh = n.total_kwh, minimo = n.minimo, maximo = n.maximo, "
+            + "quantidade = n.quantidade "
+            + INSERIR_NOVO;
+
+    private static final String SQL_REMOVER_VAZIO = "DELETE FROM TB_CONSUMO_AGREGADO "
+            + "WHERE granularidade = ? AND id_dispositivo = ? AND inicio_periodo = ? AND NOT EXISTS ("
+            + "SELECT 1 FROM TB_DADOS_CONSUMO c WHERE c.id_dispositivo = ? AND c.data_hora >= ? AND c.data_hora < ?)";
+
+    /**
+     * Acrescenta as leituras aos agregados por hora e por dia dos seus dispositivos.
+     * As leituras de um mesmo período são somadas em memória antes de irem ao banco, em um único comando por período.
+     * Leituras sem dispositivo são ignoradas.
+     *
+     * @param minhaConexao Conexão da transação em que as leituras foram inseridas.
+     * @param leituras     Leituras inseridas.
+     * @throws SQLException
+     */
+    public void acumular(Connection minhaConexao, Collection<DadosConsumo> leituras) throws SQLException {
+        Map<String, ConsumoAgregado> agregados = new LinkedHashMap<>();
+        for (DadosConsumo leitura : leituras) {
+            if (leitura.getIdDispositivo() <= 0) {
+                continue;
+            }
+            for (Granularidade granularidade : Granularidade.values()) {
+                LocalDateTime inicio = granularidade.inicioPeriodo(leitura.getDataHora());
+                String chave = granularidade.getCodigo() + leitura.getIdDispositivo() + '@' + inicio;
+                ConsumoAgregado agregado = agregados.get(chave);
+                if (agregado == null) {
+                    agregado = new ConsumoAgregado();
+                    agregado.setGranularidade(granularidade);
+                    agregado.setIdDispositivo(leitura.getIdDispositivo());
+                    agregado.setInicioPeriodo(inicio);
+                    agregados.put(chave, agregado);
+                }
+                agregado.acumular(leitura.getConsumoEnergia());
+            }
+        }
+        if (agregados.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(SQL_ACUMULAR)) {
+            for (ConsumoAgregado agregado : agregados.values()) {
+                stmt.setString(1, agregado.getGranularidade().getCodigo());
+                stmt.setInt(2, agregado.getIdDispositivo());
+                stmt.setTimestamp(3, Timestamp.valueOf(agregado.getInicioPeriodo()));
+                stmt.setDouble(4, agregado.getTotalKwh());
+                stmt.setFloat(5, agregado.getMinimo());
+                stmt.setFloat(6, agregado.getMaximo());
+                stmt.setLong(7, agregado.getQuantidade());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Recalcula, a partir dos dados brutos, os agregados por hora e por dia do período que contém a data/hora informada.
+     * Usado após atualizações e exclusões, quando o mínimo e o máximo não podem ser ajustados incrementalmente.
+     * Períodos que ficaram sem leituras têm o agregado removido.
+     *
+     * @param minhaConexao  Conexão da transação em que o registro foi alterado.
+     * @param idDispositivo ID do dispositivo do registro.
+     * @param dataHora      Data/hora do registro.
+     * @throws SQLException
+     */
+    public void recalcular(Connection minhaConexao, int idDispositivo, LocalDateTime dataHora) throws SQLException {
+        if (idDispositivo <= 0) {
+            return;
+        }
+
+        try (PreparedStatement merge = minhaConexao.prepareStatement(SQL_RECALCULAR);
+             PreparedStatement remover = minhaConexao.prepareStatement(SQL_REMOVER_VAZIO)) {
+
+            for (Granularidade granularidade : Granularidade.values()) {
+                LocalDateTime inicio = granularidade.inicioPeriodo(dataHora);
+                Timestamp fim = Timestamp.valueOf(granularidade.fimPeriodo(inicio));
+                merge.setString(1, granularidade.getCodigo());
+                merge.setInt(2, idDispositivo);
+                merge.setTimestamp(3, Timestamp.valueOf(inicio));
+                merge.setInt(4, idDispositivo);
+                merge.setTimestamp(5, Timestamp.valueOf(inicio));
+                merge.setTimestamp(6, fim);
+                merge.executeUpdate();
+
+                remover.setString(1, granularidade.getCodigo());
+                remover.setInt(2, idDispositivo);
+                remover.setTimestamp(3, Timestamp.valueOf(inicio));
+                remover.setInt(4, idDispositivo);
+                remover.setTimestamp(5, Timestamp.valueOf(inicio));
+                remover.setTimestamp(6, fim);
+                remover.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Reconstrói, a partir dos dados brutos, todos os agregados de um dispositivo em um intervalo.
+     * O intervalo deve estar alinhado aos limites dos períodos da granularidade.
+     *
+     * @param minhaConexao  Conexão a ser usada.
+     * @param idDispositivo ID do dispositivo.
+     * @param granularidade Granularidade dos agregados.
+     * @param de            Início do intervalo (inclusivo).
+     * @param ate           Fim do intervalo (exclusivo).
+     * @return Quantidade de agregados gravados.
+     * @throws SQLException
+     */
+    public int reconstruir(Connection minhaConexao, int idDispositivo, Granularidade granularidade,
+                           LocalDateTime de, LocalDateTime ate) throws SQLException {
+        String sqlRemover = "DELETE FROM TB_CONSUMO_AGREGADO "
+                + "WHERE granularidade = ? AND id_dispositivo = ? AND inicio_periodo >= ? AND inicio_periodo < ?";
+        String periodo = "TRUNC(data_hora, '" + granularidade.getFormatoTrunc() + "')";
+        String sqlInserir = "INSERT INTO TB_CONSUMO_AGREGADO "
+                + "(granularidade, id_dispositivo, inicio_periodo, total_kwh, minimo, maximo, quantidade) "
+                + "SELECT ?, id_dispositivo, " + periodo + ", SUM(consumo_energia), MIN(consumo_energia), "
+                + "MAX(consumo_energia), COUNT(*) FROM TB_DADOS_CONSUMO "
+                + "WHERE id_dispositivo = ? AND data_hora >= ? AND data_hora < ? "
+                + "GROUP BY id_dispositivo, " + periodo;
+
+        try (PreparedStatement remover = minhaConexao.prepareStatement(sqlRemover);
+             PreparedStatement inserir = minhaConexao.prepareStatement(sqlInserir)) {
+
+            remover.setString(1, granularidade.getCodigo());
+            remover.setInt(2, idDispositivo);
+            remover.setTimestamp(3, Timestamp.valueOf(de));
+            remover.setTimestamp(4, Timestamp.valueOf(ate));
+            remover.executeUpdate();
+
+            inserir.setString(1, granularidade.getCodigo());
+            inserir.setInt(2, idDispositivo);
+            inserir.setTimestamp(3, Timestamp.valueOf(de));
+            inserir.setTimestamp(4, Timestamp.valueOf(ate));
+            return inserir.executeUpdate();
+        }
+    }
+
+    /**
+     * Retorna os agregados de um dispositivo em um intervalo, ordenados pelo início do período.
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @param granularidade Granularidade dos agregados.
+     * @param de            Início do intervalo (inclusivo).
+     * @param ate           Fim do intervalo (exclusivo).
+     * @return Lista de objetos ConsumoAgregado.
+     * @throws SQLException
+     */
+    public List<ConsumoAgregado> selecionar(int idDispositivo, Granularidade granularidade,
+                                            LocalDateTime de, LocalDateTime ate) throws SQLException {
+        List<ConsumoAgregado> listaAgregados = new ArrayList<>();
+        String sql = "SELECT id_dispositivo, inicio_periodo, total_kwh, minimo, maximo, quantidade "
+                + "FROM TB_CONSUMO_AGREGADO WHERE granularidade = ? AND id_dispositivo = ? "
+                + "AND inicio_periodo >= ? AND inicio_periodo < ? ORDER BY inicio_periodo";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setString(1, granularidade.getCodigo());
+            stmt.setInt(2, idDispositivo);
+            stmt.setTimestamp(3, Timestamp.valueOf(de));
+            stmt.setTimestamp(4, Timestamp.valueOf(ate));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ConsumoAgregado agregado = new ConsumoAgregado();
+                    agregado.setGranularidade(granularidade);
+                    agregado.setIdDispositivo(rs.getInt("id_dispositivo"));
+                    agregado.setInicioPeriodo(rs.getTimestamp("inicio_periodo").toLocalDateTime());
+                    agregado.setTotalKwh(rs.getDouble("total_kwh"));
+                    agregado.setMinimo(rs.getFloat("minimo"));
+                    agregado.setMaximo(rs.getFloat("maximo"));
+                    agregado.setQuantidade(rs.getLong("quantidade"));
+                    listaAgregados.add(agregado);
+                }
+            }
+        }
+
+        return listaAgregados;
+    }
+
+    /**
+     * Retorna os IDs dos dispositivos que possuem registros de consumo no intervalo.
+     *
+     * @param de  Início do intervalo (inclusivo).
+     * @param ate Fim do intervalo (exclusivo).
+     * @return Lista de IDs de dispositivos.
+     * @throws SQLException
+     */
+    public List<Integer> selecionarDispositivosComConsumo(LocalDateTime de, LocalDateTime ate) throws SQLException {
+        List<Integer> dispositivos = new ArrayList<>();
+        String sql = "SELECT DISTINCT id_dispositivo FROM TB_DADOS_CONSUMO "
+                + "WHERE id_dispositivo IS NOT NULL AND data_hora >= ? AND data_hora < ?";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(de));
+            stmt.setTimestamp(2, Timestamp.valueOf(ate));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    dispositivos.add(rs.getInt("id_dispositivo"));
+                }
+            }
+        }
+
+        return dispositivos;
+    }
+}
@@ -1,8 +1,12 @@
 package GS.model.dao;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import GS.model.beans.DadosConsumo;
@@ -10,40 +14,89 @@ import GS.conexao.ConnectionFactory;
 
 /**
  * Classe DadosConsumoDAO que realiza as operações CRUD para os registros de consumo de energia no banco de dados.
+ * Cada operação obtém uma conexão do pool e a devolve ao terminar.
  */
 
 public class DadosConsumoDAO {
 
-    private Connection minhaConexao;
+    private static final String COLUNAS = "id_consumo, data_hora, consumo_energia, id_dispositivo";
+    // A versão começa em 1 (valor padrão da coluna) e é incrementada a cada atualização
+    private static final String COLUNAS_LEITURA = COLUNAS + ", versao";
+    private static final String SQL_INSERIR = "INSERT INTO TB_DADOS_CONSUMO (" + COLUNAS + ") VALUES (?, ?, ?, ?)";
 
     /**
-     * Construtor que inicializa a conexão com o banco de dados.
+     * Insere um registro de consumo no banco de dados.
      *
-     * @throws ClassNotFoundException
+     * @param dadosConsumo Objeto DadosConsumo com os dados do consumo.
+     * @return Mensagem de sucesso.
      * @throws SQLException
      */
-    public DadosConsumoDAO() throws ClassNotFoundException, SQLException {
-        this.minhaConexao = new ConnectionFactory().conexao();
+    public String inserir(DadosConsumo dadosConsumo) throws SQLException {
+        try (Connection minhaConexao = ConnectionFactory.conexao()) {
+            return inserir(minhaConexao, dadosConsumo);
+        }
     }
 
     /**
-     * Insere um registro de consumo no banco de dados.
+     * Insere um registro de consumo usando a conexão informada (participando da transação em andamento).
      *
+     * @param minhaConexao Conexão a ser usada.
      * @param dadosConsumo Objeto DadosConsumo com os dados do consumo.
      * @return Mensagem de sucesso.
      * @throws SQLException
      */
-    public String inserir(DadosConsumo dadosConsumo) throws SQLException {
-        String sql = "INSERT INTO TB_DADOS_CONSUMO (id_consumo, data_hora, consumo_energia) VALUES (?, ?, ?)";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setInt(1, dadosConsumo.getIdConsumo());
-        stmt.setObject(2, dadosConsumo.getDataHora());
-        stmt.setFloat(3, dadosConsumo.getConsumoEnergia());
-        stmt.execute();
-        stmt.close();
+    public String inserir(Connection minhaConexao, DadosConsumo dadosConsumo) throws SQLException {
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(SQL_INSERIR)) {
+            preencherInsercao(stmt, dadosConsumo);
+            stmt.execute();
+        }
+
         return "Dados de consumo cadastrados com sucesso!";
     }
 
+    /**
+     * Insere um lote de registros de consumo usando batching JDBC, em uma única transação.
+     * Caso algum bloco falhe, nenhum registro do lote é gravado.
+     *
+     * @param lote         Registros de consumo a serem inseridos.
+     * @param tamanhoBloco Quantidade de comandos enviados por executeBatch.
+     * @return Quantidade de registros inseridos.
+     * @throws SQLException
+     */
+    public int inserirLote(List<DadosConsumo> lote, int tamanhoBloco) throws SQLException {
+        return ConnectionFactory.emTransacao(minhaConexao -> inserirLote(minhaConexao, lote, tamanhoBloco));
+    }
+
+    /**
+     * Insere um lote de registros de consumo usando batching JDBC e a conexão informada.
+     * Os registros são enviados ao banco em blocos de {@code tamanhoBloco} comandos por ida ao servidor.
+     *
+     * @param minhaConexao Conexão a ser usada.
+     * @param lote         Registros de consumo a serem inseridos.
+     * @param tamanhoBloco Quantidade de comandos enviados por executeBatch.
+     * @return Quantidade de registros inseridos.
+     * @throws SQLException
+     */
+    public int inserirLote(Connection minhaConexao, List<DadosConsumo> lote, int tamanhoBloco) throws SQLException {
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(SQL_INSERIR)) {
+            int pendentes = 0;
+            for (DadosConsumo dadosConsumo : lote) {
+                preencherInsercao(stmt, dadosConsumo);
+                stmt.addBatch();
+
+                if (++pendentes == tamanhoBloco) {
+                    stmt.executeBatch();
+                    pendentes = 0;
+                }
+            }
+            if (pendentes > 0) {
+                stmt.executeBatch();
+            }
+        }
+
+        return lote.size();
+    }
+
     /**
      * Atualiza os dados de consumo no banco de dados.
      *
@@ -52,13 +105,30 @@ public class DadosConsumoDAO {
      * @throws SQLException
      */
     public String atualizar(DadosConsumo dadosConsumo) throws SQLException {
-        String sql = "UPDATE TB_DADOS_CONSUMO SET data_hora = ?, consumo_energia = ? WHERE id_consumo = ?";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setObject(1, dadosConsumo.getDataHora());
-        stmt.setFloat(2, dadosConsumo.getConsumoEnergia());
-        stmt.setInt(3, dadosConsumo.getIdConsumo());
-        stmt.executeUpdate();
-        stmt.close();
+        try (Connection minhaConexao = ConnectionFactory.conexao()) {
+            return atualizar(minhaConexao, dadosConsumo);
+        }
+    }
+
+    /**
+     * Atualiza os dados de consumo usando a conexão informada (participando da transação em andamento).
+     *
+     * @param minhaConexao Conexão a ser usada.
+     * @param dadosConsumo Objeto DadosConsumo com os dados atualizados do consumo.
+     * @return Mensagem de sucesso.
+     * @throws SQLException
+     */
+    public String atualizar(Connection minhaConexao, DadosConsumo dadosConsumo) throws SQLException {
+        String sql = "UPDATE TB_DADOS_CONSUMO SET data_hora = ?, consumo_energia = ?, id_dispositivo = ?, versao = versao + 1 WHERE id_consumo = ?";
+
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+            stmt.setObject(1, dadosConsumo.getDataHora());
+            stmt.setFloat(2, dadosConsumo.getConsumoEnergia());
+            definirDispositivo(stmt, 3, dadosConsumo.getIdDispositivo());
+            stmt.setInt(4, dadosConsumo.getIdConsumo());
+            stmt.executeUpdate();
+        }
+
         return "Dados de consumo atualizados com sucesso!";
     }
 
@@ -70,11 +140,27 @@ public class DadosConsumoDAO {
      * @throws SQLException
      */
     public String deletar(int idConsumo) throws SQLException {
+        try (Connection minhaConexao = ConnectionFactory.conexao()) {
+            return deletar(minhaConexao, idConsumo);
+        }
+    }
+
+    /**
+     * Deleta um registro de consumo usando a conexão informada (participando da transação em andamento).
+     *
+     * @param minhaConexao Conexão a ser usada.
+     * @param idConsumo    ID do registro de consumo a ser deletado.
+     * @return Mensagem de sucesso.
+     * @throws SQLException
+     */
+    public String deletar(Connection minhaConexao, int idConsumo) throws SQLException {
         String sql = "DELETE FROM TB_DADOS_CONSUMO WHERE id_consumo = ?";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setInt(1, idConsumo);
-        stmt.execute();
-        stmt.close();
+
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+            stmt.setInt(1, idConsumo);
+            stmt.execute();
+        }
+
         return "Dados de consumo deletados com sucesso!";
     }
 
@@ -86,21 +172,49 @@ public class DadosConsumoDAO {
      */
     public List<DadosConsumo> selecionar() throws SQLException {
         List<DadosConsumo> listaDadosConsumo = new ArrayList<>();
-        String sql = "SELECT * FROM TB_DADOS_CONSUMO";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        ResultSet rs = stmt.executeQuery();
-
-        while (rs.next()) {
-            DadosConsumo dadosConsumo = new DadosConsumo();
-            dadosConsumo.setIdConsumo(rs.getInt("id_consumo"));
-            dadosConsumo.setDataHora(rs.getTimestamp("data_hora").toLocalDateTime());
-            dadosConsumo.setConsumoEnergia(rs.getFloat("consumo_energia"));
-            listaDadosConsumo.add(dadosConsumo);
-        }
-        stmt.close();
+        String sql = "SELECT " + COLUNAS_LEITURA + " FROM TB_DADOS_CONSUMO";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                listaDadosConsumo.add(mapear(rs));
+            }
+        }
+
         return listaDadosConsumo;
     }
 
+    /**
+     * Percorre todos os registros de consumo do banco de dados com um cursor, entregando cada linha ao processador
+     * assim que é lida. Apenas {@code tamanhoFetch} linhas ficam em memória por vez, independentemente do tamanho da tabela.
+     *
+     * @param tamanhoFetch Quantidade de linhas trazidas do banco por ida ao servidor.
+     * @param processador  Processador que recebe cada registro lido.
+     * @return Quantidade de registros percorridos.
+     * @throws SQLException
+     * @throws IOException se o processador falhar ao tratar algum registro.
+     */
+    public long percorrer(int tamanhoFetch, ProcessadorLinha<DadosConsumo> processador) throws SQLException, IOException {
+        String sql = "SELECT " + COLUNAS_LEITURA + " FROM TB_DADOS_CONSUMO";
+        long total = 0;
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setFetchSize(tamanhoFetch);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    processador.processar(mapear(rs));
+                    total++;
+                }
+            }
+        }
+
+        return total;
+    }
+
     /**
      * Busca um registro de consumo pelo ID.
      *
@@ -109,21 +223,211 @@ public class DadosConsumoDAO {
      * @throws SQLException
      */
     public DadosConsumo buscarPorId(int idConsumo) throws SQLException {
-        String sql = "SELECT * FROM TB_DADOS_CONSUMO WHERE id_consumo = ?";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setInt(1, idConsumo);
-        ResultSet rs = stmt.executeQuery();
-
-        if (rs.next()) {
-            DadosConsumo dadosConsumo = new DadosConsumo();
-            dadosConsumo.setIdConsumo(rs.getInt("id_consumo"));
-            dadosConsumo.setDataHora(rs.getTimestamp("data_hora").toLocalDateTime());
-            dadosConsumo.setConsumoEnergia(rs.getFloat("consumo_energia"));
-            stmt.close();
-            return dadosConsumo;
-        }
-        stmt.close();
+        try (Connection minhaConexao = ConnectionFactory.conexao()) {
+            return buscarPorId(minhaConexao, idConsumo);
+        }
+    }
+
+    /**
+     * Busca um registro de consumo pelo ID usando a conexão informada (participando da transação em andamento).
+     *
+     * @param minhaConexao Conexão a ser usada.
+     * @param idConsumo    ID do registro de consumo a ser buscado.
+     * @return Objeto DadosConsumo, caso seja encontrado.
+     * @throws SQLException
+     */
+    public DadosConsumo buscarPorId(Connection minhaConexao, int idConsumo) throws SQLException {
+        String sql = "SELECT " + COLUNAS_LEITURA + " FROM TB_DADOS_CONSUMO WHERE id_consumo = ?";
+
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+            stmt.setInt(1, idConsumo);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapear(rs);
+                }
+            }
+        }
+
         return null;
     }
-}
 
+    /**
+     * Busca apenas a versão de um registro de consumo, sem ler o restante do registro.
+     *
+     * @param idConsumo ID do registro de consumo.
+     * @return Versão do registro, ou null se ele não existir.
+     * @throws SQLException
+     */
+    public Long buscarVersao(int idConsumo) throws SQLException {
+        String sql = "SELECT versao FROM TB_DADOS_CONSUMO WHERE id_consumo = ?";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, idConsumo);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Retorna uma página de registros de consumo ordenada por data/hora e ID, a partir da posição informada
+     * (paginação por cursor). A consulta percorre apenas a faixa do índice (data_hora, id_consumo),
+     * com custo constante em qualquer página.
+     *
+     * @param aposDataHora Data/hora do último registro da página anterior (null para a primeira página).
+     * @param aposId       ID do último registro da página anterior.
+     * @param limite       Quantidade máxima de registros retornados.
+     * @return Lista de objetos DadosConsumo.
+     * @throws SQLException
+     */
+    public List<DadosConsumo> selecionarPagina(LocalDateTime aposDataHora, int aposId, int limite) throws SQLException {
+        List<DadosConsumo> listaDadosConsumo = new ArrayList<>();
+        String sql = aposDataHora == null
+                ? "SELECT " + COLUNAS_LEITURA + " FROM TB_DADOS_CONSUMO "
+                + "ORDER BY data_hora, id_consumo FETCH FIRST ? ROWS ONLY"
+                : "SELECT " + COLUNAS_LEITURA + " FROM TB_DADOS_CONSUMO "
+                + "WHERE data_hora >= ? AND (data_hora > ? OR id_consumo > ?) "
+                + "ORDER BY data_hora, id_consumo FETCH FIRST ? ROWS ONLY";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            int indice = 1;
+            if (aposDataHora != null) {
+                Timestamp posicao = Timestamp.valueOf(aposDataHora);
+                stmt.setTimestamp(indice++, posicao);
+                stmt.setTimestamp(indice++, posicao);
+                stmt.setInt(indice++, aposId);
+            }
+            stmt.setInt(indice, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    listaDadosConsumo.add(mapear(rs));
+                }
+            }
+        }
+
+        return listaDadosConsumo;
+    }
+
+    /**
+     * Retorna os registros de consumo de um dispositivo em um intervalo de tempo, ordenados por data/hora.
+     * A consulta usa o índice composto (id_dispositivo, data_hora) e lê apenas a faixa do intervalo.
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @param de            Início do intervalo (inclusivo).
+     * @param ate           Fim do intervalo (exclusivo).
+     * @param limite        Quantidade máxima de registros retornados.
+     * @return Lista de objetos DadosConsumo.
+     * @throws SQLException
+     */
+    public List<DadosConsumo> selecionarPorDispositivo(int idDispositivo, LocalDateTime de, LocalDateTime ate, int limite) throws SQLException {
+        List<DadosConsumo> listaDadosConsumo = new ArrayList<>();
+        String sql = "SELECT " + COLUNAS_LEITURA + " FROM TB_DADOS_CONSUMO "
+                + "WHERE id_dispositivo = ? AND data_hora >= ? AND data_hora < ? "
+                + "ORDER BY data_hora FETCH FIRST ? ROWS ONLY";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, idDispositivo);
+            stmt.setTimestamp(2, Timestamp.valueOf(de));
+            stmt.setTimestamp(3, Timestamp.valueOf(ate));
+            stmt.setInt(4, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    listaDadosConsumo.add(mapear(rs));
+                }
+            }
+        }
+
+        return listaDadosConsumo;
+    }
+
+    /**
+     * Percorre os registros de consumo de um dispositivo em um intervalo de tempo, em ordem de data/hora e ID,
+     * entregando-os ao processador à medida que são lidos do banco.
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @param de            Início do intervalo (inclusivo).
+     * @param ate           Fim do intervalo (exclusivo).
+     * @param tamanhoFetch  Quantidade de linhas trazidas do banco a cada ida ao servidor.
+     * @param processador   Processador que recebe cada registro de consumo.
+     * @return Quantidade de registros processados.
+     * @throws SQLException
+     * @throws IOException se o processador falhar ao tratar algum registro.
+     */
+    public long percorrerPorDispositivo(int idDispositivo, LocalDateTime de, LocalDateTime ate, int tamanhoFetch,
+                                        ProcessadorLinha<DadosConsumo> processador) throws SQLException, IOException {
+        String sql = "SELECT " + COLUNAS_LEITURA + " FROM TB_DADOS_CONSUMO "
+                + "WHERE id_dispositivo = ? AND data_hora >= ? AND data_hora < ? "
+                + "ORDER BY data_hora, id_consumo";
+        long total = 0;
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, idDispositivo);
+            stmt.setTimestamp(2, Timestamp.valueOf(de));
+            stmt.setTimestamp(3, Timestamp.valueOf(ate));
+            stmt.setFetchSize(tamanhoFetch);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    processador.processar(mapear(rs));
+                    total++;
+                }
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Preenche os parâmetros do comando de inserção ({@link #SQL_INSERIR}) com os dados do registro.
+     *
+     * @param stmt         Comando de inserção.
+     * @param dadosConsumo Registro a ser inserido.
+     * @throws SQLException
+     */
+    private void preencherInsercao(PreparedStatement stmt, DadosConsumo dadosConsumo) throws SQLException {
+        stmt.setInt(1, dadosConsumo.getIdConsumo());
+        stmt.setObject(2, dadosConsumo.getDataHora());
+        stmt.setFloat(3, dadosConsumo.getConsumoEnergia());
+        definirDispositivo(stmt, 4, dadosConsumo.getIdDispositivo());
+    }
+
+    /**
+     * Define o dispositivo do registro, gravando NULL quando o registro não está associado a um dispositivo.
+     *
+     * @param stmt          Comando a ser preenchido.
+     * @param indice        Posição do parâmetro id_dispositivo no comando.
+     * @param idDispositivo ID do dispositivo, ou 0 se não houver.
+     * @throws SQLException
+     */
+    private void definirDispositivo(PreparedStatement stmt, int indice, int idDispositivo) throws SQLException {
+        if (idDispositivo > 0) {
+            stmt.setInt(indice, idDispositivo);
+        } else {
+            stmt.setNull(indice, Types.INTEGER);
+        }
+    }
+
+    /**
+     * Converte a linha atual do ResultSet em um objeto DadosConsumo.
+     *
+     * @param rs ResultSet posicionado na linha a ser convertida.
+     * @return Objeto DadosConsumo.
+     * @throws SQLException
+     */
+    private DadosConsumo mapear(ResultSet rs) throws SQLException {
+        DadosConsumo dadosConsumo = new DadosConsumo();
+        dadosConsumo.setIdConsumo(rs.getInt("id_consumo"));
+        dadosConsumo.setDataHora(rs.getTimestamp("data_hora").toLocalDateTime());
+        dadosConsumo.setConsumoEnergia(rs.getFloat("consumo_energia"));
+        dadosConsumo.setIdDispositivo(rs.getInt("id_dispositivo"));
+        dadosConsumo.setVersao(rs.getLong("versao"));
+        return dadosConsumo;
+    }
+}
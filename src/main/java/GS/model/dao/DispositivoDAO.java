@@ -3,6 +3,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 import GS.model.beans.Dispositivo;
@@ -10,37 +11,44 @@ import GS.conexao.ConnectionFactory;
 
 /**
  * Classe DispositivoDAO que realiza as operações CRUD para os registros de dispositivos no banco de dados.
+ * Cada operação obtém uma conexão do pool e a devolve ao terminar.
  */
 public class DispositivoDAO {
-    static Connection minhaConexao;
 
     /**
-     * Construtor que inicializa a conexão com o banco de dados.
+     * Insere um dispositivo no banco de dados.
      *
-     * @throws ClassNotFoundException
+     * @param dispositivo Objeto Dispositivo com os dados do dispositivo.
+     * @return Mensagem de sucesso.
      * @throws SQLException
      */
-    public DispositivoDAO() throws ClassNotFoundException, SQLException {
-        this.minhaConexao = new ConnectionFactory().conexao();
+    public String inserir(Dispositivo dispositivo) throws SQLException {
+        try (Connection minhaConexao = ConnectionFactory.conexao()) {
+            return inserir(minhaConexao, dispositivo);
+        }
     }
 
     /**
-     * Insere um dispositivo no banco de dados.
+     * Insere um dispositivo usando a conexão informada (participando da transação em andamento).
      *
-     * @param dispositivo Objeto Dispositivo com os dados do dispositivo.
+     * @param minhaConexao Conexão a ser usada.
+     * @param dispositivo  Objeto Dispositivo com os dados do dispositivo.
      * @return Mensagem de sucesso.
      * @throws SQLException
      */
-    public String inserir(Dispositivo dispositivo) throws SQLException {
-        String sql = "INSERT INTO TB_DISPOSITIVO (id_dispositivo, nome_dispositivo, tipo_dispositivo, status, data_cadastro) VALUES (?, ?, ?, ?, ?)";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setInt(1, dispositivo.getIdDispositivo());
-        stmt.setString(2, dispositivo.getNomeDispositivo());
-        stmt.setString(3, dispositivo.getTipoDispositivo());
-        stmt.setString(4, dispositivo.getStatus());
-        stmt.setDate(5, new java.sql.Date(dispositivo.getDataCadastro().getTime()));
-        stmt.execute();
-        stmt.close();
+    public String inserir(Connection minhaConexao, Dispositivo dispositivo) throws SQLException {
+        String sql = "INSERT INTO TB_DISPOSITIVO (id_dispositivo, nome_dispositivo, tipo_dispositivo, status, data_cadastro, id_usuario) VALUES (?, ?, ?, ?, ?, ?)";
+
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+            stmt.setInt(1, dispositivo.getIdDispositivo());
+            stmt.setString(2, dispositivo.getNomeDispositivo());
+            stmt.setString(3, dispositivo.getTipoDispositivo());
+            stmt.setString(4, dispositivo.getStatus());
+            stmt.setDate(5, new java.sql.Date(dispositivo.getDataCadastro().getTime()));
+            definirUsuario(stmt, 6, dispositivo.getIdUsuario());
+            stmt.execute();
+        }
+
         return "Dispositivo cadastrado com sucesso!";
     }
 
@@ -51,19 +59,69 @@ public class DispositivoDAO {
      * @return Mensagem de sucesso.
      * @throws SQLException
      */
-    public static String atualizar(Dispositivo dispositivo) throws SQLException {
-        String sql = "UPDATE TB_DISPOSITIVO SET nome_dispositivo = ?, tipo_dispositivo = ?, status = ?, data_cadastro = ? WHERE id_dispositivo = ?";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setString(1, dispositivo.getNomeDispositivo());
-        stmt.setString(2, dispositivo.getTipoDispositivo());
-        stmt.setString(3, dispositivo.getStatus());
-        stmt.setDate(4, new java.sql.Date(dispositivo.getDataCadastro().getTime()));
-        stmt.setInt(5, dispositivo.getIdDispositivo());
-        stmt.executeUpdate();
-        stmt.close();
+    public String atualizar(Dispositivo dispositivo) throws SQLException {
+        try (Connection minhaConexao = ConnectionFactory.conexao()) {
+            return atualizar(minhaConexao, dispositivo);
+        }
+    }
+
+    /**
+     * Atualiza os dados de um dispositivo usando a conexão informada (participando da transação em andamento).
+     *
+     * @param minhaConexao Conexão a ser usada.
+     * @param dispositivo  Objeto Dispositivo com os dados atualizados do dispositivo.
+     * @return Mensagem de sucesso.
+     * @throws SQLException
+     */
+    public String atualizar(Connection minhaConexao, Dispositivo dispositivo) throws SQLException {
+        String sql = "UPDATE TB_DISPOSITIVO SET nome_dispositivo = ?, tipo_dispositivo = ?, status = ?, data_cadastro = ?, id_usuario = ?, versao = versao + 1 WHERE id_dispositivo = ?";
+
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+            stmt.setString(1, dispositivo.getNomeDispositivo());
+            stmt.setString(2, dispositivo.getTipoDispositivo());
+            stmt.setString(3, dispositivo.getStatus());
+            stmt.setDate(4, new java.sql.Date(dispositivo.getDataCadastro().getTime()));
+            definirUsuario(stmt, 5, dispositivo.getIdUsuario());
+            stmt.setInt(6, dispositivo.getIdDispositivo());
+            stmt.executeUpdate();
+        }
+
         return "Dispositivo atualizado com sucesso!";
     }
 
+    /**
+     * Atualiza apenas o status de um dispositivo, sem precisar ler o registro antes.
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @param status        Novo status.
+     * @return Quantidade de registros atualizados (0 se o dispositivo não existir).
+     * @throws SQLException
+     */
+    public int atualizarStatus(int idDispositivo, String status) throws SQLException {
+        try (Connection minhaConexao = ConnectionFactory.conexao()) {
+            return atualizarStatus(minhaConexao, idDispositivo, status);
+        }
+    }
+
+    /**
+     * Atualiza apenas o status de um dispositivo usando a conexão informada (participando da transação em andamento).
+     *
+     * @param minhaConexao  Conexão a ser usada.
+     * @param idDispositivo ID do dispositivo.
+     * @param status        Novo status.
+     * @return Quantidade de registros atualizados (0 se o dispositivo não existir).
+     * @throws SQLException
+     */
+    public int atualizarStatus(Connection minhaConexao, int idDispositivo, String status) throws SQLException {
+        String sql = "UPDATE TB_DISPOSITIVO SET status = ?, versao = versao + 1 WHERE id_dispositivo = ?";
+
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+            stmt.setString(1, status);
+            stmt.setInt(2, idDispositivo);
+            return stmt.executeUpdate();
+        }
+    }
+
     /**
      * Deleta um dispositivo do banco de dados com base no ID.
      *
@@ -71,12 +129,28 @@ public class DispositivoDAO {
      * @return Mensagem de sucesso.
      * @throws SQLException
      */
-    public static String deletar(int idDispositivo) throws SQLException {
+    public String deletar(int idDispositivo) throws SQLException {
+        try (Connection minhaConexao = ConnectionFactory.conexao()) {
+            return deletar(minhaConexao, idDispositivo);
+        }
+    }
+
+    /**
+     * Deleta um dispositivo com base no ID usando a conexão informada (participando da transação em andamento).
+     *
+     * @param minhaConexao  Conexão a ser usada.
+     * @param idDispositivo ID do dispositivo a ser deletado.
+     * @return Mensagem de sucesso.
+     * @throws SQLException
+     */
+    public String deletar(Connection minhaConexao, int idDispositivo) throws SQLException {
         String sql = "DELETE FROM TB_DISPOSITIVO WHERE id_dispositivo = ?";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setInt(1, idDispositivo);
-        stmt.execute();
-        stmt.close();
+
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+            stmt.setInt(1, idDispositivo);
+            stmt.execute();
+        }
+
         return "Dispositivo deletado com sucesso!";
     }
 
@@ -88,20 +162,17 @@ public class DispositivoDAO {
      */
     public List<Dispositivo> selecionar() throws SQLException {
         List<Dispositivo> listaDispositivos = new ArrayList<>();
-        String sql = "SELECT * FROM TB_DISPOSITIVO";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        ResultSet rs = stmt.executeQuery();
-
-        while (rs.next()) {
-            Dispositivo dispositivo = new Dispositivo();
-            dispositivo.setIdDispositivo(rs.getInt("id_dispositivo"));
-            dispositivo.setNomeDispositivo(rs.getString("nome_dispositivo"));
-            dispositivo.setTipoDispositivo(rs.getString("tipo_dispositivo"));
-            dispositivo.setStatus(rs.getString("status"));
-            dispositivo.setDataCadastro(rs.getDate("data_cadastro"));
-            listaDispositivos.add(dispositivo);
+        String sql = "SELECT id_dispositivo, nome_dispositivo, tipo_dispositivo, status, data_cadastro, id_usuario, versao FROM TB_DISPOSITIVO";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                listaDispositivos.add(mapear(rs));
+            }
         }
-        stmt.close();
+
         return listaDispositivos;
     }
 
@@ -113,24 +184,103 @@ public class DispositivoDAO {
      * @throws SQLException
      */
     public Dispositivo buscarPorId(int idDispositivo) throws SQLException {
-        String sql = "SELECT * FROM TB_DISPOSITIVO WHERE id_dispositivo = ?";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setInt(1, idDispositivo);
-        ResultSet rs = stmt.executeQuery();
-
-        if (rs.next()) {
-            Dispositivo dispositivo = new Dispositivo();
-            dispositivo.setIdDispositivo(rs.getInt("id_dispositivo"));
-            dispositivo.setNomeDispositivo(rs.getString("nome_dispositivo"));
-            dispositivo.setTipoDispositivo(rs.getString("tipo_dispositivo"));
-            dispositivo.setStatus(rs.getString("status"));
-            dispositivo.setDataCadastro(rs.getDate("data_cadastro"));
-            stmt.close();
-            return dispositivo;
+        String sql = "SELECT id_dispositivo, nome_dispositivo, tipo_dispositivo, status, data_cadastro, id_usuario, versao FROM TB_DISPOSITIVO WHERE id_dispositivo = ?";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, idDispositivo);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapear(rs);
+                }
+            }
         }
-        stmt.close();
+
         return null; // Caso não encontre o registro
     }
-}
 
+    /**
+     * Busca apenas a versão de um dispositivo, sem ler o restante do registro.
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @return Versão do dispositivo, ou null se ele não existir.
+     * @throws SQLException
+     */
+    public Long buscarVersao(int idDispositivo) throws SQLException {
+        String sql = "SELECT versao FROM TB_DISPOSITIVO WHERE id_dispositivo = ?";
 
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, idDispositivo);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Retorna uma página de dispositivos ordenada pelo ID, a partir do ID informado (paginação por cursor).
+     * A consulta percorre apenas a faixa do índice da chave primária, com custo constante em qualquer página.
+     *
+     * @param aposId ID do último registro da página anterior (0 para a primeira página).
+     * @param limite Quantidade máxima de registros retornados.
+     * @return Lista de objetos Dispositivo.
+     * @throws SQLException
+     */
+    public List<Dispositivo> selecionarPagina(int aposId, int limite) throws SQLException {
+        List<Dispositivo> listaDispositivos = new ArrayList<>();
+        String sql = "SELECT id_dispositivo, nome_dispositivo, tipo_dispositivo, status, data_cadastro, id_usuario, versao FROM TB_DISPOSITIVO WHERE id_dispositivo > ? ORDER BY id_dispositivo FETCH FIRST ? ROWS ONLY";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, aposId);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    listaDispositivos.add(mapear(rs));
+                }
+            }
+        }
+
+        return listaDispositivos;
+    }
+
+    /**
+     * Converte a linha atual do ResultSet em um objeto Dispositivo.
+     *
+     * @param rs ResultSet posicionado na linha a ser convertida.
+     * @return Objeto Dispositivo.
+     * @throws SQLException
+     */
+    private Dispositivo mapear(ResultSet rs) throws SQLException {
+        Dispositivo dispositivo = new Dispositivo();
+        dispositivo.setIdDispositivo(rs.getInt("id_dispositivo"));
+        dispositivo.setNomeDispositivo(rs.getString("nome_dispositivo"));
+        dispositivo.setTipoDispositivo(rs.getString("tipo_dispositivo"));
+        dispositivo.setStatus(rs.getString("status"));
+        dispositivo.setDataCadastro(rs.getDate("data_cadastro"));
+        // NULL (dispositivo sem usuário) é lido como 0
+        dispositivo.setIdUsuario(rs.getInt("id_usuario"));
+        dispositivo.setVersao(rs.getLong("versao"));
+        return dispositivo;
+    }
+
+    /**
+     * Define o usuário do dispositivo, gravando NULL quando o dispositivo não está associado a um usuário.
+     *
+     * @param stmt      Comando a ser preenchido.
+     * @param indice    Posição do parâmetro id_usuario no comando.
+     * @param idUsuario ID do usuário, ou 0 se não houver.
+     * @throws SQLException
+     */
+    private void definirUsuario(PreparedStatement stmt, int indice, int idUsuario) throws SQLException {
+        if (idUsuario > 0) {
+            stmt.setInt(indice, idUsuario);
+        } else {
+            stmt.setNull(indice, Types.INTEGER);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package GS.model.dao;
+
+import java.io.IOException;
+
+/**
+ * Interface ProcessadorLinha recebe, um a um, os registros lidos de um cursor do banco de dados,
+ * permitindo processá-los (por exemplo, escrevê-los na resposta HTTP) sem carregar a tabela inteira em memória.
+ *
+ * @param <T> Tipo do registro lido.
+ */
+@FunctionalInterface
+public interface ProcessadorLinha<T> {
+
+    /**
+     * Processa um registro lido do banco de dados.
+     *
+     * @param registro Registro lido.
+     * @throws IOException se ocorrer um erro ao escrever o registro.
+     */
+    void processar(T registro) throws IOException;
+}
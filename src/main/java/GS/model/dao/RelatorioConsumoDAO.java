@@ -0,0 +1,95 @@
+package GS.model.dao;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import GS.model.beans.LinhaRelatorioConsumo;
+import GS.conexao.ConnectionFactory;
+
+/**
+ * Classe RelatorioConsumoDAO lê as linhas do relatório de consumo (leituras com o dispositivo e o usuário dono)
+ * com um cursor, sem carregar o resultado em memória.
+ */
+public class RelatorioConsumoDAO {
+
+    /**
+     * Percorre as leituras que atendem aos filtros, em ordem de data/hora e ID, entregando cada linha ao processador
+     * assim que é lida. Apenas {@code tamanhoFetch} linhas ficam em memória por vez; a conexão fica ocupada até o fim.
+     *
+     * @param idUsuario     Usuário dono dos dispositivos, ou null para todos.
+     * @param idDispositivo Dispositivo, ou null para todos.
+     * @param de            Início do período (inclusivo), ou null.
+     * @param ate           Fim do período (exclusivo), ou null.
+     * @param tamanhoFetch  Quantidade de linhas trazidas do banco a cada ida ao servidor.
+     * @param processador   Processador que recebe cada linha.
+     * @return Quantidade de linhas processadas.
+     * @throws SQLException
+     * @throws IOException se o processador falhar ao tratar alguma linha.
+     */
+    public long percorrer(Integer idUsuario, Integer idDispositivo, LocalDateTime de, LocalDateTime ate, int tamanhoFetch,
+                          ProcessadorLinha<LinhaRelatorioConsumo> processador) throws SQLException, IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT c.id_consumo, c.data_hora, c.consumo_energia, c.id_dispositivo, d.nome_dispositivo, d.id_usuario "
+                + "FROM TB_DADOS_CONSUMO c LEFT JOIN TB_DISPOSITIVO d ON d.id_dispositivo = c.id_dispositivo WHERE 1 = 1");
+        List<Object> parametros = new ArrayList<>();
+        if (idUsuario != null) {
+            sql.append(" AND d.id_usuario = ?");
+            parametros.add(idUsuario);
+        }
+        if (idDispositivo != null) {
+            sql.append(" AND c.id_dispositivo = ?");
+            parametros.add(idDispositivo);
+        }
+        if (de != null) {
+            sql.append(" AND c.data_hora >= ?");
+            parametros.add(Timestamp.valueOf(de));
+        }
+        if (ate != null) {
+            sql.append(" AND c.data_hora < ?");
+            parametros.add(Timestamp.valueOf(ate));
+        }
+        sql.append(" ORDER BY c.data_hora, c.id_consumo");
+        long total = 0;
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+            stmt.setFetchSize(tamanhoFetch);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    processador.processar(mapear(rs));
+                    total++;
+                }
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Converte a linha atual do ResultSet em uma linha do relatório.
+     *
+     * @param rs ResultSet posicionado na linha a ser convertida.
+     * @return Linha do relatório.
+     * @throws SQLException
+     */
+    private LinhaRelatorioConsumo mapear(ResultSet rs) throws SQLException {
+        LinhaRelatorioConsumo linha = new LinhaRelatorioConsumo();
+        linha.setIdConsumo(rs.getInt(1));
+        linha.setDataHora(rs.getTimestamp(2).toLocalDateTime());
+        linha.setConsumoEnergia(rs.getFloat(3));
+        linha.setIdDispositivo(rs.getInt(4));
+        linha.setNomeDispositivo(rs.getString(5));
+        linha.setIdUsuario(rs.getInt(6));
+        return linha;
+    }
+}
@@ -0,0 +1,50 @@
+package GS.model.dao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import GS.conexao.ConnectionFactory;
+
+/**
+ * Classe SequenciaDAO consulta as sequências e os maiores IDs das tabelas, usados na reserva das faixas de IDs.
+ * Os nomes de sequências, tabelas e colunas vêm de {@link GS.model.id.EntidadeId}, nunca da requisição.
+ */
+public class SequenciaDAO {
+
+    /**
+     * Retorna o próximo valor de uma sequência do banco.
+     *
+     * @param sequencia Nome da sequência.
+     * @return Próximo valor da sequência.
+     * @throws SQLException
+     */
+    public long proximoValor(String sequencia) throws SQLException {
+        String sql = "SELECT " + sequencia + ".NEXTVAL FROM DUAL";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Retorna o maior ID gravado em uma tabela.
+     *
+     * @param tabela Nome da tabela.
+     * @param coluna Nome da coluna do ID.
+     * @return Maior ID, ou 0 se a tabela estiver vazia.
+     * @throws SQLException
+     */
+    public long maiorId(String tabela, String coluna) throws SQLException {
+        String sql = "SELECT MAX(" + coluna + ") FROM " + tabela;
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
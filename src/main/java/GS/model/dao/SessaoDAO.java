@@ -8,25 +8,12 @@ import java.util.List;
 import GS.model.beans.Sessao;
 import GS.conexao.ConnectionFactory;
 
-import static GS.model.dao.DispositivoDAO.minhaConexao;
-
 /**
  * Classe SessaoDAO que realiza as operações CRUD para os registros de sessão no banco de dados.
+ * Cada operação obtém uma conexão do pool e a devolve ao terminar.
  */
 public class SessaoDAO {
 
-    private final Connection minhaConexao;
-
-    /**
-     * Construtor que inicializa a conexão com o banco de dados.
-     *
-     * @throws ClassNotFoundException
-     * @throws SQLException
-     */
-    public SessaoDAO() throws ClassNotFoundException, SQLException {
-        this.minhaConexao = new ConnectionFactory().conexao();
-    }
-
     /**
      * Insere uma sessão no banco de dados.
      *
@@ -36,15 +23,57 @@ public class SessaoDAO {
      */
     public String inserir(Sessao sessao) throws SQLException {
         String sql = "INSERT INTO TB_SESSAO (id_sessao, inicio_sessao, fim_sessao) VALUES (?, ?, ?)";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setInt(1, sessao.getIdSessao());
-        stmt.setObject(2, sessao.getInicioSessao());
-        stmt.setObject(3, sessao.getFimSessao());
-        stmt.execute();
-        stmt.close();
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, sessao.getIdSessao());
+            stmt.setObject(2, sessao.getInicioSessao());
+            stmt.setObject(3, sessao.getFimSessao());
+            stmt.execute();
+        }
+
         return "Sessão cadastrada com sucesso!";
     }
 
+    /**
+     * Grava em uma única transação um lote de sessões iniciadas e finalizadas, usando batching JDBC.
+     * As inserções são executadas antes das finalizações, de modo que uma sessão iniciada e finalizada
+     * no mesmo lote termina com o fim gravado.
+     *
+     * @param iniciadas   Sessões a serem inseridas (com o fim, caso já tenham sido finalizadas).
+     * @param finalizadas Sessões cujo fim deve ser gravado.
+     * @throws SQLException
+     */
+    public void gravarLote(List<Sessao> iniciadas, List<Sessao> finalizadas) throws SQLException {
+        ConnectionFactory.emTransacao(minhaConexao -> {
+            if (!iniciadas.isEmpty()) {
+                try (PreparedStatement stmt = minhaConexao.prepareStatement(
+                        "INSERT INTO TB_SESSAO (id_sessao, inicio_sessao, fim_sessao) VALUES (?, ?, ?)")) {
+                    for (Sessao sessao : iniciadas) {
+                        stmt.setInt(1, sessao.getIdSessao());
+                        stmt.setObject(2, sessao.getInicioSessao());
+                        stmt.setObject(3, sessao.getFimSessao());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+            if (!finalizadas.isEmpty()) {
+                try (PreparedStatement stmt = minhaConexao.prepareStatement(
+                        "UPDATE TB_SESSAO SET fim_sessao = ? WHERE id_sessao = ?")) {
+                    for (Sessao sessao : finalizadas) {
+                        stmt.setObject(1, sessao.getFimSessao());
+                        stmt.setInt(2, sessao.getIdSessao());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+            return null;
+        });
+    }
+
     /**
      * Atualiza os dados de uma sessão no banco de dados.
      *
@@ -54,12 +83,16 @@ public class SessaoDAO {
      */
     public String atualizar(Sessao sessao) throws SQLException {
         String sql = "UPDATE TB_SESSAO SET inicio_sessao = ?, fim_sessao = ? WHERE id_sessao = ?";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setObject(1, sessao.getInicioSessao());
-        stmt.setObject(2, sessao.getFimSessao());
-        stmt.setInt(3, sessao.getIdSessao());
-        stmt.executeUpdate();
-        stmt.close();
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setObject(1, sessao.getInicioSessao());
+            stmt.setObject(2, sessao.getFimSessao());
+            stmt.setInt(3, sessao.getIdSessao());
+            stmt.executeUpdate();
+        }
+
         return "Sessão atualizada com sucesso!";
     }
 
@@ -72,10 +105,14 @@ public class SessaoDAO {
      */
     public String deletar(int idSessao) throws SQLException {
         String sql = "DELETE FROM TB_SESSAO WHERE id_sessao = ?";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setInt(1, idSessao);
-        stmt.execute();
-        stmt.close();
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, idSessao);
+            stmt.execute();
+        }
+
         return "Sessão deletada com sucesso!";
     }
 
@@ -87,18 +124,17 @@ public class SessaoDAO {
      */
     public List<Sessao> selecionar() throws SQLException {
         List<Sessao> listaSessoes = new ArrayList<>();
-        String sql = "SELECT * FROM TB_SESSAO";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        ResultSet rs = stmt.executeQuery();
-
-        while (rs.next()) {
-            Sessao sessao = new Sessao();
-            sessao.setIdSessao(rs.getInt("id_sessao"));
-            sessao.setInicioSessao(rs.getTimestamp("inicio_sessao") != null ? rs.getTimestamp("inicio_sessao").toLocalDateTime() : null);
-            sessao.setFimSessao(rs.getTimestamp("fim_sessao") != null ? rs.getTimestamp("fim_sessao").toLocalDateTime() : null);
-            listaSessoes.add(sessao);
+        String sql = "SELECT id_sessao, inicio_sessao, fim_sessao FROM TB_SESSAO";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                listaSessoes.add(mapear(rs));
+            }
         }
-        stmt.close();
+
         return listaSessoes;
     }
 
@@ -110,21 +146,62 @@ public class SessaoDAO {
      * @throws SQLException
      */
     public Sessao buscarPorId(int idSessao) throws SQLException {
-        String sql = "SELECT * FROM TB_SESSAO WHERE id_sessao = ?";
-        PreparedStatement stmt = minhaConexao.prepareStatement(sql);
-        stmt.setInt(1, idSessao);
-        ResultSet rs = stmt.executeQuery();
-
-        if (rs.next()) {
-            Sessao sessao = new Sessao();
-            sessao.setIdSessao(rs.getInt("id_sessao"));
-            sessao.setInicioSessao(rs.getTimestamp("inicio_sessao") != null ? rs.getTimestamp("inicio_sessao").toLocalDateTime() : null);
-            sessao.setFimSessao(rs.getTimestamp("fim_sessao") != null ? rs.getTimestamp("fim_sessao").toLocalDateTime() : null);
-            stmt.close();
-            return sessao;
+        String sql = "SELECT id_sessao, inicio_sessao, fim_sessao FROM TB_SESSAO WHERE id_sessao = ?";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, idSessao);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapear(rs);
+                }
+            }
         }
-        stmt.close();
+
         return null; // Caso não encontre o registro
     }
-}
 
+    /**
+     * Retorna uma página de sessões ordenada pelo ID, a partir do ID informado (paginação por cursor).
+     * A consulta percorre apenas a faixa do índice da chave primária, com custo constante em qualquer página.
+     *
+     * @param aposId ID do último registro da página anterior (0 para a primeira página).
+     * @param limite Quantidade máxima de registros retornados.
+     * @return Lista de objetos Sessao.
+     * @throws SQLException
+     */
+    public List<Sessao> selecionarPagina(int aposId, int limite) throws SQLException {
+        List<Sessao> listaSessoes = new ArrayList<>();
+        String sql = "SELECT id_sessao, inicio_sessao, fim_sessao FROM TB_SESSAO WHERE id_sessao > ? ORDER BY id_sessao FETCH FIRST ? ROWS ONLY";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, aposId);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    listaSessoes.add(mapear(rs));
+                }
+            }
+        }
+
+        return listaSessoes;
+    }
+
+    /**
+     * Converte a linha atual do ResultSet em um objeto Sessao.
+     *
+     * @param rs ResultSet posicionado na linha a ser convertida.
+     * @return Objeto Sessao.
+     * @throws SQLException
+     */
+    private Sessao mapear(ResultSet rs) throws SQLException {
+        Sessao sessao = new Sessao();
+        sessao.setIdSessao(rs.getInt("id_sessao"));
+        sessao.setInicioSessao(rs.getTimestamp("inicio_sessao") != null ? rs.getTimestamp("inicio_sessao").toLocalDateTime() : null);
+        sessao.setFimSessao(rs.getTimestamp("fim_sessao") != null ? rs.getTimestamp("fim_sessao").toLocalDateTime() : null);
+        return sessao;
+    }
+}
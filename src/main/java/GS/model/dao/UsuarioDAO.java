@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import GS.model.beans.Usuario;
+import GS.model.seguranca.CredencialUsuario;
 import GS.conexao.ConnectionFactory;
 
 /**
@@ -40,23 +41,29 @@ public class UsuarioDAO {
     }
 
     /**
-     * Atualiza os dados de um usuário no banco de dados.
+     * Atualiza os dados de um usuário no banco de dados. Sem senha (null), o hash gravado é mantido.
      *
      * @param usuario Objeto Usuario com os dados atualizados do usuário.
      * @return Mensagem de sucesso.
      * @throws SQLException
      */
     public String atualizar(Usuario usuario) throws SQLException {
-        String sql = "UPDATE TB_USUARIO SET nome = ?, email = ?, senha = ?, data_cadastro = ? WHERE id_usuario = ?";
+        boolean comSenha = usuario.getSenha() != null;
+        String sql = comSenha
+                ? "UPDATE TB_USUARIO SET nome = ?, email = ?, data_cadastro = ?, senha = ? WHERE id_usuario = ?"
+                : "UPDATE TB_USUARIO SET nome = ?, email = ?, data_cadastro = ? WHERE id_usuario = ?";
 
         try (Connection minhaConexao = ConnectionFactory.conexao();
              PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
 
-            stmt.setString(1, usuario.getNome());
-            stmt.setString(2, usuario.getEmail());
-            stmt.setString(3, usuario.getSenha());
-            stmt.setDate(4, new java.sql.Date(usuario.getDataCadastro().getTime()));
-            stmt.setInt(5, usuario.getIdUsuario());
+            int indice = 1;
+            stmt.setString(indice++, usuario.getNome());
+            stmt.setString(indice++, usuario.getEmail());
+            stmt.setDate(indice++, new java.sql.Date(usuario.getDataCadastro().getTime()));
+            if (comSenha) {
+                stmt.setString(indice++, usuario.getSenha());
+            }
+            stmt.setInt(indice, usuario.getIdUsuario());
             stmt.executeUpdate();
         }
 
@@ -91,20 +98,14 @@ public class UsuarioDAO {
      */
     public List<Usuario> selecionar() throws SQLException {
         List<Usuario> listaUsuarios = new ArrayList<>();
-        String sql = "SELECT * FROM TB_USUARIO";
+        String sql = "SELECT id_usuario, nome, email, senha, data_cadastro FROM TB_USUARIO";
 
         try (Connection minhaConexao = ConnectionFactory.conexao();
              PreparedStatement stmt = minhaConexao.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Usuario usuario = new Usuario();
-                usuario.setIdUsuario(rs.getInt("id_usuario"));
-                usuario.setNome(rs.getString("nome"));
-                usuario.setEmail(rs.getString("email"));
-                usuario.setSenha(rs.getString("senha"));
-                usuario.setDataCadastro(rs.getDate("data_cadastro"));
-                listaUsuarios.add(usuario);
+                listaUsuarios.add(mapear(rs));
             }
         }
 
@@ -119,7 +120,31 @@ public class UsuarioDAO {
      * @throws SQLException
      */
     public Usuario buscarPorEmail(String email) throws SQLException {
-        String sql = "SELECT * FROM TB_USUARIO WHERE email = ?";
+        String sql = "SELECT id_usuario, nome, email, senha, data_cadastro FROM TB_USUARIO WHERE email = ?";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setString(1, email);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapear(rs);
+                }
+            }
+        }
+
+        return null; // Caso não encontre o registro
+    }
+
+    /**
+     * Busca os dados de login de um usuário pelo email (usa o índice IX_USUARIO_EMAIL).
+     *
+     * @param email Email do usuário.
+     * @return Credencial do usuário, ou null se não houver usuário com o email.
+     * @throws SQLException
+     */
+    public CredencialUsuario buscarCredencialPorEmail(String email) throws SQLException {
+        String sql = "SELECT id_usuario, nome, email, senha, data_cadastro FROM TB_USUARIO WHERE email = ? FETCH FIRST 1 ROWS ONLY";
 
         try (Connection minhaConexao = ConnectionFactory.conexao();
              PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
@@ -127,17 +152,77 @@ public class UsuarioDAO {
             stmt.setString(1, email);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Usuario usuario = new Usuario();
-                    usuario.setIdUsuario(rs.getInt("id_usuario"));
-                    usuario.setNome(rs.getString("nome"));
-                    usuario.setEmail(rs.getString("email"));
-                    usuario.setSenha(rs.getString("senha"));
-                    usuario.setDataCadastro(rs.getDate("data_cadastro"));
-                    return usuario;
+                    return new CredencialUsuario(rs.getInt("id_usuario"), rs.getString("nome"), rs.getString("email"),
+                            rs.getString("senha"), rs.getDate("data_cadastro"));
                 }
             }
         }
 
         return null; // Caso não encontre o registro
     }
+
+    /**
+     * Atualiza apenas a senha (hash) de um usuário.
+     *
+     * @param idUsuario ID do usuário.
+     * @param hashSenha Hash da senha.
+     * @throws SQLException
+     */
+    public void atualizarSenha(int idUsuario, String hashSenha) throws SQLException {
+        String sql = "UPDATE TB_USUARIO SET senha = ? WHERE id_usuario = ?";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setString(1, hashSenha);
+            stmt.setInt(2, idUsuario);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Retorna uma página de usuários ordenada pelo ID, a partir do ID informado (paginação por cursor).
+     * A consulta percorre apenas a faixa do índice da chave primária, com custo constante em qualquer página.
+     *
+     * @param aposId ID do último registro da página anterior (0 para a primeira página).
+     * @param limite Quantidade máxima de registros retornados.
+     * @return Lista de objetos Usuario.
+     * @throws SQLException
+     */
+    public List<Usuario> selecionarPagina(int aposId, int limite) throws SQLException {
+        List<Usuario> listaUsuarios = new ArrayList<>();
+        // Sem a senha: a listagem é exposta em GET /usuarios
+        String sql = "SELECT id_usuario, nome, email, NULL senha, data_cadastro FROM TB_USUARIO WHERE id_usuario > ? ORDER BY id_usuario FETCH FIRST ? ROWS ONLY";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setInt(1, aposId);
+            stmt.setInt(2, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    listaUsuarios.add(mapear(rs));
+                }
+            }
+        }
+
+        return listaUsuarios;
+    }
+
+    /**
+     * Converte a linha atual do ResultSet em um objeto Usuario.
+     *
+     * @param rs ResultSet posicionado na linha a ser convertida.
+     * @return Objeto Usuario.
+     * @throws SQLException
+     */
+    private Usuario mapear(ResultSet rs) throws SQLException {
+        Usuario usuario = new Usuario();
+        usuario.setIdUsuario(rs.getInt("id_usuario"));
+        usuario.setNome(rs.getString("nome"));
+        usuario.setEmail(rs.getString("email"));
+        usuario.setSenha(rs.getString("senha"));
+        usuario.setDataCadastro(rs.getDate("data_cadastro"));
+        return usuario;
+    }
 }
@@ -0,0 +1,69 @@
+package GS.model.dao;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import GS.conexao.ConnectionFactory;
+
+/**
+ * Classe VersaoColecaoDAO lê e incrementa as versões das coleções em TB_VERSAO_COLECAO, usadas nas ETags
+ * das listagens.
+ */
+public class VersaoColecaoDAO {
+
+    /**
+     * Retorna a versão atual de uma coleção.
+     *
+     * @param colecao Nome da coleção.
+     * @return Versão da coleção, ou 0 se ela ainda não estiver registrada.
+     * @throws SQLException
+     */
+    public long buscarVersao(String colecao) throws SQLException {
+        String sql = "SELECT versao FROM TB_VERSAO_COLECAO WHERE nome_colecao = ?";
+
+        try (Connection minhaConexao = ConnectionFactory.conexao();
+             PreparedStatement stmt = minhaConexao.prepareStatement(sql)) {
+
+            stmt.setString(1, colecao);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Incrementa a versão de uma coleção, registrando-a caso ainda não exista.
+     *
+     * @param colecao Nome da coleção.
+     * @throws SQLException
+     */
+    public void incrementar(String colecao) throws SQLException {
+        try (Connection minhaConexao = ConnectionFactory.conexao()) {
+            incrementar(minhaConexao, colecao);
+        }
+    }
+
+    /**
+     * Incrementa a versão de uma coleção usando a conexão informada, para que a nova versão seja confirmada na mesma
+     * transação da alteração da coleção.
+     *
+     * @param minhaConexao Conexão a ser usada.
+     * @param colecao      Nome da coleção.
+     * @throws SQLException
+     */
+    public void incrementar(Connection minhaConexao, String colecao) throws SQLException {
+        String sqlAtualizar = "UPDATE TB_VERSAO_COLECAO SET versao = versao + 1 WHERE nome_colecao = ?";
+        String sqlInserir = "INSERT INTO TB_VERSAO_COLECAO (nome_colecao, versao) VALUES (?, 2)";
+
+        try (PreparedStatement stmt = minhaConexao.prepareStatement(sqlAtualizar)) {
+
+            stmt.setString(1, colecao);
+            if (stmt.executeUpdate() == 0) {
+                try (PreparedStatement insercao = minhaConexao.prepareStatement(sqlInserir)) {
+                    insercao.setString(1, colecao);
+                    insercao.execute();
+                }
+            }
+        }
+    }
+}
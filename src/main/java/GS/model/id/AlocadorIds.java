@@ -0,0 +1,111 @@
+package GS.model.id;
+
+import GS.config.Configuracao;
+import GS.model.dao.SequenciaDAO;
+import jakarta.inject.Inject;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe AlocadorIds gera os IDs das entidades em blocos (esquema hi-lo): uma faixa de {@code ids.tamanhoBloco} IDs
+ * é reservada na {@link FonteBlocos} com uma única ida ao banco e distribuída em memória com um incremento atômico,
+ * sem bloqueio. Apenas a thread que esgota a faixa reserva a seguinte; as demais aguardam essa reserva.
+ *
+ * A fonte é escolhida por {@code ids.fonte}: {@code sequencia} (padrão, sequências do banco, segura com várias
+ * instâncias da aplicação) ou {@code local} (maior ID de cada tabela, apenas para uma instância).
+ */
+public class AlocadorIds {
+
+    private final FonteBlocos fonte;
+    private final Map<EntidadeId, Alocacao> alocacoes = new EnumMap<>(EntidadeId.class);
+
+    /**
+     * Construtor que recebe o DAO das sequências (injetado pelo container como singleton).
+     *
+     * @param sequenciaDAO DAO das sequências e dos maiores IDs das tabelas.
+     */
+    @Inject
+    public AlocadorIds(SequenciaDAO sequenciaDAO) {
+        this("local".equalsIgnoreCase(Configuracao.get().getString("ids.fonte", "sequencia"))
+                ? new FonteBlocosLocal(sequenciaDAO) : new FonteBlocosSequencia(sequenciaDAO));
+    }
+
+    /**
+     * Construtor que recebe a fonte das faixas de IDs.
+     *
+     * @param fonte Fonte das faixas.
+     */
+    public AlocadorIds(FonteBlocos fonte) {
+        this.fonte = fonte;
+        int tamanhoPadrao = Configuracao.get().getInt("ids.tamanhoBloco", 1000);
+        for (EntidadeId entidade : EntidadeId.values()) {
+            int tamanho = Configuracao.get().getInt("ids." + entidade.getChave() + ".tamanhoBloco", tamanhoPadrao);
+            if (tamanho <= 0) {
+                throw new IllegalArgumentException("O tamanho do bloco de IDs de " + entidade.getChave() + " deve ser positivo.");
+            }
+            alocacoes.put(entidade, new Alocacao(entidade, tamanho));
+        }
+    }
+
+    /**
+     * Retorna um novo ID para a entidade.
+     *
+     * @param entidade Entidade do ID.
+     * @return ID ainda não usado por nenhuma instância da aplicação.
+     * @throws SQLException se a reserva de uma nova faixa falhar.
+     */
+    public int proximoId(EntidadeId entidade) throws SQLException {
+        return alocacoes.get(entidade).proximo();
+    }
+
+    /**
+     * Distribui os IDs de uma entidade. A faixa atual é imutável, exceto pelo cursor atômico; ao esgotá-la,
+     * uma nova faixa é reservada sob o bloqueio da alocação.
+     */
+    private final class Alocacao {
+
+        private final EntidadeId entidade;
+        private final int tamanho;
+        private volatile Faixa atual = new Faixa(0, 0);
+
+        Alocacao(EntidadeId entidade, int tamanho) {
+            this.entidade = entidade;
+            this.tamanho = tamanho;
+        }
+
+        int proximo() throws SQLException {
+            while (true) {
+                Faixa faixa = atual;
+                long id = faixa.cursor.getAndIncrement();
+                if (id < faixa.fim) {
+                    if (id > Integer.MAX_VALUE) {
+                        throw new IllegalStateException("Os IDs de " + entidade.getChave() + " esgotaram a faixa de int.");
+                    }
+                    return (int) id;
+                }
+                synchronized (this) {
+                    // Outra thread pode já ter reservado a faixa seguinte enquanto esta aguardava
+                    if (atual == faixa) {
+                        long inicio = fonte.reservar(entidade, tamanho);
+                        // O ID 0 indica registro sem ID e não é distribuído
+                        atual = new Faixa(Math.max(inicio, 1), inicio + tamanho);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Faixa {
+
+        private final AtomicLong cursor;
+        private final long fim;
+
+        Faixa(long inicio, long fim) {
+            this.cursor = new AtomicLong(inicio);
+            this.fim = fim;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package GS.model.id;
+
+/**
+ * Enum EntidadeId lista as entidades cujos IDs são gerados pelo {@link AlocadorIds}, com a sequência do banco
+ * e a tabela/coluna da chave primária de cada uma.
+ */
+public enum EntidadeId {
+
+    USUARIO("usuario", "SQ_USUARIO", "TB_USUARIO", "id_usuario"),
+    DISPOSITIVO("dispositivo", "SQ_DISPOSITIVO", "TB_DISPOSITIVO", "id_dispositivo"),
+    SESSAO("sessao", "SQ_SESSAO", "TB_SESSAO", "id_sessao"),
+    DADOS_CONSUMO("dadosConsumo", "SQ_DADOS_CONSUMO", "TB_DADOS_CONSUMO", "id_consumo");
+
+    private final String chave;
+    private final String sequencia;
+    private final String tabela;
+    private final String coluna;
+
+    EntidadeId(String chave, String sequencia, String tabela, String coluna) {
+        this.chave = chave;
+        this.sequencia = sequencia;
+        this.tabela = tabela;
+        this.coluna = coluna;
+    }
+
+    /**
+     * Retorna o nome usado nas propriedades de configuração ({@code ids.<chave>.tamanhoBloco}).
+     */
+    public String getChave() {
+        return chave;
+    }
+
+    public String getSequencia() {
+        return sequencia;
+    }
+
+    public String getTabela() {
+        return tabela;
+    }
+
+    public String getColuna() {
+        return coluna;
+    }
+}
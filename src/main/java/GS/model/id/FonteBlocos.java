@@ -0,0 +1,20 @@
+package GS.model.id;
+
+import java.sql.SQLException;
+
+/**
+ * Interface FonteBlocos reserva faixas de IDs para o {@link AlocadorIds}. Cada reserva custa no máximo uma ida
+ * ao banco; os IDs da faixa são então distribuídos em memória.
+ */
+public interface FonteBlocos {
+
+    /**
+     * Reserva uma faixa de IDs que nenhuma outra reserva (desta ou de outra instância da aplicação) receberá.
+     *
+     * @param entidade Entidade dos IDs.
+     * @param tamanho  Quantidade de IDs da faixa.
+     * @return Primeiro ID da faixa {@code [inicio, inicio + tamanho)}.
+     * @throws SQLException
+     */
+    long reservar(EntidadeId entidade, int tamanho) throws SQLException;
+}
@@ -0,0 +1,37 @@
+package GS.model.id;
+
+import GS.model.dao.SequenciaDAO;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Classe FonteBlocosLocal reserva as faixas em memória, a partir do maior ID já gravado em cada tabela.
+ * Substitui as sequências em bancos sem o script {@code sql/05_sequencias_ids.sql} (ex.: testes com H2) e é segura
+ * apenas com uma única instância da aplicação gravando no banco.
+ */
+public class FonteBlocosLocal implements FonteBlocos {
+
+    private final SequenciaDAO sequenciaDAO;
+    private final Map<EntidadeId, Long> proximos = new EnumMap<>(EntidadeId.class);
+
+    /**
+     * Construtor que recebe o DAO das sequências.
+     *
+     * @param sequenciaDAO DAO usado para consultar o maior ID de cada tabela na primeira reserva.
+     */
+    public FonteBlocosLocal(SequenciaDAO sequenciaDAO) {
+        this.sequenciaDAO = sequenciaDAO;
+    }
+
+    @Override
+    public synchronized long reservar(EntidadeId entidade, int tamanho) throws SQLException {
+        Long proximo = proximos.get(entidade);
+        if (proximo == null) {
+            proximo = sequenciaDAO.maiorId(entidade.getTabela(), entidade.getColuna()) + 1;
+        }
+        proximos.put(entidade, proximo + tamanho);
+        return proximo;
+    }
+}
@@ -0,0 +1,32 @@
+package GS.model.id;
+
+import GS.model.dao.SequenciaDAO;
+
+import java.sql.SQLException;
+
+/**
+ * Classe FonteBlocosSequencia implementa o esquema hi-lo sobre uma sequência do banco: cada valor da sequência
+ * ({@code hi}) corresponde à faixa {@code [hi * tamanho, hi * tamanho + tamanho)}. Como a sequência é única no banco,
+ * as faixas nunca se repetem entre reinícios ou entre várias instâncias da aplicação.
+ *
+ * O tamanho do bloco de uma entidade não deve ser alterado depois que a sequência passou a ser usada,
+ * pois as faixas calculadas com o novo tamanho podem coincidir com as já distribuídas.
+ */
+public class FonteBlocosSequencia implements FonteBlocos {
+
+    private final SequenciaDAO sequenciaDAO;
+
+    /**
+     * Construtor que recebe o DAO das sequências.
+     *
+     * @param sequenciaDAO DAO usado para obter o próximo valor da sequência.
+     */
+    public FonteBlocosSequencia(SequenciaDAO sequenciaDAO) {
+        this.sequenciaDAO = sequenciaDAO;
+    }
+
+    @Override
+    public long reservar(EntidadeId entidade, int tamanho) throws SQLException {
+        return Math.multiplyExact(sequenciaDAO.proximoValor(entidade.getSequencia()), (long) tamanho);
+    }
+}
@@ -0,0 +1,67 @@
+package GS.model.ingestao;
+
+import GS.config.Configuracao;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classe ArquivoFalhas guarda os elementos não gravados pela fila de escrita em um arquivo texto, uma linha por
+ * elemento, em {@code ingestao.falhas.diretorio} (padrão: {@code falhas}), para que possam ser conferidos e
+ * reprocessados depois que o banco voltar.
+ *
+ * @param <T> Tipo dos elementos.
+ */
+public final class ArquivoFalhas<T> implements DestinoFalhas<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(ArquivoFalhas.class.getName());
+
+    private final Path arquivo;
+    private final String cabecalho;
+    private final Function<T, String> formato;
+
+    /**
+     * Construtor que define o arquivo e o formato das linhas.
+     *
+     * @param nome      Nome do arquivo, sem o diretório.
+     * @param cabecalho Primeira linha de um arquivo novo (ex.: nomes das colunas), ou null.
+     * @param formato   Conversão de um elemento em uma linha.
+     */
+    public ArquivoFalhas(String nome, String cabecalho, Function<T, String> formato) {
+        this.arquivo = Paths.get(Configuracao.get().getString("ingestao.falhas.diretorio", "falhas"), nome);
+        this.cabecalho = cabecalho;
+        this.formato = formato;
+    }
+
+    @Override
+    public synchronized void receber(List<T> elementos, Exception causa) {
+        try {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            boolean novo = !Files.exists(arquivo);
+            try (Writer escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (novo && cabecalho != null) {
+                    escritor.write(cabecalho);
+                    escritor.write('\n');
+                }
+                for (T elemento : elementos) {
+                    escritor.write(formato.apply(elemento));
+                    escritor.write('\n');
+                }
+            }
+            LOGGER.warning(elementos.size() + " elementos não gravados guardados em " + arquivo.toAbsolutePath() + ".");
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Falha ao guardar " + elementos.size() + " elementos não gravados em " + arquivo
+                    + "; elementos perdidos: " + elementos, e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package GS.model.ingestao;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Classe BufferCircular é uma fila limitada e sem bloqueios (lock-free) para vários produtores e um único consumidor.
+ *
+ * Cada posição guarda um número de sequência que indica se ela está livre para o produtor da volta atual ou
+ * preenchida para o consumidor. Os produtores reservam posições com compare-and-set no contador de escrita;
+ * o consumidor avança o contador de leitura sem concorrência. Quando o buffer está cheio, {@link #oferecer}
+ * retorna false imediatamente, sem esperar.
+ *
+ * @param <T> Tipo dos elementos.
+ */
+public final class BufferCircular<T> {
+
+    private final Object[] elementos;
+    private final AtomicLongArray sequencias;
+    private final int mascara;
+    private final AtomicLong escrita = new AtomicLong();
+    private volatile long leitura;
+
+    /**
+     * Cria o buffer com a capacidade informada, arredondada para a próxima potência de 2.
+     *
+     * @param capacidade Quantidade máxima de elementos.
+     */
+    public BufferCircular(int capacidade) {
+        if (capacidade < 2 || capacidade > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidade inválida para o buffer circular: " + capacidade);
+        }
+        int tamanho = Integer.highestOneBit(capacidade - 1) << 1;
+        this.elementos = new Object[tamanho];
+        this.sequencias = new AtomicLongArray(tamanho);
+        this.mascara = tamanho - 1;
+        for (int i = 0; i < tamanho; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * Publica um elemento no buffer. Pode ser chamado por várias threads ao mesmo tempo.
+     *
+     * @param elemento Elemento a ser publicado.
+     * @return false se o buffer estiver cheio.
+     */
+    public boolean oferecer(T elemento) {
+        long posicao = escrita.get();
+        while (true) {
+            int indice = (int) posicao & mascara;
+            long diferenca = sequencias.get(indice) - posicao;
+            if (diferenca == 0) {
+                if (escrita.compareAndSet(posicao, posicao + 1)) {
+                    elementos[indice] = elemento;
+                    // Publica o elemento para o consumidor
+                    sequencias.lazySet(indice, posicao + 1);
+                    return true;
+                }
+                posicao = escrita.get();
+            } else if (diferenca < 0) {
+                // A posição ainda não foi consumida na volta anterior: buffer cheio
+                return false;
+            } else {
+                posicao = escrita.get();
+            }
+        }
+    }
+
+    /**
+     * Retira até {@code maximo} elementos do buffer, na ordem de publicação. Deve ser chamado por uma única thread.
+     *
+     * @param destino Coleção que recebe os elementos retirados.
+     * @param maximo  Quantidade máxima de elementos a retirar.
+     * @return Quantidade de elementos retirados.
+     */
+    @SuppressWarnings("unchecked")
+    public int drenar(Collection<? super T> destino, int maximo) {
+        long posicao = leitura;
+        int retirados = 0;
+        while (retirados < maximo) {
+            int indice = (int) posicao & mascara;
+            if (sequencias.get(indice) != posicao + 1) {
+                break;
+            }
+            destino.add((T) elementos[indice]);
+            elementos[indice] = null;
+            // Libera a posição para o produtor da próxima volta
+            sequencias.lazySet(indice, posicao + mascara + 1);
+            posicao++;
+            retirados++;
+        }
+        leitura = posicao;
+        return retirados;
+    }
+
+    /**
+     * Retorna a quantidade aproximada de elementos no buffer (profundidade da fila).
+     *
+     * @return Elementos publicados e ainda não retirados.
+     */
+    public int tamanho() {
+        long tamanho = escrita.get() - leitura;
+        return (int) Math.max(0, Math.min(tamanho, capacidade()));
+    }
+
+    public int capacidade() {
+        return mascara + 1;
+    }
+}
@@ -0,0 +1,21 @@
+package GS.model.ingestao;
+
+import java.util.List;
+
+/**
+ * Interface DestinoFalhas recebe os elementos que a fila de escrita não conseguiu gravar (dead letter): os rejeitados
+ * pelo banco (dados inválidos) e os lotes que continuaram falhando após todas as tentativas.
+ *
+ * @param <T> Tipo dos elementos.
+ */
+@FunctionalInterface
+public interface DestinoFalhas<T> {
+
+    /**
+     * Recebe os elementos descartados. Chamado pela thread gravadora.
+     *
+     * @param elementos Elementos não gravados.
+     * @param causa     Último erro da gravação.
+     */
+    void receber(List<T> elementos, Exception causa);
+}
@@ -0,0 +1,298 @@
+package GS.model.ingestao;
+
+import GS.model.beans.MetricasIngestao;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classe EscritaAdiada implementa a gravação adiada (write-behind): as threads das requisições publicam os elementos
+ * em um {@link BufferCircular} e retornam; uma única thread gravadora retira os elementos e os grava em lotes
+ * (group commit), quando o lote atinge {@code tamanhoLote} elementos ou quando o mais antigo espera {@code intervaloMs}.
+ *
+ * Se a gravação de um lote falhar por indisponibilidade do banco (conexão, tempo de espera do pool), o lote inteiro é
+ * regravado após uma espera crescente ({@code retentativaMs}, dobrada a cada tentativa até
+ * {@code retentativaMaximaMs}), por até {@code tentativas} vezes; enquanto isso a fila se enche e as publicações são
+ * recusadas (contrapressão). Se a falha for dos dados, os elementos são regravados um a um, de modo que um registro
+ * inválido não descarte os demais. Os elementos não gravados são contados em {@code falhas} e entregues ao
+ * {@link DestinoFalhas}.
+ *
+ * @param <T> Tipo dos elementos.
+ */
+public final class EscritaAdiada<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(EscritaAdiada.class.getName());
+
+    // Quantidade de latências recentes guardadas para o cálculo dos percentis
+    private static final int AMOSTRAS_LATENCIA = 1024;
+
+    private final BufferCircular<T> buffer;
+    private final GravadorLote<T> gravador;
+    private final int tamanhoLote;
+    private final long intervaloNanos;
+    private final int tentativas;
+    private final long retentativaNanos;
+    private final long retentativaMaximaNanos;
+    private final DestinoFalhas<T> destinoFalhas;
+    private final Thread thread;
+    private volatile boolean ativa = true;
+
+    private final AtomicLong publicados = new AtomicLong();
+    private final AtomicLong recusados = new AtomicLong();
+    private final AtomicLong gravados = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private final long[] latenciasNanos = new long[AMOSTRAS_LATENCIA];
+
+    /**
+     * Cria a fila de escrita e inicia a thread gravadora.
+     *
+     * @param nome        Nome da thread gravadora.
+     * @param capacidade  Capacidade do buffer.
+     * @param tamanhoLote Quantidade de elementos que dispara a gravação de um lote.
+     * @param intervaloMs Tempo máximo, em milissegundos, que um elemento espera até ser gravado.
+     * @param gravador    Gravador dos lotes no banco.
+     */
+    public EscritaAdiada(String nome, int capacidade, int tamanhoLote, long intervaloMs, GravadorLote<T> gravador) {
+        this(nome, capacidade, tamanhoLote, intervaloMs, 10, 100, 30000, gravador, null);
+    }
+
+    /**
+     * Cria a fila de escrita, com as retentativas e o destino dos elementos não gravados, e inicia a thread gravadora.
+     *
+     * @param nome                Nome da thread gravadora.
+     * @param capacidade          Capacidade do buffer.
+     * @param tamanhoLote         Quantidade de elementos que dispara a gravação de um lote.
+     * @param intervaloMs         Tempo máximo, em milissegundos, que um elemento espera até ser gravado.
+     * @param tentativas          Retentativas de um lote com o banco indisponível antes de descartá-lo.
+     * @param retentativaMs       Espera antes da primeira retentativa, dobrada a cada nova tentativa.
+     * @param retentativaMaximaMs Espera máxima entre as tentativas.
+     * @param gravador            Gravador dos lotes no banco.
+     * @param destinoFalhas       Destino dos elementos não gravados, ou null para apenas registrá-los no log.
+     */
+    public EscritaAdiada(String nome, int capacidade, int tamanhoLote, long intervaloMs, int tentativas,
+                         long retentativaMs, long retentativaMaximaMs, GravadorLote<T> gravador,
+                         DestinoFalhas<T> destinoFalhas) {
+        this.buffer = new BufferCircular<>(capacidade);
+        this.gravador = gravador;
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.tentativas = Math.max(0, tentativas);
+        this.retentativaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, retentativaMs));
+        this.retentativaMaximaNanos = Math.max(retentativaNanos, TimeUnit.MILLISECONDS.toNanos(retentativaMaximaMs));
+        this.destinoFalhas = destinoFalhas;
+        this.thread = new Thread(this::executar, nome);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Publica um elemento para gravação em segundo plano.
+     *
+     * @param elemento Elemento já validado.
+     * @return false se a fila estiver cheia ou encerrada (o chamador deve aplicar contrapressão).
+     */
+    public boolean publicar(T elemento) {
+        if (ativa && buffer.oferecer(elemento)) {
+            publicados.incrementAndGet();
+            return true;
+        }
+        recusados.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Encerra a fila: recusa novas publicações e aguarda a gravação dos elementos pendentes.
+     *
+     * @param esperaMs Tempo máximo de espera, em milissegundos.
+     */
+    public void encerrar(long esperaMs) {
+        ativa = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(esperaMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retorna as métricas da fila e das gravações.
+     *
+     * @return Métricas da gravação adiada.
+     */
+    public MetricasIngestao getMetricas() {
+        MetricasIngestao metricas = new MetricasIngestao();
+        metricas.setHabilitada(true);
+        metricas.setCapacidade(buffer.capacidade());
+        // Registros aceitos e ainda não gravados: no buffer ou no lote em gravação
+        metricas.setProfundidade((int) Math.max(0, publicados.get() - gravados.get() - falhas.get()));
+        metricas.setPublicados(publicados.get());
+        metricas.setRecusados(recusados.get());
+        metricas.setGravados(gravados.get());
+        metricas.setFalhas(falhas.get());
+        metricas.setLotes(lotes.get());
+
+        long[] amostras;
+        synchronized (latenciasNanos) {
+            int quantidade = (int) Math.min(lotes.get(), AMOSTRAS_LATENCIA);
+            amostras = Arrays.copyOf(latenciasNanos, quantidade);
+        }
+        if (amostras.length > 0) {
+            Arrays.sort(amostras);
+            metricas.setLatenciaGravacaoP50Ms(paraMs(percentil(amostras, 0.50)));
+            metricas.setLatenciaGravacaoP99Ms(paraMs(percentil(amostras, 0.99)));
+            metricas.setLatenciaGravacaoMaxMs(paraMs(amostras[amostras.length - 1]));
+        }
+        return metricas;
+    }
+
+    /**
+     * Laço da thread gravadora: acumula elementos até completar o lote ou até o prazo do mais antigo expirar.
+     */
+    private void executar() {
+        List<T> lote = new ArrayList<>(tamanhoLote);
+        long inicioLote = 0;
+        // Espera entre verificações da fila enquanto um lote está sendo completado
+        long espera = Math.max(TimeUnit.MICROSECONDS.toNanos(100), Math.min(intervaloNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+        // Início da última espera com a fila vazia; os elementos encontrados ao acordar chegaram depois dele
+        long inicioOcioso = -1;
+
+        while (ativa || buffer.tamanho() > 0 || !lote.isEmpty()) {
+            boolean vazio = lote.isEmpty();
+            int retirados = buffer.drenar(lote, tamanhoLote - lote.size());
+            if (vazio && retirados > 0) {
+                inicioLote = inicioOcioso >= 0 ? inicioOcioso : System.nanoTime();
+            }
+            inicioOcioso = -1;
+
+            if (!lote.isEmpty() && (lote.size() >= tamanhoLote || !ativa
+                    || System.nanoTime() - inicioLote >= intervaloNanos)) {
+                gravar(lote);
+                lote.clear();
+            } else if (lote.isEmpty()) {
+                // Fila vazia: dorme o intervalo inteiro (ou até o encerramento), sem acordar a cada milissegundo
+                inicioOcioso = System.nanoTime();
+                LockSupport.parkNanos(this, intervaloNanos);
+            } else if (retirados == 0) {
+                LockSupport.parkNanos(this, espera);
+            }
+        }
+    }
+
+    private void gravar(List<T> lote) {
+        long inicio = System.nanoTime();
+        gravarComRetentativas(lote);
+
+        long duracao = System.nanoTime() - inicio;
+        synchronized (latenciasNanos) {
+            latenciasNanos[(int) (lotes.get() % AMOSTRAS_LATENCIA)] = duracao;
+            lotes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Grava o lote; com o banco indisponível, repete a gravação do lote inteiro com espera crescente.
+     */
+    private void gravarComRetentativas(List<T> lote) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                gravador.gravar(lote);
+                gravados.addAndGet(lote.size());
+                return;
+            } catch (SQLException | RuntimeException e) {
+                if (!falhaTransitoria(e)) {
+                    gravarIndividualmente(lote, e);
+                    return;
+                }
+                if (tentativa > tentativas) {
+                    descartar(lote, e);
+                    return;
+                }
+                long espera = Math.min(retentativaMaximaNanos, retentativaNanos << Math.min(tentativa - 1, 30));
+                LOGGER.log(Level.WARNING, "Banco indisponível ao gravar lote de " + lote.size() + " elementos; tentativa "
+                        + tentativa + " de " + tentativas + " em " + TimeUnit.NANOSECONDS.toMillis(espera) + " ms.", e);
+                LockSupport.parkNanos(this, espera);
+            }
+        }
+    }
+
+    /**
+     * Regrava um a um os elementos de um lote recusado pelos dados, para que um registro inválido não descarte os demais.
+     */
+    private void gravarIndividualmente(List<T> lote, Exception causa) {
+        LOGGER.log(Level.WARNING, "Falha ao gravar lote de " + lote.size() + " elementos; regravando individualmente.", causa);
+        List<T> rejeitados = new ArrayList<>();
+        Exception ultimoErro = causa;
+        for (int i = 0; i < lote.size(); i++) {
+            try {
+                gravador.gravar(Collections.singletonList(lote.get(i)));
+                gravados.incrementAndGet();
+            } catch (SQLException | RuntimeException e) {
+                if (falhaTransitoria(e)) {
+                    // O banco caiu no meio: o restante volta às retentativas em lote
+                    gravarComRetentativas(new ArrayList<>(lote.subList(i, lote.size())));
+                    break;
+                }
+                rejeitados.add(lote.get(i));
+                ultimoErro = e;
+            }
+        }
+        if (!rejeitados.isEmpty()) {
+            descartar(rejeitados, ultimoErro);
+        }
+    }
+
+    private void descartar(List<T> elementos, Exception causa) {
+        falhas.addAndGet(elementos.size());
+        LOGGER.log(Level.SEVERE, elementos.size() + " elementos não gravados na gravação adiada: " + elementos, causa);
+        if (destinoFalhas != null) {
+            try {
+                destinoFalhas.receber(elementos, causa);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Falha no destino dos elementos não gravados.", e);
+            }
+        }
+    }
+
+    /**
+     * Indica se o erro é de indisponibilidade do banco (conexão perdida, tempo de espera do pool ou do limitador),
+     * e não dos dados gravados.
+     */
+    static boolean falhaTransitoria(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause() == causa ? null : causa.getCause()) {
+            if (causa instanceof SQLTransientException || causa instanceof SQLRecoverableException
+                    || causa instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (causa instanceof SQLException) {
+                String estado = ((SQLException) causa).getSQLState();
+                // Classe 08 do SQLSTATE: exceções de conexão
+                if (estado != null && estado.startsWith("08")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long percentil(long[] ordenadas, double percentil) {
+        int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))];
+    }
+
+    private static double paraMs(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
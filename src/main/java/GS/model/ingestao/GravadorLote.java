@@ -0,0 +1,21 @@
+package GS.model.ingestao;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Interface GravadorLote grava no banco, em uma única transação, um lote de elementos retirados da fila de escrita.
+ *
+ * @param <T> Tipo dos elementos.
+ */
+@FunctionalInterface
+public interface GravadorLote<T> {
+
+    /**
+     * Grava o lote.
+     *
+     * @param lote Elementos a serem gravados.
+     * @throws SQLException
+     */
+    void gravar(List<T> lote) throws SQLException;
+}
@@ -0,0 +1,44 @@
+package GS.model.seguranca;
+
+import java.util.Date;
+
+/**
+ * Classe CredencialUsuario guarda os dados de um usuário necessários ao login, incluindo o hash da senha.
+ * É imutável, pois é compartilhada pelo cache de credenciais entre as requisições.
+ */
+public final class CredencialUsuario {
+
+    private final int idUsuario;
+    private final String nome;
+    private final String email;
+    private final String hashSenha;
+    private final Date dataCadastro;
+
+    public CredencialUsuario(int idUsuario, String nome, String email, String hashSenha, Date dataCadastro) {
+        this.idUsuario = idUsuario;
+        this.nome = nome;
+        this.email = email;
+        this.hashSenha = hashSenha;
+        this.dataCadastro = dataCadastro == null ? null : new Date(dataCadastro.getTime());
+    }
+
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getHashSenha() {
+        return hashSenha;
+    }
+
+    public Date getDataCadastro() {
+        return dataCadastro == null ? null : new Date(dataCadastro.getTime());
+    }
+}
@@ -0,0 +1,113 @@
+package GS.model.seguranca;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Classe HashSenha gera e verifica hashes de senha com sal (PBKDF2-HMAC-SHA256).
+ *
+ * O hash é gravado no formato {@code pbkdf2$<iterações>$<sal em base64>$<hash em base64>}, de modo que o custo
+ * pode ser aumentado sem invalidar as senhas já gravadas: {@link #precisaAtualizar} indica quando uma senha deve
+ * ser regravada com o custo atual (ex.: após um login bem-sucedido). Senhas gravadas em texto puro, anteriores
+ * ao uso de hash, continuam sendo aceitas e também são indicadas para atualização.
+ */
+public final class HashSenha {
+
+    private static final String PREFIXO = "pbkdf2$";
+    private static final String ALGORITMO = "PBKDF2WithHmacSHA256";
+    private static final int TAMANHO_SAL = 16;
+    private static final int TAMANHO_HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private HashSenha() {
+    }
+
+    /**
+     * Gera o hash de uma senha com um sal aleatório.
+     *
+     * @param senha     Senha em texto puro.
+     * @param iteracoes Quantidade de iterações do PBKDF2.
+     * @return Hash no formato {@code pbkdf2$<iterações>$<sal>$<hash>}.
+     */
+    public static String gerar(String senha, int iteracoes) {
+        byte[] sal = new byte[TAMANHO_SAL];
+        RANDOM.nextBytes(sal);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIXO + iteracoes + "$" + base64.encodeToString(sal) + "$"
+                + base64.encodeToString(derivar(senha, sal, iteracoes));
+    }
+
+    /**
+     * Verifica uma senha contra o valor gravado, em tempo constante em relação ao conteúdo.
+     *
+     * @param senha      Senha informada no login.
+     * @param armazenada Hash gravado (ou senha em texto puro, para usuários anteriores ao uso de hash).
+     * @return true se a senha confere.
+     */
+    public static boolean verificar(String senha, String armazenada) {
+        if (senha == null || armazenada == null) {
+            return false;
+        }
+        if (!ehHash(armazenada)) {
+            return MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8), armazenada.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] partes = armazenada.split("\\$");
+        if (partes.length != 4) {
+            return false;
+        }
+        try {
+            int iteracoes = Integer.parseInt(partes[1]);
+            byte[] sal = Base64.getDecoder().decode(partes[2]);
+            byte[] esperado = Base64.getDecoder().decode(partes[3]);
+            return MessageDigest.isEqual(esperado, derivar(senha, sal, iteracoes));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Indica se a senha gravada deve ser regravada: está em texto puro ou usa menos iterações que o configurado.
+     *
+     * @param armazenada Valor gravado.
+     * @param iteracoes  Quantidade de iterações atual.
+     * @return true se a senha deve ser regravada com {@link #gerar}.
+     */
+    public static boolean precisaAtualizar(String armazenada, int iteracoes) {
+        if (!ehHash(armazenada)) {
+            return true;
+        }
+        String[] partes = armazenada.split("\\$");
+        try {
+            return partes.length != 4 || Integer.parseInt(partes[1]) < iteracoes;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Indica se o valor já é um hash gerado por esta classe.
+     *
+     * @param valor Valor da senha.
+     * @return true se o valor estiver no formato {@code pbkdf2$...}.
+     */
+    public static boolean ehHash(String valor) {
+        return valor != null && valor.startsWith(PREFIXO);
+    }
+
+    private static byte[] derivar(String senha, byte[] sal, int iteracoes) {
+        PBEKeySpec spec = new PBEKeySpec(senha.toCharArray(), sal, iteracoes, TAMANHO_HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITMO).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Algoritmo " + ALGORITMO + " indisponível.", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
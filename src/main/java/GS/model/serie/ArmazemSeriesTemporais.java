@@ -0,0 +1,279 @@
+package GS.model.serie;
+
+import GS.config.Configuracao;
+import GS.model.beans.ConsumoAgregado;
+import GS.model.beans.DadosConsumo;
+import GS.model.beans.Granularidade;
+import GS.model.dao.DadosConsumoDAO;
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classe ArmazemSeriesTemporais mantém em memória, de forma comprimida, as leituras de consumo recentes
+ * (janela de {@code serieTemporal.janelaDias} dias) de cada dispositivo, servindo de camada de leitura à frente do banco.
+ *
+ * O banco continua sendo a fonte da verdade:
+ * <ul>
+ *     <li>a série de um dispositivo é carregada do banco na primeira consulta;</li>
+ *     <li>leituras inseridas depois da carga são acrescentadas à série após o commit ({@link #registrar});</li>
+ *     <li>leituras fora de ordem, alterações e exclusões descartam a série ({@link #invalidar}),
+ *     que é recarregada na consulta seguinte.</li>
+ * </ul>
+ * As datas/horas são guardadas como milissegundos do relógio local (sem fuso), com precisão de milissegundos.
+ */
+public class ArmazemSeriesTemporais {
+
+    // Fim usado na carga da série, para incluir também leituras com data/hora no futuro
+    private static final LocalDateTime FIM_CARGA = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final DadosConsumoDAO dadosConsumoDAO;
+    private final boolean habilitado;
+    private final long janelaMs;
+    private final int tamanhoBloco;
+    private final int tamanhoFetch;
+    private final ConcurrentHashMap<Integer, SerieDispositivo> series = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor que recebe o DAO dos dados de consumo (injetado pelo container como singleton).
+     *
+     * @param dadosConsumoDAO DAO usado para carregar as séries do banco.
+     */
+    @Inject
+    public ArmazemSeriesTemporais(DadosConsumoDAO dadosConsumoDAO) {
+        this.dadosConsumoDAO = dadosConsumoDAO;
+        this.habilitado = Configuracao.get().getBoolean("serieTemporal.habilitado", true);
+        this.janelaMs = TimeUnit.DAYS.toMillis(Configuracao.get().getInt("serieTemporal.janelaDias", 7));
+        this.tamanhoBloco = Configuracao.get().getInt("serieTemporal.tamanhoBloco", 1024);
+        this.tamanhoFetch = Configuracao.get().getInt("dadosConsumo.fluxo.tamanhoFetch", 1000);
+    }
+
+    /**
+     * Indica se consultas a partir da data/hora informada podem ser atendidas pela memória.
+     *
+     * @param de Início do intervalo da consulta.
+     * @return true se o armazém estiver habilitado e o início estiver dentro da janela mantida em memória.
+     */
+    public boolean cobre(LocalDateTime de) {
+        return habilitado && paraInstante(de) >= inicioJanela();
+    }
+
+    /**
+     * Retorna as leituras de um dispositivo em um intervalo de tempo, ordenadas por data/hora.
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @param de            Início do intervalo (inclusivo); deve estar coberto ({@link #cobre}).
+     * @param ate           Fim do intervalo (exclusivo).
+     * @param limite        Quantidade máxima de leituras.
+     * @return Lista de objetos DadosConsumo.
+     * @throws SQLException se a carga da série a partir do banco falhar.
+     */
+    public List<DadosConsumo> selecionar(int idDispositivo, LocalDateTime de, LocalDateTime ate, int limite) throws SQLException {
+        List<DadosConsumo> listaDadosConsumo = new ArrayList<>();
+        obterCarregada(idDispositivo).percorrer(paraInstante(de), paraInstante(ate), (instante, valor, idConsumo) -> {
+            DadosConsumo dadosConsumo = new DadosConsumo();
+            dadosConsumo.setIdConsumo(idConsumo);
+            dadosConsumo.setDataHora(paraDataHora(instante));
+            dadosConsumo.setConsumoEnergia(valor);
+            dadosConsumo.setIdDispositivo(idDispositivo);
+            listaDadosConsumo.add(dadosConsumo);
+            return listaDadosConsumo.size() < limite;
+        });
+        return listaDadosConsumo;
+    }
+
+    /**
+     * Agrega as leituras de um dispositivo por hora ou por dia, percorrendo a série sem criar objetos por leitura.
+     *
+     * @param idDispositivo ID do dispositivo.
+     * @param granularidade Granularidade dos agregados.
+     * @param de            Início do intervalo (inclusivo); deve estar coberto ({@link #cobre}).
+     * @param ate           Fim do intervalo (exclusivo).
+     * @return Lista de objetos ConsumoAgregado ordenada pelo início do período.
+     * @throws SQLException se a carga da série a partir do banco falhar.
+     */
+    public List<ConsumoAgregado> agregar(int idDispositivo, Granularidade granularidade,
+                                         LocalDateTime de, LocalDateTime ate) throws SQLException {
+        Agregador agregador = new Agregador(idDispositivo, granularidade);
+        obterCarregada(idDispositivo).percorrer(paraInstante(de), paraInstante(ate), agregador);
+        return agregador.resultado;
+    }
+
+    /**
+     * Acrescenta uma leitura gravada no banco à série do dispositivo, caso ela esteja em memória.
+     * Deve ser chamado após o commit da transação que gravou a leitura.
+     *
+     * @param dadosConsumo Registro de consumo gravado.
+     */
+    public void registrar(DadosConsumo dadosConsumo) {
+        if (!habilitado || dadosConsumo.getIdDispositivo() <= 0 || dadosConsumo.getDataHora() == null) {
+            return;
+        }
+        SerieDispositivo serie = series.get(dadosConsumo.getIdDispositivo());
+        if (serie == null) {
+            return;
+        }
+
+        synchronized (serie) {
+            // Uma série em carga ainda não existe para quem grava: a leitura já foi commitada e virá na carga
+            if (!serie.isCarregada()) {
+                return;
+            }
+            long instante = paraInstante(dadosConsumo.getDataHora());
+            if (instante < serie.getInicioCobertura()) {
+                return;
+            }
+            if (!serie.adicionar(instante, dadosConsumo.getConsumoEnergia(), dadosConsumo.getIdConsumo())) {
+                // Leitura fora de ordem: a série é recarregada do banco na próxima consulta
+                series.remove(dadosConsumo.getIdDispositivo(), serie);
+            }
+        }
+    }
+
+    /**
+     * Acrescenta um lote de leituras gravadas no banco às séries dos dispositivos em memória.
+     *
+     * @param lote Registros de consumo gravados.
+     */
+    public void registrar(Collection<DadosConsumo> lote) {
+        if (!habilitado || series.isEmpty()) {
+            return;
+        }
+        List<DadosConsumo> ordenado = new ArrayList<>(lote);
+        ordenado.removeIf(dadosConsumo -> dadosConsumo.getDataHora() == null);
+        ordenado.sort(Comparator.comparing(DadosConsumo::getDataHora).thenComparingInt(DadosConsumo::getIdConsumo));
+        for (DadosConsumo dadosConsumo : ordenado) {
+            registrar(dadosConsumo);
+        }
+    }
+
+    /**
+     * Descarta a série de um dispositivo, após a alteração ou exclusão de alguma de suas leituras.
+     *
+     * @param idDispositivo ID do dispositivo.
+     */
+    public void invalidar(int idDispositivo) {
+        series.remove(idDispositivo);
+    }
+
+    /**
+     * Retorna a quantidade de leituras mantidas em memória.
+     *
+     * @return Total de leituras de todas as séries.
+     */
+    public long quantidadeLeituras() {
+        long total = 0;
+        for (SerieDispositivo serie : series.values()) {
+            total += serie.quantidade();
+        }
+        return total;
+    }
+
+    /**
+     * Retorna a memória ocupada pelos blocos comprimidos das séries.
+     *
+     * @return Total em bytes.
+     */
+    public long bytesOcupados() {
+        long total = 0;
+        for (SerieDispositivo serie : series.values()) {
+            total += serie.bytesOcupados();
+        }
+        return total;
+    }
+
+    /**
+     * Converte uma data/hora em milissegundos do relógio local.
+     *
+     * @param dataHora Data/hora.
+     * @return Milissegundos desde 1970-01-01T00:00.
+     */
+    public static long paraInstante(LocalDateTime dataHora) {
+        return dataHora.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Converte milissegundos do relógio local em data/hora.
+     *
+     * @param instante Milissegundos desde 1970-01-01T00:00.
+     * @return Data/hora.
+     */
+    public static LocalDateTime paraDataHora(long instante) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(instante, 1000L),
+                (int) Math.floorMod(instante, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private long inicioJanela() {
+        return paraInstante(LocalDateTime.now()) - janelaMs;
+    }
+
+    /**
+     * Retorna a série do dispositivo, carregando-a do banco caso ainda não esteja em memória.
+     * A série é registrada no mapa antes da consulta ao banco, de modo que toda leitura commitada
+     * ou está no resultado da carga, ou é acrescentada depois por {@link #registrar}.
+     */
+    private SerieDispositivo obterCarregada(int idDispositivo) throws SQLException {
+        SerieDispositivo serie = series.computeIfAbsent(idDispositivo, id -> new SerieDispositivo(tamanhoBloco));
+        synchronized (serie) {
+            long inicio = inicioJanela();
+            if (serie.isCarregada()) {
+                serie.descartarAte(inicio);
+                return serie;
+            }
+            try {
+                dadosConsumoDAO.percorrerPorDispositivo(idDispositivo, paraDataHora(inicio), FIM_CARGA, tamanhoFetch,
+                        dadosConsumo -> serie.adicionar(paraInstante(dadosConsumo.getDataHora()),
+                                dadosConsumo.getConsumoEnergia(), dadosConsumo.getIdConsumo()));
+            } catch (SQLException | RuntimeException e) {
+                series.remove(idDispositivo, serie);
+                throw e;
+            } catch (IOException e) {
+                series.remove(idDispositivo, serie);
+                throw new IllegalStateException(e);
+            }
+            serie.concluirCarga(inicio);
+            return serie;
+        }
+    }
+
+    /**
+     * Visitante que soma as leituras por período, criando um objeto apenas a cada novo período.
+     */
+    private static final class Agregador implements VisitanteLeitura {
+
+        private final int idDispositivo;
+        private final Granularidade granularidade;
+        private final List<ConsumoAgregado> resultado = new ArrayList<>();
+        private ConsumoAgregado atual;
+        private long fimAtual = Long.MIN_VALUE;
+
+        Agregador(int idDispositivo, Granularidade granularidade) {
+            this.idDispositivo = idDispositivo;
+            this.granularidade = granularidade;
+        }
+
+        @Override
+        public boolean visitar(long instante, float valor, int idConsumo) {
+            if (instante >= fimAtual) {
+                LocalDateTime inicio = granularidade.inicioPeriodo(paraDataHora(instante));
+                atual = new ConsumoAgregado();
+                atual.setIdDispositivo(idDispositivo);
+                atual.setGranularidade(granularidade);
+                atual.setInicioPeriodo(inicio);
+                fimAtual = paraInstante(granularidade.fimPeriodo(inicio));
+                resultado.add(atual);
+            }
+            atual.acumular(valor);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package GS.model.serie;
+
+/**
+ * Classe BlocoSerie guarda, de forma comprimida, uma sequência de leituras de um dispositivo em ordem de data/hora.
+ *
+ * Cada leitura é formada por instante (milissegundos), valor ({@code float}) e ID do registro. A primeira leitura do
+ * bloco é gravada por inteiro; as seguintes gravam:
+ * <ul>
+ *     <li>instante e ID como delta-of-delta, em faixas de tamanho variável (1 bit quando o intervalo entre
+ *     leituras se repete);</li>
+ *     <li>valor como XOR com o valor anterior, reaproveitando a janela de bits significativos quando possível
+ *     (1 bit quando o valor se repete).</li>
+ * </ul>
+ * Para medidores com intervalo regular, cada leitura ocupa poucos bytes, contra cerca de 100 bytes de um
+ * objeto DadosConsumo no heap.
+ */
+final class BlocoSerie {
+
+    // Faixas do delta-of-delta: '0' = zero, '10' = 7 bits, '110' = 12 bits, '1110' = 20 bits, '1111' = 64 bits
+    private static final int[] TAMANHOS_FAIXA = {0, 7, 12, 20, 64};
+
+    private final BufferBits bits;
+    private int quantidade;
+    private long primeiroInstante;
+    private long ultimoInstante;
+
+    // Estado do codificador (o decodificador reproduz o mesmo estado ao ler)
+    private long deltaInstanteAnterior;
+    private int idAnterior;
+    private long deltaIdAnterior;
+    private int valorAnterior;
+    private int zerosEsquerdaAnterior = -1;
+    private int zerosDireitaAnterior;
+
+    BlocoSerie(int capacidadeLeituras) {
+        // Estimativa inicial de 32 bits por leitura; o buffer cresce se necessário
+        this.bits = new BufferBits(capacidadeLeituras * 32);
+    }
+
+    /**
+     * Acrescenta uma leitura ao fim do bloco. O instante deve ser maior ou igual ao da última leitura.
+     *
+     * @param instante  Data/hora da leitura em milissegundos.
+     * @param valor     Consumo de energia.
+     * @param idConsumo ID do registro de consumo.
+     */
+    void adicionar(long instante, float valor, int idConsumo) {
+        int bitsValor = Float.floatToRawIntBits(valor);
+        if (quantidade == 0) {
+            bits.gravar(instante, 64);
+            bits.gravar(bitsValor, 32);
+            bits.gravar(idConsumo, 32);
+            primeiroInstante = instante;
+        } else {
+            long deltaInstante = instante - ultimoInstante;
+            gravarDeltaDoDelta(deltaInstante - deltaInstanteAnterior);
+            deltaInstanteAnterior = deltaInstante;
+
+            gravarValor(bitsValor);
+
+            long deltaId = (long) idConsumo - idAnterior;
+            gravarDeltaDoDelta(deltaId - deltaIdAnterior);
+            deltaIdAnterior = deltaId;
+        }
+        ultimoInstante = instante;
+        valorAnterior = bitsValor;
+        idAnterior = idConsumo;
+        quantidade++;
+    }
+
+    /**
+     * Decodifica as leituras com instante no intervalo, entregando-as ao visitante em ordem.
+     *
+     * @param de        Início do intervalo em milissegundos (inclusivo).
+     * @param ate       Fim do intervalo em milissegundos (exclusivo).
+     * @param visitante Visitante que recebe cada leitura.
+     * @return false se o visitante pediu para interromper a leitura.
+     */
+    boolean percorrer(long de, long ate, VisitanteLeitura visitante) {
+        if (quantidade == 0) {
+            return true;
+        }
+
+        long posicao = 0;
+        long instante = bits.ler(posicao, 64);
+        int valor = (int) bits.ler(posicao + 64, 32);
+        int id = (int) bits.ler(posicao + 96, 32);
+        posicao += 128;
+
+        long deltaInstante = 0;
+        long deltaId = 0;
+        int zerosEsquerda = -1;
+        int zerosDireita = 0;
+
+        for (int i = 0; ; i++) {
+            if (instante >= ate) {
+                return true;
+            }
+            if (instante >= de && !visitante.visitar(instante, Float.intBitsToFloat(valor), id)) {
+                return false;
+            }
+            if (i + 1 == quantidade) {
+                return true;
+            }
+
+            // Instante: delta-of-delta
+            int prefixo = lerPrefixo(posicao);
+            posicao += tamanhoPrefixo(prefixo);
+            int tamanho = TAMANHOS_FAIXA[prefixo];
+            if (tamanho > 0) {
+                deltaInstante += decodificarZigZag(bits.ler(posicao, tamanho));
+                posicao += tamanho;
+            }
+            instante += deltaInstante;
+
+            // Valor: XOR com o anterior
+            if (bits.ler(posicao++, 1) != 0) {
+                if (bits.ler(posicao++, 1) != 0) {
+                    zerosEsquerda = (int) bits.ler(posicao, 5);
+                    int significativos = (int) bits.ler(posicao + 5, 5) + 1;
+                    posicao += 10;
+                    zerosDireita = 32 - zerosEsquerda - significativos;
+                }
+                int significativos = 32 - zerosEsquerda - zerosDireita;
+                valor ^= (int) (bits.ler(posicao, significativos) << zerosDireita);
+                posicao += significativos;
+            }
+
+            // ID: delta-of-delta
+            prefixo = lerPrefixo(posicao);
+            posicao += tamanhoPrefixo(prefixo);
+            tamanho = TAMANHOS_FAIXA[prefixo];
+            if (tamanho > 0) {
+                deltaId += decodificarZigZag(bits.ler(posicao, tamanho));
+                posicao += tamanho;
+            }
+            id = (int) (id + deltaId);
+        }
+    }
+
+    /**
+     * Libera a capacidade não utilizada do buffer; chamado quando o bloco deixa de receber leituras.
+     */
+    void fechar() {
+        bits.compactar();
+    }
+
+    int quantidade() {
+        return quantidade;
+    }
+
+    long primeiroInstante() {
+        return primeiroInstante;
+    }
+
+    long ultimoInstante() {
+        return ultimoInstante;
+    }
+
+    long bytesOcupados() {
+        return bits.bytesOcupados();
+    }
+
+    private void gravarDeltaDoDelta(long deltaDoDelta) {
+        if (deltaDoDelta == 0) {
+            bits.gravarBit(false);
+            return;
+        }
+        long zigZag = (deltaDoDelta << 1) ^ (deltaDoDelta >> 63);
+        if (zigZag >>> 7 == 0) {
+            bits.gravar(0b10, 2);
+            bits.gravar(zigZag, 7);
+        } else if (zigZag >>> 12 == 0) {
+            bits.gravar(0b110, 3);
+            bits.gravar(zigZag, 12);
+        } else if (zigZag >>> 20 == 0) {
+            bits.gravar(0b1110, 4);
+            bits.gravar(zigZag, 20);
+        } else {
+            bits.gravar(0b1111, 4);
+            bits.gravar(zigZag, 64);
+        }
+    }
+
+    private void gravarValor(int bitsValor) {
+        int xor = bitsValor ^ valorAnterior;
+        if (xor == 0) {
+            bits.gravarBit(false);
+            return;
+        }
+        bits.gravarBit(true);
+
+        int zerosEsquerda = Integer.numberOfLeadingZeros(xor);
+        int zerosDireita = Integer.numberOfTrailingZeros(xor);
+        if (zerosEsquerdaAnterior >= 0 && zerosEsquerda >= zerosEsquerdaAnterior && zerosDireita >= zerosDireitaAnterior) {
+            // Os bits significativos cabem na janela da leitura anterior
+            bits.gravarBit(false);
+            bits.gravar(xor >>> zerosDireitaAnterior, 32 - zerosEsquerdaAnterior - zerosDireitaAnterior);
+        } else {
+            int significativos = 32 - zerosEsquerda - zerosDireita;
+            bits.gravarBit(true);
+            bits.gravar(zerosEsquerda, 5);
+            bits.gravar(significativos - 1, 5);
+            bits.gravar(xor >>> zerosDireita, significativos);
+            zerosEsquerdaAnterior = zerosEsquerda;
+            zerosDireitaAnterior = zerosDireita;
+        }
+    }
+
+    /**
+     * Lê o prefixo de faixa (até quatro bits '1' seguidos de '0') e retorna o índice da faixa.
+     */
+    private int lerPrefixo(long posicao) {
+        int faixa = 0;
+        while (faixa < 4 && bits.ler(posicao + faixa, 1) != 0) {
+            faixa++;
+        }
+        return faixa;
+    }
+
+    private static int tamanhoPrefixo(int faixa) {
+        return faixa == 4 ? 4 : faixa + 1;
+    }
+
+    private static long decodificarZigZag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+}
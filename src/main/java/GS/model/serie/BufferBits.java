@@ -0,0 +1,97 @@
+package GS.model.serie;
+
+import java.util.Arrays;
+
+/**
+ * Classe BufferBits guarda uma sequência de bits em um vetor de {@code long}, permitindo gravar e ler
+ * campos de tamanho arbitrário (1 a 64 bits). É a base da compressão dos blocos de série temporal.
+ */
+final class BufferBits {
+
+    private long[] palavras;
+    private long tamanho;
+
+    BufferBits(int capacidadeInicialBits) {
+        this.palavras = new long[Math.max(1, (capacidadeInicialBits + 63) >>> 6)];
+    }
+
+    /**
+     * Grava os {@code quantidade} bits menos significativos do valor.
+     *
+     * @param valor      Valor a ser gravado.
+     * @param quantidade Quantidade de bits (1 a 64).
+     */
+    void gravar(long valor, int quantidade) {
+        if (quantidade < 64) {
+            valor &= (1L << quantidade) - 1;
+        }
+        int indice = (int) (tamanho >>> 6);
+        int deslocamento = (int) (tamanho & 63);
+        garantirCapacidade(indice + 2);
+
+        int livres = 64 - deslocamento;
+        if (quantidade <= livres) {
+            palavras[indice] |= valor << (livres - quantidade);
+        } else {
+            int restantes = quantidade - livres;
+            palavras[indice] |= valor >>> restantes;
+            palavras[indice + 1] |= valor << (64 - restantes);
+        }
+        tamanho += quantidade;
+    }
+
+    void gravarBit(boolean bit) {
+        gravar(bit ? 1L : 0L, 1);
+    }
+
+    /**
+     * Lê {@code quantidade} bits a partir da posição informada.
+     *
+     * @param posicao    Posição do primeiro bit.
+     * @param quantidade Quantidade de bits (1 a 64).
+     * @return Valor lido, alinhado à direita.
+     */
+    long ler(long posicao, int quantidade) {
+        int indice = (int) (posicao >>> 6);
+        int deslocamento = (int) (posicao & 63);
+        int livres = 64 - deslocamento;
+
+        long valor;
+        if (quantidade <= livres) {
+            valor = palavras[indice] >>> (livres - quantidade);
+        } else {
+            int restantes = quantidade - livres;
+            valor = (palavras[indice] << restantes) | (palavras[indice + 1] >>> (64 - restantes));
+        }
+        return quantidade == 64 ? valor : valor & ((1L << quantidade) - 1);
+    }
+
+    long tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Retorna a memória ocupada pelos bits, em bytes.
+     *
+     * @return Tamanho do vetor de palavras em bytes.
+     */
+    long bytesOcupados() {
+        return (long) palavras.length * Long.BYTES;
+    }
+
+    /**
+     * Libera a capacidade não utilizada, usado quando o bloco é fechado.
+     */
+    void compactar() {
+        int necessarias = (int) ((tamanho + 63) >>> 6) + 1;
+        if (necessarias < palavras.length) {
+            palavras = Arrays.copyOf(palavras, necessarias);
+        }
+    }
+
+    private void garantirCapacidade(int palavrasNecessarias) {
+        if (palavrasNecessarias > palavras.length) {
+            palavras = Arrays.copyOf(palavras, Math.max(palavrasNecessarias, palavras.length * 2));
+        }
+    }
+}
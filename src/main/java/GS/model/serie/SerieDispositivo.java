@@ -0,0 +1,128 @@
+package GS.model.serie;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Classe SerieDispositivo guarda as leituras recentes de um dispositivo em blocos comprimidos ({@link BlocoSerie}),
+ * em ordem de data/hora e ID. Apenas o último bloco recebe leituras; os anteriores são fechados e descartados
+ * quando saem da janela mantida em memória.
+ *
+ * Os métodos são sincronizados na própria série: a carga inicial, as novas leituras e as consultas de um mesmo
+ * dispositivo não se misturam.
+ */
+final class SerieDispositivo {
+
+    private final int tamanhoBloco;
+    private final List<BlocoSerie> blocos = new ArrayList<>();
+    private BlocoSerie aberto;
+
+    private boolean carregada;
+    private long inicioCobertura;
+    private long ultimoInstante = Long.MIN_VALUE;
+    private int ultimoId;
+    private long quantidade;
+
+    SerieDispositivo(int tamanhoBloco) {
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    /**
+     * Acrescenta uma leitura ao fim da série.
+     *
+     * @param instante  Data/hora da leitura em milissegundos.
+     * @param valor     Consumo de energia.
+     * @param idConsumo ID do registro de consumo.
+     * @return false se a leitura não for posterior à última leitura da série (fora de ordem ou repetida).
+     */
+    synchronized boolean adicionar(long instante, float valor, int idConsumo) {
+        if (instante < ultimoInstante || (instante == ultimoInstante && idConsumo <= ultimoId)) {
+            return false;
+        }
+        if (aberto == null || aberto.quantidade() >= tamanhoBloco) {
+            if (aberto != null) {
+                aberto.fechar();
+            }
+            aberto = new BlocoSerie(tamanhoBloco);
+            blocos.add(aberto);
+        }
+        aberto.adicionar(instante, valor, idConsumo);
+        ultimoInstante = instante;
+        ultimoId = idConsumo;
+        quantidade++;
+        return true;
+    }
+
+    /**
+     * Entrega ao visitante, em ordem, as leituras com instante no intervalo.
+     *
+     * @param de        Início do intervalo em milissegundos (inclusivo).
+     * @param ate       Fim do intervalo em milissegundos (exclusivo).
+     * @param visitante Visitante que recebe cada leitura.
+     */
+    synchronized void percorrer(long de, long ate, VisitanteLeitura visitante) {
+        for (BlocoSerie bloco : blocos) {
+            if (bloco.ultimoInstante() < de) {
+                continue;
+            }
+            if (bloco.primeiroInstante() >= ate || !bloco.percorrer(de, ate, visitante)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Descarta os blocos cujas leituras são todas anteriores ao limite.
+     *
+     * @param limite Início da janela mantida em memória, em milissegundos.
+     */
+    synchronized void descartarAte(long limite) {
+        Iterator<BlocoSerie> iterator = blocos.iterator();
+        while (iterator.hasNext()) {
+            BlocoSerie bloco = iterator.next();
+            if (bloco.ultimoInstante() >= limite) {
+                break;
+            }
+            quantidade -= bloco.quantidade();
+            iterator.remove();
+            if (bloco == aberto) {
+                aberto = null;
+            }
+        }
+        inicioCobertura = Math.max(inicioCobertura, limite);
+    }
+
+    /**
+     * Indica se a carga inicial da série a partir do banco já foi concluída.
+     */
+    synchronized boolean isCarregada() {
+        return carregada;
+    }
+
+    /**
+     * Marca a carga inicial como concluída.
+     *
+     * @param inicioCobertura Instante a partir do qual a série contém todas as leituras do dispositivo.
+     */
+    synchronized void concluirCarga(long inicioCobertura) {
+        this.inicioCobertura = inicioCobertura;
+        this.carregada = true;
+    }
+
+    synchronized long getInicioCobertura() {
+        return inicioCobertura;
+    }
+
+    synchronized long quantidade() {
+        return quantidade;
+    }
+
+    synchronized long bytesOcupados() {
+        long total = 0;
+        for (BlocoSerie bloco : blocos) {
+            total += bloco.bytesOcupados();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,19 @@
+package GS.model.serie;
+
+/**
+ * Interface VisitanteLeitura recebe as leituras decodificadas de uma série temporal, com tipos primitivos
+ * (sem criar objetos por leitura).
+ */
+@FunctionalInterface
+public interface VisitanteLeitura {
+
+    /**
+     * Trata uma leitura da série.
+     *
+     * @param instante  Data/hora da leitura em milissegundos (ver {@link ArmazemSeriesTemporais#paraInstante}).
+     * @param valor     Consumo de energia.
+     * @param idConsumo ID do registro de consumo.
+     * @return true para continuar a leitura, false para interrompê-la.
+     */
+    boolean visitar(long instante, float valor, int idConsumo);
+}
@@ -0,0 +1,340 @@
+package GS.model.sessao;
+
+import GS.config.Configuracao;
+import GS.model.beans.EstatisticasSessoes;
+import GS.model.beans.Sessao;
+import GS.model.dao.SessaoDAO;
+import GS.model.ingestao.ArquivoFalhas;
+import GS.model.ingestao.DestinoFalhas;
+import GS.model.ingestao.EscritaAdiada;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Classe RegistroSessoes mantém em memória as sessões ativas, indexadas pelo ID, de modo que a verificação de uma
+ * sessão não precise ir ao banco.
+ *
+ * <ul>
+ *     <li>cada acesso renova o prazo de ociosidade ({@code sessao.ociosidadeMinutos}); a sessão também termina ao
+ *     atingir a duração máxima ({@code sessao.duracaoMaximaMinutos});</li>
+ *     <li>os prazos são controlados por uma {@link RodaTemporizacao}: o acesso apenas atualiza o horário do último uso,
+ *     e a sessão é reagendada quando a roda a entrega antes do prazo renovado;</li>
+ *     <li>os inícios e fins de sessão são gravados em TB_SESSAO em lotes, por uma {@link EscritaAdiada}; com a fila
+ *     cheia, o evento é gravado na própria thread.</li>
+ * </ul>
+ * Uma sessão finalizada continua no registro até que o seu fim seja gravado, de modo que as consultas nunca leiam
+ * do banco uma sessão ainda aberta que já foi finalizada em memória. Com o banco indisponível, o lote é regravado
+ * ({@code sessao.gravacao.tentativas}); os eventos que ainda assim não forem gravados vão para o arquivo de falhas
+ * e as sessões finalizadas saem do registro.
+ */
+public class RegistroSessoes {
+
+    private static final Logger LOGGER = Logger.getLogger(RegistroSessoes.class.getName());
+
+    private final SessaoDAO sessaoDAO;
+    private final DestinoFalhas<Sessao> destinoFalhas;
+    private final long ociosidadeMs;
+    private final long duracaoMaximaMs;
+    private final ConcurrentHashMap<Integer, SessaoAtiva> sessoes = new ConcurrentHashMap<>();
+    private final RodaTemporizacao<Integer> roda;
+    private final EscritaAdiada<EventoSessao> escrita;
+    private final ScheduledExecutorService varredura;
+
+    private final AtomicInteger ativas = new AtomicInteger();
+    private final AtomicLong iniciadas = new AtomicLong();
+    private final AtomicLong finalizadas = new AtomicLong();
+    private final AtomicLong expiradas = new AtomicLong();
+
+    /**
+     * Construtor que recebe o DAO da sessão (injetado pelo container como singleton) e inicia a varredura dos prazos.
+     * As sessões não gravadas vão para {@code sessoes.csv} no diretório de falhas ({@link ArquivoFalhas}).
+     *
+     * @param sessaoDAO DAO usado na gravação dos eventos de sessão.
+     */
+    @Inject
+    public RegistroSessoes(SessaoDAO sessaoDAO) {
+        this(sessaoDAO, new ArquivoFalhas<>("sessoes.csv", "id_sessao;inicio_sessao;fim_sessao",
+                sessao -> sessao.getIdSessao() + ";" + sessao.getInicioSessao() + ";"
+                        + (sessao.getFimSessao() == null ? "" : sessao.getFimSessao())));
+    }
+
+    /**
+     * Construtor que define também o destino das sessões cujos eventos não puderam ser gravados.
+     *
+     * @param sessaoDAO     DAO usado na gravação dos eventos de sessão.
+     * @param destinoFalhas Destino das sessões não gravadas; sem fim, apenas o início foi perdido.
+     */
+    public RegistroSessoes(SessaoDAO sessaoDAO, DestinoFalhas<Sessao> destinoFalhas) {
+        this.sessaoDAO = sessaoDAO;
+        this.destinoFalhas = destinoFalhas;
+        this.ociosidadeMs = TimeUnit.MINUTES.toMillis(Configuracao.get().getLong("sessao.ociosidadeMinutos", 30));
+        this.duracaoMaximaMs = TimeUnit.MINUTES.toMillis(Configuracao.get().getLong("sessao.duracaoMaximaMinutos", 720));
+
+        long resolucaoMs = Configuracao.get().getLong("sessao.roda.resolucaoMs", 1000);
+        this.roda = new RodaTemporizacao<>(resolucaoMs, Configuracao.get().getInt("sessao.roda.posicoes", 512),
+                System.currentTimeMillis());
+        this.escrita = new EscritaAdiada<>("gravacao-sessoes",
+                Configuracao.get().getInt("sessao.gravacao.capacidade", 16384),
+                Configuracao.get().getInt("sessao.gravacao.tamanhoLote", 200),
+                Configuracao.get().getLong("sessao.gravacao.intervaloMs", 50),
+                Configuracao.get().getInt("sessao.gravacao.tentativas", 10),
+                Configuracao.get().getLong("sessao.gravacao.retentativaMs", 100),
+                Configuracao.get().getLong("sessao.gravacao.retentativaMaximaMs", 30000),
+                this::gravar, this::descartar);
+
+        this.varredura = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "expiracao-sessoes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        varredura.scheduleWithFixedDelay(this::varrer, resolucaoMs, resolucaoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra uma sessão iniciada e agenda a sua gravação.
+     *
+     * @param sessao Sessão com ID e início definidos.
+     * @throws SQLException se a fila estiver cheia e a gravação direta falhar.
+     */
+    public void iniciar(Sessao sessao) throws SQLException {
+        SessaoAtiva ativa = new SessaoAtiva(sessao, System.currentTimeMillis());
+        if (sessoes.putIfAbsent(sessao.getIdSessao(), ativa) != null) {
+            throw new IllegalArgumentException("Já existe uma sessão com o ID " + sessao.getIdSessao() + ".");
+        }
+        ativas.incrementAndGet();
+        iniciadas.incrementAndGet();
+        roda.agendar(sessao.getIdSessao(), prazo(ativa));
+        publicar(new EventoSessao(ativa, true));
+    }
+
+    /**
+     * Busca uma sessão no registro, renovando o prazo de ociosidade caso esteja ativa.
+     *
+     * @param idSessao ID da sessão.
+     * @return Cópia da sessão, ou null se ela não estiver no registro (sessões antigas ficam apenas no banco).
+     */
+    public Sessao buscar(int idSessao) {
+        SessaoAtiva ativa = sessoes.get(idSessao);
+        if (ativa == null) {
+            return null;
+        }
+        long agora = System.currentTimeMillis();
+        if (ativa.isAtiva()) {
+            if (agora >= prazo(ativa)) {
+                // A varredura ainda não passou por esta sessão: expira no acesso
+                expirar(ativa);
+            } else {
+                ativa.ultimoAcessoMs = agora;
+            }
+        }
+        return ativa.copia();
+    }
+
+    /**
+     * Finaliza uma sessão do registro e agenda a gravação do fim.
+     *
+     * @param idSessao ID da sessão.
+     * @return false se a sessão não estiver no registro.
+     * @throws SQLException se a fila estiver cheia e a gravação direta falhar.
+     */
+    public boolean finalizar(int idSessao) throws SQLException {
+        SessaoAtiva ativa = sessoes.get(idSessao);
+        if (ativa == null) {
+            return false;
+        }
+        if (ativa.encerrar(LocalDateTime.now())) {
+            ativas.decrementAndGet();
+            finalizadas.incrementAndGet();
+            publicar(new EventoSessao(ativa, false));
+        }
+        return true;
+    }
+
+    /**
+     * Retorna os contadores do registro e da fila de gravação.
+     *
+     * @return Estatísticas das sessões.
+     */
+    public EstatisticasSessoes getEstatisticas() {
+        EstatisticasSessoes estatisticas = new EstatisticasSessoes();
+        estatisticas.setAtivas(ativas.get());
+        estatisticas.setIniciadas(iniciadas.get());
+        estatisticas.setFinalizadas(finalizadas.get());
+        estatisticas.setExpiradas(expiradas.get());
+        estatisticas.setGravacao(escrita.getMetricas());
+        return estatisticas;
+    }
+
+    /**
+     * Interrompe a varredura e aguarda a gravação dos eventos pendentes quando a aplicação é finalizada.
+     */
+    @PreDestroy
+    public void encerrar() {
+        varredura.shutdownNow();
+        escrita.encerrar(Configuracao.get().getLong("sessao.gravacao.esperaEncerramentoMs", 10000));
+    }
+
+    /**
+     * Avança a roda e encerra em bloco as sessões vencidas; as que foram usadas desde o agendamento são reagendadas.
+     */
+    private void varrer() {
+        try {
+            long agora = System.currentTimeMillis();
+            roda.avancar(agora, idSessao -> {
+                SessaoAtiva ativa = sessoes.get(idSessao);
+                if (ativa == null || !ativa.isAtiva()) {
+                    return;
+                }
+                long prazo = prazo(ativa);
+                if (agora >= prazo) {
+                    expirar(ativa);
+                } else {
+                    roda.agendar(idSessao, prazo);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Uma exceção cancelaria as execuções seguintes da varredura
+            LOGGER.log(Level.SEVERE, "Falha na varredura das sessões expiradas.", e);
+        }
+    }
+
+    private void expirar(SessaoAtiva ativa) {
+        if (!ativa.encerrar(LocalDateTime.now())) {
+            return;
+        }
+        ativas.decrementAndGet();
+        expiradas.incrementAndGet();
+        try {
+            publicar(new EventoSessao(ativa, false));
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Falha ao gravar o fim da sessão expirada " + ativa.sessao.getIdSessao() + ".", e);
+        }
+    }
+
+    private long prazo(SessaoAtiva ativa) {
+        return Math.min(ativa.ultimoAcessoMs + ociosidadeMs, ativa.inicioMs + duracaoMaximaMs);
+    }
+
+    /**
+     * Enfileira o evento; com a fila cheia, grava-o na thread atual (contrapressão).
+     */
+    private void publicar(EventoSessao evento) throws SQLException {
+        if (!escrita.publicar(evento)) {
+            List<EventoSessao> lote = Collections.singletonList(evento);
+            try {
+                gravar(lote);
+            } catch (SQLException e) {
+                descartar(lote, e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Grava um lote de eventos. O início é gravado já com o fim, caso a sessão tenha sido finalizada antes da
+     * gravação; após gravar o fim, a sessão sai do registro.
+     */
+    private void gravar(List<EventoSessao> lote) throws SQLException {
+        List<Sessao> inicios = new ArrayList<>();
+        List<Sessao> fins = new ArrayList<>();
+        for (EventoSessao evento : lote) {
+            (evento.inicio ? inicios : fins).add(evento.sessao.copia());
+        }
+        sessaoDAO.gravarLote(inicios, fins);
+
+        for (EventoSessao evento : lote) {
+            if (!evento.inicio) {
+                sessoes.remove(evento.sessao.sessao.getIdSessao(), evento.sessao);
+            }
+        }
+    }
+
+    /**
+     * Recebe os eventos que não puderam ser gravados: as sessões vão para o destino de falhas e as finalizadas saem
+     * do registro, que de outro modo as manteria para sempre.
+     */
+    private void descartar(List<EventoSessao> lote, Exception causa) {
+        List<Sessao> naoGravadas = new ArrayList<>(lote.size());
+        for (EventoSessao evento : lote) {
+            naoGravadas.add(evento.sessao.copia());
+        }
+        destinoFalhas.receber(naoGravadas, causa);
+        for (EventoSessao evento : lote) {
+            if (!evento.inicio) {
+                sessoes.remove(evento.sessao.sessao.getIdSessao(), evento.sessao);
+            }
+        }
+    }
+
+    /**
+     * Sessão mantida no registro. O início e o usuário não mudam; o último acesso e o fim são atualizados
+     * por threads diferentes.
+     */
+    private static final class SessaoAtiva {
+
+        private final Sessao sessao;
+        private final long inicioMs;
+        private volatile long ultimoAcessoMs;
+        private LocalDateTime fim;
+
+        SessaoAtiva(Sessao sessao, long agoraMs) {
+            this.sessao = sessao;
+            this.inicioMs = agoraMs;
+            this.ultimoAcessoMs = agoraMs;
+        }
+
+        synchronized boolean isAtiva() {
+            return fim == null;
+        }
+
+        /**
+         * @return false se a sessão já estava finalizada.
+         */
+        synchronized boolean encerrar(LocalDateTime instante) {
+            if (fim != null) {
+                return false;
+            }
+            fim = instante;
+            return true;
+        }
+
+        synchronized Sessao copia() {
+            Sessao copia = new Sessao();
+            copia.setIdSessao(sessao.getIdSessao());
+            copia.setInicioSessao(sessao.getInicioSessao());
+            copia.setFimSessao(fim);
+            copia.setUsuario(sessao.getUsuario());
+            return copia;
+        }
+    }
+
+    private static final class EventoSessao {
+
+        private final SessaoAtiva sessao;
+        private final boolean inicio;
+
+        EventoSessao(SessaoAtiva sessao, boolean inicio) {
+            this.sessao = sessao;
+            this.inicio = inicio;
+        }
+
+        @Override
+        public String toString() {
+            return (inicio ? "início" : "fim") + " da sessão " + sessao.sessao.getIdSessao();
+        }
+    }
+}
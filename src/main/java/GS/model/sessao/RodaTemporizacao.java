@@ -0,0 +1,113 @@
+package GS.model.sessao;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Classe RodaTemporizacao implementa uma roda de temporização com hash (hashed timing wheel): os prazos são
+ * distribuídos em {@code quantidadePosicoes} posições de {@code resolucaoMs} milissegundos, e cada avanço da roda
+ * visita apenas as posições cujo tempo já passou, com custo proporcional aos prazos vencidos e não ao total agendado.
+ *
+ * Prazos além de uma volta completa ficam na posição correspondente e são ignorados até a volta certa.
+ * Qualquer thread pode agendar; apenas a thread que chama {@link #avancar} mexe nas posições, por isso os
+ * agendamentos passam por uma fila de entrada e entram na roda no avanço seguinte.
+ *
+ * @param <K> Tipo das chaves agendadas.
+ */
+public final class RodaTemporizacao<K> {
+
+    private final long resolucaoMs;
+    private final int mascara;
+    private final ArrayDeque<Entrada<K>>[] posicoes;
+    private final ConcurrentLinkedQueue<Entrada<K>> entrada = new ConcurrentLinkedQueue<>();
+
+    // Último tick já visitado (acessado apenas pela thread que avança a roda)
+    private long tickAtual;
+
+    /**
+     * Cria a roda.
+     *
+     * @param resolucaoMs        Duração de cada posição em milissegundos (precisão dos prazos).
+     * @param quantidadePosicoes Quantidade de posições (arredondada para a próxima potência de 2).
+     * @param agoraMs            Instante inicial em milissegundos.
+     */
+    @SuppressWarnings("unchecked")
+    public RodaTemporizacao(long resolucaoMs, int quantidadePosicoes, long agoraMs) {
+        if (resolucaoMs <= 0 || quantidadePosicoes <= 0) {
+            throw new IllegalArgumentException("A resolução e a quantidade de posições devem ser positivas.");
+        }
+        int tamanho = Integer.highestOneBit(Math.max(1, quantidadePosicoes - 1)) << 1;
+        this.resolucaoMs = resolucaoMs;
+        this.mascara = tamanho - 1;
+        this.posicoes = new ArrayDeque[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            posicoes[i] = new ArrayDeque<>();
+        }
+        this.tickAtual = agoraMs / resolucaoMs;
+    }
+
+    /**
+     * Agenda uma chave para ser entregue quando o prazo vencer.
+     *
+     * @param chave   Chave agendada.
+     * @param prazoMs Prazo em milissegundos.
+     */
+    public void agendar(K chave, long prazoMs) {
+        // Arredonda para cima: a chave só é entregue depois do prazo, nunca antes
+        entrada.offer(new Entrada<>(chave, (prazoMs + resolucaoMs - 1) / resolucaoMs));
+    }
+
+    /**
+     * Avança a roda até o instante informado, entregando as chaves cujo prazo venceu.
+     * Deve ser chamado sempre pela mesma thread.
+     *
+     * @param agoraMs   Instante atual em milissegundos.
+     * @param vencidas  Recebe cada chave vencida.
+     */
+    public void avancar(long agoraMs, Consumer<K> vencidas) {
+        Entrada<K> nova;
+        while ((nova = entrada.poll()) != null) {
+            // Prazos já vencidos vão para o próximo tick a visitar
+            nova.tick = Math.max(nova.tick, tickAtual + 1);
+            posicoes[(int) (nova.tick & mascara)].add(nova);
+        }
+
+        long alvo = agoraMs / resolucaoMs;
+        if (alvo - tickAtual > mascara) {
+            // Atraso maior que uma volta (ex.: pausa longa): cada posição é visitada uma única vez
+            for (ArrayDeque<Entrada<K>> posicao : posicoes) {
+                entregarVencidas(posicao, alvo, vencidas);
+            }
+            tickAtual = alvo;
+            return;
+        }
+        while (tickAtual < alvo) {
+            tickAtual++;
+            entregarVencidas(posicoes[(int) (tickAtual & mascara)], tickAtual, vencidas);
+        }
+    }
+
+    private void entregarVencidas(ArrayDeque<Entrada<K>> posicao, long tick, Consumer<K> vencidas) {
+        Iterator<Entrada<K>> iterator = posicao.iterator();
+        while (iterator.hasNext()) {
+            Entrada<K> agendada = iterator.next();
+            if (agendada.tick <= tick) {
+                iterator.remove();
+                vencidas.accept(agendada.chave);
+            }
+        }
+    }
+
+    private static final class Entrada<K> {
+
+        private final K chave;
+        private long tick;
+
+        Entrada(K chave, long tick) {
+            this.chave = chave;
+            this.tick = tick;
+        }
+    }
+}
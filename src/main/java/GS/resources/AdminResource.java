@@ -0,0 +1,177 @@
+package GS.resources;
+
+import GS.conexao.ConsultasLentas;
+import GS.model.beans.ConsultaLenta;
+import GS.model.beans.EstatisticasCache;
+import GS.model.beans.EstatisticasExecutor;
+import GS.model.beans.EstatisticasSessoes;
+import GS.model.beans.MetricasIngestao;
+import GS.model.beans.StatusReconstrucao;
+import GS.model.bo.DadosConsumoBO;
+import GS.model.bo.ExecutorBanco;
+import GS.model.bo.ReconstrucaoAgregadosBO;
+import GS.model.bo.SessaoBO;
+import GS.model.cache.RegistroCaches;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Classe AdminResource para fornecer APIs RESTful de administração da aplicação.
+ */
+@Path("/admin")
+public class AdminResource {
+
+    private final ReconstrucaoAgregadosBO reconstrucaoAgregadosBO;
+    private final DadosConsumoBO dadosConsumoBO;
+    private final RegistroCaches registroCaches;
+    private final SessaoBO sessaoBO;
+    private final ExecutorBanco executorBanco;
+
+    /**
+     * Construtor que recebe os componentes administrados (singletons injetados pelo container).
+     *
+     * @param reconstrucaoAgregadosBO BO de reconstrução dos agregados de consumo.
+     * @param dadosConsumoBO          BO de dados de consumo.
+     * @param registroCaches          Registro dos caches de leitura.
+     * @param sessaoBO                BO de sessões.
+     * @param executorBanco           Executor das tarefas de banco das requisições assíncronas.
+     */
+    @Inject
+    public AdminResource(ReconstrucaoAgregadosBO reconstrucaoAgregadosBO, DadosConsumoBO dadosConsumoBO,
+                         RegistroCaches registroCaches, SessaoBO sessaoBO, ExecutorBanco executorBanco) {
+        this.reconstrucaoAgregadosBO = reconstrucaoAgregadosBO;
+        this.dadosConsumoBO = dadosConsumoBO;
+        this.registroCaches = registroCaches;
+        this.sessaoBO = sessaoBO;
+        this.executorBanco = executorBanco;
+    }
+
+    /**
+     * Inicia, em segundo plano, a reconstrução dos agregados de consumo por hora e por dia a partir do histórico.
+     *
+     * @param from Início do intervalo no formato ISO-8601 (ex.: 2024-06-01T00:00:00).
+     * @param to   Fim do intervalo no formato ISO-8601.
+     * @return Resposta 202 com o status da reconstrução, ou 409 se já houver uma em andamento.
+     * @throws SQLException
+     */
+    @POST
+    @Path("/agregados/reconstrucao")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response iniciarReconstrucao(@QueryParam("from") String from, @QueryParam("to") String to) throws SQLException {
+        try {
+            StatusReconstrucao status = reconstrucaoAgregadosBO.iniciarReconstrucaoBO(Parametros.lerDataHora(from),
+                    Parametros.lerDataHora(to));
+            return Response.accepted(status).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT).entity(reconstrucaoAgregadosBO.getStatusBO()).build();
+        }
+    }
+
+    /**
+     * Retorna o andamento da reconstrução dos agregados de consumo.
+     *
+     * @return Status da reconstrução em formato JSON.
+     */
+    @GET
+    @Path("/agregados/reconstrucao")
+    @Produces(MediaType.APPLICATION_JSON)
+    public StatusReconstrucao statusReconstrucao() {
+        return reconstrucaoAgregadosBO.getStatusBO();
+    }
+
+    /**
+     * Retorna as métricas da gravação adiada dos dados de consumo: profundidade da fila, registros publicados,
+     * recusados (503), gravados e com falha, e latência das gravações em lote.
+     *
+     * @return Métricas da ingestão em formato JSON.
+     */
+    @GET
+    @Path("/ingestao")
+    @Produces(MediaType.APPLICATION_JSON)
+    public MetricasIngestao metricasIngestao() {
+        return dadosConsumoBO.getMetricasIngestaoBO();
+    }
+
+    /**
+     * Retorna as estatísticas dos caches de leitura (tamanho, acertos, falhas e remoções por limite de tamanho).
+     *
+     * @return Lista de estatísticas em formato JSON, ordenada pelo nome do cache.
+     */
+    @GET
+    @Path("/caches")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<EstatisticasCache> estatisticasCaches() {
+        return registroCaches.getEstatisticas();
+    }
+
+    /**
+     * Esvazia um cache de leitura.
+     *
+     * @param nome Nome do cache.
+     * @return Resposta 204, ou 404 se o cache não existir.
+     */
+    @DELETE
+    @Path("/caches/{nome}")
+    public Response esvaziarCache(@PathParam("nome") String nome) {
+        if (!registroCaches.esvaziar(nome)) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.noContent().build();
+    }
+
+    /**
+     * Retorna o estado do registro de sessões: sessões ativas, iniciadas, finalizadas e expiradas por ociosidade
+     * ou duração máxima, e a fila de gravação dos eventos em TB_SESSAO.
+     *
+     * @return Estatísticas das sessões em formato JSON.
+     */
+    @GET
+    @Path("/sessoes")
+    @Produces(MediaType.APPLICATION_JSON)
+    public EstatisticasSessoes estatisticasSessoes() {
+        return sessaoBO.getEstatisticasSessoesBO();
+    }
+
+    /**
+     * Retorna o estado do executor das requisições assíncronas: threads ocupadas, fila e tarefas recusadas (503)
+     * ou descartadas por terem excedido o prazo antes de começar.
+     *
+     * @return Estatísticas do executor em formato JSON.
+     */
+    @GET
+    @Path("/executor")
+    @Produces(MediaType.APPLICATION_JSON)
+    public EstatisticasExecutor estatisticasExecutor() {
+        return executorBanco.getEstatisticas();
+    }
+
+    /**
+     * Retorna os comandos SQL mais lentos da janela ({@code consultasLentas.*}), do mais lento ao mais rápido, com a
+     * execução mais lenta de cada um (tipos dos parâmetros, DAO, BO e rota), as ocorrências e o plano de execução.
+     *
+     * @return Lista de consultas lentas em formato JSON.
+     */
+    @GET
+    @Path("/consultas/lentas")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<ConsultaLenta> consultasLentas() {
+        return ConsultasLentas.get().getMaisLentas();
+    }
+
+    /**
+     * Esvazia o ranking de consultas lentas e os planos capturados (ex.: após criar um índice).
+     *
+     * @return Resposta 204.
+     */
+    @DELETE
+    @Path("/consultas/lentas")
+    public Response limparConsultasLentas() {
+        ConsultasLentas.get().limpar();
+        return Response.noContent().build();
+    }
+}
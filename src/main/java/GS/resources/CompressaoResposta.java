@@ -0,0 +1,277 @@
+package GS.resources;
+
+import GS.config.Configuracao;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Classe CompressaoResposta compacta o corpo das respostas com gzip ou deflate, conforme o Accept-Encoding
+ * da requisição ({@code servidor.compressao.*}).
+ *
+ * O corpo é acumulado até {@code tamanhoMinimoBytes}: respostas menores são enviadas sem compressão (o custo de
+ * compactar não compensa); ao ultrapassar o limite, os cabeçalhos recebem Content-Encoding e o restante do corpo
+ * segue compactado, inclusive nas listagens em fluxo. A ETag da resposta compactada recebe o sufixo da codificação,
+ * já que os bytes diferem da representação sem compressão. Tipos já compactados ({@code tiposIgnorados}, como o XLSX)
+ * são enviados como estão.
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class CompressaoResposta implements ContainerResponseFilter, WriterInterceptor {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private static final String PROPRIEDADE_CODIFICACAO = CompressaoResposta.class.getName() + ".codificacao";
+
+    private final boolean habilitada;
+    private final int tamanhoMinimo;
+    private final int nivel;
+    private final Set<String> tiposIgnorados = new HashSet<>();
+
+    public CompressaoResposta() {
+        this.habilitada = Configuracao.get().getBoolean("servidor.compressao.habilitada", true);
+        this.tamanhoMinimo = Configuracao.get().getInt("servidor.compressao.tamanhoMinimoBytes", 1024);
+        this.nivel = Configuracao.get().getInt("servidor.compressao.nivel", Deflater.DEFAULT_COMPRESSION);
+        for (String tipo : Configuracao.get().getString("servidor.compressao.tiposIgnorados", "").split(",")) {
+            if (!tipo.trim().isEmpty()) {
+                tiposIgnorados.add(tipo.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requisicao, ContainerResponseContext resposta) {
+        if (!habilitada || (!resposta.hasEntity() && resposta.getStatus() != 304)) {
+            return;
+        }
+        resposta.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!resposta.hasEntity() || resposta.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)
+                || "HEAD".equals(requisicao.getMethod()) || ignorado(resposta.getMediaType())) {
+            return;
+        }
+        String codificacao = escolherCodificacao(requisicao.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (codificacao != null) {
+            requisicao.setProperty(PROPRIEDADE_CODIFICACAO, codificacao);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext contexto) throws IOException {
+        String codificacao = (String) contexto.getProperty(PROPRIEDADE_CODIFICACAO);
+        if (codificacao == null) {
+            contexto.proceed();
+            return;
+        }
+        SaidaCompactada saida = new SaidaCompactada(contexto.getOutputStream(), contexto.getHeaders(), codificacao);
+        contexto.setOutputStream(saida);
+        try {
+            contexto.proceed();
+            saida.terminar();
+        } finally {
+            saida.liberar();
+        }
+    }
+
+    private boolean ignorado(MediaType tipo) {
+        return tipo != null && tiposIgnorados.contains((tipo.getType() + "/" + tipo.getSubtype()).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Escolhe a codificação aceita com a maior preferência (q), dando prioridade ao gzip em caso de empate.
+     *
+     * @param acceptEncoding Valor do cabeçalho Accept-Encoding, ou null.
+     * @return {@code gzip}, {@code deflate} ou null se nenhuma das duas for aceita.
+     */
+    static String escolherCodificacao(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double demais = -1;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String nome = partes[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (nome.equals(GZIP) || nome.equals("x-gzip")) {
+                gzip = q;
+            } else if (nome.equals(DEFLATE)) {
+                deflate = q;
+            } else if (nome.equals("*")) {
+                demais = q;
+            }
+        }
+        // Codificações não citadas assumem a preferência de "*"
+        gzip = gzip < 0 ? demais : gzip;
+        deflate = deflate < 0 ? demais : deflate;
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    /**
+     * Remove da ETag o sufixo de codificação acrescentado às respostas compactadas.
+     *
+     * @param valor Valor da ETag, sem aspas.
+     * @return Valor da ETag da representação sem compressão.
+     */
+    static String removerSufixo(String valor) {
+        for (String codificacao : new String[]{GZIP, DEFLATE}) {
+            if (valor.endsWith("-" + codificacao)) {
+                return valor.substring(0, valor.length() - codificacao.length() - 1);
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Saída que acumula o início do corpo e decide, ao atingir o tamanho mínimo, se compacta a resposta.
+     * Nada é escrito na saída original antes dessa decisão, de modo que os cabeçalhos ainda podem ser alterados.
+     */
+    private final class SaidaCompactada extends OutputStream {
+
+        private final OutputStream original;
+        private final MultivaluedMap<String, Object> cabecalhos;
+        private final String codificacao;
+        private byte[] inicio = new byte[Math.min(tamanhoMinimo, 8192)];
+        private int acumulados;
+        private DeflaterOutputStream destino;
+        private Deflater deflater;
+        private boolean terminada;
+
+        SaidaCompactada(OutputStream original, MultivaluedMap<String, Object> cabecalhos, String codificacao) {
+            this.original = original;
+            this.cabecalhos = cabecalhos;
+            this.codificacao = codificacao;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (destino == null) {
+                if (acumulados + len < tamanhoMinimo) {
+                    if (acumulados + len > inicio.length) {
+                        inicio = Arrays.copyOf(inicio, Math.min(tamanhoMinimo, Math.max(inicio.length * 2, acumulados + len)));
+                    }
+                    System.arraycopy(b, off, inicio, acumulados, len);
+                    acumulados += len;
+                    return;
+                }
+                iniciarCompressao();
+            }
+            destino.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Antes da decisão, o flush apenas aguarda mais dados; depois, envia o que já foi compactado
+            if (destino != null) {
+                destino.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            terminar();
+            original.close();
+        }
+
+        /**
+         * Conclui o corpo: envia o início acumulado sem compressão, se o tamanho mínimo não foi atingido,
+         * ou finaliza o fluxo compactado.
+         */
+        void terminar() throws IOException {
+            if (terminada) {
+                return;
+            }
+            terminada = true;
+            if (destino == null) {
+                original.write(inicio, 0, acumulados);
+            } else {
+                destino.finish();
+            }
+            original.flush();
+        }
+
+        /**
+         * Libera a memória nativa do compressor (também quando a escrita do corpo falha).
+         */
+        void liberar() {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+
+        private void iniciarCompressao() throws IOException {
+            cabecalhos.putSingle(HttpHeaders.CONTENT_ENCODING, codificacao);
+            cabecalhos.remove(HttpHeaders.CONTENT_LENGTH);
+            Object etag = cabecalhos.getFirst(HttpHeaders.ETAG);
+            if (etag != null) {
+                String valor = etag.toString();
+                // "v3" -> "v3-gzip" (a ETag pode estar guardada como EntityTag ou como texto com aspas)
+                String semAspas = valor.startsWith("\"") && valor.endsWith("\"") ? valor.substring(1, valor.length() - 1) : valor;
+                cabecalhos.putSingle(HttpHeaders.ETAG, "\"" + semAspas + "-" + codificacao + "\"");
+            }
+
+            if (GZIP.equals(codificacao)) {
+                SaidaGzip gzip = new SaidaGzip(original, nivel);
+                deflater = gzip.getDeflater();
+                destino = gzip;
+            } else {
+                deflater = new Deflater(nivel);
+                destino = new DeflaterOutputStream(original, deflater, 8192, true);
+            }
+            destino.write(inicio, 0, acumulados);
+            inicio = null;
+        }
+    }
+
+    /**
+     * Saída gzip com nível de compressão configurável; o flush envia os dados já compactados (modo sync flush).
+     */
+    private static final class SaidaGzip extends GZIPOutputStream {
+
+        SaidaGzip(OutputStream saida, int nivel) throws IOException {
+            super(saida, 8192, true);
+            def.setLevel(nivel);
+        }
+
+        Deflater getDeflater() {
+            return def;
+        }
+    }
+}
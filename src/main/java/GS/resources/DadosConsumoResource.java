@@ -1,51 +1,94 @@
 package GS.resources;
 
 import GS.model.beans.DadosConsumo;
+import GS.model.beans.Pagina;
+import GS.model.beans.ResultadoLote;
 import GS.model.bo.DadosConsumoBO;
+import GS.model.bo.ExecutorBanco;
+import GS.model.bo.Paginacao;
+import GS.resources.binario.FormatoConsumoBinario;
+import GS.resources.json.CodificadorDadosConsumo;
+import GS.resources.json.EscritorJson;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriInfo;
 
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.List;
 
 @Path("/dadosConsumo") // Definindo o caminho do recurso para dados de consumo
 public class DadosConsumoResource {
 
-    private DadosConsumoBO dadosConsumoBO;
+    // Codificador (sem estado) usado para escrever os elementos da listagem em fluxo
+    private static final CodificadorDadosConsumo CODIFICADOR = new CodificadorDadosConsumo();
+
+    private final DadosConsumoBO dadosConsumoBO;
+    private final ExecutorBanco executorBanco;
 
     /**
-     * Construtor que inicializa o BO de dados de consumo.
+     * Construtor que recebe o BO de dados de consumo e o executor das tarefas de banco (singletons injetados
+     * pelo container).
+     *
+     * @param dadosConsumoBO BO de dados de consumo.
+     * @param executorBanco  Executor das tarefas de banco das requisições assíncronas.
      */
-    public DadosConsumoResource() {
-        try {
-            dadosConsumoBO = new DadosConsumoBO();
-        } catch (ClassNotFoundException | SQLException e) {
-            e.printStackTrace(); // Ou lançar RuntimeException conforme necessário
-        }
+    @Inject
+    public DadosConsumoResource(DadosConsumoBO dadosConsumoBO, ExecutorBanco executorBanco) {
+        this.dadosConsumoBO = dadosConsumoBO;
+        this.executorBanco = executorBanco;
     }
 
     /**
      * Insere um novo registro de consumo no banco de dados.
      *
-     * @param dadosConsumo Objeto DadosConsumo contendo os dados do consumo.
-     * @param uriInfo URI do recurso.
-     * @return Resposta com o status de criação.
-     * @throws ClassNotFoundException
-     * @throws SQLException
-     * @throws IOException
+     * Responde com o status de criação (201), ou 202 quando o registro foi aceito para gravação adiada.
+     * Aceita JSON ou o formato binário dos medidores ({@link FormatoConsumoBinario}, com um único registro).
+     *
+     * @param dadosConsumo  Objeto DadosConsumo contendo os dados do consumo.
+     * @param uriInfo       URI do recurso.
+     * @param asyncResponse Resposta assíncrona da requisição.
      */
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
-    public Response inserirDadosConsumo(DadosConsumo dadosConsumo, @Context UriInfo uriInfo) throws ClassNotFoundException, SQLException, IOException {
-        dadosConsumoBO.inserirDadosConsumoBO(dadosConsumo);
+    @Consumes({MediaType.APPLICATION_JSON, FormatoConsumoBinario.TIPO})
+    public void inserirDadosConsumo(DadosConsumo dadosConsumo, @Context UriInfo uriInfo, @Suspended AsyncResponse asyncResponse) {
+        // O UriInfo é ligado à thread da requisição: o caminho é resolvido antes de a tarefa ir para o executor
         UriBuilder builder = uriInfo.getAbsolutePathBuilder();
-        builder.path(Integer.toString(dadosConsumo.getIdConsumo()));
-        return Response.created(builder.build()).build();
+        RespostaAssincrona.executar(executorBanco, asyncResponse, "dadosConsumo.inserir", () -> {
+            boolean adiado = dadosConsumoBO.inserirDadosConsumoBO(dadosConsumo);
+            builder.path(Integer.toString(dadosConsumo.getIdConsumo()));
+            if (adiado) {
+                return Response.accepted().location(builder.build()).build();
+            }
+            return Response.created(builder.build()).build();
+        });
+    }
+
+    /**
+     * Insere um lote de registros de consumo, gravando os registros válidos em uma única transação.
+     *
+     * Aceita JSON ou o formato binário dos medidores ({@link FormatoConsumoBinario}), opcionalmente compactado com gzip.
+     * Responde com o resultado dos elementos aceitos e rejeitados.
+     *
+     * @param lote          Lista de objetos DadosConsumo enviada pelo medidor.
+     * @param asyncResponse Resposta assíncrona da requisição.
+     */
+    @POST
+    @Path("/batch")
+    @Consumes({MediaType.APPLICATION_JSON, FormatoConsumoBinario.TIPO})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void inserirLoteDadosConsumo(List<DadosConsumo> lote, @Suspended AsyncResponse asyncResponse) {
+        RespostaAssincrona.executar(executorBanco, asyncResponse, "dadosConsumo.lote",
+                () -> dadosConsumoBO.inserirLoteDadosConsumoBO(lote));
     }
 
     /**
@@ -83,31 +126,89 @@ public class DadosConsumoResource {
     }
 
     /**
-     * Retorna uma lista com todos os registros de consumo do banco de dados.
+     * Retorna uma página de registros de consumo do banco de dados, ordenada por data/hora.
+     * Com {@code stream=true}, todos os registros são escritos na resposta à medida que são lidos do banco,
+     * mantendo o uso de memória constante independentemente do tamanho da tabela.
      *
-     * @return Lista de objetos DadosConsumo em formato JSON.
-     * @throws ClassNotFoundException
-     * @throws SQLException
+     * O fluxo é escrito pelo container na própria thread da resposta, por isso não passa pelo executor de banco.
+     * Responde com a página de objetos DadosConsumo, ou a lista completa em fluxo, em formato JSON.
+     *
+     * @param stream        Indica se a lista completa deve ser enviada em fluxo.
+     * @param limit         Quantidade máxima de registros da página.
+     * @param after         Cursor da página anterior ({@code proximo_cursor}), ausente na primeira página.
+     * @param asyncResponse Resposta assíncrona da requisição.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public ArrayList<DadosConsumo> listarDadosConsumo() throws ClassNotFoundException, SQLException {
-        return (ArrayList<DadosConsumo>) dadosConsumoBO.selecionarDadosConsumoBO();
+    public void listarDadosConsumo(@QueryParam("stream") boolean stream, @QueryParam("limit") Integer limit,
+                                   @QueryParam("after") String after, @Suspended AsyncResponse asyncResponse) {
+        if (stream) {
+            asyncResponse.resume(Response.ok(listarDadosConsumoEmFluxo()).build());
+            return;
+        }
+        // Parâmetros inválidos são recusados (400) antes de ocupar o executor de banco
+        int tamanho = Paginacao.normalizarLimite(limit);
+        Paginacao.PosicaoDataHora posicao = Paginacao.lerCursorDataHora(after);
+        RespostaAssincrona.executar(executorBanco, asyncResponse, "dadosConsumo.listar", () -> {
+            Pagina<DadosConsumo> pagina = dadosConsumoBO.selecionarPaginaDadosConsumoBO(posicao, tamanho);
+            return Response.ok(new GenericEntity<Pagina<DadosConsumo>>(pagina) {}).build();
+        });
+    }
+
+    /**
+     * Cria a saída que escreve o array JSON elemento a elemento, diretamente no corpo da resposta.
+     *
+     * @return Saída em fluxo com os registros de consumo.
+     */
+    private StreamingOutput listarDadosConsumoEmFluxo() {
+        return output -> {
+            EscritorJson escritor = EscritorJson.obter(output);
+            boolean[] primeiro = {true};
+            try {
+                escritor.inicioLista();
+                dadosConsumoBO.percorrerDadosConsumoBO(dadosConsumo -> {
+                    if (!primeiro[0]) {
+                        escritor.virgula();
+                    }
+                    primeiro[0] = false;
+                    CODIFICADOR.escrever(dadosConsumo, escritor);
+                });
+                escritor.fimLista();
+                escritor.terminar();
+            } catch (SQLException e) {
+                throw new WebApplicationException("Erro ao listar os dados de consumo", e);
+            } finally {
+                EscritorJson.devolver(escritor);
+            }
+        };
     }
 
     /**
      * Busca um registro de consumo pelo ID.
      *
-     * @param id ID do registro de consumo a ser buscado.
-     * @return Objeto DadosConsumo em formato JSON.
-     * @throws ClassNotFoundException
-     * @throws SQLException
+     * Responde com o objeto DadosConsumo em formato JSON e a ETag da sua versão; se o cliente já tiver essa versão
+     * (If-None-Match), responde 304 lendo apenas a versão.
+     *
+     * @param id            ID do registro de consumo a ser buscado.
+     * @param ifNoneMatch   ETags já recebidas pelo cliente.
+     * @param asyncResponse Resposta assíncrona da requisição.
      */
     @GET
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    public DadosConsumo buscarDadosConsumoPorId(@PathParam("id") int id) throws ClassNotFoundException, SQLException {
-        return dadosConsumoBO.buscarDadosConsumoPorIdBO(id);
+    public void buscarDadosConsumoPorId(@PathParam("id") int id, @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+                                        @Suspended AsyncResponse asyncResponse) {
+        RespostaAssincrona.executar(executorBanco, asyncResponse, "dadosConsumo.buscar", () -> {
+            if (ifNoneMatch != null) {
+                Long versao = dadosConsumoBO.buscarVersaoDadosConsumoBO(id);
+                Response naoModificado = versao == null ? null : Versionamento.naoModificado(ifNoneMatch, Versionamento.etag(versao));
+                if (naoModificado != null) {
+                    return naoModificado;
+                }
+            }
+            DadosConsumo dadosConsumo = dadosConsumoBO.buscarDadosConsumoPorIdBO(id);
+            return dadosConsumo == null ? null : Response.ok(dadosConsumo).tag(Versionamento.etag(dadosConsumo.getVersao())).build();
+        });
     }
 }
 
@@ -1,9 +1,22 @@
 package GS.resources;
 
+import GS.model.beans.ConsumoAgregado;
+import GS.model.beans.DadosConsumo;
 import GS.model.beans.Dispositivo;
+import GS.model.beans.Granularidade;
+import GS.model.beans.Pagina;
+import GS.model.bo.DadosConsumoBO;
 import GS.model.bo.DispositivoBO;
+import GS.model.bo.ExecutorBanco;
+import GS.model.bo.Paginacao;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriBuilder;
@@ -11,7 +24,8 @@ import jakarta.ws.rs.core.UriInfo;
 
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Classe DispositivoResource para fornecer APIs RESTful para manipulação de dispositivos.
@@ -19,16 +33,23 @@ import java.util.ArrayList;
 @Path("/dispositivos")
 public class DispositivoResource {
 
-    private DispositivoBO dispositivoBO;
+    private final DispositivoBO dispositivoBO;
+    private final DadosConsumoBO dadosConsumoBO;
+    private final ExecutorBanco executorBanco;
 
     /**
-     * Construtor que inicializa o BO de dispositivos.
+     * Construtor que recebe os BOs de dispositivos e de dados de consumo e o executor das tarefas de banco
+     * (singletons injetados pelo container).
      *
-     * @throws ClassNotFoundException
-     * @throws SQLException
+     * @param dispositivoBO  BO de dispositivos.
+     * @param dadosConsumoBO BO de dados de consumo.
+     * @param executorBanco  Executor das tarefas de banco das requisições assíncronas.
      */
-    public DispositivoResource() throws ClassNotFoundException, SQLException {
-        dispositivoBO = new DispositivoBO();
+    @Inject
+    public DispositivoResource(DispositivoBO dispositivoBO, DadosConsumoBO dadosConsumoBO, ExecutorBanco executorBanco) {
+        this.dispositivoBO = dispositivoBO;
+        this.dadosConsumoBO = dadosConsumoBO;
+        this.executorBanco = executorBanco;
     }
 
     /**
@@ -85,30 +106,136 @@ public class DispositivoResource {
     }
 
     /**
-     * Retorna uma lista com todos os dispositivos do banco de dados.
+     * Retorna uma página de dispositivos do banco de dados, ordenada pelo ID.
      *
-     * @return Lista de objetos Dispositivo em formato JSON.
-     * @throws ClassNotFoundException
-     * @throws SQLException
+     * Responde com a página de objetos Dispositivo em formato JSON e a ETag da versão da coleção; se o cliente
+     * já tiver essa versão (If-None-Match), responde 304 sem consultar a página.
+     *
+     * @param limit         Quantidade máxima de dispositivos da página.
+     * @param after         Cursor da página anterior ({@code proximo_cursor}), ausente na primeira página.
+     * @param ifNoneMatch   ETags já recebidas pelo cliente.
+     * @param asyncResponse Resposta assíncrona da requisição.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public ArrayList<Dispositivo> listarDispositivos() throws ClassNotFoundException, SQLException {
-        return (ArrayList<Dispositivo>) dispositivoBO.selecionarDispositivosBO();
+    public void listarDispositivos(@QueryParam("limit") Integer limit, @QueryParam("after") String after,
+                                   @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+                                   @Suspended AsyncResponse asyncResponse) {
+        // Parâmetros inválidos são recusados (400) antes de ocupar o executor de banco
+        int tamanho = Paginacao.normalizarLimite(limit);
+        int aposId = Paginacao.lerCursorId(after);
+        RespostaAssincrona.executar(executorBanco, asyncResponse, "dispositivos.listar", () -> {
+            EntityTag etag = Versionamento.etag(dispositivoBO.buscarVersaoDispositivosBO());
+            Response naoModificado = Versionamento.naoModificado(ifNoneMatch, etag);
+            if (naoModificado != null) {
+                return naoModificado;
+            }
+            Pagina<Dispositivo> pagina = dispositivoBO.selecionarPaginaDispositivosBO(aposId, tamanho);
+            return Response.ok(new GenericEntity<Pagina<Dispositivo>>(pagina) {}).tag(etag).build();
+        });
+    }
+
+    /**
+     * Busca um dispositivo pelo ID.
+     *
+     * Responde com o objeto Dispositivo em formato JSON e a ETag da sua versão; se o cliente já tiver essa versão
+     * (If-None-Match), responde 304 lendo apenas a versão.
+     *
+     * @param id            ID do dispositivo a ser buscado.
+     * @param ifNoneMatch   ETags já recebidas pelo cliente.
+     * @param asyncResponse Resposta assíncrona da requisição.
+     */
+    @GET
+    @Path("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void buscarDispositivoPorId(@PathParam("id") int id, @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+                                       @Suspended AsyncResponse asyncResponse) {
+        RespostaAssincrona.executar(executorBanco, asyncResponse, "dispositivos.buscar", () -> {
+            if (ifNoneMatch != null) {
+                Long versao = dispositivoBO.buscarVersaoDispositivoBO(id);
+                Response naoModificado = versao == null ? null : Versionamento.naoModificado(ifNoneMatch, Versionamento.etag(versao));
+                if (naoModificado != null) {
+                    return naoModificado;
+                }
+            }
+            Dispositivo dispositivo = dispositivoBO.buscarDispositivoPorIdBO(id);
+            return dispositivo == null ? null : Response.ok(dispositivo).tag(Versionamento.etag(dispositivo.getVersao())).build();
+        });
+    }
+
+    /**
+     * Retorna os registros de consumo de um dispositivo em um intervalo de tempo (padrão: últimas 24 horas).
+     *
+     * Responde com a lista de objetos DadosConsumo em formato JSON, ordenada por data/hora.
+     *
+     * @param id            ID do dispositivo.
+     * @param from          Início do intervalo no formato ISO-8601 (ex.: 2024-06-01T00:00:00), inclusivo.
+     * @param to            Fim do intervalo no formato ISO-8601, exclusivo.
+     * @param asyncResponse Resposta assíncrona da requisição.
+     */
+    @GET
+    @Path("/{id}/consumo")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void listarConsumoDispositivo(@PathParam("id") int id, @QueryParam("from") String from,
+                                         @QueryParam("to") String to, @Suspended AsyncResponse asyncResponse) {
+        LocalDateTime de = Parametros.lerDataHora(from);
+        LocalDateTime ate = Parametros.lerDataHora(to);
+        RespostaAssincrona.executar(executorBanco, asyncResponse, "dispositivos.consumo", () -> {
+            List<DadosConsumo> consumo = dadosConsumoBO.buscarConsumoPorDispositivoBO(id, de, ate);
+            return Response.ok(new GenericEntity<List<DadosConsumo>>(consumo) {}).build();
+        });
+    }
+
+    /**
+     * Retorna o consumo agregado por hora de um dispositivo (padrão: últimas 24 horas).
+     *
+     * Responde com a lista de objetos ConsumoAgregado em formato JSON, ordenada pelo início da hora.
+     *
+     * @param id            ID do dispositivo.
+     * @param from          Início do intervalo no formato ISO-8601, inclusivo.
+     * @param to            Fim do intervalo no formato ISO-8601, exclusivo.
+     * @param asyncResponse Resposta assíncrona da requisição.
+     */
+    @GET
+    @Path("/{id}/consumo/horario")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void listarConsumoHorario(@PathParam("id") int id, @QueryParam("from") String from,
+                                     @QueryParam("to") String to, @Suspended AsyncResponse asyncResponse) {
+        listarAgregados(id, Granularidade.HORA, from, to, asyncResponse);
+    }
+
+    /**
+     * Retorna o consumo agregado por dia de um dispositivo (padrão: últimos 30 dias).
+     *
+     * Responde com a lista de objetos ConsumoAgregado em formato JSON, ordenada pelo dia.
+     *
+     * @param id            ID do dispositivo.
+     * @param from          Início do intervalo no formato ISO-8601, inclusivo.
+     * @param to            Fim do intervalo no formato ISO-8601, exclusivo.
+     * @param asyncResponse Resposta assíncrona da requisição.
+     */
+    @GET
+    @Path("/{id}/consumo/diario")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void listarConsumoDiario(@PathParam("id") int id, @QueryParam("from") String from,
+                                    @QueryParam("to") String to, @Suspended AsyncResponse asyncResponse) {
+        listarAgregados(id, Granularidade.DIA, from, to, asyncResponse);
     }
 
     /**
      * Ativa um dispositivo com base no ID.
      *
      * @param id ID do dispositivo a ser ativado.
-     * @return Resposta com o status de ativação.
+     * @return Resposta com o status de ativação, ou 404 se o dispositivo não existir.
      * @throws ClassNotFoundException
      * @throws SQLException
      */
     @PUT
     @Path("/{id}/ativar")
     public Response ativarDispositivo(@PathParam("id") int id) throws ClassNotFoundException, SQLException {
-        dispositivoBO.ativarDispositivoBO(id);
+        if (!dispositivoBO.ativarDispositivoBO(id)) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
         return Response.ok().build();
     }
 
@@ -116,17 +243,28 @@ public class DispositivoResource {
      * Desativa um dispositivo com base no ID.
      *
      * @param id ID do dispositivo a ser desativado.
-     * @return Resposta com o status de desativação.
+     * @return Resposta com o status de desativação, ou 404 se o dispositivo não existir.
      * @throws ClassNotFoundException
      * @throws SQLException
      */
     @PUT
     @Path("/{id}/desativar")
     public Response desativarDispositivo(@PathParam("id") int id) throws ClassNotFoundException, SQLException {
-        dispositivoBO.desativarDispositivoBO(id);
+        if (!dispositivoBO.desativarDispositivoBO(id)) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
         return Response.ok().build();
     }
-}
-
-
 
+    /**
+     * Busca os agregados de consumo de um dispositivo no executor de banco.
+     */
+    private void listarAgregados(int id, Granularidade granularidade, String from, String to, AsyncResponse asyncResponse) {
+        LocalDateTime de = Parametros.lerDataHora(from);
+        LocalDateTime ate = Parametros.lerDataHora(to);
+        RespostaAssincrona.executar(executorBanco, asyncResponse, "dispositivos.agregados", () -> {
+            List<ConsumoAgregado> agregados = dadosConsumoBO.buscarAgregadosBO(id, granularidade, de, ate);
+            return Response.ok(new GenericEntity<List<ConsumoAgregado>>(agregados) {}).build();
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package GS.resources;
+
+import GS.config.Configuracao;
+import GS.eventos.ContextoRequisicao;
+import GS.eventos.EventoRequisicao;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Classe EventosRequisicao emite o evento JFR {@link EventoRequisicao} de cada requisição e define a rota em
+ * atendimento ({@link ContextoRequisicao}), que os eventos de SQL e das operações de banco informam.
+ *
+ * O filtro roda após a correspondência com o recurso, para que a rota seja o template (ex.:
+ * {@code GET /dispositivos/{id}}). Sem uma gravação ativa, só a rota é definida. Configuração:
+ * {@code eventos.jfr.habilitados}.
+ */
+@Provider
+public class EventosRequisicao implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String EVENTO = EventosRequisicao.class.getName() + ".evento";
+
+    private static final boolean HABILITADOS = Configuracao.get().getBoolean("eventos.jfr.habilitados", true);
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (!HABILITADOS) {
+            return;
+        }
+        String rota = MetricasRequisicoes.rota(requestContext);
+        ContextoRequisicao.definir(requestContext.getMethod() + " " + rota);
+        EventoRequisicao evento = new EventoRequisicao();
+        if (evento.isEnabled()) {
+            evento.begin();
+            evento.metodo = requestContext.getMethod();
+            evento.rota = rota;
+            requestContext.setProperty(EVENTO, evento);
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object evento = requestContext.getProperty(EVENTO);
+        if (!(evento instanceof EventoRequisicao)) {
+            return;
+        }
+        requestContext.removeProperty(EVENTO);
+        EventoRequisicao requisicao = (EventoRequisicao) evento;
+        requisicao.end();
+        if (requisicao.shouldCommit()) {
+            requisicao.caminho = "/" + requestContext.getUriInfo().getPath();
+            requisicao.status = responseContext.getStatus();
+            requisicao.commit();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package GS.resources;
+
+import GS.metricas.Familia;
+import GS.metricas.Histograma;
+import GS.metricas.RegistroMetricas;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.uri.UriTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Classe MetricasRequisicoes mede a duração de cada requisição, da chegada ao Jersey até a resposta ficar pronta
+ * para envio (incluindo a espera das respostas assíncronas), por método, rota e status, em
+ * {@code gs_http_requisicoes_segundos}; a taxa de requisições vem do {@code _count} do histograma.
+ *
+ * A rota é o template do recurso (ex.: {@code /dispositivos/{id}}), e não o caminho recebido, para que cada ID não
+ * crie uma série nova; requisições sem recurso correspondente são agrupadas em {@code (nenhuma)}. O envio do
+ * corpo de respostas em fluxo (ex.: relatórios) não entra na medição.
+ */
+@Provider
+@PreMatching
+public class MetricasRequisicoes implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String INICIO = MetricasRequisicoes.class.getName() + ".inicio";
+    private static final String ROTA = MetricasRequisicoes.class.getName() + ".rota";
+
+    private static final boolean HABILITADAS = RegistroMetricas.get().isHabilitadas();
+    private static final Familia<Histograma> DURACAO = RegistroMetricas.get().histograma(
+            "gs_http_requisicoes_segundos", "Duração das requisições HTTP.", "metodo", "rota", "status");
+    private static final LongAdder EM_ANDAMENTO = new LongAdder();
+    // Textos dos códigos de status, para não converter o número a cada resposta
+    private static final String[] STATUS = new String[600];
+
+    static {
+        for (int i = 0; i < STATUS.length; i++) {
+            STATUS[i] = Integer.toString(i);
+        }
+    }
+
+    static {
+        RegistroMetricas.get().registrar(escritor -> escritor.metrica("gs_http_requisicoes_em_andamento",
+                "Requisições HTTP em atendimento.", "gauge", EM_ANDAMENTO.sum()));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (HABILITADAS) {
+            requestContext.setProperty(INICIO, System.nanoTime());
+            EM_ANDAMENTO.increment();
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        Object inicio = requestContext.getProperty(INICIO);
+        if (!(inicio instanceof Long)) {
+            return;
+        }
+        requestContext.removeProperty(INICIO);
+        EM_ANDAMENTO.decrement();
+        long duracao = System.nanoTime() - (Long) inicio;
+        int status = responseContext.getStatus();
+        DURACAO.serie(requestContext.getMethod(), rota(requestContext),
+                status >= 0 && status < STATUS.length ? STATUS[status] : Integer.toString(status)).observar(duracao);
+    }
+
+    /**
+     * Retorna a rota da requisição, montada uma única vez a partir dos templates correspondidos
+     * (do recurso raiz ao método); usada também pelos eventos JFR.
+     */
+    static String rota(ContainerRequestContext requestContext) {
+        Object rota = requestContext.getProperty(ROTA);
+        if (rota instanceof String) {
+            return (String) rota;
+        }
+        String montada = montarRota(requestContext);
+        requestContext.setProperty(ROTA, montada);
+        return montada;
+    }
+
+    private static String montarRota(ContainerRequestContext requestContext) {
+        if (!(requestContext.getUriInfo() instanceof ExtendedUriInfo)) {
+            return "(nenhuma)";
+        }
+        List<UriTemplate> templates = ((ExtendedUriInfo) requestContext.getUriInfo()).getMatchedTemplates();
+        if (templates.isEmpty()) {
+            return "(nenhuma)";
+        }
+        StringBuilder rota = new StringBuilder();
+        // A lista começa pelo template mais específico
+        for (int i = templates.size() - 1; i >= 0; i--) {
+            String template = templates.get(i).getTemplate();
+            if (template.isEmpty() || template.equals("/")) {
+                continue;
+            }
+            if (rota.length() == 0 || rota.charAt(rota.length() - 1) != '/') {
+                if (!template.startsWith("/")) {
+                    rota.append('/');
+                }
+            } else if (template.startsWith("/")) {
+                template = template.substring(1);
+            }
+            rota.append(template);
+        }
+        if (rota.length() > 1 && rota.charAt(rota.length() - 1) == '/') {
+            rota.setLength(rota.length() - 1);
+        }
+        return rota.length() == 0 ? "/" : rota.toString();
+    }
+}
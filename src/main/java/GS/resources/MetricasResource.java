@@ -0,0 +1,136 @@
+package GS.resources;
+
+import GS.metricas.EscritorPrometheus;
+import GS.metricas.RegistroMetricas;
+import GS.model.beans.EstatisticasCache;
+import GS.model.beans.EstatisticasExecutor;
+import GS.model.beans.EstatisticasSessoes;
+import GS.model.beans.MetricasIngestao;
+import GS.model.bo.DadosConsumoBO;
+import GS.model.bo.ExecutorBanco;
+import GS.model.bo.SessaoBO;
+import GS.model.cache.RegistroCaches;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+import java.util.List;
+
+/**
+ * Classe MetricasResource expõe as métricas da aplicação no formato de texto do Prometheus.
+ *
+ * Além das métricas do {@link RegistroMetricas} (requisições, comandos SQL e pool de conexões), lê na coleta o
+ * estado dos caches, do executor das requisições assíncronas e das filas de gravação adiada, os mesmos valores
+ * dos endpoints {@code /admin}.
+ */
+@Path("/metrics")
+public class MetricasResource {
+
+    private static final String[] CACHE = {"cache"};
+    private static final String[] FILA = {"fila"};
+
+    private final RegistroCaches registroCaches;
+    private final ExecutorBanco executorBanco;
+    private final DadosConsumoBO dadosConsumoBO;
+    private final SessaoBO sessaoBO;
+
+    /**
+     * Construtor que recebe os componentes observados (singletons injetados pelo container).
+     *
+     * @param registroCaches Registro dos caches de leitura.
+     * @param executorBanco  Executor das tarefas de banco das requisições assíncronas.
+     * @param dadosConsumoBO BO de dados de consumo (gravação adiada das leituras).
+     * @param sessaoBO       BO de sessões (gravação adiada dos eventos de sessão).
+     */
+    @Inject
+    public MetricasResource(RegistroCaches registroCaches, ExecutorBanco executorBanco,
+                            DadosConsumoBO dadosConsumoBO, SessaoBO sessaoBO) {
+        this.registroCaches = registroCaches;
+        this.executorBanco = executorBanco;
+        this.dadosConsumoBO = dadosConsumoBO;
+        this.sessaoBO = sessaoBO;
+    }
+
+    /**
+     * Retorna todas as métricas.
+     *
+     * @return Texto de exposição do Prometheus.
+     */
+    @GET
+    @Produces(EscritorPrometheus.TIPO)
+    public String metricas() {
+        EscritorPrometheus escritor = new EscritorPrometheus();
+        RegistroMetricas.get().coletar(escritor);
+        escreverCaches(escritor, registroCaches.getEstatisticas());
+        escreverExecutor(escritor, executorBanco.getEstatisticas());
+
+        EstatisticasSessoes sessoes = sessaoBO.getEstatisticasSessoesBO();
+        escritor.metrica("gs_sessoes_ativas", "Sessões ativas no registro em memória.", "gauge", sessoes.getAtivas());
+        escritor.metrica("gs_sessoes_iniciadas_total", "Sessões iniciadas.", "counter", sessoes.getIniciadas());
+        escritor.metrica("gs_sessoes_finalizadas_total", "Sessões finalizadas.", "counter", sessoes.getFinalizadas());
+        escritor.metrica("gs_sessoes_expiradas_total", "Sessões expiradas por ociosidade ou duração.", "counter",
+                sessoes.getExpiradas());
+
+        escreverFilas(escritor, new String[]{"dadosConsumo", "sessoes"},
+                new MetricasIngestao[]{dadosConsumoBO.getMetricasIngestaoBO(), sessoes.getGravacao()});
+        return escritor.toString();
+    }
+
+    private static void escreverCaches(EscritorPrometheus escritor, List<EstatisticasCache> caches) {
+        escritor.cabecalho("gs_cache_tamanho", "Entradas nos caches de leitura.", "gauge");
+        for (EstatisticasCache cache : caches) {
+            escritor.amostra("gs_cache_tamanho", CACHE, new String[]{cache.getNome()}, cache.getTamanho());
+        }
+        escritor.cabecalho("gs_cache_acertos_total", "Consultas atendidas pelos caches.", "counter");
+        for (EstatisticasCache cache : caches) {
+            escritor.amostra("gs_cache_acertos_total", CACHE, new String[]{cache.getNome()}, cache.getAcertos());
+        }
+        escritor.cabecalho("gs_cache_falhas_total", "Consultas que precisaram carregar a entidade.", "counter");
+        for (EstatisticasCache cache : caches) {
+            escritor.amostra("gs_cache_falhas_total", CACHE, new String[]{cache.getNome()}, cache.getFalhas());
+        }
+        escritor.cabecalho("gs_cache_remocoes_total", "Entradas removidas pelo limite de tamanho.", "counter");
+        for (EstatisticasCache cache : caches) {
+            escritor.amostra("gs_cache_remocoes_total", CACHE, new String[]{cache.getNome()}, cache.getRemocoes());
+        }
+    }
+
+    private static void escreverExecutor(EscritorPrometheus escritor, EstatisticasExecutor executor) {
+        escritor.metrica("gs_executor_threads_ativas", "Threads do executor de banco ocupadas.", "gauge",
+                executor.getAtivas());
+        escritor.metrica("gs_executor_fila", "Tarefas aguardando na fila do executor de banco.", "gauge",
+                executor.getFila());
+        escritor.metrica("gs_executor_fila_capacidade", "Capacidade da fila do executor de banco.", "gauge",
+                executor.getCapacidadeFila());
+        escritor.metrica("gs_executor_concluidas_total", "Tarefas concluídas pelo executor de banco.", "counter",
+                executor.getConcluidas());
+        escritor.metrica("gs_executor_recusadas_total", "Tarefas recusadas com a fila cheia (503).", "counter",
+                executor.getRecusadas());
+        escritor.metrica("gs_executor_descartadas_total", "Tarefas descartadas por prazo vencido na fila.", "counter",
+                executor.getDescartadas());
+    }
+
+    private static void escreverFilas(EscritorPrometheus escritor, String[] nomes, MetricasIngestao[] filas) {
+        escritor.cabecalho("gs_fila_profundidade", "Registros aceitos e ainda não gravados.", "gauge");
+        for (int i = 0; i < filas.length; i++) {
+            escritor.amostra("gs_fila_profundidade", FILA, new String[]{nomes[i]}, filas[i].getProfundidade());
+        }
+        escritor.cabecalho("gs_fila_capacidade", "Capacidade das filas de gravação adiada.", "gauge");
+        for (int i = 0; i < filas.length; i++) {
+            escritor.amostra("gs_fila_capacidade", FILA, new String[]{nomes[i]}, filas[i].getCapacidade());
+        }
+        escritor.cabecalho("gs_fila_recusados_total", "Registros recusados com a fila cheia.", "counter");
+        for (int i = 0; i < filas.length; i++) {
+            escritor.amostra("gs_fila_recusados_total", FILA, new String[]{nomes[i]}, filas[i].getRecusados());
+        }
+        escritor.cabecalho("gs_fila_gravados_total", "Registros gravados no banco.", "counter");
+        for (int i = 0; i < filas.length; i++) {
+            escritor.amostra("gs_fila_gravados_total", FILA, new String[]{nomes[i]}, filas[i].getGravados());
+        }
+        escritor.cabecalho("gs_fila_falhas_total", "Registros descartados por falha na gravação.", "counter");
+        for (int i = 0; i < filas.length; i++) {
+            escritor.amostra("gs_fila_falhas_total", FILA, new String[]{nomes[i]}, filas[i].getFalhas());
+        }
+    }
+}
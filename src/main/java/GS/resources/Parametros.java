@@ -0,0 +1,33 @@
+package GS.resources;
+
+import jakarta.ws.rs.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Classe Parametros converte os parâmetros de consulta comuns aos recursos; um valor inválido é recusado com 400.
+ */
+final class Parametros {
+
+    private Parametros() {
+    }
+
+    /**
+     * Converte um parâmetro de data/hora no formato ISO-8601.
+     *
+     * @param valor Valor recebido na requisição, ou null.
+     * @return Data/hora correspondente, ou null se o parâmetro não foi informado.
+     * @throws BadRequestException se o formato for inválido.
+     */
+    static LocalDateTime lerDataHora(String valor) {
+        if (valor == null || valor.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Data/hora inválida: " + valor, e);
+        }
+    }
+}
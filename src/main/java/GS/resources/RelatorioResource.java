@@ -0,0 +1,114 @@
+package GS.resources;
+
+import GS.model.bo.RelatorioConsumoBO;
+import GS.resources.relatorio.EscritorRelatorio;
+import GS.resources.relatorio.FormatoRelatorio;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.Variant;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe RelatorioResource para fornecer a exportação de relatórios em arquivo (JSON, JSON Lines, CSV e XLSX).
+ */
+@Path("/relatorios")
+public class RelatorioResource {
+
+    // Tipos oferecidos na negociação pelo Accept, na ordem de preferência quando o cliente aceita qualquer um
+    private static final List<Variant> VARIANTES = new ArrayList<>();
+
+    static {
+        for (FormatoRelatorio formato : FormatoRelatorio.values()) {
+            VARIANTES.add(new Variant(formato.getTipo(), (String) null, null));
+        }
+    }
+
+    private final RelatorioConsumoBO relatorioConsumoBO;
+
+    /**
+     * Construtor que recebe o BO do relatório de consumo (injetado pelo container como singleton).
+     *
+     * @param relatorioConsumoBO BO do relatório de consumo.
+     */
+    @Inject
+    public RelatorioResource(RelatorioConsumoBO relatorioConsumoBO) {
+        this.relatorioConsumoBO = relatorioConsumoBO;
+    }
+
+    /**
+     * Exporta as leituras de consumo, com o nome do dispositivo e o usuário dono, em ordem de data/hora.
+     *
+     * O formato é escolhido pelo parâmetro {@code formato} ({@code json}, {@code jsonl}, {@code csv} ou {@code xlsx})
+     * ou, na sua ausência, pelo Accept; sem formato compatível, responde 406. As linhas são escritas na resposta à medida
+     * que são lidas do banco, por isso o relatório não tem tamanho máximo e o uso de memória é constante; o fluxo é
+     * escrito pelo container na própria thread da resposta, sem passar pelo executor de banco.
+     *
+     * @param usuario     ID do usuário dono dos dispositivos (opcional).
+     * @param dispositivo ID do dispositivo (opcional).
+     * @param from        Início do período no formato ISO-8601, inclusivo (opcional).
+     * @param to          Fim do período no formato ISO-8601, exclusivo (opcional).
+     * @param formato     Formato do arquivo; tem precedência sobre o Accept.
+     * @param request     Requisição, usada na negociação do formato.
+     * @return Resposta com o arquivo do relatório como anexo ({@code consumo.<extensão>}).
+     */
+    @GET
+    @Path("/consumo")
+    public Response exportarConsumo(@QueryParam("usuario") Integer usuario, @QueryParam("dispositivo") Integer dispositivo,
+                                    @QueryParam("from") String from, @QueryParam("to") String to,
+                                    @QueryParam("formato") String formato, @Context Request request) {
+        FormatoRelatorio escolhido;
+        if (formato != null && !formato.isEmpty()) {
+            escolhido = FormatoRelatorio.porNome(formato);
+            if (escolhido == null) {
+                throw new BadRequestException("Formato de relatório desconhecido: " + formato);
+            }
+        } else {
+            Variant variante = request.selectVariant(VARIANTES);
+            if (variante == null) {
+                return Response.notAcceptable(VARIANTES).build();
+            }
+            escolhido = FormatoRelatorio.porTipo(variante.getMediaType());
+        }
+
+        LocalDateTime de = Parametros.lerDataHora(from);
+        LocalDateTime ate = Parametros.lerDataHora(to);
+        // Filtros inválidos são recusados antes de a resposta começar a ser escrita
+        relatorioConsumoBO.validarFiltrosBO(usuario, dispositivo, de, ate);
+
+        MediaType tipo = escolhido == FormatoRelatorio.CSV ? escolhido.getTipo().withCharset("UTF-8") : escolhido.getTipo();
+        return Response.ok(exportarConsumoEmFluxo(escolhido, usuario, dispositivo, de, ate), tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"consumo." + escolhido.getExtensao() + "\"")
+                .build();
+    }
+
+    /**
+     * Cria a saída que escreve o relatório linha a linha, diretamente no corpo da resposta.
+     *
+     * @return Saída em fluxo com o relatório no formato escolhido.
+     */
+    private StreamingOutput exportarConsumoEmFluxo(FormatoRelatorio formato, Integer usuario, Integer dispositivo,
+                                                   LocalDateTime de, LocalDateTime ate) {
+        return output -> {
+            EscritorRelatorio escritor = formato.criarEscritor(output);
+            try {
+                escritor.inicio();
+                relatorioConsumoBO.percorrerRelatorioBO(usuario, dispositivo, de, ate, escritor::linha);
+                escritor.fim();
+            } catch (SQLException e) {
+                throw new WebApplicationException("Erro ao exportar o relatório de consumo", e);
+            } finally {
+                escritor.liberar();
+            }
+        };
+    }
+}
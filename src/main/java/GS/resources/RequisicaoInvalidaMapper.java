@@ -0,0 +1,26 @@
+package GS.resources;
+
+import GS.model.bo.LoteExcedidoException;
+import GS.model.bo.RequisicaoInvalidaException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Classe RequisicaoInvalidaMapper converte {@link RequisicaoInvalidaException} na resposta 400 (Bad Request), ou 413
+ * (Payload Too Large) no caso de {@link LoteExcedidoException}, com a mensagem da validação que falhou.
+ */
+@Provider
+public class RequisicaoInvalidaMapper implements ExceptionMapper<RequisicaoInvalidaException> {
+
+    @Override
+    public Response toResponse(RequisicaoInvalidaException e) {
+        Response.Status status = e instanceof LoteExcedidoException
+                ? Response.Status.REQUEST_ENTITY_TOO_LARGE : Response.Status.BAD_REQUEST;
+        return Response.status(status)
+                .type(MediaType.TEXT_PLAIN_TYPE)
+                .entity(e.getMessage())
+                .build();
+    }
+}
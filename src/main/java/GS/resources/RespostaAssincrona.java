@@ -0,0 +1,83 @@
+package GS.resources;
+
+import GS.config.Configuracao;
+import GS.model.bo.ExecutorBanco;
+import GS.model.bo.ServicoIndisponivelException;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.Response;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Classe RespostaAssincrona liga uma resposta suspensa do JAX-RS ({@link AsyncResponse}) a uma tarefa executada no
+ * {@link ExecutorBanco}: a thread da requisição volta ao servidor enquanto a tarefa aguarda o banco.
+ *
+ * O prazo de cada endpoint vem de {@code recursos.timeoutMs.<endpoint>} (padrão: {@code recursos.timeoutMs.padrao});
+ * vencido o prazo com a tarefa ainda na fila, ela é descartada e a resposta é 503 com Retry-After. Se a tarefa já
+ * estiver em execução, o prazo é prorrogado e a resposta aguarda o resultado: um 503 convidaria o cliente a repetir
+ * uma gravação que será confirmada (ex.: leituras com ID gerado pelo servidor, que seriam inseridas de novo).
+ */
+final class RespostaAssincrona {
+
+    private RespostaAssincrona() {
+    }
+
+    /**
+     * Suspende a resposta até a conclusão da tarefa.
+     *
+     * @param executor Executor das tarefas de banco.
+     * @param resposta Resposta suspensa da requisição.
+     * @param endpoint Nome do endpoint, usado na chave do prazo.
+     * @param tarefa   Tarefa que produz a entidade (ou a {@link jakarta.ws.rs.core.Response}) da resposta.
+     */
+    static void executar(ExecutorBanco executor, AsyncResponse resposta, String endpoint, Callable<?> tarefa) {
+        long prazoMs = Configuracao.get().getLong("recursos.timeoutMs." + endpoint,
+                Configuracao.get().getLong("recursos.timeoutMs.padrao", 5000));
+
+        // O prazo é definido antes do envio da tarefa: uma tarefa rápida pode concluir a resposta logo em seguida
+        AtomicReference<CompletableFuture<?>> emExecucao = new AtomicReference<>();
+        if (prazoMs > 0) {
+            resposta.setTimeoutHandler(suspensa -> {
+                CompletableFuture<?> pendente = emExecucao.get();
+                if (pendente == null || !pendente.cancel(false)) {
+                    // Em execução (ou ainda sendo enviada ao executor): aguarda o resultado por mais um prazo
+                    suspensa.setTimeout(prazoMs, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                suspensa.resume(new ServicoIndisponivelException(
+                        "A requisição excedeu o tempo limite de " + prazoMs + " ms.", executor.getSegundosNovaTentativa()));
+            });
+            resposta.setTimeout(prazoMs, TimeUnit.MILLISECONDS);
+        }
+
+        CompletableFuture<?> resultado;
+        try {
+            resultado = executor.executar(tarefa);
+        } catch (ServicoIndisponivelException e) {
+            resposta.resume(e);
+            return;
+        }
+        emExecucao.set(resultado);
+
+        resultado.whenComplete((valor, erro) -> {
+            Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+            if (causa instanceof CancellationException) {
+                // Prazo vencido: a resposta já foi enviada pelo tratador do timeout
+                return;
+            }
+            if (causa != null) {
+                resposta.resume(causa);
+            } else if (valor == null) {
+                // Mesmo status de um método síncrono que retorna null
+                resposta.resume(Response.noContent().build());
+            } else {
+                resposta.resume(valor);
+            }
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package GS.resources;
+
+import GS.model.bo.ServicoIndisponivelException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Classe ServicoIndisponivelMapper converte {@link ServicoIndisponivelException} na resposta 503 (Service Unavailable),
+ * informando no cabeçalho Retry-After quando o cliente deve tentar novamente.
+ */
+@Provider
+public class ServicoIndisponivelMapper implements ExceptionMapper<ServicoIndisponivelException> {
+
+    @Override
+    public Response toResponse(ServicoIndisponivelException e) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, e.getSegundosParaNovaTentativa())
+                .type(MediaType.TEXT_PLAIN_TYPE)
+                .entity(e.getMessage())
+                .build();
+    }
+}
@@ -1,7 +1,10 @@
 package GS.resources;
 
+import GS.model.beans.Pagina;
 import GS.model.beans.Sessao;
+import GS.model.bo.Paginacao;
 import GS.model.bo.SessaoBO;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
@@ -11,22 +14,20 @@ import jakarta.ws.rs.core.UriInfo;
 
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
 
 @Path("/sessoes") // Definindo o caminho do recurso para sessões
 public class SessaoResource {
 
-    private SessaoBO sessaoBO;
+    private final SessaoBO sessaoBO;
 
     /**
-     * Construtor que inicializa o BO de sessões.
+     * Construtor que recebe o BO de sessões (singleton injetado pelo container).
+     *
+     * @param sessaoBO BO de sessões.
      */
-    public SessaoResource() {
-        try {
-            sessaoBO = new SessaoBO();
-        } catch (ClassNotFoundException | SQLException e) {
-            e.printStackTrace(); // Ou lançar RuntimeException conforme necessário
-        }
+    @Inject
+    public SessaoResource(SessaoBO sessaoBO) {
+        this.sessaoBO = sessaoBO;
     }
 
     /**
@@ -42,9 +43,9 @@ public class SessaoResource {
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public Response inserirSessao(Sessao sessao, @Context UriInfo uriInfo) throws ClassNotFoundException, SQLException, IOException {
-        sessaoBO.iniciarSessaoBO(sessao.getUsuario());
+        Sessao iniciada = sessaoBO.iniciarSessaoBO(sessao.getUsuario());
         UriBuilder builder = uriInfo.getAbsolutePathBuilder();
-        builder.path(Integer.toString(sessao.getIdSessao()));
+        builder.path(Integer.toString(iniciada.getIdSessao()));
         return Response.created(builder.build()).build();
     }
 
@@ -83,16 +84,18 @@ public class SessaoResource {
     }
 
     /**
-     * Retorna uma lista com todas as sessões do banco de dados.
+     * Retorna uma página de sessões do banco de dados, ordenada pelo ID.
      *
-     * @return Lista de objetos Sessao em formato JSON.
+     * @param limit Quantidade máxima de sessões da página.
+     * @param after Cursor da página anterior ({@code proximo_cursor}), ausente na primeira página.
+     * @return Página de objetos Sessao em formato JSON.
      * @throws ClassNotFoundException
      * @throws SQLException
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public ArrayList<Sessao> listarSessoes() throws ClassNotFoundException, SQLException {
-        return (ArrayList<Sessao>) sessaoBO.selecionarSessoesBO();
+    public Pagina<Sessao> listarSessoes(@QueryParam("limit") Integer limit, @QueryParam("after") String after) throws ClassNotFoundException, SQLException {
+        return sessaoBO.selecionarPaginaSessoesBO(Paginacao.lerCursorId(after), Paginacao.normalizarLimite(limit));
     }
 
     /**
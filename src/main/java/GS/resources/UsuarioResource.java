@@ -1,8 +1,14 @@
 package GS.resources;
 
+import GS.model.beans.Login;
+import GS.model.beans.Pagina;
 import GS.model.beans.Usuario;
+import GS.model.bo.Paginacao;
 import GS.model.bo.UsuarioBO;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -11,22 +17,21 @@ import jakarta.ws.rs.core.UriInfo;
 
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.concurrent.CompletionException;
 
 @Path("/usuarios") // Definindo o caminho do recurso para usuários
 public class UsuarioResource {
 
-    private UsuarioBO usuarioBO;
+    private final UsuarioBO usuarioBO;
 
     /**
-     * Construtor que inicializa o BO de usuários.
+     * Construtor que recebe o BO de usuários (singleton injetado pelo container).
+     *
+     * @param usuarioBO BO de usuários.
      */
-    public UsuarioResource() {
-        try {
-            usuarioBO = new UsuarioBO();
-        } catch (ClassNotFoundException | SQLException e) {
-            e.printStackTrace(); // Ou lançar RuntimeException conforme necessário
-        }
+    @Inject
+    public UsuarioResource(UsuarioBO usuarioBO) {
+        this.usuarioBO = usuarioBO;
     }
 
     /**
@@ -83,16 +88,18 @@ public class UsuarioResource {
     }
 
     /**
-     * Retorna uma lista com todos os usuários do banco de dados.
+     * Retorna uma página de usuários do banco de dados, ordenada pelo ID.
      *
-     * @return Lista de objetos Usuario em formato JSON.
+     * @param limit Quantidade máxima de usuários da página.
+     * @param after Cursor da página anterior ({@code proximo_cursor}), ausente na primeira página.
+     * @return Página de objetos Usuario em formato JSON.
      * @throws ClassNotFoundException
      * @throws SQLException
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public ArrayList<Usuario> listarUsuarios() throws ClassNotFoundException, SQLException {
-        return (ArrayList<Usuario>) usuarioBO.selecionarUsuariosBO();
+    public Pagina<Usuario> listarUsuarios(@QueryParam("limit") Integer limit, @QueryParam("after") String after) throws ClassNotFoundException, SQLException {
+        return usuarioBO.selecionarPaginaUsuariosBO(Paginacao.lerCursorId(after), Paginacao.normalizarLimite(limit));
     }
 
     /**
@@ -107,6 +114,33 @@ public class UsuarioResource {
     @Path("/email/{email}")
     @Produces(MediaType.APPLICATION_JSON)
     public Usuario buscarUsuarioPorEmail(@PathParam("email") String email) throws SQLException, ClassNotFoundException {
-        return usuarioBO.fazerLoginBO(email, "");
+        return usuarioBO.buscarUsuarioPorEmailBO(email);
+    }
+
+    /**
+     * Realiza o login do usuário. A verificação da senha é feita no pool de login do BO, liberando a thread
+     * da requisição enquanto o hash é calculado. Sem corpo, email ou senha, responde 400 sem ocupar o pool.
+     *
+     * @param login         Email e senha do usuário.
+     * @param asyncResponse Resposta assíncrona da requisição.
+     */
+    @POST
+    @Path("/login")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public void fazerLogin(Login login, @Suspended AsyncResponse asyncResponse) {
+        if (login == null || login.getEmail() == null || login.getEmail().isEmpty() || login.getSenha() == null) {
+            throw new BadRequestException("Informe o email e a senha.");
+        }
+        usuarioBO.fazerLoginAsyncBO(login.getEmail(), login.getSenha()).whenComplete((usuario, erro) -> {
+            Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+            if (causa == null) {
+                asyncResponse.resume(usuario);
+            } else if (causa instanceof IllegalArgumentException) {
+                asyncResponse.resume(Response.status(Response.Status.UNAUTHORIZED).build());
+            } else {
+                asyncResponse.resume(causa);
+            }
+        });
     }
 }
@@ -0,0 +1,73 @@
+package GS.resources;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Classe Versionamento monta as ETags fortes a partir das versões das entidades e coleções e avalia o cabeçalho
+ * If-None-Match, de modo que uma resposta inalterada seja 304 sem ler nem serializar a entidade.
+ *
+ * A comparação ignora o sufixo de codificação acrescentado pela {@link CompressaoResposta} (ex.: {@code "v3-gzip"}),
+ * já que a mesma versão vale para todas as codificações da resposta.
+ */
+final class Versionamento {
+
+    private Versionamento() {
+    }
+
+    /**
+     * Monta a ETag de uma versão.
+     *
+     * @param versao Versão da entidade ou da coleção.
+     * @return ETag forte.
+     */
+    static EntityTag etag(long versao) {
+        return new EntityTag("v" + versao);
+    }
+
+    /**
+     * Retorna a resposta 304 caso o cliente já tenha a versão atual.
+     *
+     * @param ifNoneMatch Valor do cabeçalho If-None-Match, ou null.
+     * @param etag        ETag da versão atual.
+     * @return Resposta 304, ou null se a representação do cliente estiver desatualizada.
+     */
+    static Response naoModificado(String ifNoneMatch, EntityTag etag) {
+        String correspondente = correspondente(ifNoneMatch, etag);
+        if (correspondente == null) {
+            return null;
+        }
+        // Devolve a ETag da representação que o cliente tem (ex.: "v3-gzip"), como faria a resposta 200
+        return Response.notModified().header(HttpHeaders.ETAG, correspondente.equals("*") ? etag : correspondente).build();
+    }
+
+    /**
+     * Procura, entre as ETags do If-None-Match, uma que corresponda à atual (comparação fraca, como define o HTTP
+     * para esse cabeçalho).
+     *
+     * @param ifNoneMatch Valor do cabeçalho If-None-Match, ou null.
+     * @param etag        ETag da versão atual.
+     * @return ETag correspondente, como enviada pelo cliente (ou {@code *}), ou null se o cliente não tiver
+     * a versão atual.
+     */
+    static String correspondente(String ifNoneMatch, EntityTag etag) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (String item : ifNoneMatch.split(",")) {
+            String recebida = item.trim();
+            if (recebida.equals("*")) {
+                return recebida;
+            }
+            String valor = recebida.startsWith("W/") ? recebida.substring(2) : recebida;
+            if (valor.length() < 2 || valor.charAt(0) != '"' || valor.charAt(valor.length() - 1) != '"') {
+                continue;
+            }
+            if (CompressaoResposta.removerSufixo(valor.substring(1, valor.length() - 1)).equals(etag.getValue())) {
+                return recebida;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package GS.resources.binario;
+
+import GS.config.Configuracao;
+import GS.model.beans.DadosConsumo;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.NotSupportedException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Classe ProvedorConsumoBinario lê registros de consumo no {@link FormatoConsumoBinario formato binário} dos
+ * medidores, para {@code DadosConsumo} (um único registro) ou {@code List<DadosConsumo>} (lote).
+ *
+ * O corpo pode vir compactado ({@code Content-Encoding: gzip} ou {@code deflate}) e é decodificado em fluxo, registro
+ * a registro. Um corpo inválido é respondido com 400; mais registros que {@code dadosConsumo.lote.maximoItens}, com 413
+ * (a leitura é interrompida ao atingir o limite, mesmo que o corpo descompactado seja maior).
+ */
+@Provider
+@Consumes(FormatoConsumoBinario.TIPO)
+public class ProvedorConsumoBinario implements MessageBodyReader<Object> {
+
+    private final int maximoRegistros;
+
+    public ProvedorConsumoBinario() {
+        this.maximoRegistros = Configuracao.get().getInt("dadosConsumo.lote.maximoItens", 10000);
+    }
+
+    @Override
+    public boolean isReadable(Class<?> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType) {
+        if (tipo == DadosConsumo.class) {
+            return true;
+        }
+        return Collection.class.isAssignableFrom(tipo) && tipo.isAssignableFrom(ArrayList.class)
+                && generico instanceof ParameterizedType
+                && ((ParameterizedType) generico).getActualTypeArguments()[0] == DadosConsumo.class;
+    }
+
+    @Override
+    public Object readFrom(Class<Object> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType,
+                           MultivaluedMap<String, String> cabecalhos, InputStream entidade) throws IOException {
+        boolean unico = !Collection.class.isAssignableFrom(tipo);
+        int limite = unico ? 1 : maximoRegistros;
+        List<DadosConsumo> registros = new ArrayList<>();
+        InputStream corpo = null;
+        try {
+            corpo = descompactar(entidade, cabecalhos.getFirst(HttpHeaders.CONTENT_ENCODING));
+            FormatoConsumoBinario.ler(corpo, registro -> {
+                if (registros.size() == limite) {
+                    if (unico) {
+                        throw new BadRequestException("Era esperado um único registro de consumo.");
+                    }
+                    throw new WebApplicationException("O lote excede o máximo de " + limite + " registros.",
+                            Response.Status.REQUEST_ENTITY_TOO_LARGE);
+                }
+                registros.add(registro);
+            });
+        } catch (IllegalArgumentException | EOFException | ZipException e) {
+            throw new BadRequestException("Corpo " + FormatoConsumoBinario.TIPO + " inválido: " + e.getMessage(), e);
+        } finally {
+            // Libera a memória nativa do descompactador
+            if (corpo != null && corpo != entidade) {
+                corpo.close();
+            }
+        }
+        if (!unico) {
+            return registros;
+        }
+        if (registros.isEmpty()) {
+            throw new BadRequestException("Era esperado um único registro de consumo.");
+        }
+        return registros.get(0);
+    }
+
+    private static InputStream descompactar(InputStream entidade, String codificacao) throws IOException {
+        if (codificacao == null || codificacao.isEmpty() || codificacao.equalsIgnoreCase("identity")) {
+            return entidade;
+        }
+        switch (codificacao.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(entidade, 8192);
+            case "deflate":
+                return new InflaterInputStream(entidade);
+            default:
+                throw new NotSupportedException("Content-Encoding não suportado: " + codificacao);
+        }
+    }
+}
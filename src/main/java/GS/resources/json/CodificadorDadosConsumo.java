@@ -0,0 +1,66 @@
+package GS.resources.json;
+
+import GS.model.beans.DadosConsumo;
+import jakarta.json.stream.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Codificador JSON de {@link DadosConsumo}.
+ */
+public final class CodificadorDadosConsumo extends CodificadorJson<DadosConsumo> {
+
+    private static final byte[] ID_CONSUMO = EscritorJson.nome("id_consumo");
+    private static final byte[] DATA_HORA = EscritorJson.nome("data_hora");
+    private static final byte[] CONSUMO_ENERGIA = EscritorJson.nome("consumo_energia");
+    private static final byte[] ID_DISPOSITIVO = EscritorJson.nome("id_dispositivo");
+
+    public CodificadorDadosConsumo() {
+        super(DadosConsumo.class);
+    }
+
+    @Override
+    public void escrever(DadosConsumo valor, EscritorJson saida) throws IOException {
+        saida.inicioObjeto();
+        saida.campo(ID_CONSUMO, true);
+        saida.inteiro(valor.getIdConsumo());
+        if (valor.getDataHora() != null) {
+            saida.campo(DATA_HORA, false);
+            saida.dataHora(valor.getDataHora());
+        }
+        saida.campo(CONSUMO_ENERGIA, false);
+        saida.decimal(valor.getConsumoEnergia());
+        saida.campo(ID_DISPOSITIVO, false);
+        saida.inteiro(valor.getIdDispositivo());
+        saida.fimObjeto();
+    }
+
+    @Override
+    protected DadosConsumo criar() {
+        return new DadosConsumo();
+    }
+
+    @Override
+    protected boolean lerCampo(DadosConsumo valor, String nome, JsonParser.Event evento, JsonParser entrada) {
+        switch (nome) {
+            case "id_consumo":
+            case "idConsumo":
+                valor.setIdConsumo(inteiro(nome, evento, entrada));
+                return true;
+            case "data_hora":
+            case "dataHora":
+                valor.setDataHora(dataHora(nome, evento, entrada));
+                return true;
+            case "consumo_energia":
+            case "consumoEnergia":
+                valor.setConsumoEnergia(decimal(nome, evento, entrada));
+                return true;
+            case "id_dispositivo":
+            case "idDispositivo":
+                valor.setIdDispositivo(inteiro(nome, evento, entrada));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
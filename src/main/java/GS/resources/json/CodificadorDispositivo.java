@@ -0,0 +1,87 @@
+package GS.resources.json;
+
+import GS.model.beans.Dispositivo;
+import jakarta.json.stream.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Codificador JSON de {@link Dispositivo}. A data de cadastro é escrita sem hora ({@code 2024-01-31}).
+ */
+public final class CodificadorDispositivo extends CodificadorJson<Dispositivo> {
+
+    private static final byte[] ID_DISPOSITIVO = EscritorJson.nome("id_dispositivo");
+    private static final byte[] NOME_DISPOSITIVO = EscritorJson.nome("nome_dispositivo");
+    private static final byte[] TIPO_DISPOSITIVO = EscritorJson.nome("tipo_dispositivo");
+    private static final byte[] STATUS = EscritorJson.nome("status");
+    private static final byte[] DATA_CADASTRO = EscritorJson.nome("data_cadastro");
+    private static final byte[] ID_USUARIO = EscritorJson.nome("id_usuario");
+
+    public CodificadorDispositivo() {
+        super(Dispositivo.class);
+    }
+
+    @Override
+    public void escrever(Dispositivo valor, EscritorJson saida) throws IOException {
+        saida.inicioObjeto();
+        saida.campo(ID_DISPOSITIVO, true);
+        saida.inteiro(valor.getIdDispositivo());
+        if (valor.getNomeDispositivo() != null) {
+            saida.campo(NOME_DISPOSITIVO, false);
+            saida.texto(valor.getNomeDispositivo());
+        }
+        if (valor.getTipoDispositivo() != null) {
+            saida.campo(TIPO_DISPOSITIVO, false);
+            saida.texto(valor.getTipoDispositivo());
+        }
+        if (valor.getStatus() != null) {
+            saida.campo(STATUS, false);
+            saida.texto(valor.getStatus());
+        }
+        if (valor.getDataCadastro() != null) {
+            saida.campo(DATA_CADASTRO, false);
+            saida.data(valor.getDataCadastro());
+        }
+        if (valor.getIdUsuario() > 0) {
+            saida.campo(ID_USUARIO, false);
+            saida.inteiro(valor.getIdUsuario());
+        }
+        saida.fimObjeto();
+    }
+
+    @Override
+    protected Dispositivo criar() {
+        return new Dispositivo();
+    }
+
+    @Override
+    protected boolean lerCampo(Dispositivo valor, String nome, JsonParser.Event evento, JsonParser entrada) {
+        switch (nome) {
+            case "id_dispositivo":
+            case "idDispositivo":
+                valor.setIdDispositivo(inteiro(nome, evento, entrada));
+                return true;
+            case "nome_dispositivo":
+            case "nomeDispositivo":
+                valor.setNomeDispositivo(texto(nome, evento, entrada));
+                return true;
+            case "tipo_dispositivo":
+            case "tipoDispositivo":
+                valor.setTipoDispositivo(texto(nome, evento, entrada));
+                return true;
+            case "status":
+                valor.setStatus(texto(nome, evento, entrada));
+                return true;
+            case "data_cadastro":
+            case "dataCadastro":
+                valor.setDataCadastro(data(nome, evento, entrada));
+                return true;
+            case "id_usuario":
+            case "idUsuario":
+                valor.setIdUsuario(inteiro(nome, evento, entrada));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
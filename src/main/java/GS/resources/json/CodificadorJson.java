@@ -0,0 +1,206 @@
+package GS.resources.json;
+
+import jakarta.json.stream.JsonParser;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+/**
+ * Classe CodificadorJson converte um tipo de entidade de e para JSON sem reflexão: a escrita percorre campos fixos
+ * com nomes pré-calculados ({@link EscritorJson#nome(String)}), e a leitura consome os eventos de um
+ * {@link JsonParser}, sem montar a árvore do documento.
+ *
+ * Os campos são escritos com os nomes de {@code @SerializedName} (ex.: {@code id_consumo}); na leitura, também são
+ * aceitos os nomes das propriedades Java (ex.: {@code idConsumo}). Campos desconhecidos e valores null são ignorados.
+ *
+ * @param <T> Tipo da entidade.
+ */
+public abstract class CodificadorJson<T> {
+
+    private final Class<T> tipo;
+
+    protected CodificadorJson(Class<T> tipo) {
+        this.tipo = tipo;
+    }
+
+    public Class<T> getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Escreve a entidade como um objeto JSON; campos null são omitidos.
+     *
+     * @param valor Entidade (não nula).
+     * @param saida Escritor de destino.
+     * @throws IOException se a escrita falhar.
+     */
+    public abstract void escrever(T valor, EscritorJson saida) throws IOException;
+
+    /**
+     * Lê um objeto JSON cujo início ({@code START_OBJECT}) já foi consumido, até o seu fim.
+     *
+     * @param entrada Leitor posicionado no início do objeto.
+     * @return Entidade lida.
+     * @throws IllegalArgumentException se algum campo tiver um valor inválido.
+     */
+    public T ler(JsonParser entrada) {
+        T valor = criar();
+        JsonParser.Event evento;
+        while ((evento = entrada.next()) != JsonParser.Event.END_OBJECT) {
+            String nome = entrada.getString();
+            evento = entrada.next();
+            if (evento != JsonParser.Event.VALUE_NULL && !lerCampo(valor, nome, evento, entrada)) {
+                ignorar(evento, entrada);
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Cria a entidade vazia preenchida pela leitura.
+     *
+     * @return Nova entidade.
+     */
+    protected abstract T criar();
+
+    /**
+     * Atribui à entidade o valor de um campo.
+     *
+     * @param valor   Entidade em leitura.
+     * @param nome    Nome do campo no JSON.
+     * @param evento  Evento do valor (nunca {@code VALUE_NULL}).
+     * @param entrada Leitor posicionado no valor.
+     * @return false se o campo não pertencer à entidade (o valor é então ignorado).
+     */
+    protected abstract boolean lerCampo(T valor, String nome, JsonParser.Event evento, JsonParser entrada);
+
+    protected static int inteiro(String nome, JsonParser.Event evento, JsonParser entrada) {
+        if (evento == JsonParser.Event.VALUE_NUMBER && entrada.isIntegralNumber()) {
+            return entrada.getInt();
+        }
+        try {
+            return Integer.parseInt(escalar(nome, evento, entrada));
+        } catch (NumberFormatException e) {
+            throw invalido(nome);
+        }
+    }
+
+    protected static float decimal(String nome, JsonParser.Event evento, JsonParser entrada) {
+        try {
+            return Float.parseFloat(escalar(nome, evento, entrada));
+        } catch (NumberFormatException e) {
+            throw invalido(nome);
+        }
+    }
+
+    protected static String texto(String nome, JsonParser.Event evento, JsonParser entrada) {
+        return escalar(nome, evento, entrada);
+    }
+
+    /**
+     * Lê uma data e hora ISO-8601; uma indicação de fuso, se houver, é desconsiderada, e uma data sem hora
+     * corresponde ao início do dia.
+     */
+    protected static LocalDateTime dataHora(String nome, JsonParser.Event evento, JsonParser entrada) {
+        String valor = escalar(nome, evento, entrada);
+        LocalDateTime simples = dataHoraSimples(valor);
+        if (simples != null) {
+            return simples;
+        }
+        try {
+            if (valor.length() <= 11) {
+                return LocalDate.parse(valor.substring(0, Math.min(10, valor.length()))).atStartOfDay();
+            }
+            TemporalAccessor lido = DateTimeFormatter.ISO_DATE_TIME.parse(valor);
+            return LocalDateTime.from(lido);
+        } catch (RuntimeException e) {
+            throw invalido(nome);
+        }
+    }
+
+    /**
+     * Converte diretamente o formato escrito pelo {@link EscritorJson} ({@code 2024-01-31T13:45:00[.fração]}),
+     * sem passar pelo DateTimeFormatter.
+     *
+     * @return Data e hora, ou null se o texto estiver em outro formato.
+     */
+    static LocalDateTime dataHoraSimples(String valor) {
+        int tamanho = valor.length();
+        if (tamanho < 19 || tamanho == 20 || tamanho > 29 || valor.charAt(4) != '-' || valor.charAt(7) != '-'
+                || valor.charAt(10) != 'T' || valor.charAt(13) != ':' || valor.charAt(16) != ':'
+                || (tamanho > 19 && valor.charAt(19) != '.')) {
+            return null;
+        }
+        int ano = digitos(valor, 0, 4);
+        int mes = digitos(valor, 5, 7);
+        int dia = digitos(valor, 8, 10);
+        int hora = digitos(valor, 11, 13);
+        int minuto = digitos(valor, 14, 16);
+        int segundo = digitos(valor, 17, 19);
+        int nano = 0;
+        if (tamanho > 19) {
+            nano = digitos(valor, 20, tamanho);
+            for (int i = tamanho - 20; i < 9 && nano >= 0; i++) {
+                nano *= 10;
+            }
+        }
+        if ((ano | mes | dia | hora | minuto | segundo | nano) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(ano, mes, dia, hora, minuto, segundo, nano);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Valor dos dígitos decimais entre inicio e fim, ou -1 se houver outro caractere.
+     */
+    private static int digitos(String valor, int inicio, int fim) {
+        int resultado = 0;
+        for (int i = inicio; i < fim; i++) {
+            char c = valor.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            resultado = resultado * 10 + (c - '0');
+        }
+        return resultado;
+    }
+
+    /**
+     * Lê uma data ISO-8601 ({@code 2024-01-31}); hora e fuso, se houver, são desconsiderados.
+     */
+    protected static Date data(String nome, JsonParser.Event evento, JsonParser entrada) {
+        String valor = escalar(nome, evento, entrada);
+        try {
+            return java.sql.Date.valueOf(LocalDate.parse(valor.length() > 10 ? valor.substring(0, 10) : valor));
+        } catch (RuntimeException e) {
+            throw invalido(nome);
+        }
+    }
+
+    private static String escalar(String nome, JsonParser.Event evento, JsonParser entrada) {
+        if (evento != JsonParser.Event.VALUE_STRING && evento != JsonParser.Event.VALUE_NUMBER) {
+            throw invalido(nome);
+        }
+        return entrada.getString();
+    }
+
+    private static IllegalArgumentException invalido(String nome) {
+        return new IllegalArgumentException("Valor inválido para o campo " + nome + ".");
+    }
+
+    private static void ignorar(JsonParser.Event evento, JsonParser entrada) {
+        if (evento == JsonParser.Event.START_OBJECT) {
+            entrada.skipObject();
+        } else if (evento == JsonParser.Event.START_ARRAY) {
+            entrada.skipArray();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package GS.resources.json;
+
+import GS.model.beans.LinhaRelatorioConsumo;
+import jakarta.json.stream.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Codificador JSON de {@link LinhaRelatorioConsumo}, usado nas exportações JSON e JSON Lines do relatório de consumo.
+ */
+public final class CodificadorLinhaRelatorio extends CodificadorJson<LinhaRelatorioConsumo> {
+
+    private static final byte[] ID_CONSUMO = EscritorJson.nome("id_consumo");
+    private static final byte[] DATA_HORA = EscritorJson.nome("data_hora");
+    private static final byte[] CONSUMO_ENERGIA = EscritorJson.nome("consumo_energia");
+    private static final byte[] ID_DISPOSITIVO = EscritorJson.nome("id_dispositivo");
+    private static final byte[] NOME_DISPOSITIVO = EscritorJson.nome("nome_dispositivo");
+    private static final byte[] ID_USUARIO = EscritorJson.nome("id_usuario");
+
+    public CodificadorLinhaRelatorio() {
+        super(LinhaRelatorioConsumo.class);
+    }
+
+    @Override
+    public void escrever(LinhaRelatorioConsumo valor, EscritorJson saida) throws IOException {
+        saida.inicioObjeto();
+        saida.campo(ID_CONSUMO, true);
+        saida.inteiro(valor.getIdConsumo());
+        saida.campo(DATA_HORA, false);
+        saida.dataHora(valor.getDataHora());
+        saida.campo(CONSUMO_ENERGIA, false);
+        saida.decimal(valor.getConsumoEnergia());
+        saida.campo(ID_DISPOSITIVO, false);
+        saida.inteiro(valor.getIdDispositivo());
+        // Leituras de dispositivos já excluídos não têm nome nem usuário
+        saida.campo(NOME_DISPOSITIVO, false);
+        saida.texto(valor.getNomeDispositivo());
+        saida.campo(ID_USUARIO, false);
+        if (valor.getIdUsuario() > 0) {
+            saida.inteiro(valor.getIdUsuario());
+        } else {
+            saida.nulo();
+        }
+        saida.fimObjeto();
+    }
+
+    @Override
+    protected LinhaRelatorioConsumo criar() {
+        return new LinhaRelatorioConsumo();
+    }
+
+    @Override
+    protected boolean lerCampo(LinhaRelatorioConsumo valor, String nome, JsonParser.Event evento, JsonParser entrada) {
+        switch (nome) {
+            case "id_consumo":
+            case "idConsumo":
+                valor.setIdConsumo(inteiro(nome, evento, entrada));
+                return true;
+            case "data_hora":
+            case "dataHora":
+                valor.setDataHora(dataHora(nome, evento, entrada));
+                return true;
+            case "consumo_energia":
+            case "consumoEnergia":
+                valor.setConsumoEnergia(decimal(nome, evento, entrada));
+                return true;
+            case "id_dispositivo":
+            case "idDispositivo":
+                valor.setIdDispositivo(inteiro(nome, evento, entrada));
+                return true;
+            case "nome_dispositivo":
+            case "nomeDispositivo":
+                valor.setNomeDispositivo(texto(nome, evento, entrada));
+                return true;
+            case "id_usuario":
+            case "idUsuario":
+                valor.setIdUsuario(inteiro(nome, evento, entrada));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package GS.resources.json;
+
+import GS.model.beans.Sessao;
+import GS.model.beans.Usuario;
+import jakarta.json.stream.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Codificador JSON de {@link Sessao}, com o usuário aninhado. A senha do usuário é aceita na leitura,
+ * mas nunca é escrita na resposta.
+ */
+public final class CodificadorSessao extends CodificadorJson<Sessao> {
+
+    private static final byte[] ID_SESSAO = EscritorJson.nome("id_sessao");
+    private static final byte[] INICIO_SESSAO = EscritorJson.nome("inicio_sessao");
+    private static final byte[] FIM_SESSAO = EscritorJson.nome("fim_sessao");
+    private static final byte[] USUARIO = EscritorJson.nome("usuario");
+
+    private static final byte[] ID_USUARIO = EscritorJson.nome("id_usuario");
+    private static final byte[] NOME = EscritorJson.nome("nome");
+    private static final byte[] EMAIL = EscritorJson.nome("email");
+    private static final byte[] DATA_CADASTRO = EscritorJson.nome("data_cadastro");
+
+    public CodificadorSessao() {
+        super(Sessao.class);
+    }
+
+    @Override
+    public void escrever(Sessao valor, EscritorJson saida) throws IOException {
+        saida.inicioObjeto();
+        saida.campo(ID_SESSAO, true);
+        saida.inteiro(valor.getIdSessao());
+        if (valor.getInicioSessao() != null) {
+            saida.campo(INICIO_SESSAO, false);
+            saida.dataHora(valor.getInicioSessao());
+        }
+        if (valor.getFimSessao() != null) {
+            saida.campo(FIM_SESSAO, false);
+            saida.dataHora(valor.getFimSessao());
+        }
+        Usuario usuario = valor.getUsuario();
+        if (usuario != null) {
+            saida.campo(USUARIO, false);
+            saida.inicioObjeto();
+            saida.campo(ID_USUARIO, true);
+            saida.inteiro(usuario.getIdUsuario());
+            if (usuario.getNome() != null) {
+                saida.campo(NOME, false);
+                saida.texto(usuario.getNome());
+            }
+            if (usuario.getEmail() != null) {
+                saida.campo(EMAIL, false);
+                saida.texto(usuario.getEmail());
+            }
+            if (usuario.getDataCadastro() != null) {
+                saida.campo(DATA_CADASTRO, false);
+                saida.data(usuario.getDataCadastro());
+            }
+            saida.fimObjeto();
+        }
+        saida.fimObjeto();
+    }
+
+    @Override
+    protected Sessao criar() {
+        return new Sessao();
+    }
+
+    @Override
+    protected boolean lerCampo(Sessao valor, String nome, JsonParser.Event evento, JsonParser entrada) {
+        switch (nome) {
+            case "id_sessao":
+            case "idSessao":
+                valor.setIdSessao(inteiro(nome, evento, entrada));
+                return true;
+            case "inicio_sessao":
+            case "inicioSessao":
+                valor.setInicioSessao(dataHora(nome, evento, entrada));
+                return true;
+            case "fim_sessao":
+            case "fimSessao":
+                valor.setFimSessao(dataHora(nome, evento, entrada));
+                return true;
+            case "usuario":
+                if (evento != JsonParser.Event.START_OBJECT) {
+                    throw new IllegalArgumentException("Valor inválido para o campo usuario.");
+                }
+                valor.setUsuario(lerUsuario(entrada));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Usuario lerUsuario(JsonParser entrada) {
+        Usuario usuario = new Usuario();
+        JsonParser.Event evento;
+        while ((evento = entrada.next()) != JsonParser.Event.END_OBJECT) {
+            String nome = entrada.getString();
+            evento = entrada.next();
+            if (evento == JsonParser.Event.VALUE_NULL) {
+                continue;
+            }
+            switch (nome) {
+                case "id_usuario":
+                case "idUsuario":
+                    usuario.setIdUsuario(inteiro(nome, evento, entrada));
+                    break;
+                case "nome":
+                    usuario.setNome(texto(nome, evento, entrada));
+                    break;
+                case "email":
+                    usuario.setEmail(texto(nome, evento, entrada));
+                    break;
+                case "senha":
+                    usuario.setSenha(texto(nome, evento, entrada));
+                    break;
+                case "data_cadastro":
+                case "dataCadastro":
+                    usuario.setDataCadastro(data(nome, evento, entrada));
+                    break;
+                default:
+                    if (evento == JsonParser.Event.START_OBJECT) {
+                        entrada.skipObject();
+                    } else if (evento == JsonParser.Event.START_ARRAY) {
+                        entrada.skipArray();
+                    }
+            }
+        }
+        return usuario;
+    }
+}
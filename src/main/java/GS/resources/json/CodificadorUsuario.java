@@ -0,0 +1,72 @@
+package GS.resources.json;
+
+import GS.model.beans.Usuario;
+import jakarta.json.stream.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Codificador JSON de {@link Usuario}. A senha é lida (cadastro e atualização), mas nunca escrita; a data de cadastro
+ * é escrita sem hora ({@code 2024-01-31}).
+ */
+public final class CodificadorUsuario extends CodificadorJson<Usuario> {
+
+    private static final byte[] ID_USUARIO = EscritorJson.nome("id_usuario");
+    private static final byte[] NOME = EscritorJson.nome("nome");
+    private static final byte[] EMAIL = EscritorJson.nome("email");
+    private static final byte[] DATA_CADASTRO = EscritorJson.nome("data_cadastro");
+
+    public CodificadorUsuario() {
+        super(Usuario.class);
+    }
+
+    @Override
+    public void escrever(Usuario valor, EscritorJson saida) throws IOException {
+        saida.inicioObjeto();
+        saida.campo(ID_USUARIO, true);
+        saida.inteiro(valor.getIdUsuario());
+        if (valor.getNome() != null) {
+            saida.campo(NOME, false);
+            saida.texto(valor.getNome());
+        }
+        if (valor.getEmail() != null) {
+            saida.campo(EMAIL, false);
+            saida.texto(valor.getEmail());
+        }
+        if (valor.getDataCadastro() != null) {
+            saida.campo(DATA_CADASTRO, false);
+            saida.data(valor.getDataCadastro());
+        }
+        saida.fimObjeto();
+    }
+
+    @Override
+    protected Usuario criar() {
+        return new Usuario();
+    }
+
+    @Override
+    protected boolean lerCampo(Usuario valor, String nome, JsonParser.Event evento, JsonParser entrada) {
+        switch (nome) {
+            case "id_usuario":
+            case "idUsuario":
+                valor.setIdUsuario(inteiro(nome, evento, entrada));
+                return true;
+            case "nome":
+                valor.setNome(texto(nome, evento, entrada));
+                return true;
+            case "email":
+                valor.setEmail(texto(nome, evento, entrada));
+                return true;
+            case "senha":
+                valor.setSenha(texto(nome, evento, entrada));
+                return true;
+            case "data_cadastro":
+            case "dataCadastro":
+                valor.setDataCadastro(data(nome, evento, entrada));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
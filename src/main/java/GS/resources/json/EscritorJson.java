@@ -0,0 +1,392 @@
+package GS.resources.json;
+
+import GS.config.Configuracao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Classe EscritorJson escreve JSON em UTF-8 diretamente em um buffer de bytes reutilizável, descarregado na saída
+ * sempre que enche. Números, textos e datas são convertidos caractere a caractere no buffer, sem criar objetos
+ * intermediários por valor; os nomes dos campos são escritos a partir de bytes pré-calculados ({@link #nome(String)}).
+ *
+ * Uma instância não é thread-safe: é usada por uma escrita de cada vez e depois devolvida ao conjunto de escritores
+ * reaproveitados ({@link #obter(OutputStream)} / {@link #devolver(EscritorJson)}), limitado a
+ * {@code json.escritores.reaproveitados} buffers de {@code json.escritores.bufferBytes} bytes.
+ */
+public final class EscritorJson {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULO = {'n', 'u', 'l', 'l'};
+    private static final long MS_POR_DIA = 86_400_000L;
+
+    // Fuso usado nas datas sem hora (TimeZone.getDefault() devolve uma cópia a cada chamada)
+    private static final TimeZone FUSO = TimeZone.getDefault();
+
+    private static final int TAMANHO_BUFFER = Configuracao.get().getInt("json.escritores.bufferBytes", 8192);
+    private static final ArrayBlockingQueue<EscritorJson> LIVRES =
+            new ArrayBlockingQueue<>(Math.max(1, Configuracao.get().getInt("json.escritores.reaproveitados", 64)));
+
+    private final byte[] buffer;
+    private final StringBuilder numero = new StringBuilder(32);
+    private OutputStream saida;
+    private int posicao;
+
+    /**
+     * Construtor que define o tamanho do buffer.
+     *
+     * @param capacidade Tamanho do buffer em bytes (no mínimo 64).
+     */
+    public EscritorJson(int capacidade) {
+        this.buffer = new byte[Math.max(64, capacidade)];
+    }
+
+    /**
+     * Obtém um escritor livre (ou cria um, se não houver) associado à saída.
+     *
+     * @param saida Saída que recebe os bytes.
+     * @return Escritor pronto para uso.
+     */
+    public static EscritorJson obter(OutputStream saida) {
+        EscritorJson escritor = LIVRES.poll();
+        if (escritor == null) {
+            escritor = new EscritorJson(TAMANHO_BUFFER);
+        }
+        escritor.iniciar(saida);
+        return escritor;
+    }
+
+    /**
+     * Devolve um escritor para ser reaproveitado; o conteúdo ainda não descarregado é descartado.
+     *
+     * @param escritor Escritor obtido com {@link #obter(OutputStream)}.
+     */
+    public static void devolver(EscritorJson escritor) {
+        escritor.saida = null;
+        escritor.posicao = 0;
+        LIVRES.offer(escritor);
+    }
+
+    /**
+     * Pré-calcula o nome de um campo, já com aspas e dois-pontos.
+     *
+     * @param nome Nome do campo, sem caracteres que precisem de escape.
+     * @return Bytes de {@code "nome":}.
+     */
+    public static byte[] nome(String nome) {
+        return ('"' + nome + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Associa o escritor a uma saída.
+     *
+     * @param saida Saída que recebe os bytes.
+     */
+    public void iniciar(OutputStream saida) {
+        this.saida = saida;
+        this.posicao = 0;
+    }
+
+    /**
+     * Descarrega o buffer na saída e desassocia o escritor, que pode então ser reaproveitado. A saída não é fechada.
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    public void terminar() throws IOException {
+        descarregar();
+        saida = null;
+    }
+
+    /**
+     * Envia à saída o conteúdo do buffer.
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    public void descarregar() throws IOException {
+        if (posicao > 0) {
+            saida.write(buffer, 0, posicao);
+            posicao = 0;
+        }
+    }
+
+    public void inicioObjeto() throws IOException {
+        escreverByte('{');
+    }
+
+    public void fimObjeto() throws IOException {
+        escreverByte('}');
+    }
+
+    public void inicioLista() throws IOException {
+        escreverByte('[');
+    }
+
+    public void fimLista() throws IOException {
+        escreverByte(']');
+    }
+
+    public void virgula() throws IOException {
+        escreverByte(',');
+    }
+
+    /**
+     * Escreve uma quebra de linha, separador dos objetos em JSON Lines.
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    public void novaLinha() throws IOException {
+        escreverByte('\n');
+    }
+
+    /**
+     * Escreve o nome de um campo pré-calculado com {@link #nome(String)}, precedido de vírgula se não for o primeiro.
+     *
+     * @param nome     Bytes do nome do campo.
+     * @param primeiro Indica se é o primeiro campo do objeto.
+     * @throws IOException se a escrita falhar.
+     */
+    public void campo(byte[] nome, boolean primeiro) throws IOException {
+        if (!primeiro) {
+            escreverByte(',');
+        }
+        garantir(nome.length);
+        System.arraycopy(nome, 0, buffer, posicao, nome.length);
+        posicao += nome.length;
+    }
+
+    public void nulo() throws IOException {
+        garantir(NULO.length);
+        System.arraycopy(NULO, 0, buffer, posicao, NULO.length);
+        posicao += NULO.length;
+    }
+
+    /**
+     * Escreve um inteiro.
+     *
+     * @param valor Valor.
+     * @throws IOException se a escrita falhar.
+     */
+    public void inteiro(long valor) throws IOException {
+        garantir(20);
+        if (valor == Long.MIN_VALUE) {
+            texto("-9223372036854775808", false);
+            return;
+        }
+        if (valor < 0) {
+            buffer[posicao++] = '-';
+            valor = -valor;
+        }
+        int digitos = 1;
+        for (long limite = 10; digitos < 19 && valor >= limite; limite *= 10) {
+            digitos++;
+        }
+        for (int i = posicao + digitos - 1; i >= posicao; i--) {
+            buffer[i] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        }
+        posicao += digitos;
+    }
+
+    /**
+     * Escreve um número decimal com a mesma representação de {@link Float#toString(float)}; NaN e infinitos,
+     * que não existem em JSON, são escritos como null.
+     *
+     * @param valor Valor.
+     * @throws IOException se a escrita falhar.
+     */
+    public void decimal(float valor) throws IOException {
+        if (Float.isNaN(valor) || Float.isInfinite(valor)) {
+            nulo();
+            return;
+        }
+        // StringBuilder.append(float) converte sem criar uma String intermediária
+        numero.setLength(0);
+        numero.append(valor);
+        int tamanho = numero.length();
+        garantir(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            buffer[posicao++] = (byte) numero.charAt(i);
+        }
+    }
+
+    /**
+     * Escreve um texto entre aspas, com escape dos caracteres especiais, ou null.
+     *
+     * @param valor Texto, ou null.
+     * @throws IOException se a escrita falhar.
+     */
+    public void texto(String valor) throws IOException {
+        if (valor == null) {
+            nulo();
+            return;
+        }
+        texto(valor, true);
+    }
+
+    /**
+     * Escreve uma data e hora no formato ISO-8601 ({@code 2024-01-31T13:45:00}, com a fração de segundo apenas se
+     * houver), ou null.
+     *
+     * @param valor Data e hora, ou null.
+     * @throws IOException se a escrita falhar.
+     */
+    public void dataHora(LocalDateTime valor) throws IOException {
+        if (valor == null) {
+            nulo();
+            return;
+        }
+        int ano = valor.getYear();
+        if (ano < 0 || ano > 9999) {
+            texto(valor.toString(), true);
+            return;
+        }
+        garantir(32);
+        buffer[posicao++] = '"';
+        data(ano, valor.getMonthValue(), valor.getDayOfMonth());
+        buffer[posicao++] = 'T';
+        doisDigitos(valor.getHour());
+        buffer[posicao++] = ':';
+        doisDigitos(valor.getMinute());
+        buffer[posicao++] = ':';
+        doisDigitos(valor.getSecond());
+        int nano = valor.getNano();
+        if (nano > 0) {
+            // Fração com 9 dígitos, sem os zeros à direita
+            int digitos = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digitos--;
+            }
+            buffer[posicao++] = '.';
+            for (int i = posicao + digitos - 1; i >= posicao; i--) {
+                buffer[i] = (byte) ('0' + nano % 10);
+                nano /= 10;
+            }
+            posicao += digitos;
+        }
+        buffer[posicao++] = '"';
+    }
+
+    /**
+     * Escreve a data (sem hora) no fuso padrão da JVM, no formato {@code 2024-01-31}, ou null.
+     *
+     * @param valor Data, ou null.
+     * @throws IOException se a escrita falhar.
+     */
+    public void data(Date valor) throws IOException {
+        if (valor == null) {
+            nulo();
+            return;
+        }
+        long local = valor.getTime() + FUSO.getOffset(valor.getTime());
+        long dia = Math.floorDiv(local, MS_POR_DIA);
+
+        // Conversão de dias desde 1970-01-01 para ano/mês/dia no calendário gregoriano
+        long z = dia + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long diaEra = z - era * 146097;
+        long anoEra = (diaEra - diaEra / 1460 + diaEra / 36524 - diaEra / 146096) / 365;
+        long diaAno = diaEra - (365 * anoEra + anoEra / 4 - anoEra / 100);
+        long mp = (5 * diaAno + 2) / 153;
+        int diaMes = (int) (diaAno - (153 * mp + 2) / 5 + 1);
+        int mes = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long ano = anoEra + era * 400 + (mes <= 2 ? 1 : 0);
+        if (ano < 0 || ano > 9999) {
+            texto(String.format("%d-%02d-%02d", ano, mes, diaMes), true);
+            return;
+        }
+        garantir(12);
+        buffer[posicao++] = '"';
+        data((int) ano, mes, diaMes);
+        buffer[posicao++] = '"';
+    }
+
+    private void data(int ano, int mes, int dia) {
+        buffer[posicao++] = (byte) ('0' + ano / 1000);
+        buffer[posicao++] = (byte) ('0' + ano / 100 % 10);
+        buffer[posicao++] = (byte) ('0' + ano / 10 % 10);
+        buffer[posicao++] = (byte) ('0' + ano % 10);
+        buffer[posicao++] = '-';
+        doisDigitos(mes);
+        buffer[posicao++] = '-';
+        doisDigitos(dia);
+    }
+
+    private void doisDigitos(int valor) {
+        buffer[posicao++] = (byte) ('0' + valor / 10);
+        buffer[posicao++] = (byte) ('0' + valor % 10);
+    }
+
+    private void texto(String valor, boolean aspas) throws IOException {
+        if (aspas) {
+            escreverByte('"');
+        }
+        int tamanho = valor.length();
+        for (int i = 0; i < tamanho; i++) {
+            char c = valor.charAt(i);
+            // Pior caso por caractere: \\u00XX (6 bytes) ou um par substituto (4 bytes)
+            garantir(6);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    buffer[posicao++] = '\\';
+                    buffer[posicao++] = (byte) c;
+                } else if (c >= 0x20) {
+                    buffer[posicao++] = (byte) c;
+                } else if (c == '\n') {
+                    buffer[posicao++] = '\\';
+                    buffer[posicao++] = 'n';
+                } else if (c == '\r') {
+                    buffer[posicao++] = '\\';
+                    buffer[posicao++] = 'r';
+                } else if (c == '\t') {
+                    buffer[posicao++] = '\\';
+                    buffer[posicao++] = 't';
+                } else {
+                    buffer[posicao++] = '\\';
+                    buffer[posicao++] = 'u';
+                    buffer[posicao++] = '0';
+                    buffer[posicao++] = '0';
+                    buffer[posicao++] = HEX[c >> 4];
+                    buffer[posicao++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                buffer[posicao++] = (byte) (0xC0 | c >> 6);
+                buffer[posicao++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < tamanho && Character.isLowSurrogate(valor.charAt(i + 1))) {
+                int codigo = Character.toCodePoint(c, valor.charAt(++i));
+                buffer[posicao++] = (byte) (0xF0 | codigo >> 18);
+                buffer[posicao++] = (byte) (0x80 | codigo >> 12 & 0x3F);
+                buffer[posicao++] = (byte) (0x80 | codigo >> 6 & 0x3F);
+                buffer[posicao++] = (byte) (0x80 | codigo & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Substituto isolado: não tem representação em UTF-8
+                buffer[posicao++] = '?';
+            } else {
+                buffer[posicao++] = (byte) (0xE0 | c >> 12);
+                buffer[posicao++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[posicao++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        if (aspas) {
+            escreverByte('"');
+        }
+    }
+
+    private void escreverByte(char c) throws IOException {
+        if (posicao == buffer.length) {
+            descarregar();
+        }
+        buffer[posicao++] = (byte) c;
+    }
+
+    private void garantir(int bytes) throws IOException {
+        if (posicao + bytes > buffer.length) {
+            descarregar();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package GS.resources.json;
+
+import GS.model.beans.Pagina;
+import jakarta.annotation.Priority;
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParserFactory;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Classe ProvedorJson lê e escreve em JSON os dados de consumo, dispositivos, sessões e usuários com os
+ * {@link CodificadorJson codificadores} próprios de cada tipo, no lugar do JSON-B (que serializa por reflexão).
+ *
+ * Atende a entidade isolada, listas ({@code List<DadosConsumo>}) e páginas ({@code Pagina<Dispositivo>}), de modo que
+ * todas as páginas tenham o mesmo envelope ({@code itens}, {@code proximo_cursor}); os demais tipos continuam com
+ * o JSON-B. Um corpo inválido é respondido com 400. A prioridade faz o Jersey consultá-lo
+ * antes do JSON-B, que também lê e escreve application/json (sem ela, as requisições seriam lidas pelo JSON-B).
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class ProvedorJson implements MessageBodyWriter<Object>, MessageBodyReader<Object> {
+
+    private static final byte[] ITENS = EscritorJson.nome("itens");
+    private static final byte[] PROXIMO_CURSOR = EscritorJson.nome("proximo_cursor");
+
+    private static final Map<Class<?>, CodificadorJson<?>> CODIFICADORES = new HashMap<>();
+    private static final JsonParserFactory FABRICA = Json.createParserFactory(null);
+
+    static {
+        registrar(new CodificadorDadosConsumo());
+        registrar(new CodificadorDispositivo());
+        registrar(new CodificadorSessao());
+        registrar(new CodificadorUsuario());
+        registrar(new CodificadorLinhaRelatorio());
+    }
+
+    private static void registrar(CodificadorJson<?> codificador) {
+        CODIFICADORES.put(codificador.getTipo(), codificador);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType) {
+        return codificador(tipo, generico, true) != null;
+    }
+
+    @Override
+    public void writeTo(Object valor, Class<?> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType,
+                        MultivaluedMap<String, Object> cabecalhos, OutputStream saida) throws IOException {
+        @SuppressWarnings("unchecked")
+        CodificadorJson<Object> codificador = (CodificadorJson<Object>) codificador(tipo, generico, true);
+        EscritorJson escritor = EscritorJson.obter(saida);
+        try {
+            if (valor instanceof Pagina) {
+                Pagina<?> pagina = (Pagina<?>) valor;
+                escritor.inicioObjeto();
+                boolean primeiro = true;
+                if (pagina.getItens() != null) {
+                    escritor.campo(ITENS, true);
+                    escreverLista(pagina.getItens(), codificador, escritor);
+                    primeiro = false;
+                }
+                if (pagina.getProximoCursor() != null) {
+                    escritor.campo(PROXIMO_CURSOR, primeiro);
+                    escritor.texto(pagina.getProximoCursor());
+                }
+                escritor.fimObjeto();
+            } else if (valor instanceof Collection) {
+                escreverLista((Collection<?>) valor, codificador, escritor);
+            } else {
+                codificador.escrever(valor, escritor);
+            }
+            escritor.terminar();
+        } finally {
+            EscritorJson.devolver(escritor);
+        }
+    }
+
+    private static void escreverLista(Collection<?> itens, CodificadorJson<Object> codificador, EscritorJson escritor)
+            throws IOException {
+        escritor.inicioLista();
+        boolean primeiro = true;
+        for (Object item : itens) {
+            if (!primeiro) {
+                escritor.virgula();
+            }
+            primeiro = false;
+            if (item == null) {
+                escritor.nulo();
+            } else {
+                codificador.escrever(item, escritor);
+            }
+        }
+        escritor.fimLista();
+    }
+
+    @Override
+    public boolean isReadable(Class<?> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType) {
+        return codificador(tipo, generico, false) != null;
+    }
+
+    @Override
+    public Object readFrom(Class<Object> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType,
+                           MultivaluedMap<String, String> cabecalhos, InputStream entidade) {
+        CodificadorJson<?> codificador = codificador(tipo, generico, false);
+        // O corpo da requisição é fechado pelo container; fechar o leitor apenas devolve os seus buffers
+        try (JsonParser entrada = FABRICA.createParser(new FilterInputStream(entidade) {
+            @Override
+            public void close() {
+            }
+        }, StandardCharsets.UTF_8)) {
+            JsonParser.Event evento = entrada.next();
+            if (!Collection.class.isAssignableFrom(tipo)) {
+                if (evento != JsonParser.Event.START_OBJECT) {
+                    throw new IllegalArgumentException("Era esperado um objeto JSON.");
+                }
+                return codificador.ler(entrada);
+            }
+            if (evento != JsonParser.Event.START_ARRAY) {
+                throw new IllegalArgumentException("Era esperada uma lista JSON.");
+            }
+            List<Object> itens = new ArrayList<>();
+            while ((evento = entrada.next()) != JsonParser.Event.END_ARRAY) {
+                if (evento == JsonParser.Event.START_OBJECT) {
+                    itens.add(codificador.ler(entrada));
+                } else if (evento == JsonParser.Event.VALUE_NULL) {
+                    itens.add(null);
+                } else {
+                    throw new IllegalArgumentException("Os itens da lista devem ser objetos JSON.");
+                }
+            }
+            return itens;
+        } catch (JsonException | IllegalArgumentException | IllegalStateException | NoSuchElementException e) {
+            throw new BadRequestException("JSON inválido: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retorna o codificador dos itens de um tipo atendido pelo provedor.
+     *
+     * @param tipo     Classe da entidade.
+     * @param generico Tipo genérico da entidade, com o tipo dos itens das listas e páginas.
+     * @param escrita  Indica se é uma escrita (páginas só são escritas; listas de leitura precisam aceitar ArrayList).
+     * @return Codificador, ou null se o tipo deve ficar com o JSON-B.
+     */
+    private static CodificadorJson<?> codificador(Class<?> tipo, Type generico, boolean escrita) {
+        CodificadorJson<?> codificador = CODIFICADORES.get(tipo);
+        if (codificador != null) {
+            return codificador;
+        }
+        boolean colecao = escrita ? Collection.class.isAssignableFrom(tipo) || tipo == Pagina.class
+                : tipo.isAssignableFrom(ArrayList.class);
+        if (!colecao || !(generico instanceof ParameterizedType)) {
+            return null;
+        }
+        Type[] argumentos = ((ParameterizedType) generico).getActualTypeArguments();
+        if (argumentos.length != 1) {
+            return null;
+        }
+        Type item = argumentos[0];
+        if (item instanceof WildcardType) {
+            Type[] limites = ((WildcardType) item).getUpperBounds();
+            item = limites.length == 1 ? limites[0] : null;
+        }
+        return item instanceof Class ? CODIFICADORES.get(item) : null;
+    }
+}
@@ -0,0 +1,40 @@
+package GS.resources.relatorio;
+
+import GS.model.beans.LinhaRelatorioConsumo;
+
+import java.io.IOException;
+
+/**
+ * Escreve o relatório de consumo em um formato de arquivo, linha a linha, à medida que as linhas são lidas do banco.
+ * Nenhum escritor guarda as linhas já escritas: o uso de memória não depende do tamanho do relatório.
+ */
+public interface EscritorRelatorio {
+
+    /**
+     * Escreve o início do arquivo (cabeçalho das colunas, abertura da lista).
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    void inicio() throws IOException;
+
+    /**
+     * Escreve uma linha do relatório.
+     *
+     * @param linha Linha do relatório.
+     * @throws IOException se a escrita falhar.
+     */
+    void linha(LinhaRelatorioConsumo linha) throws IOException;
+
+    /**
+     * Escreve o fim do arquivo e envia à saída o que ainda estiver em buffer. A saída não é fechada.
+     *
+     * @throws IOException se a escrita falhar.
+     */
+    void fim() throws IOException;
+
+    /**
+     * Libera os recursos do escritor; chamado sempre, inclusive quando a escrita falha.
+     */
+    default void liberar() {
+    }
+}
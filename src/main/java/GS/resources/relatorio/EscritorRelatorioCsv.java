@@ -0,0 +1,73 @@
+package GS.resources.relatorio;
+
+import GS.model.beans.LinhaRelatorioConsumo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve o relatório em CSV (RFC 4180): separador vírgula, linhas terminadas em CRLF, texto em UTF-8 e campos com
+ * vírgula, aspas ou quebra de linha entre aspas. Dispositivos sem nome ou sem usuário ficam com o campo vazio.
+ */
+final class EscritorRelatorioCsv implements EscritorRelatorio {
+
+    static final String CABECALHO = "id_consumo,data_hora,consumo_energia,id_dispositivo,nome_dispositivo,id_usuario";
+
+    private final Writer saida;
+
+    EscritorRelatorioCsv(OutputStream saida) {
+        this.saida = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 8192);
+    }
+
+    @Override
+    public void inicio() throws IOException {
+        saida.write(CABECALHO);
+        saida.write("\r\n");
+    }
+
+    @Override
+    public void linha(LinhaRelatorioConsumo linha) throws IOException {
+        saida.write(Integer.toString(linha.getIdConsumo()));
+        saida.write(',');
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(linha.getDataHora(), saida);
+        saida.write(',');
+        saida.write(Float.toString(linha.getConsumoEnergia()));
+        saida.write(',');
+        saida.write(Integer.toString(linha.getIdDispositivo()));
+        saida.write(',');
+        texto(linha.getNomeDispositivo());
+        saida.write(',');
+        if (linha.getIdUsuario() > 0) {
+            saida.write(Integer.toString(linha.getIdUsuario()));
+        }
+        saida.write("\r\n");
+    }
+
+    @Override
+    public void fim() throws IOException {
+        saida.flush();
+    }
+
+    private void texto(String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        boolean aspas = false;
+        for (int i = 0; i < valor.length() && !aspas; i++) {
+            char c = valor.charAt(i);
+            aspas = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!aspas) {
+            saida.write(valor);
+            return;
+        }
+        saida.write('"');
+        saida.write(valor.replace("\"", "\"\""));
+        saida.write('"');
+    }
+}
@@ -0,0 +1,58 @@
+package GS.resources.relatorio;
+
+import GS.model.beans.LinhaRelatorioConsumo;
+import GS.resources.json.CodificadorLinhaRelatorio;
+import GS.resources.json.EscritorJson;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escreve o relatório como um array JSON ou em JSON Lines (um objeto por linha, sem array), com os escritores
+ * reaproveitados de {@link EscritorJson}.
+ */
+final class EscritorRelatorioJson implements EscritorRelatorio {
+
+    private static final CodificadorLinhaRelatorio CODIFICADOR = new CodificadorLinhaRelatorio();
+
+    private final EscritorJson escritor;
+    private final boolean linhas;
+    private boolean primeira = true;
+
+    EscritorRelatorioJson(OutputStream saida, boolean linhas) {
+        this.escritor = EscritorJson.obter(saida);
+        this.linhas = linhas;
+    }
+
+    @Override
+    public void inicio() throws IOException {
+        if (!linhas) {
+            escritor.inicioLista();
+        }
+    }
+
+    @Override
+    public void linha(LinhaRelatorioConsumo linha) throws IOException {
+        if (!linhas && !primeira) {
+            escritor.virgula();
+        }
+        primeira = false;
+        CODIFICADOR.escrever(linha, escritor);
+        if (linhas) {
+            escritor.novaLinha();
+        }
+    }
+
+    @Override
+    public void fim() throws IOException {
+        if (!linhas) {
+            escritor.fimLista();
+        }
+        escritor.terminar();
+    }
+
+    @Override
+    public void liberar() {
+        EscritorJson.devolver(escritor);
+    }
+}
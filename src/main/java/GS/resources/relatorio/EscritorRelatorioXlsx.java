@@ -0,0 +1,289 @@
+package GS.resources.relatorio;
+
+import GS.config.Configuracao;
+import GS.model.beans.LinhaRelatorioConsumo;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Escreve o relatório como planilha do Excel (XLSX, Office Open XML), gerando o pacote ZIP diretamente na saída.
+ *
+ * Cada linha é escrita no XML da planilha assim que chega, com textos inline (sem tabela de textos compartilhados):
+ * não há linhas em memória nem arquivos temporários, ao contrário de bibliotecas que montam a planilha antes de
+ * gravá-la. As partes fixas do pacote (pasta de trabalho, estilos, relacionamentos e tipos de conteúdo) são gravadas
+ * no fim, quando a quantidade de planilhas já é conhecida; ao atingir o limite de linhas do Excel, o relatório
+ * continua em uma nova planilha, que repete o cabeçalho.
+ */
+final class EscritorRelatorioXlsx implements EscritorRelatorio {
+
+    static final int MAXIMO_LINHAS_PLANILHA = 1_048_576;
+
+    // Dias entre 30/12/1899, data zero das planilhas, e 01/01/1970
+    private static final long DIAS_ATE_EPOCH = 25569;
+    private static final double NANOS_POR_DIA = 86_400_000_000_000d;
+
+    private static final String CABECALHO_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String NS_PLANILHA = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_RELACIONAMENTOS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String NS_PACOTE = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String[] COLUNAS = EscritorRelatorioCsv.CABECALHO.split(",");
+
+    // Estilos de cellXfs (ver escreverEstilos): 1 = data/hora, 2 = negrito
+    private static final String ESTILO_DATA_HORA = "1";
+    private static final String ESTILO_CABECALHO = "2";
+
+    private final ZipOutputStream zip;
+    private final Writer xml;
+    private final int maximoLinhas;
+    private int planilhas;
+    private int linhaAtual;
+
+    EscritorRelatorioXlsx(OutputStream saida) {
+        this(saida, MAXIMO_LINHAS_PLANILHA);
+    }
+
+    /**
+     * Construtor que define a quantidade máxima de linhas por planilha (cabeçalho incluído).
+     *
+     * @param saida        Saída que recebe o arquivo.
+     * @param maximoLinhas Quantidade máxima de linhas de cada planilha.
+     */
+    EscritorRelatorioXlsx(OutputStream saida, int maximoLinhas) {
+        this.zip = new ZipOutputStream(new SaidaSemFechamento(saida), StandardCharsets.UTF_8);
+        this.zip.setLevel(Configuracao.get().getInt("relatorio.xlsx.nivelCompressao", 1));
+        this.xml = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 8192);
+        this.maximoLinhas = Math.max(2, maximoLinhas);
+    }
+
+    @Override
+    public void inicio() throws IOException {
+        iniciarPlanilha();
+    }
+
+    @Override
+    public void linha(LinhaRelatorioConsumo linha) throws IOException {
+        if (linhaAtual == maximoLinhas) {
+            terminarPlanilha();
+            iniciarPlanilha();
+        }
+        iniciarLinha();
+        numero(Integer.toString(linha.getIdConsumo()), null);
+        dataHora(linha.getDataHora());
+        if (Float.isNaN(linha.getConsumoEnergia()) || Float.isInfinite(linha.getConsumoEnergia())) {
+            xml.write("<c/>");
+        } else {
+            numero(Float.toString(linha.getConsumoEnergia()), null);
+        }
+        numero(Integer.toString(linha.getIdDispositivo()), null);
+        texto(linha.getNomeDispositivo(), null);
+        if (linha.getIdUsuario() > 0) {
+            numero(Integer.toString(linha.getIdUsuario()), null);
+        }
+        xml.write("</row>");
+    }
+
+    @Override
+    public void fim() throws IOException {
+        terminarPlanilha();
+        escreverPastaDeTrabalho();
+        escreverEstilos();
+        escreverRelacionamentos();
+        escreverTiposConteudo();
+        xml.flush();
+        zip.finish();
+    }
+
+    @Override
+    public void liberar() {
+        // O Deflater do ZipOutputStream só libera a memória nativa no close(); a saída da resposta não é fechada
+        try {
+            zip.close();
+        } catch (IOException e) {
+            // A escrita da resposta já falhou e o erro foi propagado por quem a escrevia
+        }
+    }
+
+    private void iniciarPlanilha() throws IOException {
+        planilhas++;
+        linhaAtual = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + planilhas + ".xml"));
+        xml.write(CABECALHO_XML);
+        xml.write("<worksheet xmlns=\"" + NS_PLANILHA + "\">");
+        // Linha do cabeçalho fixa no topo e larguras das colunas de data/hora e nome
+        xml.write("<sheetViews><sheetView workbookViewId=\"0\"><pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\""
+                + " state=\"frozen\"/></sheetView></sheetViews>");
+        xml.write("<cols><col min=\"2\" max=\"2\" width=\"20\" customWidth=\"1\"/>"
+                + "<col min=\"5\" max=\"5\" width=\"30\" customWidth=\"1\"/></cols>");
+        xml.write("<sheetData>");
+        iniciarLinha();
+        for (String coluna : COLUNAS) {
+            texto(coluna, ESTILO_CABECALHO);
+        }
+        xml.write("</row>");
+    }
+
+    private void terminarPlanilha() throws IOException {
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void iniciarLinha() throws IOException {
+        linhaAtual++;
+        xml.write("<row r=\"");
+        xml.write(Integer.toString(linhaAtual));
+        xml.write("\">");
+    }
+
+    private void numero(String valor, String estilo) throws IOException {
+        xml.write(estilo == null ? "<c><v>" : "<c s=\"" + estilo + "\"><v>");
+        xml.write(valor);
+        xml.write("</v></c>");
+    }
+
+    private void texto(String valor, String estilo) throws IOException {
+        if (valor == null) {
+            xml.write("<c/>");
+            return;
+        }
+        xml.write(estilo == null ? "<c t=\"inlineStr\"><is><t>" : "<c t=\"inlineStr\" s=\"" + estilo + "\"><is><t>");
+        escapar(valor);
+        xml.write("</t></is></c>");
+    }
+
+    /**
+     * Escreve a data/hora como número de série das planilhas (dias desde 30/12/1899, com a hora na fração),
+     * formatado pelo estilo de data/hora.
+     */
+    private void dataHora(LocalDateTime valor) throws IOException {
+        double serie = valor.toLocalDate().toEpochDay() + DIAS_ATE_EPOCH
+                + valor.toLocalTime().toNanoOfDay() / NANOS_POR_DIA;
+        numero(Double.toString(serie), ESTILO_DATA_HORA);
+    }
+
+    /**
+     * Escreve o texto com escape de XML; caracteres de controle, que o XML 1.0 não admite, são omitidos.
+     */
+    private void escapar(String valor) throws IOException {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '&':
+                    xml.write("&amp;");
+                    break;
+                case '<':
+                    xml.write("&lt;");
+                    break;
+                case '>':
+                    xml.write("&gt;");
+                    break;
+                default:
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+            }
+        }
+    }
+
+    private void escreverPastaDeTrabalho() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+        xml.write(CABECALHO_XML);
+        xml.write("<workbook xmlns=\"" + NS_PLANILHA + "\" xmlns:r=\"" + NS_RELACIONAMENTOS + "\"><sheets>");
+        for (int i = 1; i <= planilhas; i++) {
+            xml.write("<sheet name=\"Consumo" + (i == 1 ? "" : " " + i) + "\" sheetId=\"" + i + "\" r:id=\"rId" + i + "\"/>");
+        }
+        xml.write("</sheets></workbook>");
+        xml.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/_rels/workbook.xml.rels"));
+        xml.write(CABECALHO_XML);
+        xml.write("<Relationships xmlns=\"" + NS_PACOTE + "\">");
+        for (int i = 1; i <= planilhas; i++) {
+            xml.write("<Relationship Id=\"rId" + i + "\" Type=\"" + NS_RELACIONAMENTOS + "/worksheet\" Target=\"worksheets/sheet"
+                    + i + ".xml\"/>");
+        }
+        xml.write("<Relationship Id=\"rId" + (planilhas + 1) + "\" Type=\"" + NS_RELACIONAMENTOS
+                + "/styles\" Target=\"styles.xml\"/>");
+        xml.write("</Relationships>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void escreverEstilos() throws IOException {
+        zip.putNextEntry(new ZipEntry("xl/styles.xml"));
+        xml.write(CABECALHO_XML);
+        xml.write("<styleSheet xmlns=\"" + NS_PLANILHA + "\">"
+                + "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd hh:mm:ss\"/></numFmts>"
+                + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+                + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+                + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+                + "<cellXfs count=\"3\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+                + "<xf numFmtId=\"164\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+                + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>"
+                + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+                + "</styleSheet>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void escreverRelacionamentos() throws IOException {
+        zip.putNextEntry(new ZipEntry("_rels/.rels"));
+        xml.write(CABECALHO_XML);
+        xml.write("<Relationships xmlns=\"" + NS_PACOTE + "\"><Relationship Id=\"rId1\" Type=\"" + NS_RELACIONAMENTOS
+                + "/officeDocument\" Target=\"xl/workbook.xml\"/></Relationships>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void escreverTiposConteudo() throws IOException {
+        zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+        xml.write(CABECALHO_XML);
+        xml.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\""
+                + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/styles.xml\""
+                + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        for (int i = 1; i <= planilhas; i++) {
+            xml.write("<Override PartName=\"/xl/worksheets/sheet" + i + ".xml\""
+                    + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        xml.write("</Types>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * Saída que repassa os bytes à saída da resposta, mas não a fecha.
+     */
+    private static final class SaidaSemFechamento extends FilterOutputStream {
+
+        SaidaSemFechamento(OutputStream saida) {
+            super(saida);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package GS.resources.relatorio;
+
+import jakarta.ws.rs.core.MediaType;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Formatos de exportação do relatório de consumo, com o tipo de mídia negociado pelo Accept e a extensão do arquivo.
+ */
+public enum FormatoRelatorio {
+
+    JSON(MediaType.APPLICATION_JSON, "json") {
+        @Override
+        public EscritorRelatorio criarEscritor(OutputStream saida) {
+            return new EscritorRelatorioJson(saida, false);
+        }
+    },
+    JSONL("application/x-ndjson", "jsonl") {
+        @Override
+        public EscritorRelatorio criarEscritor(OutputStream saida) {
+            return new EscritorRelatorioJson(saida, true);
+        }
+    },
+    CSV("text/csv", "csv") {
+        @Override
+        public EscritorRelatorio criarEscritor(OutputStream saida) {
+            return new EscritorRelatorioCsv(saida);
+        }
+    },
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx") {
+        @Override
+        public EscritorRelatorio criarEscritor(OutputStream saida) {
+            return new EscritorRelatorioXlsx(saida);
+        }
+    };
+
+    private final MediaType tipo;
+    private final String extensao;
+
+    FormatoRelatorio(String tipo, String extensao) {
+        this.tipo = MediaType.valueOf(tipo);
+        this.extensao = extensao;
+    }
+
+    public MediaType getTipo() {
+        return tipo;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    /**
+     * Cria o escritor do relatório neste formato.
+     *
+     * @param saida Saída que recebe o arquivo.
+     * @return Escritor associado à saída.
+     */
+    public abstract EscritorRelatorio criarEscritor(OutputStream saida);
+
+    /**
+     * Busca o formato pelo nome ou pela extensão ({@code csv}, {@code jsonl}, {@code ndjson}...), sem diferenciar
+     * maiúsculas de minúsculas.
+     *
+     * @param nome Nome do formato.
+     * @return Formato correspondente, ou null se não houver.
+     */
+    public static FormatoRelatorio porNome(String nome) {
+        String valor = nome.trim().toLowerCase(Locale.ROOT);
+        if (valor.equals("ndjson")) {
+            return JSONL;
+        }
+        for (FormatoRelatorio formato : values()) {
+            if (formato.extensao.equals(valor)) {
+                return formato;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca o formato pelo tipo de mídia, desconsiderando os parâmetros (charset).
+     *
+     * @param tipo Tipo de mídia.
+     * @return Formato correspondente, ou null se não houver.
+     */
+    public static FormatoRelatorio porTipo(MediaType tipo) {
+        for (FormatoRelatorio formato : values()) {
+            if (formato.tipo.isCompatible(tipo) && !tipo.isWildcardType() && !tipo.isWildcardSubtype()) {
+                return formato;
+            }
+        }
+        return null;
+    }
+}
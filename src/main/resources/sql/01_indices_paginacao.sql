@@ -0,0 +1,3 @@
+-- Índice usado pela paginação por cursor de GET /dadosConsumo (ORDER BY data_hora, id_consumo).
+-- As demais listagens são paginadas pela chave primária, que já possui índice.
+CREATE INDEX IX_DADOS_CONSUMO_DATA_HORA ON TB_DADOS_CONSUMO (data_hora, id_consumo);
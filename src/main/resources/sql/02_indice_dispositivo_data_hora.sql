@@ -0,0 +1,3 @@
+-- Índice composto usado pela consulta de consumo por dispositivo e intervalo
+-- (GET /dispositivos/{id}/consumo?from=&to=).
+CREATE INDEX IX_DADOS_CONSUMO_DISP_DATA ON TB_DADOS_CONSUMO (id_dispositivo, data_hora);
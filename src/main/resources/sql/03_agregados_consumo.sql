@@ -0,0 +1,14 @@
+-- Agregados de consumo por dispositivo e período, mantidos incrementalmente pelo DadosConsumoBO
+-- (GET /dispositivos/{id}/consumo/horario e /diario).
+-- granularidade: 'H' = hora, 'D' = dia; inicio_periodo = TRUNC(data_hora, 'HH24' | 'DD').
+-- Para preencher a tabela a partir do histórico: POST /admin/agregados/reconstrucao?from=&to=
+CREATE TABLE TB_CONSUMO_AGREGADO (
+    granularidade   CHAR(1)       NOT NULL,
+    id_dispositivo  NUMBER        NOT NULL,
+    inicio_periodo  TIMESTAMP     NOT NULL,
+    total_kwh       NUMBER(18, 4) NOT NULL,
+    minimo          NUMBER(12, 4) NOT NULL,
+    maximo          NUMBER(12, 4) NOT NULL,
+    quantidade      NUMBER        NOT NULL,
+    CONSTRAINT PK_CONSUMO_AGREGADO PRIMARY KEY (granularidade, id_dispositivo, inicio_periodo)
+);
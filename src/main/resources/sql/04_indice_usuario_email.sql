@@ -0,0 +1,2 @@
+-- Índice usado na busca das credenciais pelo email no login (POST /usuarios/login).
+CREATE INDEX IX_USUARIO_EMAIL ON TB_USUARIO (email);
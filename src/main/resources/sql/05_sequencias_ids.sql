@@ -0,0 +1,21 @@
+-- Sequências do esquema hi-lo de geração de IDs (GS.model.id.AlocadorIds, ids.fonte=sequencia).
+-- Cada valor da sequência reserva a faixa [valor * tamanhoBloco, valor * tamanhoBloco + tamanhoBloco);
+-- o valor inicial é calculado a partir do maior ID existente, para não repetir os IDs já gravados.
+-- tamanhoBloco deve ser igual a ids.tamanhoBloco (ou ids.<entidade>.tamanhoBloco) da aplicação.
+DECLARE
+    tamanho_bloco CONSTANT NUMBER := 1000;
+
+    PROCEDURE criar_sequencia(sequencia VARCHAR2, tabela VARCHAR2, coluna VARCHAR2) IS
+        maior NUMBER;
+    BEGIN
+        EXECUTE IMMEDIATE 'SELECT NVL(MAX(' || coluna || '), 0) FROM ' || tabela INTO maior;
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE ' || sequencia || ' START WITH ' || (FLOOR(maior / tamanho_bloco) + 1)
+            || ' INCREMENT BY 1 CACHE 20 NOCYCLE';
+    END;
+BEGIN
+    criar_sequencia('SQ_USUARIO', 'TB_USUARIO', 'id_usuario');
+    criar_sequencia('SQ_DISPOSITIVO', 'TB_DISPOSITIVO', 'id_dispositivo');
+    criar_sequencia('SQ_SESSAO', 'TB_SESSAO', 'id_sessao');
+    criar_sequencia('SQ_DADOS_CONSUMO', 'TB_DADOS_CONSUMO', 'id_consumo');
+END;
+/
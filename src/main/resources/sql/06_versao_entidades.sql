@@ -0,0 +1,13 @@
+-- Versões usadas nas ETags das respostas (GET /dispositivos, /dispositivos/{id} e /dadosConsumo/{id}).
+-- Cada atualização de um registro incrementa a sua versão; a versão de uma coleção é incrementada a cada inclusão,
+-- alteração ou exclusão de um dos seus registros. Com If-None-Match, a resposta 304 lê apenas a versão.
+ALTER TABLE TB_DISPOSITIVO ADD (versao NUMBER(19) DEFAULT 1 NOT NULL);
+ALTER TABLE TB_DADOS_CONSUMO ADD (versao NUMBER(19) DEFAULT 1 NOT NULL);
+
+CREATE TABLE TB_VERSAO_COLECAO (
+    nome_colecao  VARCHAR2(50) NOT NULL,
+    versao        NUMBER(19)   NOT NULL,
+    CONSTRAINT PK_VERSAO_COLECAO PRIMARY KEY (nome_colecao)
+);
+INSERT INTO TB_VERSAO_COLECAO (nome_colecao, versao) VALUES ('dispositivos', 1);
+COMMIT;
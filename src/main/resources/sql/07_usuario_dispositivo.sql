@@ -0,0 +1,4 @@
+-- Usuário dono de cada dispositivo, usado no filtro por usuário do relatório de consumo
+-- (GET /relatorios/consumo?usuario=). Dispositivos já cadastrados ficam sem usuário (NULL).
+ALTER TABLE TB_DISPOSITIVO ADD (id_usuario NUMBER);
+CREATE INDEX IX_DISPOSITIVO_USUARIO ON TB_DISPOSITIVO (id_usuario);
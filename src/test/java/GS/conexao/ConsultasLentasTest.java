@@ -0,0 +1,56 @@
+package GS.conexao;
+
+import GS.model.beans.ConsultaLenta;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConsultasLentasTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void rankingMantemOsMaisLentosEAgrupaPorComando() {
+        ConsultasLentas lentas = new ConsultasLentas(true, 10, 2, 60, false);
+        lentas.registrar("a", "SELECT A", 50 * MS, 1, Collections.emptyList(), "DAO.a", "BO.a", null, 0);
+        lentas.registrar("b", "SELECT B", 20 * MS, 1, Collections.emptyList(), "DAO.b", "BO.b", null, 0);
+        // Mais rápido que os dois no ranking cheio: descartado
+        lentas.registrar("c", "SELECT C", 15 * MS, 1, Collections.emptyList(), "DAO.c", "BO.c", null, 0);
+        lentas.registrar("b", "SELECT B", 80 * MS, 7, Collections.emptyList(), "DAO.b", "BO.x", null, 1000);
+
+        List<ConsultaLenta> consultas = lentas.getMaisLentas(1000);
+        assertEquals(2, consultas.size());
+        assertEquals("b", consultas.get(0).getId());
+        assertEquals(2, consultas.get(0).getOcorrencias());
+        assertEquals(80.0, consultas.get(0).getDuracaoMaximaMs());
+        assertEquals(50.0, consultas.get(0).getDuracaoMediaMs());
+        assertEquals("BO.x", consultas.get(0).getOrigem());
+        assertEquals(7, consultas.get(0).getLinhas());
+        assertEquals("a", consultas.get(1).getId());
+
+        // Mais lento que "a": entra no lugar dele
+        lentas.registrar("c", "SELECT C", 60 * MS, 1, Collections.emptyList(), "DAO.c", "BO.c", null, 2000);
+        assertEquals("c", lentas.getMaisLentas(2000).get(1).getId());
+    }
+
+    @Test
+    public void comandosSemNovasOcorrenciasSaemDaJanela() {
+        ConsultasLentas lentas = new ConsultasLentas(true, 10, 5, 1, false);
+        lentas.registrar("a", "SELECT A", 50 * MS, 1, Collections.emptyList(), null, null, null, 0);
+        lentas.registrar("b", "SELECT B", 20 * MS, 1, Collections.emptyList(), null, null, null, 50_000);
+        List<ConsultaLenta> consultas = lentas.getMaisLentas(70_000);
+        assertEquals(1, consultas.size());
+        assertEquals("b", consultas.get(0).getId());
+    }
+
+    @Test
+    public void formataMetodosEParametrosDoPlano() {
+        assertEquals("DadosConsumoBO.inserirBO", ConsultasLentas.nomeMetodo("GS.model.bo.DadosConsumoBO", "lambda$inserirBO$2"));
+        assertEquals("UsuarioDAO.inserir", ConsultasLentas.nomeMetodo("GS.model.dao.UsuarioDAO", "inserir"));
+        assertEquals("SELECT * FROM T WHERE a = :1 AND b = '?' AND c > :2",
+                ConsultasLentas.parametrosNomeados("SELECT * FROM T WHERE a = ? AND b = '?' AND c > ?"));
+    }
+}
@@ -0,0 +1,57 @@
+package GS.metricas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RegistroMetricasTest {
+
+    @Test
+    public void histogramaAcumulaOsBaldesNaColeta() {
+        Familia<Histograma> familia = new Familia<>("gs_teste_segundos", "Teste.", "histogram",
+                new String[]{"rota"}, () -> new Histograma(new double[]{0.001, 0.01}), 10);
+        Histograma histograma = familia.serie("/a");
+        histograma.observar(500_000);
+        // O limite é inclusivo: 1 ms vai para o balde le="0.001"
+        histograma.observar(1_000_000);
+        histograma.observar(5_000_000);
+        histograma.observar(2_000_000_000L);
+
+        EscritorPrometheus escritor = new EscritorPrometheus();
+        familia.coletar(escritor);
+        assertEquals("# HELP gs_teste_segundos Teste.\n"
+                + "# TYPE gs_teste_segundos histogram\n"
+                + "gs_teste_segundos_bucket{rota=\"/a\",le=\"0.001\"} 2\n"
+                + "gs_teste_segundos_bucket{rota=\"/a\",le=\"0.01\"} 3\n"
+                + "gs_teste_segundos_bucket{rota=\"/a\",le=\"+Inf\"} 4\n"
+                + "gs_teste_segundos_sum{rota=\"/a\"} 2.0065\n"
+                + "gs_teste_segundos_count{rota=\"/a\"} 4\n", escritor.toString());
+    }
+
+    @Test
+    public void combinacoesAcimaDoLimiteVaoParaOutros() {
+        Familia<Contador> familia = new Familia<>("gs_teste_total", "Teste.", "counter",
+                new String[]{"comando"}, Contador::new, 2);
+        familia.serie("a").incrementar();
+        assertSame(familia.serie("a"), familia.serie(new String("a")));
+        familia.serie("b").incrementar();
+        familia.serie("c").adicionar(3);
+        familia.serie("d").incrementar();
+
+        EscritorPrometheus escritor = new EscritorPrometheus();
+        familia.coletar(escritor);
+        String texto = escritor.toString();
+        assertTrue(texto.contains("gs_teste_total{comando=\"a\"} 1\n"));
+        assertTrue(texto.contains("gs_teste_total{comando=\"b\"} 1\n"));
+        assertTrue(texto.contains("gs_teste_total{comando=\"outros\"} 4\n"));
+    }
+
+    @Test
+    public void escapaValoresDosRotulos() {
+        EscritorPrometheus escritor = new EscritorPrometheus();
+        escritor.amostra("gs_teste", new String[]{"comando"}, new String[]{"WHERE a = \"x\\y\"\n"}, 0.00025);
+        assertEquals("gs_teste{comando=\"WHERE a = \\\"x\\\\y\\\"\\n\"} 0.00025\n", escritor.toString());
+    }
+}
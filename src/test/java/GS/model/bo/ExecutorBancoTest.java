@@ -0,0 +1,44 @@
+package GS.model.bo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExecutorBancoTest {
+
+    @Test
+    public void tarefaEmExecucaoNaoECanceladaETarefaNaFilaEDescartada() throws Exception {
+        ExecutorBanco executor = new ExecutorBanco();
+        int threads = executor.getEstatisticas().getThreads();
+        CountDownLatch iniciadas = new CountDownLatch(threads);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<CompletableFuture<String>> emExecucao = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            emExecucao.add(executor.executar(() -> {
+                iniciadas.countDown();
+                liberar.await();
+                return "gravado";
+            }));
+        }
+        CompletableFuture<String> naFila = executor.executar(() -> "não executada");
+        try {
+            assertTrue(iniciadas.await(5, TimeUnit.SECONDS));
+            assertFalse(emExecucao.get(0).cancel(false));
+            assertTrue(naFila.cancel(false));
+        } finally {
+            liberar.countDown();
+        }
+
+        assertEquals("gravado", emExecucao.get(0).get(5, TimeUnit.SECONDS));
+        assertTrue(naFila.isCancelled());
+        executor.encerrar();
+    }
+}
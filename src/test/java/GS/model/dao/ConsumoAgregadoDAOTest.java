@@ -0,0 +1,133 @@
+package GS.model.dao;
+
+import GS.model.beans.ConsumoAgregado;
+import GS.model.beans.DadosConsumo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConsumoAgregadoDAOTest {
+
+    private static final LocalDateTime HORA = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    private final ConsumoAgregadoDAO dao = new ConsumoAgregadoDAO();
+    private Connection conexao;
+
+    @BeforeEach
+    public void criarTabelas() throws SQLException {
+        conexao = DriverManager.getConnection("jdbc:h2:mem:agregados;MODE=Oracle", "sa", "");
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("CREATE TABLE TB_DADOS_CONSUMO (id_consumo NUMBER PRIMARY KEY, data_hora TIMESTAMP, "
+                    + "consumo_energia NUMBER, id_dispositivo NUMBER)");
+            comando.execute("CREATE TABLE TB_CONSUMO_AGREGADO (granularidade CHAR(1) NOT NULL, "
+                    + "id_dispositivo NUMBER NOT NULL, inicio_periodo TIMESTAMP NOT NULL, total_kwh NUMBER(18, 4) NOT NULL, "
+                    + "minimo NUMBER(12, 4) NOT NULL, maximo NUMBER(12, 4) NOT NULL, quantidade NUMBER NOT NULL, "
+                    + "PRIMARY KEY (granularidade, id_dispositivo, inicio_periodo))");
+        }
+    }
+
+    @AfterEach
+    public void fecharConexao() throws SQLException {
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("DROP ALL OBJECTS");
+        }
+        conexao.close();
+    }
+
+    @Test
+    public void removerAUltimaLeituraRemoveOsAgregadosDoPeriodo() throws SQLException {
+        inserir(1, HORA.plusMinutes(5), 2.5f);
+        dao.acumular(conexao, Arrays.asList(leitura(HORA.plusMinutes(5), 2.5f)));
+        assertEquals(2, contarAgregados());
+
+        excluir(1);
+        dao.recalcular(conexao, 7, HORA.plusMinutes(5));
+        assertEquals(0, contarAgregados());
+    }
+
+    @Test
+    public void recalcularAjustaMinimoEMaximoDasLeiturasRestantes() throws SQLException {
+        inserir(1, HORA.plusMinutes(5), 2.5f);
+        inserir(2, HORA.plusMinutes(40), 4f);
+        dao.acumular(conexao, Arrays.asList(leitura(HORA.plusMinutes(5), 2.5f), leitura(HORA.plusMinutes(40), 4f)));
+
+        // Leitura movida para a hora seguinte: a hora antiga fica só com a outra, o dia continua com as duas
+        try (PreparedStatement comando = conexao.prepareStatement(
+                "UPDATE TB_DADOS_CONSUMO SET data_hora = ? WHERE id_consumo = 2")) {
+            comando.setTimestamp(1, Timestamp.valueOf(HORA.plusMinutes(70)));
+            comando.executeUpdate();
+        }
+        dao.recalcular(conexao, 7, HORA.plusMinutes(40));
+        dao.recalcular(conexao, 7, HORA.plusMinutes(70));
+
+        ConsumoAgregado hora = agregado("H", HORA);
+        assertEquals(1, hora.getQuantidade());
+        assertEquals(2.5f, hora.getMinimo());
+        assertEquals(2.5f, hora.getMaximo());
+        assertEquals(1, agregado("H", HORA.plusHours(1)).getQuantidade());
+        ConsumoAgregado dia = agregado("D", HORA.toLocalDate().atStartOfDay());
+        assertEquals(2, dia.getQuantidade());
+        assertEquals(6.5, dia.getTotalKwh(), 1e-9);
+    }
+
+    private static DadosConsumo leitura(LocalDateTime dataHora, float consumo) {
+        DadosConsumo leitura = new DadosConsumo(consumo);
+        leitura.setDataHora(dataHora);
+        leitura.setIdDispositivo(7);
+        return leitura;
+    }
+
+    private void inserir(int id, LocalDateTime dataHora, float consumo) throws SQLException {
+        try (PreparedStatement comando = conexao.prepareStatement(
+                "INSERT INTO TB_DADOS_CONSUMO (id_consumo, data_hora, consumo_energia, id_dispositivo) VALUES (?, ?, ?, 7)")) {
+            comando.setInt(1, id);
+            comando.setTimestamp(2, Timestamp.valueOf(dataHora));
+            comando.setFloat(3, consumo);
+            comando.executeUpdate();
+        }
+    }
+
+    private void excluir(int id) throws SQLException {
+        try (PreparedStatement comando = conexao.prepareStatement("DELETE FROM TB_DADOS_CONSUMO WHERE id_consumo = ?")) {
+            comando.setInt(1, id);
+            comando.executeUpdate();
+        }
+    }
+
+    private int contarAgregados() throws SQLException {
+        try (Statement comando = conexao.createStatement();
+             ResultSet resultado = comando.executeQuery("SELECT COUNT(*) FROM TB_CONSUMO_AGREGADO")) {
+            resultado.next();
+            return resultado.getInt(1);
+        }
+    }
+
+    private ConsumoAgregado agregado(String granularidade, LocalDateTime inicio) throws SQLException {
+        try (PreparedStatement comando = conexao.prepareStatement("SELECT total_kwh, minimo, maximo, quantidade "
+                + "FROM TB_CONSUMO_AGREGADO WHERE granularidade = ? AND id_dispositivo = 7 AND inicio_periodo = ?")) {
+            comando.setString(1, granularidade);
+            comando.setTimestamp(2, Timestamp.valueOf(inicio));
+            try (ResultSet resultado = comando.executeQuery()) {
+                resultado.next();
+                ConsumoAgregado agregado = new ConsumoAgregado();
+                agregado.setTotalKwh(resultado.getDouble(1));
+                agregado.setMinimo(resultado.getFloat(2));
+                agregado.setMaximo(resultado.getFloat(3));
+                agregado.setQuantidade(resultado.getLong(4));
+                return agregado;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package GS.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AlocadorIdsTest {
+
+    @Test
+    public void distribuiIdsUnicosComUmaReservaPorBloco() throws InterruptedException {
+        AtomicLong hi = new AtomicLong();
+        AtomicInteger reservas = new AtomicInteger();
+        // Esquema hi-lo sobre uma sequência simulada
+        AlocadorIds alocador = new AlocadorIds((entidade, tamanho) -> {
+            reservas.incrementAndGet();
+            return hi.incrementAndGet() * tamanho;
+        });
+
+        int threads = 4;
+        int porThread = 25_000;
+        ConcurrentHashMap<Integer, Boolean> ids = new ConcurrentHashMap<>();
+        List<Thread> lista = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < porThread; i++) {
+                        assertTrue(ids.putIfAbsent(alocador.proximoId(EntidadeId.DADOS_CONSUMO), Boolean.TRUE) == null);
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            lista.add(thread);
+            thread.start();
+        }
+        for (Thread thread : lista) {
+            thread.join();
+        }
+
+        assertEquals(threads * porThread, ids.size());
+        // Blocos de 1000 IDs (ids.tamanhoBloco): exatamente uma reserva a cada 1000 IDs
+        assertEquals(threads * porThread / 1000, reservas.get());
+    }
+}
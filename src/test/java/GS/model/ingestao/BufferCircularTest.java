@@ -0,0 +1,74 @@
+package GS.model.ingestao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BufferCircularTest {
+
+    @Test
+    public void recusaQuandoCheio() {
+        BufferCircular<Integer> buffer = new BufferCircular<>(3);
+        assertEquals(4, buffer.capacidade());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.oferecer(i));
+        }
+        assertFalse(buffer.oferecer(4));
+
+        List<Integer> destino = new ArrayList<>();
+        assertEquals(2, buffer.drenar(destino, 2));
+        assertTrue(buffer.oferecer(5));
+        assertEquals(3, buffer.drenar(destino, 10));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 5), destino);
+        assertEquals(0, buffer.tamanho());
+    }
+
+    @Test
+    public void entregaTodosOsElementosDeVariosProdutores() throws InterruptedException {
+        BufferCircular<Integer> buffer = new BufferCircular<>(1024);
+        int produtores = 4;
+        int porProdutor = 50_000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < produtores; p++) {
+            int base = p * porProdutor;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < porProdutor; i++) {
+                    while (!buffer.oferecer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        boolean[] recebidos = new boolean[produtores * porProdutor];
+        int[] ultimoPorProdutor = new int[produtores];
+        Arrays.fill(ultimoPorProdutor, -1);
+        List<Integer> destino = new ArrayList<>();
+        int total = 0;
+        while (total < recebidos.length) {
+            destino.clear();
+            total += buffer.drenar(destino, 256);
+            for (int valor : destino) {
+                assertFalse(recebidos[valor]);
+                recebidos[valor] = true;
+                // A ordem de cada produtor é preservada
+                int produtor = valor / porProdutor;
+                assertTrue(valor > ultimoPorProdutor[produtor]);
+                ultimoPorProdutor[produtor] = valor;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, buffer.tamanho());
+    }
+}
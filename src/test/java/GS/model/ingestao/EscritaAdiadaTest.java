@@ -0,0 +1,75 @@
+package GS.model.ingestao;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EscritaAdiadaTest {
+
+    @Test
+    public void bancoIndisponivelRegravaOLoteInteiro() {
+        AtomicInteger falhasRestantes = new AtomicInteger(3);
+        List<List<Integer>> gravados = new CopyOnWriteArrayList<>();
+        EscritaAdiada<Integer> escrita = new EscritaAdiada<>("teste", 16, 10, 1000, 5, 1, 2, lote -> {
+            if (falhasRestantes.getAndDecrement() > 0) {
+                throw new SQLException("Erro ao obter uma conexão do pool de conexões",
+                        new SQLTransientConnectionException("Connection is not available"));
+            }
+            gravados.add(new ArrayList<>(lote));
+        }, null);
+        publicar(escrita, 1, 2, 3);
+        escrita.encerrar(5000);
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), gravados);
+        assertEquals(3, escrita.getMetricas().getGravados());
+        assertEquals(0, escrita.getMetricas().getFalhas());
+    }
+
+    @Test
+    public void dadosInvalidosSaoSeparadosEEntreguesAoDestino() {
+        List<Integer> descartados = new CopyOnWriteArrayList<>();
+        EscritaAdiada<Integer> escrita = new EscritaAdiada<>("teste", 16, 10, 1000, 5, 1, 2, lote -> {
+            if (lote.contains(2)) {
+                throw new SQLException("valor inválido", "22003");
+            }
+        }, (elementos, causa) -> descartados.addAll(elementos));
+        publicar(escrita, 1, 2, 3);
+        escrita.encerrar(5000);
+
+        assertEquals(Arrays.asList(2), descartados);
+        assertEquals(2, escrita.getMetricas().getGravados());
+        assertEquals(1, escrita.getMetricas().getFalhas());
+    }
+
+    @Test
+    public void loteQueContinuaFalhandoVaiParaODestinoInteiro() {
+        AtomicInteger tentativas = new AtomicInteger();
+        List<Integer> descartados = new CopyOnWriteArrayList<>();
+        EscritaAdiada<Integer> escrita = new EscritaAdiada<>("teste", 16, 10, 1000, 2, 1, 2, lote -> {
+            tentativas.incrementAndGet();
+            throw new SQLException("Conexão fechada", "08003");
+        }, (elementos, causa) -> descartados.addAll(elementos));
+        publicar(escrita, 1, 2, 3);
+        escrita.encerrar(5000);
+
+        // Primeira gravação e duas retentativas, sempre com o lote inteiro
+        assertEquals(3, tentativas.get());
+        assertEquals(Arrays.asList(1, 2, 3), descartados);
+        assertEquals(3, escrita.getMetricas().getFalhas());
+    }
+
+    private static void publicar(EscritaAdiada<Integer> escrita, Integer... elementos) {
+        for (Integer elemento : elementos) {
+            assertTrue(escrita.publicar(elemento));
+        }
+    }
+}
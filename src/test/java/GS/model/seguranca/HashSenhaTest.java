@@ -0,0 +1,30 @@
+package GS.model.seguranca;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashSenhaTest {
+
+    @Test
+    public void verificaSenhaComSal() {
+        String hash = HashSenha.gerar("segredo", 1000);
+        assertTrue(HashSenha.ehHash(hash));
+        assertTrue(HashSenha.verificar("segredo", hash));
+        assertFalse(HashSenha.verificar("Segredo", hash));
+        // O sal aleatório gera hashes diferentes para a mesma senha
+        assertNotEquals(hash, HashSenha.gerar("segredo", 1000));
+    }
+
+    @Test
+    public void aceitaSenhaLegadaEPedeAtualizacao() {
+        assertFalse(HashSenha.ehHash("segredo"));
+        assertTrue(HashSenha.verificar("segredo", "segredo"));
+        assertFalse(HashSenha.verificar("outra", "segredo"));
+        assertTrue(HashSenha.precisaAtualizar("segredo", 1000));
+        assertTrue(HashSenha.precisaAtualizar(HashSenha.gerar("segredo", 500), 1000));
+        assertFalse(HashSenha.precisaAtualizar(HashSenha.gerar("segredo", 1000), 1000));
+    }
+}
@@ -0,0 +1,71 @@
+package GS.model.serie;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlocoSerieTest {
+
+    @Test
+    public void decodificaAsLeiturasGravadas() {
+        Random random = new Random(42);
+        int quantidade = 5000;
+        long[] instantes = new long[quantidade];
+        float[] valores = new float[quantidade];
+        int[] ids = new int[quantidade];
+
+        long instante = 1_717_200_000_000L;
+        int id = 1;
+        BlocoSerie bloco = new BlocoSerie(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            // Intervalo regular de 15 minutos com atrasos ocasionais, valores repetidos e IDs intercalados
+            instante += 900_000L + (random.nextInt(10) == 0 ? random.nextInt(5_000_000) : 0);
+            id += 1 + random.nextInt(3) * random.nextInt(2_000);
+            float valor = random.nextInt(4) == 0 && i > 0 ? valores[i - 1] : random.nextFloat() * 10;
+            instantes[i] = instante;
+            valores[i] = valor;
+            ids[i] = id;
+            bloco.adicionar(instante, valor, id);
+        }
+
+        List<Integer> visitados = new ArrayList<>();
+        bloco.percorrer(Long.MIN_VALUE, Long.MAX_VALUE, (t, v, idConsumo) -> {
+            int i = visitados.size();
+            assertEquals(instantes[i], t);
+            assertEquals(Float.floatToRawIntBits(valores[i]), Float.floatToRawIntBits(v));
+            assertEquals(ids[i], idConsumo);
+            visitados.add(i);
+            return true;
+        });
+        assertEquals(quantidade, visitados.size());
+
+        // Muito menor que os ~100 bytes por leitura de um objeto DadosConsumo
+        assertTrue(bloco.bytesOcupados() / quantidade < 16);
+    }
+
+    @Test
+    public void respeitaOIntervaloEAInterrupcao() {
+        BlocoSerie bloco = new BlocoSerie(16);
+        for (int i = 0; i < 10; i++) {
+            bloco.adicionar(i * 1000L, i, i + 1);
+        }
+
+        List<Long> instantes = new ArrayList<>();
+        bloco.percorrer(3000L, 7000L, (t, v, idConsumo) -> instantes.add(t));
+        assertEquals(4, instantes.size());
+        assertEquals(3000L, (long) instantes.get(0));
+
+        instantes.clear();
+        boolean continuar = bloco.percorrer(0L, Long.MAX_VALUE, (t, v, idConsumo) -> {
+            instantes.add(t);
+            return instantes.size() < 2;
+        });
+        assertEquals(2, instantes.size());
+        assertEquals(false, continuar);
+    }
+}
@@ -0,0 +1,44 @@
+package GS.model.sessao;
+
+import GS.model.beans.Sessao;
+import GS.model.dao.SessaoDAO;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RegistroSessoesTest {
+
+    @Test
+    public void sessaoFinalizadaSaiDoRegistroQuandoOFimNaoPodeSerGravado() throws SQLException {
+        List<Sessao> naoGravadas = new CopyOnWriteArrayList<>();
+        RegistroSessoes registro = new RegistroSessoes(new SessaoDAO() {
+            @Override
+            public void gravarLote(List<Sessao> iniciadas, List<Sessao> finalizadas) throws SQLException {
+                throw new SQLException("violação de integridade", "23000");
+            }
+        }, (sessoes, causa) -> naoGravadas.addAll(sessoes));
+        Sessao sessao = new Sessao();
+        sessao.setIdSessao(1);
+        sessao.setInicioSessao(LocalDateTime.now());
+        registro.iniciar(sessao);
+        registro.finalizar(1);
+        assertNotNull(registro.buscar(1));
+
+        registro.encerrar();
+
+        assertNull(registro.buscar(1));
+        assertFalse(naoGravadas.isEmpty());
+        for (Sessao naoGravada : naoGravadas) {
+            assertEquals(1, naoGravada.getIdSessao());
+            assertNotNull(naoGravada.getFimSessao());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package GS.model.sessao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RodaTemporizacaoTest {
+
+    @Test
+    public void entregaCadaChaveApenasDepoisDoPrazo() {
+        RodaTemporizacao<Integer> roda = new RodaTemporizacao<>(100, 8, 0);
+        roda.agendar(1, 250);
+        roda.agendar(2, 350);
+        // Prazo além de uma volta completa (8 posições de 100 ms) cai na mesma posição que o prazo 250
+        roda.agendar(3, 1050);
+
+        List<Integer> vencidas = new ArrayList<>();
+        roda.avancar(299, vencidas::add);
+        assertTrue(vencidas.isEmpty());
+
+        roda.avancar(300, vencidas::add);
+        assertEquals(Collections.singletonList(1), vencidas);
+
+        roda.avancar(1099, vencidas::add);
+        assertEquals(Arrays.asList(1, 2), vencidas);
+
+        roda.avancar(1100, vencidas::add);
+        assertEquals(Arrays.asList(1, 2, 3), vencidas);
+    }
+
+    @Test
+    public void entregaPrazosVencidosEAtrasosMaioresQueUmaVolta() {
+        RodaTemporizacao<Integer> roda = new RodaTemporizacao<>(100, 8, 1000);
+        // Agendada com o prazo já vencido: entregue no próximo avanço
+        roda.agendar(1, 500);
+        for (int i = 2; i <= 20; i++) {
+            roda.agendar(i, 1000 + i * 100L);
+        }
+
+        List<Integer> vencidas = new ArrayList<>();
+        roda.avancar(1100, vencidas::add);
+        assertEquals(Collections.singletonList(1), vencidas);
+
+        // Avanço de vários giros de uma vez: as chaves vencidas saem, as demais continuam agendadas
+        roda.avancar(2500, vencidas::add);
+        assertEquals(15, vencidas.size());
+        assertTrue(vencidas.containsAll(Arrays.asList(1, 2, 10, 15)));
+
+        roda.avancar(3000, vencidas::add);
+        assertEquals(20, vencidas.size());
+    }
+}
@@ -0,0 +1,36 @@
+package GS.resources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CompressaoRespostaTest {
+
+    @Test
+    public void escolheCodificacaoPelaPreferencia() {
+        assertEquals("gzip", CompressaoResposta.escolherCodificacao("gzip, deflate, br"));
+        assertEquals("gzip", CompressaoResposta.escolherCodificacao("deflate;q=0.5, GZIP"));
+        assertEquals("deflate", CompressaoResposta.escolherCodificacao("gzip;q=0.2, deflate;q=0.8"));
+        assertEquals("deflate", CompressaoResposta.escolherCodificacao("deflate"));
+        // "*" vale para as codificações não citadas
+        assertEquals("deflate", CompressaoResposta.escolherCodificacao("gzip;q=0, *"));
+        assertEquals("gzip", CompressaoResposta.escolherCodificacao("*;q=0.1"));
+    }
+
+    @Test
+    public void naoCompactaSemCodificacaoAceita() {
+        assertNull(CompressaoResposta.escolherCodificacao(null));
+        assertNull(CompressaoResposta.escolherCodificacao("identity"));
+        assertNull(CompressaoResposta.escolherCodificacao("br"));
+        assertNull(CompressaoResposta.escolherCodificacao("gzip;q=0, deflate;q=0"));
+        assertNull(CompressaoResposta.escolherCodificacao("*;q=0"));
+    }
+
+    @Test
+    public void removeSufixoDaEtag() {
+        assertEquals("v3", CompressaoResposta.removerSufixo("v3-gzip"));
+        assertEquals("v3", CompressaoResposta.removerSufixo("v3-deflate"));
+        assertEquals("v3", CompressaoResposta.removerSufixo("v3"));
+    }
+}
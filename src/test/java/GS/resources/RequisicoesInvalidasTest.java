@@ -0,0 +1,112 @@
+package GS.resources;
+
+import GS.Main;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.WebTarget;
+import jakarta.ws.rs.core.Response;
+import org.glassfish.grizzly.http.server.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Valores inválidos enviados pelo cliente devem ser recusados com 4xx antes de qualquer acesso ao banco.
+ */
+public class RequisicoesInvalidasTest {
+
+    private static HttpServer server;
+    private static Client client;
+    private static WebTarget target;
+
+    @BeforeAll
+    public static void iniciar() {
+        server = Main.startServer();
+        client = ClientBuilder.newClient();
+        target = client.target(Main.BASE_URI);
+    }
+
+    @AfterAll
+    public static void parar() {
+        client.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void cursorMalformadoRespondeBadRequest() {
+        assertEquals(400, status(target.path("dispositivos").queryParam("after", "%%%")));
+        assertEquals(400, status(target.path("sessoes").queryParam("after", "nao-e-base64!")));
+        // Cursor decodificável, mas de outro tipo de listagem
+        String cursorId = Base64.getUrlEncoder().withoutPadding().encodeToString("i:10".getBytes(StandardCharsets.UTF_8));
+        assertEquals(400, status(target.path("dadosConsumo").queryParam("after", cursorId)));
+        assertEquals(400, status(target.path("usuarios").queryParam("after", "dDp4")));
+    }
+
+    @Test
+    public void limiteForaDaFaixaRespondeBadRequest() {
+        assertEquals(400, status(target.path("dispositivos").queryParam("limit", 0)));
+        assertEquals(400, status(target.path("usuarios").queryParam("limit", 1000000)));
+    }
+
+    @Test
+    public void dispositivoOuIntervaloInvalidoRespondeBadRequest() {
+        assertEquals(400, status(target.path("dispositivos/0/consumo")));
+        assertEquals(400, status(target.path("dispositivos/1/consumo")
+                .queryParam("from", "2024-01-02T00:00").queryParam("to", "2024-01-01T00:00")));
+        assertEquals(400, status(target.path("dispositivos/-1/consumo/diario")));
+        assertEquals(400, status(target.path("dispositivos/1/consumo/horario")
+                .queryParam("from", "2024-01-01T00:00").queryParam("to", "2024-01-01T00:00")));
+        assertEquals(400, status(target.path("dispositivos/1/consumo").queryParam("from", "ontem")));
+    }
+
+    @Test
+    public void filtroInvalidoDoRelatorioRespondeBadRequest() {
+        assertEquals(400, status(target.path("relatorios/consumo").queryParam("dispositivo", 0)));
+        assertEquals(400, status(target.path("relatorios/consumo")
+                .queryParam("from", "2024-01-02T00:00").queryParam("to", "2024-01-01T00:00")));
+    }
+
+    @Test
+    public void intervaloInvalidoDaReconstrucaoRespondeBadRequest() {
+        assertEquals(400, status(target.path("admin/agregados/reconstrucao"), ""));
+        assertEquals(400, status(target.path("admin/agregados/reconstrucao")
+                .queryParam("from", "2024-01-02T00:00").queryParam("to", "2024-01-01T00:00"), ""));
+    }
+
+    @Test
+    public void loteVazioRespondeBadRequestELoteGrandeDemaisPayloadTooLarge() {
+        assertEquals(400, status(target.path("dadosConsumo/batch"), "[]"));
+        assertEquals(400, status(target.path("dadosConsumo/batch"), ""));
+
+        StringBuilder lote = new StringBuilder("[");
+        for (int i = 0; i <= 10000; i++) {
+            lote.append(i == 0 ? "" : ",").append("{\"consumo_energia\":1.0,\"id_dispositivo\":1}");
+        }
+        assertEquals(413, status(target.path("dadosConsumo/batch"), lote.append(']').toString()));
+    }
+
+    @Test
+    public void loginSemCredenciaisRespondeBadRequest() {
+        assertEquals(400, status(target.path("usuarios/login"), ""));
+        assertEquals(400, status(target.path("usuarios/login"), "{}"));
+        assertEquals(400, status(target.path("usuarios/login"), "{\"email\":\"ana@x.com\"}"));
+    }
+
+    private static int status(WebTarget alvo, String json) {
+        try (Response resposta = alvo.request().post(Entity.json(json))) {
+            return resposta.getStatus();
+        }
+    }
+
+    private static int status(WebTarget alvo) {
+        try (Response resposta = alvo.request().get()) {
+            return resposta.getStatus();
+        }
+    }
+}
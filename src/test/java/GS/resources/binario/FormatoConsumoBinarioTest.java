@@ -0,0 +1,85 @@
+package GS.resources.binario;
+
+import GS.model.beans.DadosConsumo;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FormatoConsumoBinarioTest {
+
+    private static DadosConsumo registro(int idDispositivo, LocalDateTime dataHora, float consumoEnergia) {
+        DadosConsumo dadosConsumo = new DadosConsumo(consumoEnergia);
+        dadosConsumo.setIdDispositivo(idDispositivo);
+        dadosConsumo.setDataHora(dataHora);
+        return dadosConsumo;
+    }
+
+    private static byte[] escrever(List<DadosConsumo> registros) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        FormatoConsumoBinario.escrever(registros, saida);
+        return saida.toByteArray();
+    }
+
+    private static List<DadosConsumo> ler(byte[] corpo) throws IOException {
+        List<DadosConsumo> lidos = new ArrayList<>();
+        FormatoConsumoBinario.ler(new ByteArrayInputStream(corpo), lidos::add);
+        return lidos;
+    }
+
+    @Test
+    public void leOsRegistrosEscritos() throws IOException {
+        LocalDateTime inicio = LocalDateTime.of(2024, 3, 10, 12, 0, 0, 125_000_000);
+        List<DadosConsumo> registros = Arrays.asList(
+                registro(1, inicio, 1.5f),
+                registro(1, inicio.plusSeconds(15), 2.25f),
+                // Horário anterior ao do registro precedente: diferença negativa
+                registro(1, inicio.minusSeconds(30), 0.5f),
+                registro(2, inicio, 7f),
+                // Diferença que não cabe em int32: inicia outro bloco do mesmo dispositivo
+                registro(2, inicio.plusYears(1), 8f),
+                registro(3, LocalDateTime.of(1965, 1, 1, 0, 0), 3f));
+
+        byte[] corpo = escrever(registros);
+        // Cabeçalho (4) + 4 blocos (14 cada) + 6 registros (8 cada) + marcador de fim (2)
+        assertEquals(4 + 4 * 14 + 6 * 8 + 2, corpo.length);
+
+        List<DadosConsumo> lidos = ler(corpo);
+        assertEquals(registros.size(), lidos.size());
+        for (int i = 0; i < registros.size(); i++) {
+            assertEquals(registros.get(i).getIdDispositivo(), lidos.get(i).getIdDispositivo());
+            assertEquals(registros.get(i).getDataHora(), lidos.get(i).getDataHora());
+            assertEquals(registros.get(i).getConsumoEnergia(), lidos.get(i).getConsumoEnergia());
+        }
+    }
+
+    @Test
+    public void rejeitaCorpoTruncadoOuDeOutroFormato() throws IOException {
+        byte[] corpo = escrever(Arrays.asList(registro(1, LocalDateTime.of(2024, 1, 1, 0, 0), 1f)));
+        assertThrows(EOFException.class, () -> ler(Arrays.copyOf(corpo, corpo.length - 2)));
+        assertThrows(EOFException.class, () -> ler(Arrays.copyOf(corpo, corpo.length - 5)));
+
+        byte[] outroFormato = corpo.clone();
+        outroFormato[0] = '{';
+        assertThrows(IllegalArgumentException.class, () -> ler(outroFormato));
+
+        byte[] outraVersao = corpo.clone();
+        outraVersao[3] = 9;
+        assertThrows(IllegalArgumentException.class, () -> ler(outraVersao));
+    }
+
+    @Test
+    public void rejeitaConsumoNaoFinito() throws IOException {
+        byte[] corpo = escrever(Arrays.asList(registro(1, LocalDateTime.of(2024, 1, 1, 0, 0), Float.NaN)));
+        assertThrows(IllegalArgumentException.class, () -> ler(corpo));
+    }
+}
@@ -0,0 +1,43 @@
+package GS.resources.json;
+
+import GS.model.beans.Usuario;
+import jakarta.json.Json;
+import jakarta.json.stream.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class CodificadorUsuarioTest {
+
+    private final CodificadorUsuario codificador = new CodificadorUsuario();
+
+    @Test
+    public void leASenhaMasNuncaAEscreve() throws IOException {
+        Usuario usuario;
+        try (JsonParser entrada = Json.createParser(new StringReader(
+                "{\"id_usuario\":7,\"nome\":\"Ana\",\"email\":\"ana@x.com\",\"senha\":\"segredo\"}"))) {
+            entrada.next();
+            usuario = codificador.ler(entrada);
+        }
+        assertEquals(7, usuario.getIdUsuario());
+        assertEquals("segredo", usuario.getSenha());
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        EscritorJson escritor = EscritorJson.obter(saida);
+        try {
+            codificador.escrever(usuario, escritor);
+            escritor.terminar();
+        } finally {
+            EscritorJson.devolver(escritor);
+        }
+        String json = new String(saida.toByteArray(), StandardCharsets.UTF_8);
+        assertFalse(json.contains("senha"), json);
+        assertFalse(json.contains("segredo"), json);
+    }
+}
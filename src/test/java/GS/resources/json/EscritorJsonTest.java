@@ -0,0 +1,100 @@
+package GS.resources.json;
+
+import GS.model.beans.DadosConsumo;
+import jakarta.json.Json;
+import jakarta.json.stream.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EscritorJsonTest {
+
+    private interface Escrita {
+        void executar(EscritorJson escritor) throws IOException;
+    }
+
+    private static String escrever(Escrita escrita) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        // Buffer mínimo, para que os valores atravessem as descargas
+        EscritorJson escritor = new EscritorJson(64);
+        escritor.iniciar(saida);
+        escrita.executar(escritor);
+        escritor.terminar();
+        return new String(saida.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void escreveInteirosEDecimais() throws IOException {
+        assertEquals("0", escrever(e -> e.inteiro(0)));
+        assertEquals("-42", escrever(e -> e.inteiro(-42)));
+        assertEquals("2147483647", escrever(e -> e.inteiro(Integer.MAX_VALUE)));
+        assertEquals("-9223372036854775808", escrever(e -> e.inteiro(Long.MIN_VALUE)));
+        assertEquals("9223372036854775807", escrever(e -> e.inteiro(Long.MAX_VALUE)));
+        assertEquals("1.5", escrever(e -> e.decimal(1.5f)));
+        assertEquals("100.0", escrever(e -> e.decimal(100f)));
+        assertEquals("null", escrever(e -> e.decimal(Float.NaN)));
+    }
+
+    @Test
+    public void escreveTextoComEscapeEmUtf8() throws IOException {
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001\"", escrever(e -> e.texto("a\"b\\c\n\u0001")));
+        assertEquals("\"ção € 😀\"", escrever(e -> e.texto("ção € 😀")));
+        assertEquals("null", escrever(e -> e.texto(null)));
+        StringBuilder longo = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longo.append("é");
+        }
+        assertEquals('"' + longo.toString() + '"', escrever(e -> e.texto(longo.toString())));
+    }
+
+    @Test
+    public void escreveDatasNoFormatoIso() throws IOException {
+        assertEquals("\"2024-01-31T13:45:00\"", escrever(e -> e.dataHora(LocalDateTime.of(2024, 1, 31, 13, 45))));
+        assertEquals("\"2024-01-31T13:45:00.25\"",
+                escrever(e -> e.dataHora(LocalDateTime.of(2024, 1, 31, 13, 45, 0, 250_000_000))));
+        assertEquals("\"0999-12-01T00:00:00.000000001\"",
+                escrever(e -> e.dataHora(LocalDateTime.of(999, 12, 1, 0, 0, 0, 1))));
+        assertEquals("\"2024-02-29\"", escrever(e -> e.data(java.sql.Date.valueOf(LocalDate.of(2024, 2, 29)))));
+        assertEquals("\"1969-12-31\"", escrever(e -> e.data(java.sql.Date.valueOf(LocalDate.of(1969, 12, 31)))));
+    }
+
+    @Test
+    public void leOQueEscreve() throws IOException {
+        DadosConsumo dados = new DadosConsumo(2.75f);
+        dados.setIdConsumo(10);
+        dados.setIdDispositivo(20);
+        dados.setDataHora(LocalDateTime.of(2024, 3, 1, 8, 30, 15, 123_000_000));
+        CodificadorDadosConsumo codificador = new CodificadorDadosConsumo();
+
+        String json = escrever(e -> codificador.escrever(dados, e));
+        assertEquals("{\"id_consumo\":10,\"data_hora\":\"2024-03-01T08:30:15.123\",\"consumo_energia\":2.75,"
+                + "\"id_dispositivo\":20}", json);
+
+        JsonParser entrada = Json.createParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        entrada.next();
+        DadosConsumo lido = codificador.ler(entrada);
+        assertEquals(10, lido.getIdConsumo());
+        assertEquals(20, lido.getIdDispositivo());
+        assertEquals(2.75f, lido.getConsumoEnergia());
+        assertEquals(dados.getDataHora(), lido.getDataHora());
+    }
+
+    @Test
+    public void converteDataHoraSemFormatadorApenasNoFormatoEscrito() {
+        assertEquals(LocalDateTime.of(2024, 1, 31, 13, 45, 7), CodificadorJson.dataHoraSimples("2024-01-31T13:45:07"));
+        assertEquals(LocalDateTime.of(2024, 1, 31, 13, 45, 7, 120_000_000),
+                CodificadorJson.dataHoraSimples("2024-01-31T13:45:07.12"));
+        assertNull(CodificadorJson.dataHoraSimples("2024-01-31"));
+        assertNull(CodificadorJson.dataHoraSimples("2024-01-31T13:45:07Z"));
+        assertNull(CodificadorJson.dataHoraSimples("2024-02-30T13:45:07"));
+        assertNull(CodificadorJson.dataHoraSimples("2024-01-31T13:45:07.1234567890"));
+    }
+}
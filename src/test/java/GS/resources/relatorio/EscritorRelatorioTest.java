@@ -0,0 +1,93 @@
+package GS.resources.relatorio;
+
+import GS.model.beans.LinhaRelatorioConsumo;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EscritorRelatorioTest {
+
+    private static LinhaRelatorioConsumo linha(int idConsumo, String nomeDispositivo, int idUsuario) {
+        LinhaRelatorioConsumo linha = new LinhaRelatorioConsumo();
+        linha.setIdConsumo(idConsumo);
+        linha.setDataHora(LocalDateTime.of(2024, 1, 1, 12, 0));
+        linha.setConsumoEnergia(1.5f);
+        linha.setIdDispositivo(10);
+        linha.setNomeDispositivo(nomeDispositivo);
+        linha.setIdUsuario(idUsuario);
+        return linha;
+    }
+
+    private static byte[] escrever(EscritorRelatorio escritor, ByteArrayOutputStream saida, List<LinhaRelatorioConsumo> linhas)
+            throws IOException {
+        try {
+            escritor.inicio();
+            for (LinhaRelatorioConsumo linha : linhas) {
+                escritor.linha(linha);
+            }
+            escritor.fim();
+        } finally {
+            escritor.liberar();
+        }
+        return saida.toByteArray();
+    }
+
+    @Test
+    public void csvColocaEntreAspasOsCamposComSeparador() throws IOException {
+        List<LinhaRelatorioConsumo> linhas = new ArrayList<>();
+        linhas.add(linha(1, "Geladeira, \"cozinha\"", 7));
+        linhas.add(linha(2, null, 0));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        String csv = new String(escrever(new EscritorRelatorioCsv(saida), saida, linhas), StandardCharsets.UTF_8);
+        assertEquals(EscritorRelatorioCsv.CABECALHO + "\r\n"
+                + "1,2024-01-01T12:00:00,1.5,10,\"Geladeira, \"\"cozinha\"\"\",7\r\n"
+                + "2,2024-01-01T12:00:00,1.5,10,,\r\n", csv);
+    }
+
+    @Test
+    public void xlsxContinuaEmNovaPlanilhaAoAtingirOLimiteDeLinhas() throws IOException {
+        List<LinhaRelatorioConsumo> linhas = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            linhas.add(linha(i, "A & <B>", i));
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        // Cabeçalho + 2 linhas por planilha
+        byte[] arquivo = escrever(new EscritorRelatorioXlsx(saida, 3), saida, linhas);
+
+        Map<String, String> partes = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(arquivo))) {
+            ZipEntry entrada;
+            while ((entrada = zip.getNextEntry()) != null) {
+                ByteArrayOutputStream conteudo = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int lidos; (lidos = zip.read(buffer)) > 0; ) {
+                    conteudo.write(buffer, 0, lidos);
+                }
+                partes.put(entrada.getName(), new String(conteudo.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertTrue(partes.containsKey("[Content_Types].xml"));
+        assertTrue(partes.get("xl/workbook.xml").contains("sheetId=\"3\""));
+        assertTrue(partes.get("xl/worksheets/sheet3.xml").contains("<row r=\"2\">"));
+        assertFalse(partes.get("xl/worksheets/sheet3.xml").contains("<row r=\"3\">"));
+        // 2024-01-01 12:00 = dia 45292 das planilhas, meio-dia
+        assertTrue(partes.get("xl/worksheets/sheet1.xml").contains("<c s=\"1\"><v>45292.5</v></c>"));
+        assertTrue(partes.get("xl/worksheets/sheet1.xml").contains("<t>A &amp; &lt;B&gt;</t>"));
+    }
+}